@@ -0,0 +1,466 @@
+package main;
+
+import java.util.Locale;
+import java.util.Random;
+import polynomial.BinaryPolynomialUtil;
+import polynomial.DenseGcdUtil;
+import polynomial.IPolynomial;
+import polynomial.IrreduciblePolynomialFinder;
+import polynomial.impl.array.ArrayPolynomial;
+import polynomial.irreducibility.BenOrEngine;
+import polynomial.irreducibility.BerlekampEngine;
+import polynomial.irreducibility.IIrreducibilityEngine;
+import polynomial.irreducibility.RabinEngine;
+import polynomial.search.CandidateWalk;
+import polynomial.search.PolynomialSieve;
+import polynomial.search.RootFilter;
+import polynomial.search.SearchPreset;
+import polynomial.search.SmallFactorFilter;
+
+/**
+ * Benchmarks for comparing different algorithms with each other.
+ *
+ * Give the name of the benchmark as the argument. The results are printed in
+ * csv-format.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class Benchmark {
+
+    private static final int[] DEGREES = new int[]{64, 256, 1024, 4096, 8192};
+
+    /**
+     * The characteristics and degrees of the engine benchmark.
+     */
+    private static final int[][] ENGINE_CASES = new int[][]{
+        {2, 64}, {2, 256}, {2, 1024}, {3, 64}, {3, 256}, {251, 32}, {251, 128}, {65521, 64}
+    };
+
+    /**
+     * The characteristics and degrees of the root test benchmark.
+     */
+    private static final int[][] ROOT_CASES = new int[][]{
+        {3, 16}, {3, 256}, {31, 64}, {251, 16}, {251, 256}, {1009, 64}, {65521, 16}, {65521, 256}
+    };
+
+    /**
+     * The characteristics and composite degrees of the composed product
+     * benchmark.
+     */
+    private static final int[][] COMPOSED_CASES = new int[][]{
+        {2, 150}, {2, 210}, {3, 150}, {5, 90}, {101, 66}, {251, 30}
+    };
+
+    public static void main(String[] args) {
+        if (args == null || args.length == 0) {
+            writeUsage();
+            return;
+        }
+
+        switch (args[0]) {
+            case "gcd2":
+                benchmarkGcdCharacteristic2();
+                break;
+            case "engines":
+                benchmarkEngines();
+                break;
+            case "filter":
+                benchmarkSmallFactorFilter();
+                break;
+            case "sieve":
+                benchmarkSieve();
+                break;
+            case "walk":
+                benchmarkCandidateWalk();
+                break;
+            case "roots":
+                benchmarkRootTests();
+                break;
+            case "composed":
+                benchmarkComposedProducts();
+                break;
+            default:
+                System.out.println("Unknown benchmark " + args[0]);
+                writeUsage();
+        }
+    }
+
+    private static void writeUsage() {
+        System.out.println("Benchmark usage: give the name of the benchmark as the argument.");
+        System.out.println("");
+        System.out.println("gcd2: The Euclidean gcd against the binary gcd in characteristic 2.");
+        System.out.println("engines: The irreducibility engines of Rabin, Ben-Or and Berlekamp "
+                + "on random monic polynomials.");
+        System.out.println("filter: The irreducibility engines with and without the small factor "
+                + "filter on random monic polynomials.");
+        System.out.println("sieve: Candidates from the polynomial sieve against random candidates "
+                + "given to the small factor filter.");
+        System.out.println("walk: Candidates from the candidate walk against the polynomial sieve, "
+                + "both tested with Rabin's test.");
+        System.out.println("roots: The root test by evaluation against the one with gcd(f, x^p - x).");
+        System.out.println("composed: Composed products of prime power degrees against "
+                + "the random search for composite degrees.");
+    }
+
+    /*
+     Compares the Euclidean algorithm, which uses divisions, with the binary
+     gcd working on packed words. The times are averages in milliseconds.
+     */
+    private static void benchmarkGcdCharacteristic2() {
+        System.out.println("Degree, Euclidean, Binary");
+
+        Random random = new Random(2);
+
+        for (int degree : DEGREES) {
+            int[] a = createRandomArray(2, degree, random);
+            int[] b = createRandomArray(2, degree - 1, random);
+            int repetitions = Math.max(3, 2000000 / (degree * degree / 8 + 1));
+
+            // Warming up the JIT compiler.
+            for (int i = 0; i < 3; i++) {
+                DenseGcdUtil.euclideanGcd(a, b, 2);
+                BinaryPolynomialUtil.gcd(BinaryPolynomialUtil.pack(a), BinaryPolynomialUtil.pack(b));
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < repetitions; i++) {
+                DenseGcdUtil.euclideanGcd(a, b, 2);
+            }
+            long euclidean = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < repetitions; i++) {
+                BinaryPolynomialUtil.gcd(BinaryPolynomialUtil.pack(a), BinaryPolynomialUtil.pack(b));
+            }
+            long binary = System.nanoTime() - start;
+
+            System.out.println(degree + ", " + toMilliseconds(euclidean, repetitions)
+                    + ", " + toMilliseconds(binary, repetitions));
+        }
+    }
+
+    /*
+     Runs every engine on the same random monic polynomials, most of which
+     are reducible. The times are averages per polynomial in milliseconds.
+     */
+    private static void benchmarkEngines() {
+        System.out.println("Characteristic, Degree, Irreducible, Rabin, Ben-Or, Berlekamp");
+
+        IIrreducibilityEngine[] engines = new IIrreducibilityEngine[]{
+            new RabinEngine(), new BenOrEngine(), new BerlekampEngine()
+        };
+        Random random = new Random(3);
+
+        for (int[] engineCase : ENGINE_CASES) {
+            int characteristic = engineCase[0];
+            int degree = engineCase[1];
+            int repetitions = Math.max(5, 20000 / degree);
+
+            IPolynomial[] polynomials = new IPolynomial[repetitions];
+            for (int i = 0; i < repetitions; i++) {
+                int[] coefficients = createRandomArray(characteristic, degree, random);
+                coefficients[degree] = 1;
+                polynomials[i] = new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(coefficients);
+            }
+
+            // Warming up the JIT compiler.
+            for (IIrreducibilityEngine engine : engines) {
+                for (int i = 0; i < Math.min(3, repetitions); i++) {
+                    engine.isIrreducible(polynomials[i]);
+                }
+            }
+
+            int irreducible = 0;
+            StringBuilder times = new StringBuilder();
+            for (IIrreducibilityEngine engine : engines) {
+                irreducible = 0;
+                long start = System.nanoTime();
+                for (IPolynomial polynomial : polynomials) {
+                    if (engine.isIrreducible(polynomial)) {
+                        irreducible++;
+                    }
+                }
+                times.append(", ").append(toMilliseconds(System.nanoTime() - start, repetitions));
+            }
+
+            System.out.println(characteristic + ", " + degree + ", " + irreducible + "/" + repetitions + times);
+        }
+    }
+
+    /*
+     Runs every engine on the same random monic polynomials, first alone and
+     then only on the polynomials that the small factor filter doesn't
+     reject. The filter uses the k chosen for the degree. The times are
+     averages per polynomial in milliseconds and include the filter.
+     */
+    private static void benchmarkSmallFactorFilter() {
+        System.out.println("Characteristic, Degree, k, Rejected, Rabin, Rabin filtered, "
+                + "Ben-Or, Ben-Or filtered, Berlekamp, Berlekamp filtered");
+
+        IIrreducibilityEngine[] engines = new IIrreducibilityEngine[]{
+            new RabinEngine(), new BenOrEngine(), new BerlekampEngine()
+        };
+        Random random = new Random(4);
+
+        for (int[] engineCase : ENGINE_CASES) {
+            int characteristic = engineCase[0];
+            int degree = engineCase[1];
+            int maximumFactorDegree = SmallFactorFilter.chooseMaximumFactorDegree(characteristic, degree);
+            if (maximumFactorDegree == 0) {
+                continue;
+            }
+            SmallFactorFilter filter = SmallFactorFilter.getFilter(characteristic, maximumFactorDegree);
+            int repetitions = Math.max(5, 20000 / degree);
+
+            IPolynomial[] polynomials = new IPolynomial[repetitions];
+            for (int i = 0; i < repetitions; i++) {
+                int[] coefficients = createRandomArray(characteristic, degree, random);
+                coefficients[degree] = 1;
+                polynomials[i] = new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(coefficients);
+            }
+
+            // Warming up the JIT compiler.
+            for (IIrreducibilityEngine engine : engines) {
+                for (int i = 0; i < Math.min(3, repetitions); i++) {
+                    engine.isIrreducible(polynomials[i]);
+                    filter.hasSmallFactor(polynomials[i]);
+                }
+            }
+
+            int rejected = 0;
+            StringBuilder times = new StringBuilder();
+            for (IIrreducibilityEngine engine : engines) {
+                long start = System.nanoTime();
+                for (IPolynomial polynomial : polynomials) {
+                    engine.isIrreducible(polynomial);
+                }
+                times.append(", ").append(toMilliseconds(System.nanoTime() - start, repetitions));
+
+                rejected = 0;
+                start = System.nanoTime();
+                for (IPolynomial polynomial : polynomials) {
+                    if (filter.hasSmallFactor(polynomial)) {
+                        rejected++;
+                    } else {
+                        engine.isIrreducible(polynomial);
+                    }
+                }
+                times.append(", ").append(toMilliseconds(System.nanoTime() - start, repetitions));
+            }
+
+            System.out.println(characteristic + ", " + degree + ", " + maximumFactorDegree + ", "
+                    + rejected + "/" + repetitions + times);
+        }
+    }
+
+    /*
+     Goes through the same number of candidates with the polynomial sieve
+     and by generating random candidates and giving them to the small factor
+     filter. The survivors are the ratios of the candidates left for an
+     irreducibility test, and the times are in milliseconds per 1000
+     candidates.
+     */
+    private static void benchmarkSieve() {
+        System.out.println("Characteristic, Degree, Sieve k, Sieve survivors, Sieve, "
+                + "Filter k, Filter survivors, Filter");
+
+        Random random = new Random(5);
+        int count = 20000;
+
+        for (int[] engineCase : ENGINE_CASES) {
+            int characteristic = engineCase[0];
+            int degree = engineCase[1];
+            int maximumFactorDegree = SmallFactorFilter.chooseMaximumFactorDegree(characteristic, degree);
+            SmallFactorFilter filter = null;
+            if (maximumFactorDegree > 0) {
+                filter = SmallFactorFilter.getFilter(characteristic, maximumFactorDegree);
+            }
+            int filterCount = Math.max(100, count * 64 / degree / 10);
+
+            // Warming up the JIT compiler.
+            PolynomialSieve sieve = new PolynomialSieve(characteristic, degree, random);
+            while (sieve.getNumberOfCandidates() < count / 10) {
+                sieve.next();
+            }
+
+            long start = System.nanoTime();
+            sieve = new PolynomialSieve(characteristic, degree, random);
+            while (sieve.getNumberOfCandidates() < count) {
+                sieve.next();
+            }
+            long sieveTime = System.nanoTime() - start;
+
+            int survivors = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < filterCount; i++) {
+                int[] coefficients = createRandomArray(characteristic, degree, random);
+                coefficients[degree] = 1;
+                IPolynomial candidate = new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(coefficients);
+                if (filter == null || !filter.hasSmallFactor(candidate)) {
+                    survivors++;
+                }
+            }
+            long filterTime = System.nanoTime() - start;
+
+            System.out.println(characteristic + ", " + degree + ", " + sieve.getMaximumFactorDegree() + ", "
+                    + String.format(Locale.ROOT, "%.3f", (double) sieve.getNumberOfSurvivors() / sieve.getNumberOfCandidates())
+                    + ", " + toMilliseconds(1000 * sieveTime, (int) sieve.getNumberOfCandidates())
+                    + ", " + maximumFactorDegree + ", "
+                    + String.format(Locale.ROOT, "%.3f", (double) survivors / filterCount)
+                    + ", " + toMilliseconds(1000 * filterTime, filterCount));
+        }
+    }
+
+    /*
+     Finds irreducible polynomials with the candidates of the candidate walk
+     and of the polynomial sieve, testing the survivors with Rabin's test.
+     The times are averages per irreducible polynomial in milliseconds.
+     */
+    private static void benchmarkCandidateWalk() {
+        System.out.println("Characteristic, Degree, Walk k, Walk tested, Walk, Sieve k, Sieve tested, Sieve");
+
+        Random random = new Random(7);
+        RabinEngine engine = new RabinEngine();
+        int count = 20;
+
+        for (int[] engineCase : ENGINE_CASES) {
+            int characteristic = engineCase[0];
+            int degree = engineCase[1];
+
+            // Warming up the JIT compiler.
+            CandidateWalk walk = new CandidateWalk(characteristic, degree, random);
+            PolynomialSieve sieve = new PolynomialSieve(characteristic, degree, random);
+            for (int i = 0; i < 20; i++) {
+                engine.isIrreducible(walk.next());
+                engine.isIrreducible(sieve.next());
+            }
+
+            long start = System.nanoTime();
+            walk = new CandidateWalk(characteristic, degree, random);
+            for (int found = 0; found < count;) {
+                if (engine.isIrreducible(walk.next())) {
+                    found++;
+                }
+            }
+            long walkTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sieve = new PolynomialSieve(characteristic, degree, random);
+            for (int found = 0; found < count;) {
+                if (engine.isIrreducible(sieve.next())) {
+                    found++;
+                }
+            }
+            long sieveTime = System.nanoTime() - start;
+
+            System.out.println(characteristic + ", " + degree + ", " + walk.getMaximumFactorDegree() + ", "
+                    + walk.getNumberOfSurvivors() + ", " + toMilliseconds(walkTime, count) + ", "
+                    + sieve.getMaximumFactorDegree() + ", " + sieve.getNumberOfSurvivors() + ", "
+                    + toMilliseconds(sieveTime, count));
+        }
+    }
+
+    /*
+     Runs both root tests and the one chosen by RootFilter on the same random
+     monic polynomials with non-zero constant terms. The times are averages
+     per polynomial in milliseconds.
+     */
+    private static void benchmarkRootTests() {
+        System.out.println("Characteristic, Degree, Evaluation, Gcd, Chosen");
+
+        Random random = new Random(6);
+
+        for (int[] rootCase : ROOT_CASES) {
+            int characteristic = rootCase[0];
+            int degree = rootCase[1];
+            int repetitions = 200;
+            int evaluationRepetitions = (long) characteristic * degree > 1000000 ? 5 : repetitions;
+
+            IPolynomial[] polynomials = new IPolynomial[repetitions];
+            for (int i = 0; i < repetitions; i++) {
+                int[] coefficients = createRandomArray(characteristic, degree, random);
+                coefficients[0] = random.nextInt(characteristic - 1) + 1;
+                coefficients[degree] = 1;
+                polynomials[i] = new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(coefficients);
+            }
+
+            // Warming up the JIT compiler.
+            for (int i = 0; i < Math.min(3, evaluationRepetitions); i++) {
+                RootFilter.hasRootByEvaluation(polynomials[i]);
+                RootFilter.hasRootByGcd(polynomials[i]);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < evaluationRepetitions; i++) {
+                RootFilter.hasRootByEvaluation(polynomials[i]);
+            }
+            long evaluation = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < repetitions; i++) {
+                RootFilter.hasRootByGcd(polynomials[i]);
+            }
+            long gcd = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < evaluationRepetitions; i++) {
+                RootFilter.hasRoot(polynomials[i]);
+            }
+            long chosen = System.nanoTime() - start;
+
+            System.out.println(characteristic + ", " + degree + ", "
+                    + toMilliseconds(evaluation, evaluationRepetitions) + ", "
+                    + toMilliseconds(gcd, repetitions) + ", " + toMilliseconds(chosen, evaluationRepetitions));
+        }
+    }
+
+    /*
+     Finds irreducible polynomials of composite degrees by combining the
+     prime power degrees into composed products and by searching with the
+     pipeline of the default preset.
+     The times are averages per polynomial in milliseconds.
+     */
+    private static void benchmarkComposedProducts() {
+        System.out.println("Characteristic, Degree, Composed, Search");
+
+        for (int[] composedCase : COMPOSED_CASES) {
+            int characteristic = composedCase[0];
+            int degree = composedCase[1];
+            int repetitions = 5;
+
+            // Warming up the JIT compiler.
+            IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic, degree, SearchPreset.DEFAULT);
+            IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic, degree, SearchPreset.DEFAULT,
+                    new BenOrEngine());
+
+            long start = System.nanoTime();
+            for (int i = 0; i < repetitions; i++) {
+                IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic, degree, SearchPreset.DEFAULT);
+            }
+            long composed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < repetitions; i++) {
+                IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic, degree, SearchPreset.DEFAULT,
+                        new BenOrEngine());
+            }
+            long search = System.nanoTime() - start;
+
+            System.out.println(characteristic + ", " + degree + ", " + toMilliseconds(composed, repetitions)
+                    + ", " + toMilliseconds(search, repetitions));
+        }
+    }
+
+    private static String toMilliseconds(long nanoseconds, int repetitions) {
+        return String.format(Locale.ROOT, "%.3f", nanoseconds / 1e6 / repetitions);
+    }
+
+    private static int[] createRandomArray(int characteristic, int degree, Random random) {
+        int[] array = new int[degree + 1];
+        for (int i = 0; i < degree; i++) {
+            array[i] = random.nextInt(characteristic);
+        }
+        array[degree] = random.nextInt(characteristic - 1) + 1;
+        return array;
+    }
+}
@@ -8,6 +8,8 @@ import java.util.logging.Logger;
 import math.MathUtil;
 import polynomial.IPolynomial;
 import polynomial.IrreduciblePolynomialFinder;
+import polynomial.search.SearchPipeline;
+import polynomial.search.SearchPreset;
 
 /**
  * Main method for irreducible polynomial finder.
@@ -53,52 +55,13 @@ public class Main {
         if (args.length > 1) {
             heuristic = args[1];
         } else {
-            heuristic = "naive";
+            heuristic = SearchPreset.NAIVE.getName();
         }
 
-        boolean useSparsePolynomials;
-        boolean checkForRoots;
-        boolean smartChar2Generation;
-
-        switch (heuristic) {
-            case "naive":
-                useSparsePolynomials = false;
-                checkForRoots = false;
-                smartChar2Generation = false;
-                break;
-            case "sparse":
-                useSparsePolynomials = true;
-                checkForRoots = false;
-                smartChar2Generation = false;
-                break;
-            case "smartchar2":
-                useSparsePolynomials = false;
-                checkForRoots = false;
-                smartChar2Generation = true;
-                break;
-            case "checkroots":
-                useSparsePolynomials = false;
-                checkForRoots = true;
-                smartChar2Generation = false;
-                break;
-            case "sparse_smartchar2":
-                useSparsePolynomials = true;
-                checkForRoots = false;
-                smartChar2Generation = true;
-                break;
-            case "sparse_checkroots":
-                useSparsePolynomials = true;
-                checkForRoots = true;
-                smartChar2Generation = false;
-                break;
-            case "sparse_smartchar2_checkroots":
-                useSparsePolynomials = true;
-                checkForRoots = true;
-                smartChar2Generation = true;
-                break;
-            default:
-                System.out.println("Could not parse given heuristic command line argument: " + heuristic);
-                return;
+        SearchPreset preset = SearchPreset.forName(heuristic);
+        if (preset == null) {
+            System.out.println("Could not parse given heuristic command line argument: " + heuristic);
+            return;
         }
 
         while (fileReader.hasNextLine()) {
@@ -128,12 +91,15 @@ public class Main {
             }
 
             IPolynomial polynomial = IrreduciblePolynomialFinder.findIrreduciblePolynomial(
-                    characteristic, degree, checkForRoots, smartChar2Generation,
-                    useSparsePolynomials, false);
+                    characteristic, degree, preset);
             int generated = IrreduciblePolynomialFinder.getNumberOfPolynomialsGeneratedLastTime();
             int checkedWithRabin = IrreduciblePolynomialFinder.getNumberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime();
             System.out.println(characteristic + ", " + degree + ", " + polynomial
                     + ", " + generated + ", " + checkedWithRabin);
+            if (preset == SearchPreset.ALL_FILTERS) {
+                System.err.println(characteristic + ", " + degree + ":");
+                System.err.println(IrreduciblePolynomialFinder.getPipelineLastTime().getSummary());
+            }
         }
 
     }
@@ -155,18 +121,10 @@ public class Main {
         System.out.println("");
         System.out.println("If the data is read from a file, you may also specify"
                 + " (using a second command line argument) what heuristic the algorithm will use.");
-        System.out.println("Possible choices are: ");
-        System.out.println("    naive - Generates evenly distributed polynomials "
-                + "and inserts them directly into Rabin's irreducibility test.");
-        System.out.println("    sparse - Generates shorter polynomials (more zero coefficients)");
-        System.out.println("    checkroots - Checks if the generated polynomial has a root before "
-                + "using Rabin's irreducibility test");
-        System.out.println("    sparse_checkroots - Combination of sparse and checkroots ");
-        System.out.println("    smartchar2 - If the characteristic is 2, performs a simple and very quick test to ensure that "
-                + "the generated polynomial never has a root.");
-        System.out.println("    sparse_smartchar2 - Combination of sparse and smartchar2.");
-        System.out.println("    sparse_smartchar2_checkroots - Combination of sparse, smartchar2 and checkroots. "
-                + "This is sensible mainly if the input contains both characteristic 2 and other characteristics.");
+        System.out.println("Possible choices are (naive is used if none is given): ");
+        for (SearchPreset preset : SearchPreset.getPresets()) {
+            System.out.println("    " + preset.getName() + " - " + preset.getDescription());
+        }
         System.out.println("");
         System.out.println("The results will be printed in csv-format to the standard output. It may be"
                 + " redirected to a file from there.");
@@ -214,9 +172,13 @@ public class Main {
         
         System.out.println("Starting calculation...");
         long startTime = System.currentTimeMillis();
-        IPolynomial polynomial = IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic, degree, true, true, true, true);
+        IPolynomial polynomial = IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic, degree);
         long endTime = System.currentTimeMillis();
         System.out.println("Irreducible polynomial: " + polynomial);
+        SearchPipeline pipeline = IrreduciblePolynomialFinder.getPipelineLastTime();
+        if (pipeline != null) {
+            System.out.println(pipeline.getSummary());
+        }
         System.out.println("Time elapsed: " + ((endTime - startTime) / 1000.0) + " seconds");
     }
 }
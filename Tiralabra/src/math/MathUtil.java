@@ -75,25 +75,22 @@ public class MathUtil {
             return 1;
         }
 
-        int indexOfHighestOneBit = log2(exponent);
-
-        long[] numberExponentiated = new long[indexOfHighestOneBit + 1];
-        numberExponentiated[0] = base % modulo;
-
-        for (int i = 1; i < numberExponentiated.length; i++) {
-            numberExponentiated[i] = (numberExponentiated[i - 1] * numberExponentiated[i - 1]) % modulo;
+        // Square and multiply from the lowest bit, so that no table of
+        // squares is needed.
+        long square = base % modulo;
+        if (square < 0) {
+            square += modulo;
         }
+        long result = 1 % modulo;
 
-        long result = numberExponentiated[numberExponentiated.length - 1];
-
-        for (int i = numberExponentiated.length - 2; i >= 0; i--) {
-            if (isOne(exponent, i)) {
-                result = (result * numberExponentiated[i]) % modulo;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = (result * square) % modulo;
+            }
+            exponent >>>= 1;
+            if (exponent > 0) {
+                square = (square * square) % modulo;
             }
-        }
-
-        while (result < 0) {
-            result += modulo;
         }
 
         return (int) result;
@@ -173,13 +170,93 @@ public class MathUtil {
      * @return The inverse of n modulo p, 0 if the inverse doesn't exist.
      */
     public static int getInverseModP(int n, int p) {
-        ExtendedEuclideanResult result = extendedEuclideanAlgorithm(n, p);
+        // The Extended Euclidean algorithm done iteratively, keeping track of
+        // only the coefficient of n. This gives the same result as
+        // extendedEuclideanAlgorithm without any allocations.
+        int previousRemainder = n;
+        int remainder = p;
+        int previousX = 1;
+        int x = 0;
+
+        while (remainder != 0) {
+            int quotient = previousRemainder / remainder;
+
+            int nextRemainder = previousRemainder - quotient * remainder;
+            previousRemainder = remainder;
+            remainder = nextRemainder;
+
+            int nextX = previousX - quotient * x;
+            previousX = x;
+            x = nextX;
+        }
 
-        if (abs(result.gcd) != 1) {
+        if (abs(previousRemainder) != 1) {
             return 0;
         }
 
-        return result.gcd*result.x;
+        return previousRemainder * previousX;
+    }
+
+    /**
+     * Finds the multiplicative inverses of many numbers modulo a prime at once.
+     *
+     * This uses Montgomery's trick: the prefix products of the numbers are
+     * calculated, the inverse of the product of all numbers is found with one
+     * exponentiation, and the inverses of the single numbers are then
+     * recovered from the prefix products. Thus k inverses cost one
+     * exponentiation and 3(k-1) multiplications.
+     *
+     * @param numbers The numbers whose inverses are to be found. None of them
+     * may be divisible by p. The array isn't changed.
+     * @param p A prime.
+     * @return The inverses in the range 1...p-1, in the same order as the
+     * numbers.
+     * @throws IllegalArgumentException if numbers is null or any of the
+     * numbers is divisible by p.
+     * @throws IllegalArgumentException if p is smaller than 2.
+     */
+    public static int[] getInversesModP(int[] numbers, int p) {
+        if (numbers == null) {
+            throw new IllegalArgumentException("The given array is null!");
+        }
+        if (p < 2) {
+            throw new IllegalArgumentException("p must be 2 or larger!");
+        }
+
+        int[] inverses = new int[numbers.length];
+        if (numbers.length == 0) {
+            return inverses;
+        }
+
+        // The prefix products are stored in the result array at first.
+        long product = 1;
+        for (int i = 0; i < numbers.length; i++) {
+            long number = numbers[i] % p;
+            if (number < 0) {
+                number += p;
+            }
+            if (number == 0) {
+                throw new IllegalArgumentException("The number " + numbers[i]
+                        + " has no inverse modulo " + p);
+            }
+            inverses[i] = (int) product;
+            product = product * number % p;
+        }
+
+        // By Fermat's little theorem, the inverse of x is x^(p-2).
+        long inverseOfProduct = powModulo((int) product, p - 2, p);
+
+        for (int i = numbers.length - 1; i >= 0; i--) {
+            long number = numbers[i] % p;
+            if (number < 0) {
+                number += p;
+            }
+            // Now inverseOfProduct is the inverse of numbers[0]*...*numbers[i].
+            inverses[i] = (int) (inverseOfProduct * inverses[i] % p);
+            inverseOfProduct = inverseOfProduct * number % p;
+        }
+
+        return inverses;
     }
 
     /**
@@ -209,7 +286,7 @@ public class MathUtil {
 
         int testNumber = 3;
 
-        while (testNumber * testNumber <= n) {
+        while ((long) testNumber * testNumber <= n) {
             if (n % testNumber == 0) {
                 return false;
             }
@@ -0,0 +1,107 @@
+package polynomial;
+
+/**
+ * A reducer that uses Barrett's method.
+ *
+ * The reducer precomputes the inverse of the reversed modulus with Newton
+ * iteration, after which the quotient of a division by f can be found with
+ * two multiplications instead of a long division. Thus the cost of a
+ * reduction follows the cost of DensePolynomialUtil.multiply.
+ *
+ * The precomputed inverse suffices for polynomials of degree at most 2n-2,
+ * where n is the degree of f, which covers the product of two remainders.
+ * Larger polynomials, as well as all polynomials if the modulus has a small
+ * degree, are reduced with long division, since it is faster in that case. With long
+ * division, products of small polynomials are summed straight into the array
+ * of the division, see DensePolynomialUtil.multiplyModulo.
+ *
+ * @author Sebastian Björkqvist
+ */
+class BarrettModularReducer extends ModularReducer {
+
+    /**
+     * Barrett's method is used only if the degree of the modulus is at least
+     * this large.
+     */
+    static final int BARRETT_THRESHOLD = 1536;
+
+    /**
+     * The threshold for the characteristics 2 and 3. In these characteristics
+     * many coefficients are zero, and the long division skips them, so it stays
+     * faster up to larger degrees.
+     */
+    static final int BARRETT_THRESHOLD_SMALL_CHARACTERISTIC = 6144;
+
+    private final int[] inverseOfReversedModulus;
+
+    BarrettModularReducer(IPolynomial modulus) {
+        super(modulus);
+
+        int degree = getDegree();
+        int characteristic = getCharacteristic();
+
+        if (degree >= getBarrettThreshold(characteristic)) {
+            int[] reversedModulus = DensePolynomialUtil.reverse(getModulusCoefficients(), degree);
+            this.inverseOfReversedModulus = DensePolynomialUtil.inverseOfPowerSeries(reversedModulus,
+                    degree - 1, characteristic);
+        } else {
+            this.inverseOfReversedModulus = null;
+        }
+    }
+
+    @Override
+    int[] reduce(int[] a) {
+        int degree = getDegree();
+        int characteristic = getCharacteristic();
+        int[] modulusCoefficients = getModulusCoefficients();
+
+        if (a.length <= degree) {
+            return a.clone();
+        }
+        if (inverseOfReversedModulus == null || a.length > 2 * degree - 1) {
+            return DensePolynomialUtil.remainder(a, modulusCoefficients, characteristic);
+        }
+
+        // If a = q*f + r, then reversing gives rev(a) = rev(q)*rev(f) + x^(m)*rev(r),
+        // where m is the length of the quotient. Thus rev(q) is rev(a)/rev(f) mod x^m.
+        int quotientLength = a.length - degree;
+
+        int[] reversedDividend = DensePolynomialUtil.truncate(
+                DensePolynomialUtil.reverse(a, a.length - 1), quotientLength);
+        int[] inverse = DensePolynomialUtil.truncate(inverseOfReversedModulus, quotientLength);
+
+        int[] reversedQuotient = DensePolynomialUtil.truncate(
+                DensePolynomialUtil.multiply(reversedDividend, inverse, characteristic), quotientLength);
+        int[] quotient = DensePolynomialUtil.reverse(reversedQuotient, quotientLength - 1);
+
+        // Only the coefficients below the degree of the modulus are needed
+        // from the product, since the rest cancel out.
+        int[] product = DensePolynomialUtil.truncate(
+                DensePolynomialUtil.multiply(quotient, modulusCoefficients, characteristic), degree);
+
+        return DensePolynomialUtil.subtract(DensePolynomialUtil.truncate(a, degree), product, characteristic);
+    }
+
+    @Override
+    int[] multiply(int[] a, int[] b) {
+        if (inverseOfReversedModulus == null) {
+            return DensePolynomialUtil.multiplyModulo(a, b, getModulusCoefficients(), getCharacteristic());
+        }
+        return super.multiply(a, b);
+    }
+
+    @Override
+    int[] square(int[] a) {
+        if (inverseOfReversedModulus == null) {
+            return DensePolynomialUtil.squareModulo(a, getModulusCoefficients(), getCharacteristic());
+        }
+        return super.square(a);
+    }
+
+    static int getBarrettThreshold(int characteristic) {
+        if (characteristic <= 3) {
+            return BARRETT_THRESHOLD_SMALL_CHARACTERISTIC;
+        }
+        return BARRETT_THRESHOLD;
+    }
+}
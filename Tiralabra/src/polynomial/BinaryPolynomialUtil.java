@@ -0,0 +1,423 @@
+package polynomial;
+
+/**
+ * Methods for calculating with polynomials over Z_2 packed into words.
+ *
+ * The coefficients of a polynomial are kept as the bits of a long array. The
+ * coefficient of degree k is the bit k % 64 of the word k / 64. Addition and
+ * subtraction are then both XOR, and multiplication by x^k is a shift, so
+ * 64 coefficients are handled with a single operation.
+ *
+ * Unlike the arrays of DensePolynomialUtil, the word arrays may contain
+ * zero words in the end. The methods that change an array say so.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class BinaryPolynomialUtil {
+
+    /**
+     * Packs a coefficient array of characteristic 2 into words.
+     *
+     * @param coefficients Coefficients in the range 0...1.
+     * @return The packed polynomial.
+     */
+    public static long[] pack(int[] coefficients) {
+        long[] words = new long[(coefficients.length + 63) >>> 6];
+        for (int i = 0; i < coefficients.length; i++) {
+            if (coefficients[i] != 0) {
+                words[i >>> 6] |= 1L << i;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Unpacks a packed polynomial into a coefficient array of the form used
+     * in DensePolynomialUtil.
+     *
+     * @param words The packed polynomial.
+     * @return The coefficient array.
+     */
+    public static int[] unpack(long[] words) {
+        int[] coefficients = new int[getDegree(words) + 1];
+        for (int i = 0; i < coefficients.length; i++) {
+            coefficients[i] = (int) (words[i >>> 6] >>> i) & 1;
+        }
+        return coefficients;
+    }
+
+    /**
+     * Returns the degree of a packed polynomial.
+     *
+     * @param words The packed polynomial.
+     * @return The degree, -1 for the zero polynomial.
+     */
+    public static int getDegree(long[] words) {
+        for (int i = words.length - 1; i >= 0; i--) {
+            if (words[i] != 0) {
+                return 64 * i + 63 - Long.numberOfLeadingZeros(words[i]);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Multiplies two packed polynomials.
+     *
+     * For every one bit k of b, a shifted by k is added to the result, so
+     * the product of polynomials of degree n takes O(n^2/64) word operations.
+     *
+     * @param a
+     * @param b
+     * @return The product as a new array.
+     */
+    public static long[] multiply(long[] a, long[] b) {
+        int degreeOfA = getDegree(a);
+        int degreeOfB = getDegree(b);
+        if (degreeOfA == -1 || degreeOfB == -1) {
+            return new long[0];
+        }
+
+        long[] result = new long[((degreeOfA + degreeOfB) >>> 6) + 1];
+        for (int i = 0; i <= degreeOfB; i++) {
+            if (((b[i >>> 6] >>> i) & 1) != 0) {
+                xorShifted(result, a, degreeOfA, i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reduces a packed polynomial modulo another one.
+     *
+     * The terms above the degree of the modulus are removed one at a time by
+     * adding the modulus shifted to the term, which takes O(n/64) word
+     * operations per term. For sparse moduli reduceModuloSparse is faster.
+     *
+     * The array is changed.
+     *
+     * @param words The packed polynomial.
+     * @param modulus A non-zero packed polynomial.
+     */
+    public static void reduceModulo(long[] words, long[] modulus) {
+        int degree = getDegree(modulus);
+        int top = getDegree(words);
+        while (top >= degree) {
+            xorShifted(words, modulus, degree, top - degree);
+            top = getDegree(words, (top >>> 6) + 1);
+        }
+    }
+
+    /*
+     Adds a * x^shift to the result, where a is of the given degree. The
+     result must be long enough.
+     */
+    private static void xorShifted(long[] result, long[] a, int degree, int shift) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        int words = (degree >>> 6) + 1;
+
+        if (bitShift == 0) {
+            for (int j = 0; j < words; j++) {
+                result[j + wordShift] ^= a[j];
+            }
+            return;
+        }
+        for (int j = 0; j < words; j++) {
+            result[j + wordShift] ^= a[j] << bitShift;
+            long carry = a[j] >>> (64 - bitShift);
+            if (carry != 0) {
+                result[j + wordShift + 1] ^= carry;
+            }
+        }
+    }
+
+    /**
+     * Squares a packed polynomial.
+     *
+     * In characteristic 2 the square of a_0 + a_1*x + ... is
+     * a_0 + a_1*x^2 + ..., so the square is found by spreading the bits of
+     * every word into two words.
+     *
+     * @param words The packed polynomial.
+     * @return The square as a new array.
+     */
+    public static long[] square(long[] words) {
+        long[] result = new long[2 * words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[2 * i] = spreadBits(words[i] & 0xFFFFFFFFL);
+            result[2 * i + 1] = spreadBits(words[i] >>> 32);
+        }
+        return result;
+    }
+
+    /*
+     Moves the bit k of a 32-bit value to the position 2k.
+     */
+    private static long spreadBits(long bits) {
+        bits = (bits | (bits << 16)) & 0x0000FFFF0000FFFFL;
+        bits = (bits | (bits << 8)) & 0x00FF00FF00FF00FFL;
+        bits = (bits | (bits << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        bits = (bits | (bits << 2)) & 0x3333333333333333L;
+        bits = (bits | (bits << 1)) & 0x5555555555555555L;
+        return bits;
+    }
+
+    /**
+     * Calculates the greatest common divisor of two packed polynomials with
+     * the binary gcd algorithm of Stein.
+     *
+     * The common factors of x are removed first. After that both polynomials
+     * have a non-zero constant term, and the gcd doesn't change if the
+     * polynomial of larger degree is replaced by the sum of the two divided by
+     * all its factors of x. Every step lowers the degree of the larger
+     * polynomial by at least one, and it takes only XORs and shifts of whole
+     * words, so the gcd is found in O(n^2/64) time without any divisions.
+     *
+     * @param a
+     * @param b
+     * @return The gcd as a new array, or the zero polynomial if both a and b
+     * are zero.
+     */
+    public static long[] gcd(long[] a, long[] b) {
+        return gcd(a, b, false);
+    }
+
+    /**
+     * Checks if two packed polynomials are coprime.
+     *
+     * Works like gcd, but stops as soon as the result is known.
+     *
+     * @param a
+     * @param b
+     * @return true if the gcd of a and b is 1.
+     */
+    public static boolean isCoprime(long[] a, long[] b) {
+        long[] gcd = gcd(a, b, true);
+        return gcd.length == 1 && gcd[0] == 1;
+    }
+
+    /*
+     If stopEarly is true, the returned array is only guaranteed to be {1}
+     when the polynomials are coprime, and the common factors of x are
+     checked first.
+     */
+    private static long[] gcd(long[] a, long[] b, boolean stopEarly) {
+        int degreeOfA = getDegree(a);
+        int degreeOfB = getDegree(b);
+
+        if (degreeOfA == -1) {
+            return copy(b, degreeOfB);
+        }
+        if (degreeOfB == -1) {
+            return copy(a, degreeOfA);
+        }
+
+        int lowestOfA = getLowestDegree(a);
+        int lowestOfB = getLowestDegree(b);
+        int commonShift = Math.min(lowestOfA, lowestOfB);
+        if (stopEarly && commonShift > 0) {
+            return new long[0];
+        }
+
+        long[] larger = copy(a, degreeOfA);
+        long[] smaller = copy(b, degreeOfB);
+        shiftRight(larger, lowestOfA, larger.length);
+        shiftRight(smaller, lowestOfB, smaller.length);
+        degreeOfA -= lowestOfA;
+        degreeOfB -= lowestOfB;
+
+        // From now on both have the constant term 1, so neither becomes zero
+        // unless they are equal, and the degree of larger is kept at least
+        // the degree of smaller.
+        while (true) {
+            if (degreeOfA < degreeOfB) {
+                long[] temp = larger;
+                larger = smaller;
+                smaller = temp;
+                int tempDegree = degreeOfA;
+                degreeOfA = degreeOfB;
+                degreeOfB = tempDegree;
+            }
+            if (degreeOfB == 0) {
+                break;
+            }
+
+            int words = (degreeOfA >>> 6) + 1;
+            for (int i = 0; i <= (degreeOfB >>> 6); i++) {
+                larger[i] ^= smaller[i];
+            }
+            int lowest = getLowestDegree(larger, words);
+            if (lowest == -1) {
+                // The polynomials were equal, so either one is the gcd.
+                larger = smaller;
+                degreeOfA = degreeOfB;
+                break;
+            }
+            shiftRight(larger, lowest, words);
+            degreeOfA = getDegree(larger, words);
+        }
+
+        long[] gcd;
+        if (degreeOfB == 0) {
+            gcd = new long[]{1};
+        } else {
+            gcd = copy(larger, degreeOfA);
+        }
+
+        if (commonShift == 0) {
+            return gcd;
+        }
+        int degree = getDegree(gcd);
+        long[] result = new long[((degree + commonShift) >>> 6) + 1];
+        for (int i = 0; i <= degree; i++) {
+            if (((gcd[i >>> 6] >>> i) & 1) != 0) {
+                int position = i + commonShift;
+                result[position >>> 6] |= 1L << position;
+            }
+        }
+        return result;
+    }
+
+    private static long[] copy(long[] words, int degree) {
+        if (degree == -1) {
+            return new long[0];
+        }
+        long[] result = new long[(degree >>> 6) + 1];
+        System.arraycopy(words, 0, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Returns the lowest degree with a non-zero coefficient, i.e. the number
+     * of factors of x in the polynomial.
+     *
+     * @param words The packed polynomial.
+     * @return The lowest degree, -1 for the zero polynomial.
+     */
+    public static int getLowestDegree(long[] words) {
+        return getLowestDegree(words, words.length);
+    }
+
+    private static int getLowestDegree(long[] words, int length) {
+        for (int i = 0; i < length; i++) {
+            if (words[i] != 0) {
+                return 64 * i + Long.numberOfTrailingZeros(words[i]);
+            }
+        }
+        return -1;
+    }
+
+    private static int getDegree(long[] words, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (words[i] != 0) {
+                return 64 * i + 63 - Long.numberOfLeadingZeros(words[i]);
+            }
+        }
+        return -1;
+    }
+
+    /*
+     Divides the first length words of the packed polynomial by x^shift in
+     place, dropping the coefficients below the degree shift.
+     */
+    private static void shiftRight(long[] words, int shift, int length) {
+        if (shift == 0) {
+            return;
+        }
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+
+        for (int i = 0; i < length; i++) {
+            long value = 0;
+            if (i + wordShift < length) {
+                value = words[i + wordShift] >>> bitShift;
+                if (bitShift != 0 && i + wordShift + 1 < length) {
+                    value |= words[i + wordShift + 1] << (64 - bitShift);
+                }
+            }
+            words[i] = value;
+        }
+    }
+
+    /**
+     * Returns count coefficients starting from the given degree.
+     *
+     * @param words The packed polynomial.
+     * @param position The degree of the lowest coefficient wanted.
+     * @param count The number of coefficients, from 1 to 64.
+     * @return The coefficients as the lowest bits of a long.
+     */
+    static long getBits(long[] words, int position, int count) {
+        int index = position >>> 6;
+        int offset = position & 63;
+
+        long bits = words[index] >>> offset;
+        if (offset + count > 64) {
+            bits |= words[index + 1] << (64 - offset);
+        }
+        if (count < 64) {
+            bits &= (1L << count) - 1;
+        }
+        return bits;
+    }
+
+    /**
+     * Adds bits * x^position to the packed polynomial.
+     *
+     * The array is changed, and it must be long enough to hold the result.
+     *
+     * @param words The packed polynomial.
+     * @param position The shift.
+     * @param bits The coefficients to add. Only the count lowest bits may be set.
+     * @param count The number of coefficients, from 1 to 64.
+     */
+    static void xorBits(long[] words, int position, long bits, int count) {
+        int index = position >>> 6;
+        int offset = position & 63;
+
+        words[index] ^= bits << offset;
+        if (offset + count > 64) {
+            words[index + 1] ^= bits >>> (64 - offset);
+        }
+    }
+
+    /**
+     * Reduces a packed polynomial modulo a sparse modulus.
+     *
+     * The modulus is x^degree plus the terms x^e for all e in lowerExponents.
+     * The terms above the degree are removed a chunk of bits at a time. A
+     * chunk reduced by the modulus only affects bits below the chunk if it is
+     * at most as long as the gap between the two highest terms, so with a
+     * trinomial x^n + x^k + 1 where n - k is at least 64, a whole word is
+     * reduced with a couple of shifts and XORs per term.
+     *
+     * The array is changed.
+     *
+     * @param words The packed polynomial.
+     * @param degree The degree of the modulus.
+     * @param lowerExponents The exponents of the other terms of the modulus in
+     * ascending order.
+     */
+    public static void reduceModuloSparse(long[] words, int degree, int[] lowerExponents) {
+        int secondHighestExponent = -1;
+        if (lowerExponents.length > 0) {
+            secondHighestExponent = lowerExponents[lowerExponents.length - 1];
+        }
+        int chunkLength = Math.min(64, degree - secondHighestExponent);
+
+        int top = getDegree(words);
+        while (top >= degree) {
+            int count = Math.min(chunkLength, top - degree + 1);
+            int start = top - count + 1;
+            long bits = getBits(words, start, count);
+            if (bits != 0) {
+                xorBits(words, start, bits, count);
+                for (int i = 0; i < lowerExponents.length; i++) {
+                    xorBits(words, start - degree + lowerExponents[i], bits, count);
+                }
+            }
+            top = start - 1;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package polynomial;
+
+/**
+ * A ring kernel for characteristic 2, where the elements are packed into
+ * words as in BinaryPolynomialUtil.
+ *
+ * The Frobenius map is squaring, which only spreads the bits, so the cost of
+ * the irreducibility tests is dominated by the reductions. Sparse moduli are
+ * reduced a word at a time with BinaryPolynomialUtil.reduceModuloSparse, and
+ * the other moduli by shifted XORs of the whole modulus.
+ *
+ * The returned arrays have exactly the words needed for a polynomial of
+ * degree n - 1, where n is the degree of the modulus.
+ *
+ * @author Sebastian Björkqvist
+ */
+public final class BinaryRingKernel implements IRingKernel<long[]> {
+
+    private final IPolynomial modulus;
+    private final long[] modulusWords;
+    private final int degree;
+    private final int[] lowerExponents;
+    private final long[] x;
+
+    /**
+     * Creates a kernel for the given modulus.
+     *
+     * @param modulus The modulus f.
+     * @throws IllegalArgumentException if the modulus is null or the zero
+     * polynomial, or its characteristic isn't 2.
+     */
+    public BinaryRingKernel(IPolynomial modulus) {
+        if (modulus == null) {
+            throw new IllegalArgumentException("The modulus is null!");
+        }
+        if (modulus.getCharacteristic() != 2) {
+            throw new IllegalArgumentException("The characteristic of the modulus is "
+                    + modulus.getCharacteristic() + ", not 2.");
+        }
+        if (modulus.getDegree() == -1) {
+            throw new IllegalArgumentException("The modulus is the zero polynomial.");
+        }
+
+        this.modulus = modulus;
+        int[] coefficients = DensePolynomialUtil.trim(modulus.getCoefficients());
+        this.modulusWords = BinaryPolynomialUtil.pack(coefficients);
+        this.degree = coefficients.length - 1;
+
+        if (SparseModularReducer.isSparse(modulus)) {
+            int numberOfLowerTerms = 0;
+            for (int i = 0; i < degree; i++) {
+                numberOfLowerTerms += coefficients[i];
+            }
+            this.lowerExponents = new int[numberOfLowerTerms];
+            int index = 0;
+            for (int i = 0; i < degree; i++) {
+                if (coefficients[i] != 0) {
+                    lowerExponents[index] = i;
+                    index++;
+                }
+            }
+        } else {
+            this.lowerExponents = null;
+        }
+
+        this.x = powerOfX(1);
+    }
+
+    @Override
+    public int getCharacteristic() {
+        return 2;
+    }
+
+    @Override
+    public int getDegree() {
+        return degree;
+    }
+
+    @Override
+    public long[] powerOfX(int exponent) {
+        long[] result = reduce(new long[]{1});
+        if (exponent == 0) {
+            return result;
+        }
+
+        for (int bit = 31 - Integer.numberOfLeadingZeros(exponent); bit >= 0; bit--) {
+            result = square(result);
+            if (((exponent >>> bit) & 1) != 0) {
+                long[] shifted = new long[result.length + 1];
+                for (int i = 0; i < result.length; i++) {
+                    shifted[i] |= result[i] << 1;
+                    shifted[i + 1] = result[i] >>> 63;
+                }
+                result = reduce(shifted);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long[] multiply(long[] a, long[] b) {
+        return reduce(BinaryPolynomialUtil.multiply(a, b));
+    }
+
+    @Override
+    public long[] square(long[] a) {
+        return reduce(BinaryPolynomialUtil.square(a));
+    }
+
+    @Override
+    public long[] frobenius(long[] a) {
+        return square(a);
+    }
+
+    @Override
+    public long[] subtractX(long[] a) {
+        long[] result = a.clone();
+        for (int i = 0; i < result.length; i++) {
+            result[i] ^= x[i];
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isZero(long[] a) {
+        return BinaryPolynomialUtil.getDegree(a) == -1;
+    }
+
+    @Override
+    public IPolynomial gcdWithModulus(long[] a) {
+        long[] gcd = BinaryPolynomialUtil.gcd(modulusWords, a);
+        return modulus.createPolynomialFromCoefficients(BinaryPolynomialUtil.unpack(gcd));
+    }
+
+    @Override
+    public boolean isCoprimeWithModulus(long[] a) {
+        return BinaryPolynomialUtil.isCoprime(modulusWords, a);
+    }
+
+    /*
+     Reduces a packed polynomial in place and copies the remainder into an
+     array of the length used by this kernel.
+     */
+    private long[] reduce(long[] words) {
+        if (lowerExponents != null) {
+            BinaryPolynomialUtil.reduceModuloSparse(words, degree, lowerExponents);
+        } else {
+            BinaryPolynomialUtil.reduceModulo(words, modulusWords);
+        }
+
+        long[] result = new long[(degree + 63) >>> 6];
+        System.arraycopy(words, 0, result, 0, Math.min(words.length, result.length));
+        return result;
+    }
+}
@@ -0,0 +1,426 @@
+package polynomial;
+
+/**
+ * Methods for calculating greatest common divisors of polynomials given as
+ * coefficient arrays.
+ *
+ * The arrays are in the form described in DensePolynomialUtil, and the
+ * characteristic must be a prime.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class DenseGcdUtil {
+
+    /**
+     * The gcd uses the half-gcd algorithm when the degree of the larger
+     * polynomial is at least this large. Below this the Euclidean algorithm
+     * is faster, since the remainders of the long division are cheap compared
+     * to the Karatsuba multiplications of the matrices.
+     */
+    public static final int HALF_GCD_THRESHOLD = 8192;
+
+    /**
+     * Inside the half-gcd algorithm, polynomials of degree smaller than this
+     * are handled with plain division steps instead of recursion.
+     */
+    static final int HALF_GCD_BASE_THRESHOLD = 256;
+
+    /**
+     * Calculates the greatest common divisor of two polynomials.
+     *
+     * In characteristic 2 the binary gcd of BinaryPolynomialUtil is used,
+     * which needs no divisions. Otherwise the gcd is calculated with
+     * euclideanGcd.
+     *
+     * @param a
+     * @param b
+     * @param characteristic
+     * @return The monic greatest common divisor, or the zero polynomial if
+     * both polynomials are zero.
+     */
+    public static int[] gcd(int[] a, int[] b, int characteristic) {
+        if (characteristic == 2) {
+            return BinaryPolynomialUtil.unpack(BinaryPolynomialUtil.gcd(
+                    BinaryPolynomialUtil.pack(a), BinaryPolynomialUtil.pack(b)));
+        }
+        return euclideanGcd(a, b, characteristic);
+    }
+
+    /**
+     * Calculates the greatest common divisor of two polynomials using
+     * divisions.
+     *
+     * Large polynomials are handled with the half-gcd algorithm of Knuth and
+     * Schönhage, which takes O(M(n) log n) time, where M(n) is the time
+     * taken by a multiplication in DensePolynomialUtil. The Euclidean
+     * algorithm, which takes O(n^2) time, is used for small polynomials and
+     * for the steps where the degree drops a lot at once. It only calculates
+     * remainders, and it works in two buffers allocated once.
+     *
+     * @param a
+     * @param b
+     * @param characteristic
+     * @return The monic greatest common divisor, or the zero polynomial if
+     * both polynomials are zero.
+     */
+    public static int[] euclideanGcd(int[] a, int[] b, int characteristic) {
+        int[][] pair = reduceWithHalfGcd(a, b, characteristic);
+        return euclid(pair[0], pair[1], characteristic, false);
+    }
+
+    /**
+     * Checks if two polynomials are coprime, i.e. if their greatest common
+     * divisor is a non-zero constant.
+     *
+     * Works like gcd, but the Euclidean algorithm stops as soon as a
+     * remainder is a non-zero constant, and the gcd itself is never formed.
+     *
+     * @param a
+     * @param b
+     * @param characteristic
+     * @return true if the gcd of a and b is a non-zero constant.
+     */
+    public static boolean isCoprime(int[] a, int[] b, int characteristic) {
+        if (characteristic == 2) {
+            return BinaryPolynomialUtil.isCoprime(BinaryPolynomialUtil.pack(a), BinaryPolynomialUtil.pack(b));
+        }
+        int[][] pair = reduceWithHalfGcd(a, b, characteristic);
+        return euclid(pair[0], pair[1], characteristic, true).length == 1;
+    }
+
+    /*
+     Replaces a and b with two successive remainders of the Euclidean
+     algorithm that are small enough for euclid(). The larger polynomial is
+     returned first.
+     */
+    private static int[][] reduceWithHalfGcd(int[] a, int[] b, int characteristic) {
+        if (a.length < b.length) {
+            int[] temp = a;
+            a = b;
+            b = temp;
+        }
+
+        while (a.length - 1 >= HALF_GCD_THRESHOLD && b.length > 0) {
+            // The half-gcd pays off only if it can do many division steps,
+            // i.e. if the degree of b is more than half of the degree of a.
+            if (2 * (b.length - 1) > a.length - 1) {
+                int[][] reduced = apply(halfGcd(a, b, characteristic), a, b, characteristic);
+                a = reduced[0];
+                b = reduced[1];
+            } else {
+                int[] remainder = DensePolynomialUtil.remainder(a, b, characteristic);
+                a = b;
+                b = remainder;
+            }
+        }
+
+        return new int[][]{a, b};
+    }
+
+    /*
+     The Euclidean algorithm. Only two buffers are allocated, and the
+     remainder of the larger polynomial by the smaller one is calculated in
+     place in the buffer of the larger one, after which the roles of the
+     buffers are swapped. As in DensePolynomialUtil.remainder, the
+     coefficients are reduced modulo the characteristic only when needed.
+
+     The degree of a must be at least the degree of b. If stopAtConstant is
+     true, a non-zero constant is returned as soon as one is found among
+     the remainders. Otherwise the monic gcd is returned.
+     */
+    private static int[] euclid(int[] a, int[] b, int characteristic, boolean stopAtConstant) {
+        long[] larger = new long[a.length];
+        long[] smaller = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            larger[i] = a[i];
+        }
+        for (int i = 0; i < b.length; i++) {
+            smaller[i] = b[i];
+        }
+        int largerLength = a.length;
+        int smallerLength = b.length;
+
+        while (smallerLength > 0) {
+            if (stopAtConstant && smallerLength == 1) {
+                return new int[]{1};
+            }
+            largerLength = remainderInPlace(larger, largerLength, smaller, smallerLength, characteristic);
+
+            long[] temp = larger;
+            larger = smaller;
+            smaller = temp;
+            int tempLength = largerLength;
+            largerLength = smallerLength;
+            smallerLength = tempLength;
+        }
+
+        int[] gcd = new int[largerLength];
+        for (int i = 0; i < largerLength; i++) {
+            gcd[i] = (int) larger[i];
+        }
+        return makeMonic(gcd, characteristic);
+    }
+
+    /*
+     Replaces the first dividendLength coefficients of dividend with the
+     remainder of the division by the divisor, and returns the length of the
+     remainder. The coefficients of the dividend may be unreduced sums, but
+     the coefficients of the divisor must be reduced. The coefficients of the
+     remainder are reduced.
+     */
+    private static int remainderInPlace(long[] dividend, int dividendLength,
+            long[] divisor, int divisorLength, int characteristic) {
+        int degree = divisorLength - 1;
+        long inverseOfLeadingCoefficient = DensePolynomialUtil.inverse((int) divisor[degree], characteristic);
+        long bound = DensePolynomialUtil.getReductionBound(characteristic);
+
+        for (int i = dividendLength - 1; i >= degree; i--) {
+            long coefficient = dividend[i] % characteristic;
+            dividend[i] = 0;
+            if (coefficient == 0) {
+                continue;
+            }
+            long factor = characteristic - (coefficient * inverseOfLeadingCoefficient) % characteristic;
+            int shift = i - degree;
+            for (int j = 0; j < degree; j++) {
+                long value = dividend[shift + j] + factor * divisor[j];
+                if (value > bound) {
+                    value %= characteristic;
+                }
+                dividend[shift + j] = value;
+            }
+        }
+
+        int length = Math.min(degree, dividendLength);
+        for (int i = 0; i < length; i++) {
+            dividend[i] %= characteristic;
+        }
+        while (length > 0 && dividend[length - 1] == 0) {
+            length--;
+        }
+        return length;
+    }
+
+    /**
+     * Performs the Extended Euclidean algorithm on the given polynomials.
+     *
+     * The result is gcd = a*x + b*y, where gcd is the monic greatest common
+     * divisor of a and b. The cofactors x and y are tracked through every
+     * division step, so this takes O(n^2) time.
+     *
+     * @param a
+     * @param b
+     * @param characteristic
+     * @return An array with gcd, x and y at the indices 0, 1 and 2. If both
+     * polynomials are zero, the gcd is zero, x is 1 and y is 0.
+     */
+    public static int[][] extendedGcd(int[] a, int[] b, int characteristic) {
+        int[] previousRemainder = a;
+        int[] remainder = b;
+        int[] previousX = new int[]{1};
+        int[] x = new int[0];
+        int[] previousY = new int[0];
+        int[] y = new int[]{1};
+
+        while (remainder.length > 0) {
+            int[][] division = DensePolynomialUtil.divide(previousRemainder, remainder, characteristic);
+            int[] quotient = division[0];
+
+            previousRemainder = remainder;
+            remainder = division[1];
+
+            int[] nextX = DensePolynomialUtil.subtract(previousX,
+                    DensePolynomialUtil.multiply(quotient, x, characteristic), characteristic);
+            previousX = x;
+            x = nextX;
+
+            int[] nextY = DensePolynomialUtil.subtract(previousY,
+                    DensePolynomialUtil.multiply(quotient, y, characteristic), characteristic);
+            previousY = y;
+            y = nextY;
+        }
+
+        if (previousRemainder.length == 0) {
+            return new int[][]{previousRemainder, previousX, previousY};
+        }
+
+        long inverse = DensePolynomialUtil.inverse(previousRemainder[previousRemainder.length - 1], characteristic);
+
+        return new int[][]{
+            multiplyByConstant(previousRemainder, inverse, characteristic),
+            multiplyByConstant(previousX, inverse, characteristic),
+            multiplyByConstant(previousY, inverse, characteristic)
+        };
+    }
+
+    /**
+     * Finds the multiplicative inverse of a modulo f.
+     *
+     * @param a
+     * @param f The modulus. Must have a positive degree.
+     * @param characteristic
+     * @return b such that a*b = 1 mod f, with degree smaller than the degree
+     * of f.
+     * @throws IllegalArgumentException if the degree of f isn't positive.
+     * @throws UnsupportedOperationException if a and f aren't coprime, in
+     * which case the inverse doesn't exist.
+     */
+    public static int[] inverseModulo(int[] a, int[] f, int characteristic) {
+        if (f.length < 2) {
+            throw new IllegalArgumentException("The degree of the modulus must be positive.");
+        }
+
+        int[] reduced = DensePolynomialUtil.remainder(a, f, characteristic);
+        int[][] result = extendedGcd(f, reduced, characteristic);
+
+        if (result[0].length != 1) {
+            throw new UnsupportedOperationException("The polynomial has no inverse "
+                    + "modulo the given polynomial.");
+        }
+
+        return result[2];
+    }
+
+    /**
+     * Divides a polynomial by its leading coefficient.
+     *
+     * @param a
+     * @param characteristic
+     * @return The monic polynomial, or the zero polynomial if a is zero.
+     */
+    public static int[] makeMonic(int[] a, int characteristic) {
+        if (a.length == 0 || a[a.length - 1] == 1) {
+            return a;
+        }
+        long inverse = DensePolynomialUtil.inverse(a[a.length - 1], characteristic);
+        return multiplyByConstant(a, inverse, characteristic);
+    }
+
+    private static int[] multiplyByConstant(int[] a, long constant, int characteristic) {
+        int[] result = new int[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = (int) (a[i] * constant % characteristic);
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the half-gcd matrix of a and b.
+     *
+     * The matrix is the product of the matrices [[0, 1], [1, -q]] of the
+     * division steps of the Euclidean algorithm, taken until the degree of
+     * the remainder drops below m = ceil(deg(a)/2). The quotients of the first
+     * steps depend only on the highest coefficients of a and b, so the steps
+     * are found recursively from the upper halves of a and b.
+     *
+     * The matrix is returned as the array {m00, m01, m10, m11}. Multiplying
+     * (a, b) with it gives two successive remainders of the Euclidean algorithm,
+     * the first of degree at least m and the second of degree smaller than m.
+     *
+     * @param a
+     * @param b A polynomial with degree at most the degree of a.
+     * @param characteristic
+     * @return The half-gcd matrix.
+     */
+    static int[][] halfGcd(int[] a, int[] b, int characteristic) {
+        int m = a.length / 2;
+
+        if (b.length - 1 < m) {
+            return identity();
+        }
+        if (a.length - 1 < HALF_GCD_BASE_THRESHOLD) {
+            return halfGcdNaively(a, b, m, characteristic);
+        }
+
+        int[][] first = halfGcd(shiftDown(a, m), shiftDown(b, m), characteristic);
+        int[][] reduced = apply(first, a, b, characteristic);
+        a = reduced[0];
+        b = reduced[1];
+
+        if (b.length - 1 < m) {
+            return first;
+        }
+
+        int[][] division = DensePolynomialUtil.divide(a, b, characteristic);
+        int[][] matrix = step(first, division[0], characteristic);
+        a = b;
+        b = division[1];
+
+        if (b.length - 1 < m) {
+            return matrix;
+        }
+
+        int k = 2 * m - (a.length - 1);
+        int[][] second = halfGcd(shiftDown(a, k), shiftDown(b, k), characteristic);
+
+        return multiplyMatrices(second, matrix, characteristic);
+    }
+
+    private static int[][] halfGcdNaively(int[] a, int[] b, int m, int characteristic) {
+        int[][] matrix = identity();
+
+        while (b.length - 1 >= m) {
+            int[][] division = DensePolynomialUtil.divide(a, b, characteristic);
+            matrix = step(matrix, division[0], characteristic);
+            a = b;
+            b = division[1];
+        }
+
+        return matrix;
+    }
+
+    /*
+     Returns [[0, 1], [1, -quotient]] * matrix.
+     */
+    private static int[][] step(int[][] matrix, int[] quotient, int characteristic) {
+        return new int[][]{
+            matrix[2],
+            matrix[3],
+            DensePolynomialUtil.subtract(matrix[0],
+            DensePolynomialUtil.multiply(quotient, matrix[2], characteristic), characteristic),
+            DensePolynomialUtil.subtract(matrix[1],
+            DensePolynomialUtil.multiply(quotient, matrix[3], characteristic), characteristic)
+        };
+    }
+
+    private static int[][] identity() {
+        return new int[][]{new int[]{1}, new int[0], new int[0], new int[]{1}};
+    }
+
+    /*
+     Returns matrix * (a, b).
+     */
+    static int[][] apply(int[][] matrix, int[] a, int[] b, int characteristic) {
+        return new int[][]{
+            DensePolynomialUtil.add(DensePolynomialUtil.multiply(matrix[0], a, characteristic),
+            DensePolynomialUtil.multiply(matrix[1], b, characteristic), characteristic),
+            DensePolynomialUtil.add(DensePolynomialUtil.multiply(matrix[2], a, characteristic),
+            DensePolynomialUtil.multiply(matrix[3], b, characteristic), characteristic)
+        };
+    }
+
+    private static int[][] multiplyMatrices(int[][] x, int[][] y, int characteristic) {
+        int[][] result = new int[4][];
+        for (int row = 0; row < 2; row++) {
+            for (int column = 0; column < 2; column++) {
+                result[2 * row + column] = DensePolynomialUtil.add(
+                        DensePolynomialUtil.multiply(x[2 * row], y[column], characteristic),
+                        DensePolynomialUtil.multiply(x[2 * row + 1], y[2 + column], characteristic),
+                        characteristic);
+            }
+        }
+        return result;
+    }
+
+    /*
+     Returns a div x^k, i.e. a without its k lowest coefficients.
+     */
+    private static int[] shiftDown(int[] a, int k) {
+        if (a.length <= k) {
+            return new int[0];
+        }
+        int[] result = new int[a.length - k];
+        System.arraycopy(a, k, result, 0, result.length);
+        return result;
+    }
+}
@@ -0,0 +1,648 @@
+package polynomial;
+
+import math.MathUtil;
+
+/**
+ * Methods for calculating with polynomials given as coefficient arrays.
+ *
+ * The coefficient of degree k is found at the index k of the array. All
+ * methods expect the coefficients to be in the range 0...p-1, where p is the
+ * characteristic, and the arrays to have no zeros at the end. Thus the degree
+ * of a polynomial is always the length of its array minus one, and the zero
+ * polynomial is the empty array. The results are given in the same form.
+ *
+ * The methods never modify the arrays given as parameters.
+ *
+ * The characteristic must be a prime for the methods that divide.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class DensePolynomialUtil {
+
+    /**
+     * The multiplication switches from the naive O(n^2) algorithm to
+     * Karatsuba's algorithm when both factors have at least this many
+     * coefficients.
+     */
+    static final int KARATSUBA_THRESHOLD = 48;
+
+    /**
+     * Removes the zeros from the end of a coefficient array.
+     *
+     * @param coefficients The coefficient array.
+     * @return The same array if the last coefficient is non-zero, otherwise
+     * a shorter copy.
+     */
+    public static int[] trim(int[] coefficients) {
+        int length = coefficients.length;
+        while (length > 0 && coefficients[length - 1] == 0) {
+            length--;
+        }
+        if (length == coefficients.length) {
+            return coefficients;
+        }
+        int[] trimmed = new int[length];
+        System.arraycopy(coefficients, 0, trimmed, 0, length);
+        return trimmed;
+    }
+
+    /**
+     * Adds two polynomials.
+     *
+     * @param a
+     * @param b
+     * @param characteristic
+     * @return a + b
+     */
+    public static int[] add(int[] a, int[] b, int characteristic) {
+        int[] result = new int[Math.max(a.length, b.length)];
+
+        for (int i = 0; i < result.length; i++) {
+            long value = 0;
+            if (i < a.length) {
+                value += a[i];
+            }
+            if (i < b.length) {
+                value += b[i];
+            }
+            result[i] = (int) (value % characteristic);
+        }
+
+        return trim(result);
+    }
+
+    /**
+     * Subtracts the polynomial b from the polynomial a.
+     *
+     * @param a
+     * @param b
+     * @param characteristic
+     * @return a - b
+     */
+    public static int[] subtract(int[] a, int[] b, int characteristic) {
+        int[] result = new int[Math.max(a.length, b.length)];
+
+        for (int i = 0; i < result.length; i++) {
+            long value = 0;
+            if (i < a.length) {
+                value += a[i];
+            }
+            if (i < b.length) {
+                value += characteristic - b[i];
+            }
+            result[i] = (int) (value % characteristic);
+        }
+
+        return trim(result);
+    }
+
+    /**
+     * Calculates the formal derivative of a polynomial.
+     *
+     * The derivative of a_0 + a_1*x + ... + a_n*x^n is
+     * a_1 + 2*a_2*x + ... + n*a_n*x^(n-1). In characteristic p the terms
+     * whose degree is divisible by p vanish, so the derivative may be zero
+     * even if the polynomial isn't a constant.
+     *
+     * @param a
+     * @param characteristic
+     * @return The derivative of a.
+     */
+    public static int[] derivative(int[] a, int characteristic) {
+        if (a.length <= 1) {
+            return new int[0];
+        }
+        int[] result = new int[a.length - 1];
+        for (int i = 1; i < a.length; i++) {
+            result[i - 1] = (int) ((long) (i % characteristic) * a[i] % characteristic);
+        }
+        return trim(result);
+    }
+
+    /**
+     * Multiplies two polynomials.
+     *
+     * Small polynomials are multiplied naively in O(n^2) time. If both
+     * polynomials have at least KARATSUBA_THRESHOLD coefficients, Karatsuba's
+     * algorithm is used, which takes O(n^1.59) time.
+     *
+     * @param a
+     * @param b
+     * @param characteristic
+     * @return a * b
+     */
+    public static int[] multiply(int[] a, int[] b, int characteristic) {
+        if (a.length == 0 || b.length == 0) {
+            return new int[0];
+        }
+        return trim(multiply(a, 0, a.length, b, 0, b.length, characteristic));
+    }
+
+    /*
+     Multiplies the parts a[aOffset...aOffset+aLength-1] and
+     b[bOffset...bOffset+bLength-1]. Both lengths must be positive. The result
+     always has the length aLength + bLength - 1 and it may contain zeros
+     at the end.
+     */
+    private static int[] multiply(int[] a, int aOffset, int aLength,
+            int[] b, int bOffset, int bLength, int characteristic) {
+        if (aLength < KARATSUBA_THRESHOLD || bLength < KARATSUBA_THRESHOLD) {
+            return multiplyNaively(a, aOffset, aLength, b, bOffset, bLength, characteristic);
+        }
+        if (aLength != bLength) {
+            return multiplyUnbalanced(a, aOffset, aLength, b, bOffset, bLength, characteristic);
+        }
+
+        // Writing a = a0 + a1*x^m and b = b0 + b1*x^m, we get
+        // a*b = a0*b0 + ((a0 + a1)*(b0 + b1) - a0*b0 - a1*b1)*x^m + a1*b1*x^(2m),
+        // which needs only three multiplications of half the size.
+        int length = aLength;
+        int lowLength = length / 2;
+        int highLength = length - lowLength;
+
+        int[] lowProduct = multiply(a, aOffset, lowLength, b, bOffset, lowLength, characteristic);
+        int[] highProduct = multiply(a, aOffset + lowLength, highLength,
+                b, bOffset + lowLength, highLength, characteristic);
+
+        int[] aSum = new int[highLength];
+        int[] bSum = new int[highLength];
+        for (int i = 0; i < highLength; i++) {
+            long aValue = a[aOffset + lowLength + i];
+            long bValue = b[bOffset + lowLength + i];
+            if (i < lowLength) {
+                aValue += a[aOffset + i];
+                bValue += b[bOffset + i];
+            }
+            aSum[i] = (int) (aValue % characteristic);
+            bSum[i] = (int) (bValue % characteristic);
+        }
+
+        int[] middleProduct = multiply(aSum, 0, highLength, bSum, 0, highLength, characteristic);
+
+        int[] result = new int[2 * length - 1];
+
+        for (int i = 0; i < middleProduct.length; i++) {
+            long value = middleProduct[i] + (long) characteristic - highProduct[i];
+            if (i < lowProduct.length) {
+                value += characteristic - lowProduct[i];
+            }
+            result[lowLength + i] = (int) (value % characteristic);
+        }
+        for (int i = 0; i < lowProduct.length; i++) {
+            result[i] = (int) ((result[i] + (long) lowProduct[i]) % characteristic);
+        }
+        for (int i = 0; i < highProduct.length; i++) {
+            int index = 2 * lowLength + i;
+            result[index] = (int) ((result[index] + (long) highProduct[i]) % characteristic);
+        }
+
+        return result;
+    }
+
+    /*
+     Multiplies polynomials of different lengths by cutting the longer one
+     into pieces as long as the shorter one.
+     */
+    private static int[] multiplyUnbalanced(int[] a, int aOffset, int aLength,
+            int[] b, int bOffset, int bLength, int characteristic) {
+        if (aLength < bLength) {
+            return multiplyUnbalanced(b, bOffset, bLength, a, aOffset, aLength, characteristic);
+        }
+
+        int[] result = new int[aLength + bLength - 1];
+
+        for (int start = 0; start < aLength; start += bLength) {
+            int pieceLength = Math.min(bLength, aLength - start);
+            int[] product = multiply(a, aOffset + start, pieceLength, b, bOffset, bLength, characteristic);
+            for (int i = 0; i < product.length; i++) {
+                result[start + i] = (int) ((result[start + i] + (long) product[i]) % characteristic);
+            }
+        }
+
+        return result;
+    }
+
+    private static int[] multiplyNaively(int[] a, int aOffset, int aLength,
+            int[] b, int bOffset, int bLength, int characteristic) {
+        int[] result = new int[aLength + bLength - 1];
+        long bound = getReductionBound(characteristic);
+
+        for (int degree = 0; degree < result.length; degree++) {
+            int start = Math.max(0, degree - bLength + 1);
+            int end = Math.min(degree, aLength - 1);
+            long sum = 0;
+            for (int i = start; i <= end; i++) {
+                sum += (long) a[aOffset + i] * b[bOffset + degree - i];
+                if (sum > bound) {
+                    sum %= characteristic;
+                }
+            }
+            result[degree] = (int) (sum % characteristic);
+        }
+
+        return result;
+    }
+
+    /**
+     * Squares a polynomial.
+     *
+     * In characteristic 2 the square of a_0 + a_1*x + ... + a_n*x^n is
+     * a_0 + a_1*x^2 + ... + a_n*x^(2n), since the cross terms appear twice
+     * and a_i^2 = a_i, so the square is found in linear time. Otherwise the
+     * square is calculated like the product in multiply, but every product of
+     * two different coefficients is calculated only once.
+     *
+     * @param a
+     * @param characteristic
+     * @return a^2
+     */
+    public static int[] square(int[] a, int characteristic) {
+        if (a.length == 0) {
+            return new int[0];
+        }
+        if (characteristic == 2) {
+            int[] result = new int[2 * a.length - 1];
+            for (int i = 0; i < a.length; i++) {
+                result[2 * i] = a[i];
+            }
+            return result;
+        }
+        return trim(square(a, 0, a.length, characteristic));
+    }
+
+    /*
+     Squares the part a[offset...offset+length-1]. The result has the length
+     2*length - 1 and it may contain zeros at the end.
+     */
+    private static int[] square(int[] a, int offset, int length, int characteristic) {
+        if (length < KARATSUBA_THRESHOLD) {
+            long[] sums = squareIntoSums(a, offset, length, characteristic);
+            int[] result = new int[sums.length];
+            for (int i = 0; i < sums.length; i++) {
+                result[i] = (int) (sums[i] % characteristic);
+            }
+            return result;
+        }
+
+        // As in multiply, with a = a0 + a1*x^m we get
+        // a^2 = a0^2 + ((a0 + a1)^2 - a0^2 - a1^2)*x^m + a1^2*x^(2m).
+        int lowLength = length / 2;
+        int highLength = length - lowLength;
+
+        int[] lowSquare = square(a, offset, lowLength, characteristic);
+        int[] highSquare = square(a, offset + lowLength, highLength, characteristic);
+
+        int[] sum = new int[highLength];
+        for (int i = 0; i < highLength; i++) {
+            long value = a[offset + lowLength + i];
+            if (i < lowLength) {
+                value += a[offset + i];
+            }
+            sum[i] = (int) (value % characteristic);
+        }
+
+        int[] middleSquare = square(sum, 0, highLength, characteristic);
+
+        int[] result = new int[2 * length - 1];
+
+        for (int i = 0; i < middleSquare.length; i++) {
+            long value = middleSquare[i] + (long) characteristic - highSquare[i];
+            if (i < lowSquare.length) {
+                value += characteristic - lowSquare[i];
+            }
+            result[lowLength + i] = (int) (value % characteristic);
+        }
+        for (int i = 0; i < lowSquare.length; i++) {
+            result[i] = (int) ((result[i] + (long) lowSquare[i]) % characteristic);
+        }
+        for (int i = 0; i < highSquare.length; i++) {
+            int index = 2 * lowLength + i;
+            result[index] = (int) ((result[index] + (long) highSquare[i]) % characteristic);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the largest sum to which the product of two coefficients can
+     * still be added without overflowing a long.
+     *
+     * Sums of products are only reduced when they grow above this bound, so
+     * for small characteristics the reduction is done only once per sum.
+     *
+     * @param characteristic
+     * @return The bound.
+     */
+    static long getReductionBound(int characteristic) {
+        long largestProduct = (long) (characteristic - 1) * (characteristic - 1);
+        return Long.MAX_VALUE - largestProduct;
+    }
+
+    /**
+     * Returns the polynomial a modulo x^length, i.e. the coefficients of a
+     * with degree smaller than length.
+     *
+     * @param a
+     * @param length
+     * @return a mod x^length
+     */
+    public static int[] truncate(int[] a, int length) {
+        int newLength = Math.max(0, Math.min(length, a.length));
+        int[] result = new int[newLength];
+        System.arraycopy(a, 0, result, 0, newLength);
+        return trim(result);
+    }
+
+    /**
+     * Returns the polynomial x^degree * a(1/x), i.e. the coefficients of a
+     * in reverse order when a is regarded as a polynomial of the given degree.
+     *
+     * @param a
+     * @param degree Must be at least the degree of a.
+     * @return The reversed polynomial.
+     * @throws IllegalArgumentException if degree is smaller than the degree of a.
+     */
+    public static int[] reverse(int[] a, int degree) {
+        if (degree < a.length - 1) {
+            throw new IllegalArgumentException("The degree " + degree
+                    + " is smaller than the degree of the polynomial.");
+        }
+        int[] result = new int[degree + 1];
+        for (int i = 0; i < a.length; i++) {
+            result[degree - i] = a[i];
+        }
+        return trim(result);
+    }
+
+    /**
+     * Calculates the remainder of the division of a by f using long division.
+     *
+     * Only the remainder is calculated, the quotient is never formed. The time
+     * complexity is O((deg(a) - deg(f)) * deg(f)).
+     *
+     * @param a The dividend.
+     * @param f The divisor.
+     * @param characteristic
+     * @return a mod f
+     * @throws IllegalArgumentException if f is the zero polynomial.
+     */
+    public static int[] remainder(int[] a, int[] f, int characteristic) {
+        if (f.length == 0) {
+            throw new IllegalArgumentException("Divisor is the zero polynomial.");
+        }
+        int degree = f.length - 1;
+        if (a.length <= degree) {
+            return a.clone();
+        }
+
+        long[] remainder = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            remainder[i] = a[i];
+        }
+
+        return reduceSums(remainder, f, characteristic, null);
+    }
+
+    /**
+     * Divides a by f using long division.
+     *
+     * This is used where the quotient is needed as well, such as in the
+     * calculation of greatest common divisors. If only the remainder is needed,
+     * use remainder instead.
+     *
+     * @param a The dividend.
+     * @param f The divisor.
+     * @param characteristic
+     * @return An array with the quotient at the index 0 and the remainder at
+     * the index 1.
+     * @throws IllegalArgumentException if f is the zero polynomial.
+     */
+    public static int[][] divide(int[] a, int[] f, int characteristic) {
+        if (f.length == 0) {
+            throw new IllegalArgumentException("Divisor is the zero polynomial.");
+        }
+        int degree = f.length - 1;
+        if (a.length <= degree) {
+            return new int[][]{new int[0], a.clone()};
+        }
+
+        long[] remainder = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            remainder[i] = a[i];
+        }
+        int[] quotient = new int[a.length - degree];
+
+        int[] result = reduceSums(remainder, f, characteristic, quotient);
+
+        return new int[][]{trim(quotient), result};
+    }
+
+    /*
+     Does the long division of remainder() for a dividend whose coefficients
+     are unreduced non-negative sums not larger than getReductionBound. The
+     coefficients are reduced only when they are needed or when they would
+     overflow. The given array is changed. If quotient isn't null, the
+     coefficients of the quotient are written into it.
+     */
+    private static int[] reduceSums(long[] remainder, int[] f, int characteristic, int[] quotient) {
+        int degree = f.length - 1;
+        long inverseOfLeadingCoefficient = inverse(f[degree], characteristic);
+        long bound = getReductionBound(characteristic);
+
+        for (int i = remainder.length - 1; i >= degree; i--) {
+            long coefficient = remainder[i] % characteristic;
+            if (coefficient == 0) {
+                continue;
+            }
+            long quotientCoefficient = (coefficient * inverseOfLeadingCoefficient) % characteristic;
+            if (quotient != null) {
+                quotient[i - degree] = (int) quotientCoefficient;
+            }
+            long factor = characteristic - quotientCoefficient;
+            int shift = i - degree;
+            for (int j = 0; j < degree; j++) {
+                if (f[j] != 0) {
+                    long value = remainder[shift + j] + factor * f[j];
+                    if (value > bound) {
+                        value %= characteristic;
+                    }
+                    remainder[shift + j] = value;
+                }
+            }
+        }
+
+        int[] result = new int[Math.min(degree, remainder.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) (remainder[i] % characteristic);
+        }
+
+        return trim(result);
+    }
+
+    /**
+     * Calculates a * b mod f.
+     *
+     * The product isn't formed as a coefficient array of its own. For small
+     * polynomials the products of the coefficients are summed straight into
+     * the array used by the long division, and the division then works on the
+     * unreduced sums. Large polynomials are multiplied with multiply first.
+     * No quotient is formed in either case.
+     *
+     * @param a
+     * @param b
+     * @param f The modulus.
+     * @param characteristic
+     * @return a * b mod f
+     * @throws IllegalArgumentException if f is the zero polynomial.
+     */
+    public static int[] multiplyModulo(int[] a, int[] b, int[] f, int characteristic) {
+        if (f.length == 0) {
+            throw new IllegalArgumentException("Divisor is the zero polynomial.");
+        }
+        if (a.length == 0 || b.length == 0) {
+            return new int[0];
+        }
+        if (a.length >= KARATSUBA_THRESHOLD && b.length >= KARATSUBA_THRESHOLD) {
+            return remainder(multiply(a, b, characteristic), f, characteristic);
+        }
+
+        return reduceSums(multiplyIntoSums(a, b, characteristic), f, characteristic, null);
+    }
+
+    /**
+     * Calculates a^2 mod f.
+     *
+     * Works like multiplyModulo, but uses the faster squaring.
+     *
+     * @param a
+     * @param f The modulus.
+     * @param characteristic
+     * @return a^2 mod f
+     * @throws IllegalArgumentException if f is the zero polynomial.
+     */
+    public static int[] squareModulo(int[] a, int[] f, int characteristic) {
+        if (f.length == 0) {
+            throw new IllegalArgumentException("Divisor is the zero polynomial.");
+        }
+        if (a.length == 0) {
+            return new int[0];
+        }
+        if (a.length >= KARATSUBA_THRESHOLD || characteristic == 2) {
+            return remainder(square(a, characteristic), f, characteristic);
+        }
+
+        return reduceSums(squareIntoSums(a, 0, a.length, characteristic), f, characteristic, null);
+    }
+
+    /*
+     Calculates the coefficients of a*b as unreduced sums.
+     */
+    static long[] multiplyIntoSums(int[] a, int[] b, int characteristic) {
+        long[] sums = new long[a.length + b.length - 1];
+        long bound = getReductionBound(characteristic);
+
+        for (int i = 0; i < a.length; i++) {
+            long aValue = a[i];
+            if (aValue == 0) {
+                continue;
+            }
+            for (int j = 0; j < b.length; j++) {
+                long value = sums[i + j] + aValue * b[j];
+                if (value > bound) {
+                    value %= characteristic;
+                }
+                sums[i + j] = value;
+            }
+        }
+
+        return sums;
+    }
+
+    /*
+     Calculates the coefficients of the square of a[offset...offset+length-1]
+     as unreduced sums. Each product a_i*a_j with i < j is calculated only
+     once and doubled.
+     */
+    static long[] squareIntoSums(int[] a, int offset, int length, int characteristic) {
+        long[] sums = new long[2 * length - 1];
+        long bound = getReductionBound(characteristic);
+
+        for (int degree = 0; degree < sums.length; degree++) {
+            int start = Math.max(0, degree - length + 1);
+            long sum = 0;
+            for (int i = start; 2 * i < degree; i++) {
+                sum += (long) a[offset + i] * a[offset + degree - i];
+                if (sum > bound) {
+                    sum %= characteristic;
+                }
+            }
+            sum = 2 * (sum % characteristic);
+            if (degree % 2 == 0) {
+                long middle = a[offset + degree / 2];
+                sum += middle * middle;
+            }
+            sums[degree] = sum;
+        }
+
+        return sums;
+    }
+
+    /**
+     * Calculates the inverse of a power series modulo x^precision using
+     * Newton iteration.
+     *
+     * Each step doubles the number of correct coefficients, so the cost is
+     * a constant times the cost of a multiplication of size precision.
+     *
+     * @param a The power series. The constant coefficient must be non-zero.
+     * @param precision The number of coefficients wanted.
+     * @param characteristic
+     * @return b such that a*b = 1 mod x^precision
+     * @throws IllegalArgumentException if the constant coefficient is zero.
+     */
+    public static int[] inverseOfPowerSeries(int[] a, int precision, int characteristic) {
+        if (a.length == 0 || a[0] == 0) {
+            throw new IllegalArgumentException("The constant coefficient of the power series is zero.");
+        }
+        if (precision <= 0) {
+            return new int[0];
+        }
+
+        int[] result = new int[]{inverse(a[0], characteristic)};
+        int currentPrecision = 1;
+
+        while (currentPrecision < precision) {
+            currentPrecision = Math.min(2 * currentPrecision, precision);
+
+            // If a*b = 1 - e, then a*b*(2 - a*b) = 1 - e^2, so the new
+            // approximation is b*(2 - a*b).
+            int[] product = truncate(multiply(truncate(a, currentPrecision), result, characteristic), currentPrecision);
+            int[] two = new int[]{2 % characteristic};
+            int[] correction = subtract(trim(two), product, characteristic);
+
+            result = truncate(multiply(result, correction, characteristic), currentPrecision);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the multiplicative inverse of a modulo the characteristic.
+     *
+     * @param a
+     * @param characteristic A prime.
+     * @return The inverse in the range 1...characteristic-1.
+     * @throws UnsupportedOperationException if the inverse doesn't exist.
+     */
+    public static int inverse(int a, int characteristic) {
+        int inverse = MathUtil.getInverseModP(a, characteristic) % characteristic;
+        if (inverse == 0) {
+            throw new UnsupportedOperationException("Cannot represent 1/" + a
+                    + " as an integer modulo " + characteristic);
+        }
+        if (inverse < 0) {
+            inverse += characteristic;
+        }
+        return inverse;
+    }
+}
@@ -0,0 +1,134 @@
+package polynomial;
+
+/**
+ * A ring kernel for coefficient arrays of the form used in
+ * DensePolynomialUtil.
+ *
+ * The products are calculated with a ModularReducer built for the modulus.
+ * The Frobenius map a -> a^p is calculated either by raising to the power p
+ * or as the composition a(x^p), whichever ModularComposer estimates to be
+ * faster.
+ *
+ * @author Sebastian Björkqvist
+ */
+public final class DenseRingKernel implements IRingKernel<int[]> {
+
+    private final IPolynomial modulus;
+    private final ModularReducer reducer;
+    private final int characteristic;
+    private final int[] x;
+    private final boolean useComposition;
+    private ModularComposer composer;
+    private int[] compositionPoint;
+    private ModularComposer compositionComposer;
+
+    /**
+     * Creates a kernel for the given modulus.
+     *
+     * @param modulus The modulus f.
+     * @throws IllegalArgumentException if the modulus is null or the zero
+     * polynomial, or its characteristic is 0.
+     */
+    public DenseRingKernel(IPolynomial modulus) {
+        this(ModularReducer.create(modulus));
+    }
+
+    /**
+     * Creates a kernel that uses the given reducer.
+     *
+     * @param reducer The reducer of the modulus f.
+     */
+    DenseRingKernel(ModularReducer reducer) {
+        this(reducer, ModularComposer.isFasterThanPowering(reducer.getDegree(), reducer.getCharacteristic()));
+    }
+
+    /**
+     * Creates a kernel that uses the given reducer.
+     *
+     * @param reducer The reducer of the modulus f.
+     * @param useComposition If true, the Frobenius map is calculated with
+     * modular composition.
+     */
+    DenseRingKernel(ModularReducer reducer, boolean useComposition) {
+        this.reducer = reducer;
+        this.modulus = reducer.getModulus();
+        this.characteristic = reducer.getCharacteristic();
+        this.x = reducer.powerOfX(1);
+        this.useComposition = useComposition;
+    }
+
+    @Override
+    public int getCharacteristic() {
+        return characteristic;
+    }
+
+    @Override
+    public int getDegree() {
+        return reducer.getDegree();
+    }
+
+    @Override
+    public int[] powerOfX(int exponent) {
+        return reducer.powerOfX(exponent);
+    }
+
+    @Override
+    public int[] multiply(int[] a, int[] b) {
+        return reducer.multiply(a, b);
+    }
+
+    @Override
+    public int[] square(int[] a) {
+        return reducer.square(a);
+    }
+
+    @Override
+    public int[] frobenius(int[] a) {
+        if (!useComposition) {
+            return reducer.power(a, characteristic);
+        }
+        if (composer == null) {
+            composer = new ModularComposer(reducer, reducer.powerOfX(characteristic));
+        }
+        return composer.compose(a);
+    }
+
+    /**
+     * Calculates the composition g(h) mod f.
+     *
+     * The baby steps of the latest h are kept, so repeated compositions with
+     * the same array h are cheaper than the first one.
+     *
+     * @param g
+     * @param h
+     * @return g(h) mod f
+     */
+    public int[] compose(int[] g, int[] h) {
+        if (h != compositionPoint) {
+            compositionComposer = new ModularComposer(reducer, h);
+            compositionPoint = h;
+        }
+        return compositionComposer.compose(g);
+    }
+
+    @Override
+    public int[] subtractX(int[] a) {
+        return DensePolynomialUtil.subtract(a, x, characteristic);
+    }
+
+    @Override
+    public boolean isZero(int[] a) {
+        return a.length == 0;
+    }
+
+    @Override
+    public IPolynomial gcdWithModulus(int[] a) {
+        int[] gcd = DenseGcdUtil.gcd(reducer.getModulusCoefficients(), a, characteristic);
+        return modulus.createPolynomialFromCoefficients(DenseGcdUtil.makeMonic(gcd, characteristic));
+    }
+
+    @Override
+    public boolean isCoprimeWithModulus(int[] a) {
+        return DenseGcdUtil.isCoprime(reducer.getModulusCoefficients(), a, characteristic);
+    }
+}
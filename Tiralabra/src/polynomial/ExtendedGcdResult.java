@@ -0,0 +1,22 @@
+package polynomial;
+
+/**
+ * A class containing the result of the Extended Euclidean algorithm for
+ * polynomials.
+ *
+ * The result is gcd = a*x + b*y, where a and b are the inputs to the algorithm.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class ExtendedGcdResult {
+
+    public final IPolynomial gcd;
+    public final IPolynomial x;
+    public final IPolynomial y;
+
+    public ExtendedGcdResult(IPolynomial gcd, IPolynomial x, IPolynomial y) {
+        this.gcd = gcd;
+        this.x = x;
+        this.y = y;
+    }
+}
@@ -70,6 +70,20 @@ public interface IPolynomial {
      * @return The result of the evaluation.
      */
     int evaluate(int value);
+
+    /**
+     * Evaluates the polynomial at every element 0, 1, ..., p - 1 of Z_p.
+     *
+     * The powers of the elements are taken from a PowerTable shared by all
+     * polynomials of the same characteristic, so no modular exponentiations
+     * are needed.
+     *
+     * @param values The array where the value at a is stored at index a, in
+     * [0, p).
+     * @throws IllegalArgumentException if values is null or shorter than p,
+     * or the characteristic is 0.
+     */
+    void evaluateAll(int[] values);
     
     /**
      * Returns the coefficient of the leading term.
@@ -88,7 +102,33 @@ public interface IPolynomial {
      * term of the given degree.
      */
     int getCoefficientAtDegree(int degree);
-    
+
+    /**
+     * Returns all coefficients of the polynomial as an array.
+     *
+     * The coefficient of degree k is found at the index k, so the length of
+     * the array is the degree of the polynomial plus one. If the characteristic
+     * is positive, the coefficients are given in the range 0...characteristic-1.
+     *
+     * The array is a copy and may be modified freely.
+     *
+     * @return The coefficients, an empty array for the zero polynomial.
+     */
+    int[] getCoefficients();
+
+    /**
+     * Creates a new polynomial that has the same implementation and
+     * characteristic as this polynomial, and the given coefficients.
+     *
+     * The coefficient of degree k is read from the index k of the array.
+     * This polynomial is not changed.
+     *
+     * @param coefficients The coefficients of the new polynomial.
+     * @throws IllegalArgumentException if the array is null.
+     * @return The new polynomial.
+     */
+    IPolynomial createPolynomialFromCoefficients(int[] coefficients);
+
     /**
      * Adds the given polynomial to this polynomial.
      * 
@@ -0,0 +1,104 @@
+package polynomial;
+
+/**
+ * The arithmetic of the residue ring F_p[x]/(f) needed by irreducibility
+ * tests.
+ *
+ * A kernel is built for a fixed modulus f, and the elements of the ring are
+ * kept in a representation of type T chosen by the implementation, such as
+ * coefficient arrays or bits packed into words. The tests are written once
+ * against this interface, and every representation only needs its own
+ * kernel. The implementations are final classes, so that the calls in the
+ * loops of a test see only a few concrete types and can be inlined.
+ *
+ * The elements given to the methods must be reduced mod f and are never
+ * changed, so the returned elements may be shared.
+ *
+ * @author Sebastian Björkqvist
+ * @param <T> The representation of the elements.
+ */
+public interface IRingKernel<T> {
+
+    /**
+     * Returns the characteristic p of the ring.
+     *
+     * @return The characteristic.
+     */
+    int getCharacteristic();
+
+    /**
+     * Returns the degree of the modulus f.
+     *
+     * @return The degree.
+     */
+    int getDegree();
+
+    /**
+     * Calculates x^exponent mod f.
+     *
+     * @param exponent A non-negative integer.
+     * @return x^exponent mod f
+     */
+    T powerOfX(int exponent);
+
+    /**
+     * Calculates a * b mod f.
+     *
+     * @param a
+     * @param b
+     * @return a * b mod f
+     */
+    T multiply(T a, T b);
+
+    /**
+     * Calculates a^2 mod f.
+     *
+     * @param a
+     * @return a^2 mod f
+     */
+    T square(T a);
+
+    /**
+     * Calculates a^p mod f, where p is the characteristic.
+     *
+     * Since a(x)^p = a(x^p) over F_p, this may also be calculated as a
+     * composition.
+     *
+     * @param a
+     * @return a^p mod f
+     */
+    T frobenius(T a);
+
+    /**
+     * Calculates a - x mod f.
+     *
+     * @param a
+     * @return a - x mod f
+     */
+    T subtractX(T a);
+
+    /**
+     * Tells if an element is zero.
+     *
+     * @param a
+     * @return true if a = 0.
+     */
+    boolean isZero(T a);
+
+    /**
+     * Calculates the monic greatest common divisor of a and f.
+     *
+     * @param a
+     * @return gcd(a, f) as a polynomial of the same implementation as f.
+     */
+    IPolynomial gcdWithModulus(T a);
+
+    /**
+     * Checks if a and f are coprime. Works like gcdWithModulus, but stops as
+     * soon as the result is known.
+     *
+     * @param a
+     * @return true if gcd(a, f) = 1.
+     */
+    boolean isCoprimeWithModulus(T a);
+}
@@ -3,7 +3,16 @@ package polynomial;
 import java.security.SecureRandom;
 import java.util.Random;
 import math.MathUtil;
+import datastructures.IntegerNode;
+import datastructures.SortedIntegerList;
+import polynomial.construction.ComposedProduct;
+import polynomial.construction.IrreduciblePolynomialConstructor;
 import polynomial.impl.linkedlist.LinkedListPolynomial;
+import polynomial.irreducibility.BenOrEngine;
+import polynomial.irreducibility.BinaryBatchEngine;
+import polynomial.irreducibility.IIrreducibilityEngine;
+import polynomial.search.SearchPipeline;
+import polynomial.search.SearchPreset;
 
 /**
  * The method findIrreduciblePolynomial of this class finds irreducible
@@ -15,211 +24,239 @@ public class IrreduciblePolynomialFinder {
 
     private static int numberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime;
     private static int numberOfPolynomialsGeneratedLastTime;
+    private static SearchPipeline pipelineLastTime;
+
+    /**
+     * Returns an irreducible polynomial with the given characteristic and
+     * degree, found as given by SearchPreset.DEFAULT.
+     *
+     * @param characteristic
+     * @param degree
+     * @return Polynomial of given degree that is irreducible over the ring with
+     * the given characteristic.
+     * @throws IllegalArgumentException if the characteristic is not prime.
+     * @throws IllegalArgumentException if the degree is negative.
+     */
+    public static IPolynomial findIrreduciblePolynomial(int characteristic, int degree) {
+        return findIrreduciblePolynomial(characteristic, degree, SearchPreset.DEFAULT);
+    }
 
     /**
      * Returns an irreducible polynomial with the given characteristic and
      * degree.
      *
-     * This method generates polynomials randomly and uses Rabin's irreducibility
-     * test to check if the generated polynomial is irreducible.
+     * If the preset uses constructions and the degree has an irreducible
+     * polynomial of a known form, such as a binomial x^n - a, it is returned
+     * at once without any search. See IrreduciblePolynomialConstructor. In
+     * that case both of the counters of the last call are set to 0.
+     *
+     * If the preset uses constructions and the degree has several prime
+     * factors, such as 150 = 2 * 3 * 25, an irreducible polynomial is found
+     * for each prime power separately and they are combined into their
+     * composed product, which is irreducible since the prime powers are
+     * coprime. See ComposedProduct. The counters are then the sums of the
+     * counters of the smaller searches. The result is dense even if the
+     * preset generates sparse polynomials.
+     *
+     * Otherwise the polynomial is searched for with the pipeline of the
+     * preset, whose candidates are tested with Ben-Or's irreducibility test.
+     * Most random polynomials are reducible, and Ben-Or's test rejects them
+     * as soon as it finds a factor of small degree.
+     *
+     * In characteristic 2 the candidates of the presets that use binary
+     * batches are generated 64 at a time as bit-sliced words, which takes
+     * far fewer random numbers, and given to BinaryBatchEngine, which stops
+     * at the first irreducible one. The root filter leaves the candidates
+     * with the root 1 out of the batch.
      * 
      * The expected time complexity of this method is O(c*(d^4)*log(log d)), 
      * where c is the degree and d is the characteristic. Since the method
      * uses randomness, the actual time used may vary considerably.
-     * 
-     * Note that the method starts becoming increasingly slow if the product of
-     * the degree and the characteristic exceeds about 500.
      *
      * @param characteristic
      * @param degree
-     * @param checkForRoots If true, checks if a polynomial has a root before
-     * using Rabin's irreducibility test.
-     * @param smartChar2Generation If true and if characteristic is 2 performs a simple check 
-     * to ensure that the generated polynomial doesn't have a root. If this is true and
-     * the characteristic is 2, it is advisable to set checkForRoots to false since it isn't needed anymore.
-     * @param useSparsePolynomials If true, generates shorter polynomials.
-     * @param debugPrint If true, prints info about number of tries.
+     * @param preset The way the polynomial is searched for.
      * @return Polynomial of given degree that is irreducible over the ring with
      * the given characteristic.
      * @throws IllegalArgumentException if the characteristic is not prime.
      * @throws IllegalArgumentException if the degree is negative.
+     * @throws IllegalArgumentException if the preset is null.
      */
-    public static IPolynomial findIrreduciblePolynomial(int characteristic, int degree, 
-            boolean checkForRoots, boolean smartChar2Generation, boolean useSparsePolynomials,
-            boolean debugPrint) {
-        if (characteristic < 2) {
-            throw new IllegalArgumentException("Characteristic " + characteristic + " is smaller than 2.");
-        }        
-        if (!MathUtil.isPrime(characteristic)) {
-            throw new IllegalArgumentException("Characteristic " + characteristic + " is not a prime.");
-        }
-        if (degree < 0) {
-            throw new IllegalArgumentException("Degree " + degree + " is negative!");
-        }
-
-        Random random = new SecureRandom();
-
-        int totalAmountOfTries = 0;
-        int triesUsingRabinsAlgorithm = 0;
-        double ratioOfZeros = 0.7;
-
-        while (true) {
-            totalAmountOfTries++;
-            if (debugPrint) {
-                System.out.println("Try " + totalAmountOfTries);
+    public static IPolynomial findIrreduciblePolynomial(int characteristic, int degree, SearchPreset preset) {
+        checkParameters(characteristic, degree, preset);
+        if (preset.usesConstructions()) {
+            IPolynomial constructed = IrreduciblePolynomialConstructor.construct(characteristic, degree);
+            if (constructed != null) {
+                numberOfPolynomialsGeneratedLastTime = 0;
+                numberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime = 0;
+                pipelineLastTime = null;
+                return constructed;
             }
-            IPolynomial candidate;
-            if (useSparsePolynomials) {
-                candidate = createSparseCandidatePolynomial(characteristic, degree, ratioOfZeros, smartChar2Generation, random);
-            } else {
-                candidate = createEvenlyDistributedPolynomial(characteristic, degree, smartChar2Generation, random);
-            }
-            if ((!smartChar2Generation || characteristic != 2) && checkForRoots && degree > 1 && hasRoot(candidate)) {
-                if (debugPrint) {
-                    System.out.println("Polynomial " + candidate + " has a root.");
-                }
-                continue;
-            }
-            boolean isReducible = PolynomialUtil.isReducible(candidate, debugPrint);
-            triesUsingRabinsAlgorithm++;
-            if (!isReducible) {
-                if (debugPrint) {
-                    System.out.println("Total amount of tries: " + totalAmountOfTries);
-                    System.out.println("Tries using Rabin's algorithm: " + triesUsingRabinsAlgorithm);
-                }
-                numberOfPolynomialsGeneratedLastTime = totalAmountOfTries;
-                numberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime = triesUsingRabinsAlgorithm;
-                return candidate;
+            IPolynomial composed = findComposedProduct(characteristic, degree, preset);
+            if (composed != null) {
+                return composed;
             }
         }
+        if (characteristic == 2 && degree > 1 && preset.usesBinaryBatches()) {
+            return findBinaryIrreduciblePolynomialInBatches(degree, preset.hasFilter(SearchPreset.ROOTS));
+        }
+        return findIrreduciblePolynomial(characteristic, degree, preset, new BenOrEngine());
     }
 
     /**
-     * Creates a candidate polynomial randomly.
-     * 
-     * The parameter ratioOfZeros should be a double between 0 and 1. 
-     * 
-     * If the characteristic is 2, this method will never return a polynomial
-     * with a root.
-     * 
+     * Returns an irreducible polynomial with the given characteristic and
+     * degree, testing the candidates of the pipeline of the preset with the
+     * given engine.
+     *
+     * Works like findIrreduciblePolynomial without the engine, which uses
+     * BenOrEngine, but the pipeline is always used: polynomials of known
+     * forms aren't constructed and no binary batches are used. A RabinEngine
+     * may be given to get the behaviour of the earlier versions.
+     *
+     * The counters of the generator, the filters and the engine can be read
+     * from getPipelineLastTime. Candidates that a sieve or a filter rejects
+     * are counted as generated but not as tested.
+     *
      * @param characteristic
      * @param degree
-     * @param ratioOfZeros A double between 0 and 1 that decides the ratio of zero coefficients.
-     * @param smartChar2Generation If true and if characteristic is 2 performs a simple check 
-     * to ensure that the polynomial doesn't have a root.
-     * @param random
-     * @return 
+     * @param preset The generator and the filters of the candidates.
+     * @param engine The irreducibility test used for the candidates.
+     * @return Polynomial of given degree that is irreducible over the ring with
+     * the given characteristic.
+     * @throws IllegalArgumentException if the characteristic is not prime.
+     * @throws IllegalArgumentException if the degree is negative.
+     * @throws IllegalArgumentException if the preset or the engine is null.
      */
-    private static IPolynomial createSparseCandidatePolynomial(int characteristic, int degree, 
-            double ratioOfZeros, boolean smartChar2Generation, Random random) {
-        IPolynomial candidate = new LinkedListPolynomial(characteristic);
-        int leadingCoefficient = 1;
-        candidate.addTerm(leadingCoefficient, degree);
-        
-        int amountOfNonZeroCoefficients = 1;
-        
-        for (int exponent = degree - 1; exponent > 0; exponent--) {
-            int coefficient = getSparseCoefficient(characteristic, false, ratioOfZeros, random);
-            if (coefficient != 0) {
-                candidate.addTerm(coefficient, exponent);
-                amountOfNonZeroCoefficients++;
-            }
-        }
-        int constantCoefficient = getSparseCoefficient(characteristic, true, ratioOfZeros, random);
-        candidate.addTerm(constantCoefficient, 0);
-        amountOfNonZeroCoefficients++;
-        
-        // If the characteristic is 2 and we have an even amount of terms,
-        // the polynomial will automatically have the root 1. Thus if this
-        // is the case, we add a term to change the amount of non-zero coefficents.        
-        if (smartChar2Generation && characteristic == 2 && amountOfNonZeroCoefficients % 2 == 0) {
-            candidate.addTerm(1, 1);
+    public static IPolynomial findIrreduciblePolynomial(int characteristic, int degree,
+            SearchPreset preset, IIrreducibilityEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("The given engine is null!");
         }
-        
-        return candidate;
+        checkParameters(characteristic, degree, preset);
+
+        SearchPipeline pipeline = preset.createPipeline(characteristic, degree, engine, new SecureRandom());
+        IPolynomial result = pipeline.findIrreducible();
+
+        numberOfPolynomialsGeneratedLastTime = (int) pipeline.getNumberOfCandidates();
+        numberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime = (int) pipeline.getNumberOfTested();
+        pipelineLastTime = pipeline;
+        return result;
     }
-    
-    private static IPolynomial createEvenlyDistributedPolynomial(int characteristic, int degree, 
-            boolean smartChar2Generation, Random random) {
-        IPolynomial candidate = new LinkedListPolynomial(characteristic);
-        int leadingCoefficient = 1;
-        candidate.addTerm(leadingCoefficient, degree);
-        
-        int amountOfNonZeroCoefficients = 1;
-        
-        for (int exponent = degree - 1; exponent > 0; exponent--) {
-            int coefficient = getEvenlyDistributedCoefficient(characteristic, false, random);
-            if (coefficient != 0) {
-                candidate.addTerm(coefficient, exponent);
-                amountOfNonZeroCoefficients++;
-            }
+
+    private static void checkParameters(int characteristic, int degree, SearchPreset preset) {
+        if (preset == null) {
+            throw new IllegalArgumentException("The given preset is null!");
         }
-        int constantCoefficient = getEvenlyDistributedCoefficient(characteristic, true, random);
-        candidate.addTerm(constantCoefficient, 0);
-        amountOfNonZeroCoefficients++;
-        
-        // If the characteristic is 2 and we have an even amount of terms,
-        // the polynomial will automatically have the root 1. Thus if this
-        // is the case, we add a term to change the amount of non-zero coefficents.        
-        if (smartChar2Generation && characteristic == 2 && amountOfNonZeroCoefficients % 2 == 0) {
-            candidate.addTerm(1, 1);
+        if (characteristic < 2) {
+            throw new IllegalArgumentException("Characteristic " + characteristic + " is smaller than 2.");
+        }        
+        if (!MathUtil.isPrime(characteristic)) {
+            throw new IllegalArgumentException("Characteristic " + characteristic + " is not a prime.");
+        }
+        if (degree < 0) {
+            throw new IllegalArgumentException("Degree " + degree + " is negative!");
         }
-        
-        return candidate;
     }
 
-    /**
-     * Evaluates a polynomial in all values to see if it has a root other than
-     * 0.
-     *
-     * If it has a root and it's degree is higher than 1, it is reducible.
-     *
-     * @param polynomial The polynomial to check
-     * @return true if the polynomial has a root other than 0, false if it
-     * doesn't.
+    /*
+     Finds irreducible polynomials of the prime power parts of the degree and
+     returns their composed product, or null if the degree is a prime power.
      */
-    private static boolean hasRoot(IPolynomial polynomial) {
-        int characteristic = polynomial.getCharacteristic();
-        
-        for (int i = 1; i < polynomial.getCharacteristic(); i++) {
-            if (polynomial.evaluate(i) % characteristic == 0) {
-                return true;
+    private static IPolynomial findComposedProduct(int characteristic, int degree, SearchPreset preset) {
+        if (degree < 2) {
+            return null;
+        }
+        SortedIntegerList primeFactors = MathUtil.getUniquePrimeFactors(degree);
+        if (primeFactors.getSize() < 2) {
+            return null;
+        }
+
+        IPolynomial result = null;
+        int generated = 0;
+        int tested = 0;
+        IntegerNode node = primeFactors.getSmallestNode();
+        while (node != null) {
+            int part = 1;
+            while (degree / part % node.getValue() == 0) {
+                part *= node.getValue();
             }
+            IPolynomial factor = findIrreduciblePolynomial(characteristic, part, preset);
+            generated += numberOfPolynomialsGeneratedLastTime;
+            tested += numberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime;
+            result = result == null ? factor : ComposedProduct.multiply(result, factor);
+            node = node.getNext();
         }
-        
-        return false;
+
+        numberOfPolynomialsGeneratedLastTime = generated;
+        numberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime = tested;
+        pipelineLastTime = null;
+        return result;
     }
 
+    /*
+     Generates the candidates of characteristic 2 in bit-sliced batches: bit
+     i of word j is the coefficient of x^j of the candidate i. The candidates
+     are distributed as those of RandomCandidateGenerator. A candidate has the
+     root 1 if and only if it has an even number of terms, which is the XOR of
+     the words.
+     */
+    static IPolynomial findBinaryIrreduciblePolynomialInBatches(int degree, boolean checkForRoots) {
+        Random random = new SecureRandom();
+        BinaryBatchEngine engine = new BinaryBatchEngine();
 
-    private static int getEvenlyDistributedCoefficient(int characteristic, boolean mustBePositive,
-            Random random) {
-        int coefficient;
-        if (mustBePositive) {
-            coefficient = random.nextInt(characteristic - 1) + 1;
-        } else {
-            coefficient = random.nextInt(characteristic);
-        }
+        int totalAmountOfTries = 0;
+        int triesUsingRabinsAlgorithm = 0;
+        long[] moduli = new long[degree];
 
-        return coefficient;
-    }    
-    
-    private static int getSparseCoefficient(int characteristic, boolean mustBePositive,
-            double ratioOfZeros, Random random) {
-        double randomNumber = random.nextDouble();
+        while (true) {
+            // The constant term is always 1.
+            moduli[0] = -1L;
+            for (int j = 1; j < degree; j++) {
+                moduli[j] = random.nextLong();
+            }
 
-        if (!mustBePositive && randomNumber < ratioOfZeros) {
-            return 0;
-        }
+            // The leading term makes the number of terms even when the XOR
+            // of the lower terms is 1.
+            long evenNumberOfTerms = 0;
+            for (int j = 0; j < degree; j++) {
+                evenNumberOfTerms ^= moduli[j];
+            }
+
+            long lanes = checkForRoots ? ~evenNumberOfTerms : -1L;
+
+            int lane = engine.indexOfIrreducible(moduli, lanes);
+            if (lane == -1) {
+                totalAmountOfTries += BinaryBatchEngine.BATCH_SIZE;
+                triesUsingRabinsAlgorithm += Long.bitCount(lanes);
+            } else {
+                // The candidates after the irreducible one are counted as
+                // never generated, like in the pipeline.
+                totalAmountOfTries += lane + 1;
+                triesUsingRabinsAlgorithm += Long.bitCount(lanes & (-1L >>> (63 - lane)));
 
-        int coefficient = random.nextInt(characteristic - 1) + 1;
+                IPolynomial candidate = new LinkedListPolynomial(2);
+                candidate.addTerm(1, degree);
+                for (int j = 0; j < degree; j++) {
+                    if ((moduli[j] & (1L << lane)) != 0) {
+                        candidate.addTerm(1, j);
+                    }
+                }
 
-        return coefficient;
+                numberOfPolynomialsGeneratedLastTime = totalAmountOfTries;
+                numberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime = triesUsingRabinsAlgorithm;
+                pipelineLastTime = null;
+                return candidate;
+            }
+        }
     }
 
     /**
      * Returns the amount of polynomials that were tested with Rabin's algorithm when
      * findIrreduciblePolynomial was last called.
      *
+     * Despite the name, this counts the polynomials given to the
+     * irreducibility engine, whichever engine was used.
+     *
      * @return Number of polynomials tested with Rabin's algorithm.
      */
     public static int getNumberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime() {
@@ -235,6 +272,17 @@ public class IrreduciblePolynomialFinder {
     public static int getNumberOfPolynomialsGeneratedLastTime() {
         return numberOfPolynomialsGeneratedLastTime;
     }
+
+    /**
+     * Returns the pipeline used when findIrreduciblePolynomial was last
+     * called, with the counters of its generator, filters and engine.
+     *
+     * @return The pipeline, or null if the polynomial was constructed or
+     * found in binary batches.
+     */
+    public static SearchPipeline getPipelineLastTime() {
+        return pipelineLastTime;
+    }
     
     
 }
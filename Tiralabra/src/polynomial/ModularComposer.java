@@ -0,0 +1,155 @@
+package polynomial;
+
+/**
+ * Calculates compositions g(h) mod f for a fixed polynomial h with the
+ * baby-step giant-step method of Brent and Kung.
+ *
+ * Let n be the degree of f and m about the square root of n. The powers
+ * h^0, h^1, ..., h^(m-1) mod f (the baby steps) and h^m mod f (the giant
+ * step) are calculated once when the composer is created. A polynomial g of
+ * degree less than k*m is split into k blocks of m coefficients, so that
+ * g(y) = G_0(y) + G_1(y)*y^m + ... + G_(k-1)(y)*y^((k-1)m). The values
+ * G_j(h) mod f are the rows of the product of the k*m matrix of the blocks
+ * and the m*n matrix of the baby steps, and g(h) is then found from them with
+ * Horner's rule in the giant step.
+ *
+ * A composition thus costs about 2*sqrt(n) multiplications mod f and n^2
+ * multiplications of coefficients, no matter what the characteristic is.
+ *
+ * @author Sebastian Björkqvist
+ */
+final class ModularComposer {
+
+    private final ModularReducer reducer;
+    private final int characteristic;
+    private final int blockLength;
+    private final int[][] babySteps;
+    private final int[] giantStep;
+    private final int additionsBeforeReduction;
+
+    /**
+     * Creates a composer for the given point h.
+     *
+     * @param reducer The reducer of the modulus f.
+     * @param point The polynomial h, reduced mod f.
+     */
+    ModularComposer(ModularReducer reducer, int[] point) {
+        this.reducer = reducer;
+        this.characteristic = reducer.getCharacteristic();
+        this.blockLength = getBlockLength(reducer.getDegree());
+
+        this.babySteps = new int[blockLength][];
+        babySteps[0] = reducer.reduce(new int[]{1});
+        for (int i = 1; i < blockLength; i++) {
+            babySteps[i] = reducer.multiply(babySteps[i - 1], point);
+        }
+        this.giantStep = reducer.multiply(babySteps[blockLength - 1], point);
+
+        // Every product of two coefficients is at most (p-1)^2, and the sums
+        // are reduced before they could overflow.
+        long maximumProduct = (long) (characteristic - 1) * (characteristic - 1);
+        long additions = 1;
+        if (maximumProduct > 0) {
+            additions = (Long.MAX_VALUE - characteristic) / maximumProduct;
+        }
+        this.additionsBeforeReduction = (int) Math.min(Integer.MAX_VALUE, additions);
+    }
+
+    /**
+     * Returns the number of baby steps used for the given degree of modulus.
+     *
+     * @param degree The degree n of the modulus.
+     * @return The smallest m with m*m >= n, but at least 1.
+     */
+    static int getBlockLength(int degree) {
+        int blockLength = (int) Math.sqrt(degree);
+        while (blockLength * blockLength < degree) {
+            blockLength++;
+        }
+        return Math.max(1, blockLength);
+    }
+
+    /**
+     * Estimates if the iterates x^p^i mod f are found faster by composition
+     * than by raising the previous iterate to the power p.
+     *
+     * Raising to the power p takes log p squarings and up to log p
+     * multiplications mod f. A composition takes about 2*sqrt(n)
+     * multiplications mod f and a matrix product of n^2 coefficient
+     * multiplications. The matrix product grows faster than Karatsuba's
+     * multiplication, so in benchmarks a composition cost about as much as
+     * 1.5*sqrt(n) multiplications at degrees from 50 to 1600. With p = 2^31 - 1
+     * composition is faster up to about degree 1600, with p = 65521 up to
+     * about 400, and with p = 251 only below 100. In characteristic 2 the
+     * squarings are linear, so powering is always used.
+     *
+     * @param degree The degree n of the modulus.
+     * @param characteristic The characteristic p.
+     * @return true if composition should be used.
+     */
+    static boolean isFasterThanPowering(int degree, int characteristic) {
+        if (characteristic == 2) {
+            return false;
+        }
+        int bitsOfCharacteristic = 32 - Integer.numberOfLeadingZeros(characteristic);
+        int costOfPowering = bitsOfCharacteristic - 1 + Integer.bitCount(characteristic) - 1;
+        int costOfComposition = 3 * getBlockLength(degree);
+
+        return costOfComposition < 2 * costOfPowering;
+    }
+
+    /**
+     * Calculates g(h) mod f.
+     *
+     * @param g A coefficient array of degree less than n.
+     * @return g(h) mod f.
+     */
+    int[] compose(int[] g) {
+        if (g.length == 0) {
+            return new int[0];
+        }
+
+        int numberOfBlocks = (g.length + blockLength - 1) / blockLength;
+
+        int[] result = evaluateBlock(g, numberOfBlocks - 1);
+        for (int j = numberOfBlocks - 2; j >= 0; j--) {
+            result = reducer.multiply(result, giantStep);
+            result = DensePolynomialUtil.add(result, evaluateBlock(g, j), characteristic);
+        }
+        return result;
+    }
+
+    /*
+     Calculates G_j(h) mod f as the row j of the matrix product.
+     */
+    private int[] evaluateBlock(int[] g, int block) {
+        int start = block * blockLength;
+        int end = Math.min(g.length, start + blockLength);
+
+        long[] sums = new long[reducer.getDegree()];
+        int additions = 0;
+        for (int i = start; i < end; i++) {
+            long coefficient = g[i];
+            if (coefficient == 0) {
+                continue;
+            }
+            if (additions == additionsBeforeReduction) {
+                for (int c = 0; c < sums.length; c++) {
+                    sums[c] %= characteristic;
+                }
+                additions = 0;
+            }
+            int[] babyStep = babySteps[i - start];
+            for (int c = 0; c < babyStep.length; c++) {
+                sums[c] += coefficient * babyStep[c];
+            }
+            additions++;
+        }
+
+        int[] row = new int[sums.length];
+        for (int c = 0; c < row.length; c++) {
+            row[c] = (int) (sums[c] % characteristic);
+        }
+        return DensePolynomialUtil.trim(row);
+    }
+}
@@ -0,0 +1,384 @@
+package polynomial;
+
+import java.math.BigInteger;
+import math.MathUtil;
+
+/**
+ * Reduces polynomials modulo a fixed polynomial f.
+ *
+ * A reducer is built once for the modulus with the method create, which
+ * chooses the reduction method according to the modulus. The precomputations
+ * needed by the method are done when the reducer is created, so that every
+ * later reduction mod f is as cheap as possible.
+ *
+ * @author Sebastian Björkqvist
+ */
+public abstract class ModularReducer {
+
+    private final IPolynomial modulus;
+    private final int characteristic;
+    private final int degree;
+    private final int[] modulusCoefficients;
+
+    ModularReducer(IPolynomial modulus) {
+        checkModulus(modulus);
+
+        this.modulus = modulus;
+        this.characteristic = modulus.getCharacteristic();
+        this.modulusCoefficients = DensePolynomialUtil.trim(modulus.getCoefficients());
+        this.degree = modulusCoefficients.length - 1;
+
+        // Throws an exception if the leading coefficient isn't invertible.
+        DensePolynomialUtil.inverse(modulusCoefficients[degree], characteristic);
+    }
+
+    /**
+     * Creates a reducer for the given modulus.
+     *
+     * If at most a quarter of the coefficients of the modulus are non-zero,
+     * such as with trinomials and pentanomials, the reducer subtracts shifted
+     * copies of the non-zero terms only, which takes O(n*w) time where w is the
+     * number of non-zero terms. Otherwise Barrett's method is used for large
+     * degrees and long division for small degrees.
+     *
+     * @param modulus The polynomial f for which modulo is taken.
+     * @return The reducer.
+     * @throws IllegalArgumentException if the modulus is null or the zero
+     * polynomial.
+     * @throws IllegalArgumentException if the characteristic of the modulus is 0.
+     * @throws UnsupportedOperationException if the leading coefficient of the
+     * modulus isn't invertible.
+     */
+    public static ModularReducer create(IPolynomial modulus) {
+        checkModulus(modulus);
+
+        if (SparseModularReducer.isSparse(modulus)) {
+            return new SparseModularReducer(modulus);
+        }
+        return new BarrettModularReducer(modulus);
+    }
+
+    private static void checkModulus(IPolynomial modulus) {
+        if (modulus == null) {
+            throw new IllegalArgumentException("The modulus is null!");
+        }
+        if (modulus.getCharacteristic() == 0) {
+            throw new IllegalArgumentException("Reduction modulo polynomials "
+                    + "with characteristic 0 is not supported.");
+        }
+        if (modulus.getDegree() == -1) {
+            throw new IllegalArgumentException("The modulus is the zero polynomial.");
+        }
+    }
+
+    /**
+     * Returns the modulus of this reducer.
+     *
+     * @return The modulus.
+     */
+    public IPolynomial getModulus() {
+        return modulus;
+    }
+
+    /**
+     * Calculates the remainder of the given polynomial modulo the modulus of
+     * this reducer.
+     *
+     * The given polynomial isn't changed.
+     *
+     * @param polynomial The polynomial to reduce.
+     * @return A new polynomial of the same implementation as the given one.
+     * @throws IllegalArgumentException if the polynomial is null.
+     * @throws IllegalArgumentException if the characteristic of the polynomial
+     * differs from the characteristic of the modulus.
+     */
+    public IPolynomial reduce(IPolynomial polynomial) {
+        checkPolynomial(polynomial);
+
+        int[] remainder = reduce(DensePolynomialUtil.trim(polynomial.getCoefficients()));
+
+        return polynomial.createPolynomialFromCoefficients(remainder);
+    }
+
+    /**
+     * Calculates a * b mod f, where f is the modulus of this reducer.
+     *
+     * Only the remainder is calculated. Where the reduction method allows,
+     * the product is reduced while it is formed, and no quotient is ever
+     * formed.
+     *
+     * @param a
+     * @param b
+     * @return a * b mod f, a polynomial of the same implementation as a.
+     * @throws IllegalArgumentException if either polynomial is null.
+     * @throws IllegalArgumentException if the characteristic of either
+     * polynomial differs from the characteristic of the modulus.
+     */
+    public IPolynomial multiply(IPolynomial a, IPolynomial b) {
+        checkPolynomial(a);
+        checkPolynomial(b);
+
+        int[] product = multiply(DensePolynomialUtil.trim(a.getCoefficients()),
+                DensePolynomialUtil.trim(b.getCoefficients()));
+
+        return a.createPolynomialFromCoefficients(product);
+    }
+
+    /**
+     * Calculates a^2 mod f, where f is the modulus of this reducer.
+     *
+     * Works like multiply, but uses the faster squaring.
+     *
+     * @param a
+     * @return a^2 mod f, a polynomial of the same implementation as a.
+     * @throws IllegalArgumentException if the polynomial is null.
+     * @throws IllegalArgumentException if the characteristic of the polynomial
+     * differs from the characteristic of the modulus.
+     */
+    public IPolynomial square(IPolynomial a) {
+        checkPolynomial(a);
+
+        int[] square = square(DensePolynomialUtil.trim(a.getCoefficients()));
+
+        return a.createPolynomialFromCoefficients(square);
+    }
+
+    /**
+     * Calculates a^exponent mod f, where f is the modulus of this reducer.
+     *
+     * Uses sliding-window exponentiation: the odd powers a, a^3, ...,
+     * a^(2^k - 1) are calculated first, and after that every window of at
+     * most k bits ending in a one bit costs a single multiplication. The
+     * window size k grows with the length of the exponent, so that an
+     * exponent of b bits takes about b squarings and b/(k+1) multiplications.
+     *
+     * @param a
+     * @param exponent A non-negative integer of any size.
+     * @return a^exponent mod f, a polynomial of the same implementation as a.
+     * @throws IllegalArgumentException if the polynomial or the exponent is
+     * null, or the exponent is negative.
+     * @throws IllegalArgumentException if the characteristic of the polynomial
+     * differs from the characteristic of the modulus.
+     */
+    public IPolynomial power(IPolynomial a, BigInteger exponent) {
+        checkPolynomial(a);
+        if (exponent == null) {
+            throw new IllegalArgumentException("The exponent is null!");
+        }
+        if (exponent.signum() < 0) {
+            throw new IllegalArgumentException("The exponent is negative.");
+        }
+
+        int[] power = power(DensePolynomialUtil.trim(a.getCoefficients()), exponent);
+
+        return a.createPolynomialFromCoefficients(power);
+    }
+
+    private void checkPolynomial(IPolynomial polynomial) {
+        if (polynomial == null) {
+            throw new IllegalArgumentException("The given polynomial is null!");
+        }
+        if (polynomial.getCharacteristic() != characteristic) {
+            throw new IllegalArgumentException("The characteristic " + polynomial.getCharacteristic()
+                    + " of the polynomial differs from the characteristic " + characteristic
+                    + " of the modulus.");
+        }
+    }
+
+    /**
+     * Calculates a * b modulo the modulus for coefficient arrays.
+     *
+     * The arrays must be in the form described in DensePolynomialUtil, and
+     * they aren't changed. By default the product is formed and reduced.
+     *
+     * @param a
+     * @param b
+     * @return a * b mod f
+     */
+    int[] multiply(int[] a, int[] b) {
+        return reduce(DensePolynomialUtil.multiply(a, b, characteristic));
+    }
+
+    /**
+     * Calculates a^2 modulo the modulus for coefficient arrays.
+     *
+     * @param a
+     * @return a^2 mod f
+     */
+    int[] square(int[] a) {
+        return reduce(DensePolynomialUtil.square(a, characteristic));
+    }
+
+    /**
+     * Calculates a^exponent modulo the modulus for coefficient arrays.
+     *
+     * Uses binary exponentiation, going through the bits of the exponent from
+     * the highest to the lowest. Every bit costs a squaring, and every one
+     * bit a multiplication by a, so the cost is O(log exponent)
+     * multiplications.
+     *
+     * @param a
+     * @param exponent A non-negative integer.
+     * @return a^exponent mod f
+     */
+    int[] power(int[] a, int exponent) {
+        a = reduce(a);
+        if (exponent == 0) {
+            return reduce(new int[]{1});
+        }
+
+        int[] result = a;
+        for (int bit = MathUtil.log2(exponent) - 1; bit >= 0; bit--) {
+            result = square(result);
+            if (MathUtil.isOne(exponent, bit)) {
+                result = multiply(result, a);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calculates a^exponent modulo the modulus for coefficient arrays using
+     * sliding-window exponentiation.
+     *
+     * @param a
+     * @param exponent A non-negative integer.
+     * @return a^exponent mod f
+     */
+    int[] power(int[] a, BigInteger exponent) {
+        a = reduce(a);
+        int bits = exponent.bitLength();
+        if (bits == 0) {
+            return reduce(new int[]{1});
+        }
+
+        int windowSize = getWindowSize(bits);
+        int[][] oddPowers = new int[1 << (windowSize - 1)][];
+        oddPowers[0] = a;
+        if (oddPowers.length > 1) {
+            int[] square = square(a);
+            for (int i = 1; i < oddPowers.length; i++) {
+                oddPowers[i] = multiply(oddPowers[i - 1], square);
+            }
+        }
+
+        // The highest bit is one, so the first window sets the result.
+        int[] result = null;
+        int bit = bits - 1;
+        while (bit >= 0) {
+            if (!exponent.testBit(bit)) {
+                result = square(result);
+                bit--;
+                continue;
+            }
+
+            int lowest = Math.max(0, bit - windowSize + 1);
+            while (!exponent.testBit(lowest)) {
+                lowest++;
+            }
+            int window = 0;
+            for (int i = bit; i >= lowest; i--) {
+                window = 2 * window + (exponent.testBit(i) ? 1 : 0);
+            }
+
+            if (result == null) {
+                result = oddPowers[window >>> 1];
+            } else {
+                for (int i = bit; i >= lowest; i--) {
+                    result = square(result);
+                }
+                result = multiply(result, oddPowers[window >>> 1]);
+            }
+            bit = lowest - 1;
+        }
+        return result;
+    }
+
+    /*
+     Chooses the window size that minimizes the number of multiplications
+     for an exponent of the given number of bits.
+     */
+    private static int getWindowSize(int bits) {
+        if (bits <= 8) {
+            return 1;
+        }
+        if (bits <= 24) {
+            return 2;
+        }
+        if (bits <= 80) {
+            return 3;
+        }
+        if (bits <= 240) {
+            return 4;
+        }
+        if (bits <= 672) {
+            return 5;
+        }
+        return 6;
+    }
+
+    /**
+     * Calculates x^exponent modulo the modulus.
+     *
+     * Works like power, but the multiplications by x are only shifts
+     * followed by a reduction, so the cost is about O(log exponent)
+     * squarings. The power x^exponent itself is never formed, so the
+     * exponent may be as large as Integer.MAX_VALUE.
+     *
+     * @param exponent A non-negative integer.
+     * @return x^exponent mod f
+     */
+    int[] powerOfX(int exponent) {
+        if (exponent == 0) {
+            return reduce(new int[]{1});
+        }
+
+        int[] result = reduce(new int[]{0, 1});
+        for (int bit = MathUtil.log2(exponent) - 1; bit >= 0; bit--) {
+            result = square(result);
+            if (MathUtil.isOne(exponent, bit)) {
+                result = multiplyByX(result);
+            }
+        }
+        return result;
+    }
+
+    private int[] multiplyByX(int[] a) {
+        if (a.length == 0) {
+            return a;
+        }
+        int[] shifted = new int[a.length + 1];
+        System.arraycopy(a, 0, shifted, 1, a.length);
+        return reduce(shifted);
+    }
+
+    /**
+     * Calculates the remainder of a coefficient array modulo the modulus.
+     *
+     * The array must be in the form described in DensePolynomialUtil, and it
+     * isn't changed.
+     *
+     * @param a
+     * @return a mod f
+     */
+    abstract int[] reduce(int[] a);
+
+    int getCharacteristic() {
+        return characteristic;
+    }
+
+    int getDegree() {
+        return degree;
+    }
+
+    /**
+     * Returns the coefficients of the modulus.
+     *
+     * The returned array must not be modified.
+     *
+     * @return The coefficient array of the modulus.
+     */
+    int[] getModulusCoefficients() {
+        return modulusCoefficients;
+    }
+}
@@ -1,10 +1,8 @@
 package polynomial;
 
-import datastructures.IntegerNode;
-import datastructures.SortedIntegerList;
-import math.MathUtil;
-import polynomial.impl.array.ArrayPolynomial;
-import polynomial.impl.linkedlist.LinkedListPolynomial;
+import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
+import polynomial.irreducibility.RabinEngine;
 
 /**
  * Class for calculating the greatest common divisor of two polynomials.
@@ -24,6 +22,11 @@ public class PolynomialUtil {
      * Note that the greatest common divisor is unique only up to an invertible
      * constant.
      *
+     * If the characteristic is positive, the gcd is calculated with
+     * DenseGcdUtil, which uses the binary gcd in characteristic 2, and
+     * otherwise an iterative Euclidean algorithm for small degrees and the
+     * half-gcd algorithm for large degrees. The result is then monic.
+     *
      * @param a First polynomial. The degree of this polynomial must be at least
      * as large as the degree of the second polynomial.
      * @param b Second polynomial
@@ -44,200 +47,309 @@ public class PolynomialUtil {
         }
 
         if (a.getDegree() < b.getDegree()) {
-            return gcdPrivate(b, a);
+            IPolynomial temp = a;
+            a = b;
+            b = temp;
         }
 
-        return gcdPrivate(a, b);
-    }
-
-    /*
-     This method is used to avoid having to check the characteristics
-     and degrees at every step of the calculation.    
-     */
-    private static IPolynomial gcdPrivate(IPolynomial a, IPolynomial b) {
-        // If b is the zero polynomial, we've reached the end of the recursion.
-        if (b.getDegree() == -1) {
-            return a;
+        int characteristic = a.getCharacteristic();
+        if (characteristic != 0) {
+            int[] gcd = DenseGcdUtil.gcd(a.getCoefficients(), b.getCoefficients(), characteristic);
+            return a.createPolynomialFromCoefficients(gcd);
         }
 
-        return gcdPrivate(b, a.divide(b).remainder);
+        return gcdPrivate(a, b);
     }
 
     /**
-     * Checks if a polynomial of positive characteristic is reducible.
+     * Checks if two polynomials are coprime, i.e. if their greatest common
+     * divisor is a non-zero constant.
      *
-     * This method uses Rabin's test of irreducibility. The time complexity of
-     * this method is O(c*(d^3)*log(log d)), where c is the characteristic and d is the
-     * degree of the polynomial to be tested.
+     * With positive characteristic the Euclidean algorithm stops as soon as a
+     * remainder is a non-zero constant, so this is faster than checking the
+     * degree of the gcd.
      *
-     * @param polynomial The polynomial to test.
-     * @param debugPrint If true, prints some info when the algorithm is
-     * running.
-     * @return true if the polynomial is reducible, false if it is irreducible.
-     * @throws IllegalArgumentException if the characteristic of the polynomial
-     * is 0.
-     * @throws IllegalArgumentException if the given polynomial is null.
+     * @param a
+     * @param b
+     * @return true if the polynomials are coprime.
+     * @throws IllegalArgumentException if the polynomials have different
+     * characteristic.
+     * @throws IllegalArgumentException if either polynomial is null.
      */
-    public static boolean isReducible(IPolynomial polynomial, boolean debugPrint) {
-        if (polynomial == null) {
-            throw new IllegalArgumentException("The given polynomial is null!");
+    public static boolean isCoprime(IPolynomial a, IPolynomial b) {
+        if (a == null) {
+            throw new IllegalArgumentException("First polynomial is null!");
         }
-        int characteristic = polynomial.getCharacteristic();
-
-        if (characteristic == 0) {
-            throw new IllegalArgumentException("Irreducibility testing of polynomials "
-                    + "with characteristic 0 is not supported.");
+        if (b == null) {
+            throw new IllegalArgumentException("Second polynomial is null!");
         }
-
-        if (polynomial.getDegree() <= 1) {
-            return false;
+        if (a.getCharacteristic() != b.getCharacteristic()) {
+            throw new IllegalArgumentException("The characteristic of the polynomials don't match!");
         }
 
-        Class type = polynomial.getClass();
-
-        if (type == LinkedListPolynomial.class) {
-            LinkedListPolynomial p = (LinkedListPolynomial) polynomial;
-            return isReducible(p, debugPrint);
+        int characteristic = a.getCharacteristic();
+        if (characteristic != 0) {
+            return DenseGcdUtil.isCoprime(a.getCoefficients(), b.getCoefficients(), characteristic);
         }
-        if (type == ArrayPolynomial.class) {
-            ArrayPolynomial p = (ArrayPolynomial) polynomial;
-            return isReducible(p, debugPrint);
-        }        
-
-        throw new UnsupportedOperationException("Unsupported polynomial type " + type);
 
+        return gcd(a, b).getDegree() == 0;
     }
 
-    private static boolean isReducible(LinkedListPolynomial polynomial, boolean debugPrint) {
-        int characteristic = polynomial.getCharacteristic();
-        int degree = polynomial.getDegree();
-
-        SortedIntegerList primeFactorsOfDegree = MathUtil.getUniquePrimeFactors(degree);
-
-        if (debugPrint) {
-            System.out.println("Checking if " + polynomial + " is irreducible.");
-        }
-
-        IntegerNode factorNode = primeFactorsOfDegree.getLargestNode();
+    /**
+     * Performs the Extended Euclidean algorithm on the given polynomials.
+     *
+     * The result is gcd = a*x + b*y, where gcd is the monic greatest common
+     * divisor of a and b. The polynomials in the result are of the same
+     * implementation as a.
+     *
+     * @param a
+     * @param b
+     * @return The polynomials gcd, x and y.
+     * @throws IllegalArgumentException if either polynomial is null.
+     * @throws IllegalArgumentException if the polynomials have different
+     * characteristic, or the characteristic is 0.
+     */
+    public static ExtendedGcdResult extendedGcd(IPolynomial a, IPolynomial b) {
+        checkPositiveCharacteristic(a, b);
 
-        // Checking if the polynomial has a factor of degree dividing its own degree:
-        while (factorNode != null) {
-            int factor = factorNode.getValue();
-            int exponentToCheck = degree / factor;
+        int[][] result = DenseGcdUtil.extendedGcd(a.getCoefficients(), b.getCoefficients(),
+                a.getCharacteristic());
 
-            if (debugPrint) {
-                System.out.println("    Checking polynomial x^" + characteristic + "^" + exponentToCheck);
-            }
+        return new ExtendedGcdResult(a.createPolynomialFromCoefficients(result[0]),
+                a.createPolynomialFromCoefficients(result[1]),
+                a.createPolynomialFromCoefficients(result[2]));
+    }
 
-            IPolynomial remainder = calculateXExponentiatedModuloF(characteristic, exponentToCheck, polynomial);
+    /**
+     * Finds the multiplicative inverse of a polynomial modulo f.
+     *
+     * If f is irreducible, every polynomial not divisible by f has an inverse,
+     * so this gives the inverses in the field F_p[x]/(f).
+     *
+     * @param a The polynomial to invert.
+     * @param f The modulus. Must have a positive degree.
+     * @return b such that a*b = 1 mod f, with degree smaller than the degree
+     * of f. The result is of the same implementation as a.
+     * @throws IllegalArgumentException if either polynomial is null.
+     * @throws IllegalArgumentException if the polynomials have different
+     * characteristic, or the characteristic is 0.
+     * @throws IllegalArgumentException if the degree of f isn't positive.
+     * @throws UnsupportedOperationException if a and f aren't coprime, in
+     * which case the inverse doesn't exist.
+     */
+    public static IPolynomial inverseModulo(IPolynomial a, IPolynomial f) {
+        checkPositiveCharacteristic(a, f);
 
-            remainder.addTerm(-1, 1);
+        int[] inverse = DenseGcdUtil.inverseModulo(a.getCoefficients(), f.getCoefficients(),
+                a.getCharacteristic());
 
-            IPolynomial gcd = gcd(polynomial, remainder);
+        return a.createPolynomialFromCoefficients(inverse);
+    }
 
-            // If gcd is not a constant, the polynomial is reducible.
-            if (gcd.getDegree() != 0) {
-                return true;
-            }
-            factorNode = factorNode.getPrev();
+    private static void checkPositiveCharacteristic(IPolynomial a, IPolynomial b) {
+        if (a == null) {
+            throw new IllegalArgumentException("First polynomial is null!");
         }
-        if (debugPrint) {
-            System.out.println("    Checking polynomial x^" + characteristic + "^" + degree);
+        if (b == null) {
+            throw new IllegalArgumentException("Second polynomial is null!");
         }
-
-        IPolynomial remainder = calculateXExponentiatedModuloF(characteristic, degree, polynomial);
-
-        remainder.addTerm(-1, 1);
-
-        if (remainder.getDegree() == -1) {
-            return false;
-        } else {
-            return true;
+        if (a.getCharacteristic() != b.getCharacteristic()) {
+            throw new IllegalArgumentException("The characteristic of the polynomials don't match!");
+        }
+        if (a.getCharacteristic() == 0) {
+            throw new IllegalArgumentException("Polynomials with characteristic 0 are not supported.");
         }
     }
 
-    private static boolean isReducible(ArrayPolynomial polynomial, boolean debugPrint) {
-        int characteristic = polynomial.getCharacteristic();
-        int degree = polynomial.getDegree();
+    /*
+     The Euclidean algorithm for characteristic 0. This method is used to
+     avoid having to check the characteristics and degrees at every step of
+     the calculation.
+     */
+    private static IPolynomial gcdPrivate(IPolynomial a, IPolynomial b) {
+        // When b is the zero polynomial, a is the gcd.
+        while (b.getDegree() != -1) {
+            IPolynomial remainder = a.divide(b).remainder;
+            a = b;
+            b = remainder;
+        }
 
-        SortedIntegerList primeFactorsOfDegree = MathUtil.getUniquePrimeFactors(degree);
+        return a;
+    }
 
-        if (debugPrint) {
-            System.out.println("Checking if " + polynomial + " is irreducible.");
+    /**
+     * Calculates the formal derivative of a polynomial.
+     *
+     * In positive characteristic p the terms whose degree is divisible by p
+     * vanish, so the derivative of a non-constant polynomial may be zero.
+     *
+     * @param a
+     * @return The derivative, a polynomial of the same implementation as a.
+     * @throws IllegalArgumentException if the polynomial is null.
+     */
+    public static IPolynomial derivative(IPolynomial a) {
+        if (a == null) {
+            throw new IllegalArgumentException("The given polynomial is null!");
         }
+        int characteristic = a.getCharacteristic();
+        int[] coefficients = a.getCoefficients();
 
-        IntegerNode factorNode = primeFactorsOfDegree.getLargestNode();
-
-        // Checking if the polynomial has a factor of degree dividing its own degree:
-        while (factorNode != null) {
-            int factor = factorNode.getValue();
-            int exponentToCheck = degree / factor;
+        if (characteristic != 0) {
+            return a.createPolynomialFromCoefficients(DensePolynomialUtil.derivative(
+                    DensePolynomialUtil.trim(coefficients), characteristic));
+        }
 
-//            IPolynomial polynomialToCheck = new ArrayPolynomial(characteristic);
-//
-//            polynomialToCheck.addTerm(1, MathUtil.pow(characteristic, exponentToCheck));
-//            polynomialToCheck.addTerm(-1, 1);
+        int[] result = new int[Math.max(0, coefficients.length - 1)];
+        for (int i = 1; i < coefficients.length; i++) {
+            result[i - 1] = i * coefficients[i];
+        }
+        return a.createPolynomialFromCoefficients(result);
+    }
 
-//            if (debugPrint) {
-//                System.out.println("    Checking polynomial " + polynomialToCheck);
-//            }
-            
-            if (debugPrint) {
-                System.out.println("    Checking polynomial x^" + characteristic + "^" + exponentToCheck);
-            }            
+    /**
+     * Checks if a polynomial of positive characteristic is reducible.
+     *
+     * This method uses Rabin's test of irreducibility. The powers x^c^i mod f
+     * are calculated once for i = 1...d, and the checks for the prime factors
+     * of d are made along the way. Every power takes O(log c) multiplications
+     * modulo f, or about 2*sqrt(d) multiplications with modular composition
+     * when that is estimated to be faster, where c is the characteristic and
+     * d is the degree of the polynomial to be tested. The test itself is
+     * implemented in RabinEngine, which works with any implementation of
+     * IPolynomial.
+     *
+     * @param polynomial The polynomial to test.
+     * @param debugPrint If true, prints some info when the algorithm is
+     * running.
+     * @return true if the polynomial is reducible, false if it is irreducible.
+     * @throws IllegalArgumentException if the characteristic of the polynomial
+     * is 0.
+     * @throws IllegalArgumentException if the given polynomial is null.
+     */
+    public static boolean isReducible(IPolynomial polynomial, boolean debugPrint) {
+        if (isConstantOrLinear(polynomial)) {
+            return false;
+        }
 
-            IPolynomial remainder = calculateXExponentiatedModuloF(characteristic, exponentToCheck, polynomial);
+        return !new RabinEngine(debugPrint).isIrreducible(polynomial);
+    }
 
-            remainder.addTerm(-1, 1);
+    /**
+     * Checks if a polynomial of positive characteristic is reducible, running
+     * the gcd checks for the prime factors of the degree in parallel.
+     *
+     * Works like isReducible(polynomial, debugPrint), but the gcd checks are
+     * given to the executor while the next powers are calculated, and the test
+     * stops as soon as one of them finds a factor.
+     *
+     * @param polynomial The polynomial to test.
+     * @param debugPrint If true, prints some info when the algorithm is
+     * running.
+     * @param executor The executor for the gcd checks. It isn't shut down.
+     * @return true if the polynomial is reducible, false if it is irreducible.
+     * @throws IllegalArgumentException if the characteristic of the polynomial
+     * is 0.
+     * @throws IllegalArgumentException if the given polynomial or the
+     * executor is null.
+     */
+    public static boolean isReducible(IPolynomial polynomial, boolean debugPrint, ExecutorService executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("The given executor is null!");
+        }
+        if (isConstantOrLinear(polynomial)) {
+            return false;
+        }
 
-            IPolynomial gcd = gcd(polynomial, remainder);            
-            
-//            IPolynomial remainder = polynomialToCheck.divide(polynomial).remainder;
-//
-//            IPolynomial gcd = gcd(polynomial, remainder);
+        return !new RabinEngine(debugPrint, executor).isIrreducible(polynomial);
+    }
 
-            // If gcd is not a constant, the polynomial is reducible.
-            if (gcd.getDegree() != 0) {
-                return true;
-            }
-            factorNode = factorNode.getPrev();
+    private static boolean isConstantOrLinear(IPolynomial polynomial) {
+        if (polynomial == null) {
+            throw new IllegalArgumentException("The given polynomial is null!");
         }
-        // Checking if the polynomial has a factor of degree not dividing its own degree:
-//        IPolynomial polynomialToCheck = new ArrayPolynomial(characteristic);
-//
-//        polynomialToCheck.addTerm(1, MathUtil.pow(characteristic, degree));
-//        polynomialToCheck.addTerm(-1, 1);
-//
-//        if (debugPrint) {
-//            System.out.println("    Checking polynomial " + polynomialToCheck);
-//        }
-//
-//        IPolynomial remainder = polynomialToCheck.divide(polynomial).remainder;
-
-        if (debugPrint) {
-            System.out.println("    Checking polynomial x^" + characteristic + "^" + degree);
+        if (polynomial.getCharacteristic() == 0) {
+            throw new IllegalArgumentException("Irreducibility testing of polynomials "
+                    + "with characteristic 0 is not supported.");
         }
+        return polynomial.getDegree() <= 1;
+    }
 
-        IPolynomial remainder = calculateXExponentiatedModuloF(characteristic, degree, polynomial);
+    /**
+     * Calculates a * b mod f without forming the quotient.
+     *
+     * A new ModularReducer is built for f on every call. When many products
+     * modulo the same f are needed, it is faster to build the reducer once
+     * with ModularReducer.create and use its multiply method.
+     *
+     * @param a
+     * @param b
+     * @param f The polynomial for which modulo is taken.
+     * @return a * b mod f, a polynomial of the same implementation as a.
+     * @throws IllegalArgumentException if any of the polynomials is null.
+     * @throws IllegalArgumentException if the polynomials have different
+     * characteristic, or the characteristic is 0.
+     * @throws IllegalArgumentException if f is the zero polynomial.
+     */
+    public static IPolynomial mulMod(IPolynomial a, IPolynomial b, IPolynomial f) {
+        return ModularReducer.create(f).multiply(a, b);
+    }
 
-        remainder.addTerm(-1, 1);        
-        
-        if (remainder.getDegree() == -1) {
-            return false;
-        } else {
-            return true;
-        }
+    /**
+     * Calculates a^2 mod f without forming the quotient.
+     *
+     * As with mulMod, a new ModularReducer is built on every call.
+     *
+     * @param a
+     * @param f The polynomial for which modulo is taken.
+     * @return a^2 mod f, a polynomial of the same implementation as a.
+     * @throws IllegalArgumentException if either polynomial is null.
+     * @throws IllegalArgumentException if the polynomials have different
+     * characteristic, or the characteristic is 0.
+     * @throws IllegalArgumentException if f is the zero polynomial.
+     */
+    public static IPolynomial sqrMod(IPolynomial a, IPolynomial f) {
+        return ModularReducer.create(f).square(a);
+    }
+
+    /**
+     * Calculates a^e mod f for an exponent of any size.
+     *
+     * The power is calculated with sliding-window exponentiation, see
+     * ModularReducer.power. As with mulMod, a new ModularReducer is built on
+     * every call.
+     *
+     * @param a
+     * @param e A non-negative exponent, such as (p^n - 1)/q.
+     * @param f The polynomial for which modulo is taken.
+     * @return a^e mod f, a polynomial of the same implementation as a.
+     * @throws IllegalArgumentException if any of the parameters is null, or
+     * the exponent is negative.
+     * @throws IllegalArgumentException if the polynomials have different
+     * characteristic, or the characteristic is 0.
+     * @throws IllegalArgumentException if f is the zero polynomial.
+     */
+    public static IPolynomial powMod(IPolynomial a, BigInteger e, IPolynomial f) {
+        return ModularReducer.create(f).power(a, e);
     }
 
     /**
      * Calculates x^base^exponent mod f using repeated squaring.
      *
-     * At the moment this method only supports linked list polynomials.
+     * First x^base mod f is calculated with binary exponentiation, and after
+     * that the result is raised to the power base exponent - 1 times, again
+     * with binary exponentiation. Thus the cost is O(exponent * log(base))
+     * multiplications modulo f, and large bases such as 2^31 - 1 are fine.
+     * If the base is the characteristic of f, the powers after the first may
+     * be calculated with modular composition instead, see DenseRingKernel.
+     *
+     * All products are calculated with a ModularReducer built once for f, so
+     * the reductions cost about as much as the multiplications, and no
+     * quotients are formed.
      *
      * @param base
      * @param exponent
      * @param f The polynomial for which modulo is taken.
-     * @return x^base^exponent mod f
+     * @return x^base^exponent mod f, a polynomial of the same implementation as f.
      * @throws IllegalArgumentException if base or exponent is non-positive.
      */
     static IPolynomial calculateXExponentiatedModuloF(int base, int exponent, IPolynomial f) {
@@ -248,27 +360,23 @@ public class PolynomialUtil {
             throw new IllegalArgumentException("Exponent is non-positive.");
         }
 
-        int characteristic = f.getCharacteristic();
+        ModularReducer reducer = ModularReducer.create(f);
 
-        IPolynomial xBase;
-        if (f.getClass() == LinkedListPolynomial.class) {
-            xBase = new LinkedListPolynomial(characteristic);
+        int[] result;
+        if (base == f.getCharacteristic()) {
+            DenseRingKernel kernel = new DenseRingKernel(reducer);
+            result = reducer.powerOfX(base);
+            for (int i = 1; i < exponent; i++) {
+                result = kernel.frobenius(result);
+            }
         } else {
-            xBase = new ArrayPolynomial(characteristic);
-        }
-        xBase.addTerm(1, base);
-        
-        xBase = xBase.divide(f).remainder;
-
-        for (int i = 1; i < exponent; i++) {
-            IPolynomial xBaseCopy = xBase.createCopyOfPolynomial();
-
-            for (int j = 0; j < base - 1; j++) {
-                xBase = (xBase.multiply(xBaseCopy)).divide(f).remainder;
+            result = reducer.powerOfX(base);
+            for (int i = 1; i < exponent; i++) {
+                result = reducer.power(result, base);
             }
         }
 
-        return xBase;
+        return f.createPolynomialFromCoefficients(result);
     }
 
 }
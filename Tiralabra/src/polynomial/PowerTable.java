@@ -0,0 +1,113 @@
+package polynomial;
+
+/**
+ * A table of the powers a^e mod p of every element a of Z_p.
+ *
+ * With the table a polynomial with t terms can be evaluated at every element
+ * of Z_p with p * t multiplications and no modular exponentiations. The
+ * powers of the same exponent are stored next to each other, so that adding
+ * a term to the values walks the table and the values in order. The tables
+ * are cached by characteristic and shared by all polynomials, so a search
+ * over many candidates of the same degree builds its table only once.
+ *
+ * @author Sebastian Björkqvist
+ */
+public final class PowerTable {
+
+    /**
+     * The largest number of entries (p * (n + 1)) of a table.
+     */
+    public static final int MAXIMUM_SIZE = 1 << 20;
+
+    private static PowerTable[] cache = new PowerTable[4];
+    private static int cacheSize;
+
+    private final int characteristic;
+    private final int maximumExponent;
+    private final int[] powers;
+
+    private PowerTable(int characteristic, int maximumExponent) {
+        this.characteristic = characteristic;
+        this.maximumExponent = maximumExponent;
+        this.powers = new int[characteristic * (maximumExponent + 1)];
+
+        for (int a = 0; a < characteristic; a++) {
+            powers[a] = 1;
+        }
+        for (int e = 1; e <= maximumExponent; e++) {
+            int row = e * characteristic;
+            int previousRow = row - characteristic;
+            for (int a = 0; a < characteristic; a++) {
+                powers[row + a] = (int) ((long) powers[previousRow + a] * a % characteristic);
+            }
+        }
+    }
+
+    /**
+     * Checks if a table for the given characteristic and exponents fits in
+     * MAXIMUM_SIZE entries.
+     *
+     * @param characteristic The characteristic p.
+     * @param maximumExponent The largest exponent n.
+     * @return true if p * (n + 1) is at most MAXIMUM_SIZE.
+     */
+    public static boolean fits(int characteristic, int maximumExponent) {
+        return characteristic > 0 && maximumExponent >= 0
+                && (long) characteristic * (maximumExponent + 1) <= MAXIMUM_SIZE;
+    }
+
+    /**
+     * Returns a table with at least the given exponents, building it if no
+     * cached table has them.
+     *
+     * @param characteristic The characteristic p.
+     * @param maximumExponent The largest exponent n needed.
+     * @return A table of a^e mod p for all a in Z_p and 0 <= e <= n.
+     * @throws IllegalArgumentException if the table doesn't fit in
+     * MAXIMUM_SIZE entries.
+     */
+    public static synchronized PowerTable getTable(int characteristic, int maximumExponent) {
+        if (!fits(characteristic, maximumExponent)) {
+            throw new IllegalArgumentException("The table of exponents up to " + maximumExponent
+                    + " in characteristic " + characteristic + " is too large.");
+        }
+        for (int i = 0; i < cacheSize; i++) {
+            if (cache[i].characteristic == characteristic) {
+                if (cache[i].maximumExponent < maximumExponent) {
+                    cache[i] = new PowerTable(characteristic, maximumExponent);
+                }
+                return cache[i];
+            }
+        }
+        if (cacheSize == cache.length) {
+            PowerTable[] newCache = new PowerTable[2 * cache.length];
+            System.arraycopy(cache, 0, newCache, 0, cacheSize);
+            cache = newCache;
+        }
+        cache[cacheSize] = new PowerTable(characteristic, maximumExponent);
+        return cache[cacheSize++];
+    }
+
+    /**
+     * Adds the values of the term c*x^e at every element of Z_p.
+     *
+     * @param coefficient The coefficient c, in [0, p).
+     * @param exponent The exponent e, at most the largest exponent of the
+     * table.
+     * @param values The values at 0, ..., p - 1, each in [0, p).
+     */
+    public void addTerm(int coefficient, int exponent, int[] values) {
+        int row = exponent * characteristic;
+        for (int a = 0; a < characteristic; a++) {
+            values[a] = (int) ((values[a] + (long) coefficient * powers[row + a]) % characteristic);
+        }
+    }
+
+    public int getCharacteristic() {
+        return characteristic;
+    }
+
+    public int getMaximumExponent() {
+        return maximumExponent;
+    }
+}
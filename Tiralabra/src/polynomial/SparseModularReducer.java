@@ -0,0 +1,152 @@
+package polynomial;
+
+/**
+ * A reducer for moduli with few non-zero terms.
+ *
+ * If the modulus is f = c*x^n + (lower terms), a term a*x^k of degree k >= n
+ * is removed by subtracting (a/c)*x^(k-n)*f, which only touches the positions
+ * of the non-zero lower terms of f. The reduction of a polynomial of degree d
+ * thus takes O((d-n)*w) time, where w is the number of non-zero terms of f.
+ *
+ * In characteristic 2 the polynomial is packed into words and the terms
+ * are removed a word at a time with shifts and XORs, see
+ * BinaryPolynomialUtil.reduceModuloSparse.
+ *
+ * @author Sebastian Björkqvist
+ */
+class SparseModularReducer extends ModularReducer {
+
+    /**
+     * The modulus is considered sparse if at most 1/SPARSITY_RATIO of its
+     * coefficients are non-zero.
+     */
+    static final int SPARSITY_RATIO = 4;
+
+    private final int[] lowerExponents;
+    private final long[] lowerFactors;
+
+    SparseModularReducer(IPolynomial modulus) {
+        super(modulus);
+
+        int[] modulusCoefficients = getModulusCoefficients();
+        int degree = getDegree();
+        int characteristic = getCharacteristic();
+
+        int numberOfLowerTerms = 0;
+        for (int i = 0; i < degree; i++) {
+            if (modulusCoefficients[i] != 0) {
+                numberOfLowerTerms++;
+            }
+        }
+
+        // Removing a*x^k is the same as adding a*x^(k-n)*(-f_e/c)*x^e for
+        // every lower term f_e*x^e, so the factors -f_e/c are precomputed.
+        long inverseOfLeadingCoefficient = DensePolynomialUtil.inverse(modulusCoefficients[degree], characteristic);
+        this.lowerExponents = new int[numberOfLowerTerms];
+        this.lowerFactors = new long[numberOfLowerTerms];
+
+        int index = 0;
+        for (int i = 0; i < degree; i++) {
+            if (modulusCoefficients[i] != 0) {
+                lowerExponents[index] = i;
+                lowerFactors[index] = (characteristic - modulusCoefficients[i])
+                        * inverseOfLeadingCoefficient % characteristic;
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Tells if the given modulus is sparse enough for this reducer.
+     *
+     * @param modulus A non-zero polynomial.
+     * @return true if at most 1/SPARSITY_RATIO of the coefficients of the
+     * modulus are non-zero.
+     */
+    static boolean isSparse(IPolynomial modulus) {
+        return SPARSITY_RATIO * modulus.getNumberOfNonZeroCoefficients() <= modulus.getDegree() + 1;
+    }
+
+    @Override
+    int[] reduce(int[] a) {
+        int degree = getDegree();
+
+        if (a.length <= degree) {
+            return a.clone();
+        }
+
+        if (getCharacteristic() == 2) {
+            long[] words = BinaryPolynomialUtil.pack(a);
+            BinaryPolynomialUtil.reduceModuloSparse(words, degree, lowerExponents);
+            return BinaryPolynomialUtil.unpack(words);
+        }
+
+        return reduceCoefficients(a);
+    }
+
+    @Override
+    int[] multiply(int[] a, int[] b) {
+        if (getCharacteristic() == 2 || a.length == 0 || b.length == 0
+                || Math.min(a.length, b.length) >= DensePolynomialUtil.KARATSUBA_THRESHOLD) {
+            return super.multiply(a, b);
+        }
+        return reduceSums(DensePolynomialUtil.multiplyIntoSums(a, b, getCharacteristic()));
+    }
+
+    @Override
+    int[] square(int[] a) {
+        if (a.length == 0) {
+            return new int[0];
+        }
+        if (getCharacteristic() == 2) {
+            long[] words = BinaryPolynomialUtil.square(BinaryPolynomialUtil.pack(a));
+            BinaryPolynomialUtil.reduceModuloSparse(words, getDegree(), lowerExponents);
+            return BinaryPolynomialUtil.unpack(words);
+        }
+        if (a.length >= DensePolynomialUtil.KARATSUBA_THRESHOLD) {
+            return super.square(a);
+        }
+        return reduceSums(DensePolynomialUtil.squareIntoSums(a, 0, a.length, getCharacteristic()));
+    }
+
+    private int[] reduceCoefficients(int[] a) {
+        long[] remainder = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            remainder[i] = a[i];
+        }
+        return reduceSums(remainder);
+    }
+
+    /*
+     Reduces unreduced non-negative sums not larger than the reduction bound
+     of DensePolynomialUtil. The given array is changed.
+     */
+    private int[] reduceSums(long[] remainder) {
+        int degree = getDegree();
+        int characteristic = getCharacteristic();
+        long bound = DensePolynomialUtil.getReductionBound(characteristic);
+
+        for (int i = remainder.length - 1; i >= degree; i--) {
+            long coefficient = remainder[i] % characteristic;
+            if (coefficient == 0) {
+                continue;
+            }
+            int shift = i - degree;
+            for (int j = 0; j < lowerExponents.length; j++) {
+                int index = shift + lowerExponents[j];
+                long value = remainder[index] + coefficient * lowerFactors[j];
+                if (value > bound) {
+                    value %= characteristic;
+                }
+                remainder[index] = value;
+            }
+        }
+
+        int[] result = new int[Math.min(degree, remainder.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) (remainder[i] % characteristic);
+        }
+
+        return DensePolynomialUtil.trim(result);
+    }
+}
@@ -0,0 +1,186 @@
+package polynomial.construction;
+
+import polynomial.DensePolynomialUtil;
+import polynomial.IPolynomial;
+
+/**
+ * Calculates composed products of irreducible polynomials.
+ *
+ * The composed product of g and h is the polynomial whose roots are the
+ * products ab of the roots a of g and b of h. If g and h are irreducible
+ * over F_p, neither is x, and their degrees are coprime, then the composed
+ * product is irreducible by the theorem of Brawley and Carlitz. Thus an
+ * irreducible polynomial of degree 150 = 2 * 3 * 25 can be found from
+ * irreducible polynomials of degrees 2, 3 and 25.
+ *
+ * The k-th power sum of the roots of the composed product is the product of
+ * the k-th power sums of g and h. The power sums of g and h are found with
+ * Newton's identities, which need no divisions, and the composed product is
+ * the shortest linear recurrence of its power sums, which is found with the
+ * Berlekamp-Massey algorithm. Both steps work in every characteristic, and
+ * for a product of degree n they take O(n^2) operations.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class ComposedProduct {
+
+    /**
+     * Calculates the composed product of two irreducible polynomials of
+     * coprime degrees.
+     *
+     * @param g An irreducible polynomial other than x.
+     * @param h An irreducible polynomial other than x, with the same
+     * characteristic as g.
+     * @return The monic composed product, of the same implementation as g.
+     * @throws IllegalArgumentException if a polynomial is null or has the
+     * root 0, the characteristics differ or are 0, the degrees are not
+     * positive and coprime, or the polynomials are found to be reducible.
+     */
+    public static IPolynomial multiply(IPolynomial g, IPolynomial h) {
+        if (g == null || h == null) {
+            throw new IllegalArgumentException("The given polynomial is null!");
+        }
+        int characteristic = g.getCharacteristic();
+        if (characteristic == 0) {
+            throw new IllegalArgumentException("Composed products of polynomials "
+                    + "with characteristic 0 are not supported.");
+        }
+        if (h.getCharacteristic() != characteristic) {
+            throw new IllegalArgumentException("The characteristics of the polynomials differ.");
+        }
+        int degreeOfG = g.getDegree();
+        int degreeOfH = h.getDegree();
+        if (degreeOfG < 1 || degreeOfH < 1 || gcd(degreeOfG, degreeOfH) != 1) {
+            throw new IllegalArgumentException("The degrees " + degreeOfG + " and " + degreeOfH
+                    + " aren't positive and coprime.");
+        }
+        if (g.getCoefficientAtDegree(0) % characteristic == 0
+                || h.getCoefficientAtDegree(0) % characteristic == 0) {
+            throw new IllegalArgumentException("The polynomials must not have the root 0.");
+        }
+
+        int degree = degreeOfG * degreeOfH;
+        int[] sumsOfG = powerSums(g, 2 * degree);
+        int[] sumsOfH = powerSums(h, 2 * degree);
+
+        int[] sums = new int[2 * degree];
+        for (int k = 0; k < sums.length; k++) {
+            sums[k] = (int) ((long) sumsOfG[k] * sumsOfH[k] % characteristic);
+        }
+
+        int[] recurrence = findShortestRecurrence(sums, characteristic);
+        if (recurrence.length != degree + 1) {
+            throw new IllegalArgumentException("The polynomials are not irreducible.");
+        }
+
+        // The recurrence 1 + c_1*z + ... + c_n*z^n belongs to the polynomial
+        // x^n + c_1*x^(n-1) + ... + c_n.
+        return g.createPolynomialFromCoefficients(DensePolynomialUtil.reverse(recurrence, degree));
+    }
+
+    /**
+     * Calculates the power sums of the roots of a polynomial.
+     *
+     * @param polynomial A polynomial of positive degree.
+     * @param count The number of power sums.
+     * @return The power sums s_0, ..., s_(count-1), where s_k is the sum of
+     * the k-th powers of the roots, counted with multiplicity.
+     */
+    static int[] powerSums(IPolynomial polynomial, int count) {
+        int characteristic = polynomial.getCharacteristic();
+        int degree = polynomial.getDegree();
+        int[] monic = polynomial.getCoefficients();
+        long inverse = DensePolynomialUtil.inverse(monic[degree] % characteristic, characteristic);
+        for (int i = 0; i <= degree; i++) {
+            monic[i] = (int) (monic[i] % characteristic * inverse % characteristic);
+        }
+
+        // s_k + c_(n-1)*s_(k-1) + ... + c_(n-k+1)*s_1 + k*c_(n-k) = 0 for
+        // k <= n, and s_k + c_(n-1)*s_(k-1) + ... + c_0*s_(k-n) = 0 for k > n.
+        int[] sums = new int[count];
+        sums[0] = degree % characteristic;
+        for (int k = 1; k < count; k++) {
+            long sum = 0;
+            for (int i = 1; i <= Math.min(k - 1, degree); i++) {
+                sum = (sum + (long) monic[degree - i] * sums[k - i]) % characteristic;
+            }
+            if (k <= degree) {
+                sum = (sum + (long) (k % characteristic) * monic[degree - k]) % characteristic;
+            }
+            sums[k] = (int) ((characteristic - sum) % characteristic);
+        }
+        return sums;
+    }
+
+    /**
+     * Finds the shortest linear recurrence of a sequence with the
+     * Berlekamp-Massey algorithm.
+     *
+     * @param sequence The elements s_0, s_1, ... of Z_p.
+     * @param characteristic A prime p.
+     * @return The coefficients of the connection polynomial
+     * 1 + c_1*z + ... + c_L*z^L of the recurrence
+     * s_k + c_1*s_(k-1) + ... + c_L*s_(k-L) = 0, trimmed to L + 1 elements
+     * where L is the length of the recurrence.
+     */
+    static int[] findShortestRecurrence(int[] sequence, int characteristic) {
+        int size = sequence.length + 1;
+        long[] connection = new long[size];
+        long[] previous = new long[size];
+        connection[0] = 1;
+        previous[0] = 1;
+
+        int length = 0;
+        int shift = 1;
+        long previousDiscrepancy = 1;
+
+        for (int k = 0; k < sequence.length; k++) {
+            long discrepancy = sequence[k];
+            for (int i = 1; i <= length; i++) {
+                discrepancy = (discrepancy + connection[i] * sequence[k - i]) % characteristic;
+            }
+            if (discrepancy == 0) {
+                shift++;
+                continue;
+            }
+
+            // connection = connection - (d / d_previous) * z^shift * previous
+            long factor = discrepancy * DensePolynomialUtil.inverse((int) previousDiscrepancy, characteristic)
+                    % characteristic;
+            long[] old = null;
+            if (2 * length <= k) {
+                old = connection.clone();
+            }
+            for (int i = 0; i + shift < size; i++) {
+                if (previous[i] != 0) {
+                    connection[i + shift] = (connection[i + shift] + (characteristic - factor) * previous[i])
+                            % characteristic;
+                }
+            }
+
+            if (old != null) {
+                length = k + 1 - length;
+                previous = old;
+                previousDiscrepancy = discrepancy;
+                shift = 1;
+            } else {
+                shift++;
+            }
+        }
+
+        int[] result = new int[length + 1];
+        for (int i = 0; i <= length; i++) {
+            result[i] = (int) connection[i];
+        }
+        return result;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,208 @@
+package polynomial.construction;
+
+import datastructures.IntegerNode;
+import datastructures.SortedIntegerList;
+import math.MathUtil;
+import polynomial.IPolynomial;
+import polynomial.impl.linkedlist.LinkedListPolynomial;
+
+/**
+ * Writes down irreducible polynomials of known forms without any search.
+ *
+ * The following families are used, in this order:
+ *
+ * 1. Binomials x^n - a. By Serret's theorem x^n - a is irreducible over F_p
+ * if every prime factor of n divides the order e of a but not (p-1)/e, and
+ * p = 1 mod 4 if 4 divides n. With a primitive root a this holds whenever
+ * every prime factor of n divides p - 1, and p = 1 mod 4 if 4 divides n.
+ * For odd p this covers degree 2, where x^2 - a is irreducible for any
+ * quadratic non-residue a.
+ *
+ * 2. The Artin-Schreier trinomial x^p - x - 1, which is irreducible over F_p.
+ *
+ * 3. The cyclotomic polynomials of prime powers, 1 + y + y^2 + ... + y^(q-1)
+ * with y = x^(q^k), of degree (q-1)*q^k. The polynomial is irreducible over
+ * F_p if and only if p is a primitive root modulo q^(k+1). With q = 3 and
+ * p = 2 this is the trinomial x^(2*3^k) + x^(3^k) + 1. The smallest such q
+ * is used, to get the fewest terms.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class IrreduciblePolynomialConstructor {
+
+    /**
+     * Returns an irreducible polynomial of one of the known forms.
+     *
+     * @param characteristic A prime p.
+     * @param degree The degree n.
+     * @return An irreducible polynomial of degree n over F_p, or null if no
+     * known form has the given degree. Polynomials of degree 0 are never
+     * returned.
+     * @throws IllegalArgumentException if the characteristic is not prime.
+     * @throws IllegalArgumentException if the degree is negative.
+     */
+    public static IPolynomial construct(int characteristic, int degree) {
+        if (characteristic < 2) {
+            throw new IllegalArgumentException("Characteristic " + characteristic + " is smaller than 2.");
+        }
+        if (!MathUtil.isPrime(characteristic)) {
+            throw new IllegalArgumentException("Characteristic " + characteristic + " is not a prime.");
+        }
+        if (degree < 0) {
+            throw new IllegalArgumentException("Degree " + degree + " is negative!");
+        }
+
+        if (degree == 0) {
+            return null;
+        }
+        if (degree == 1) {
+            IPolynomial polynomial = new LinkedListPolynomial(characteristic);
+            polynomial.addTerm(1, 1);
+            return polynomial;
+        }
+
+        IPolynomial polynomial = constructBinomial(characteristic, degree);
+        if (polynomial == null && degree == characteristic) {
+            polynomial = constructArtinSchreierPolynomial(characteristic);
+        }
+        if (polynomial == null) {
+            polynomial = constructCyclotomicPolynomial(characteristic, degree);
+        }
+        return polynomial;
+    }
+
+    /**
+     * Returns x^n - a for a primitive root a if Serret's conditions hold.
+     *
+     * @param characteristic
+     * @param degree At least 2.
+     * @return The binomial or null.
+     */
+    static IPolynomial constructBinomial(int characteristic, int degree) {
+        if (degree % 4 == 0 && characteristic % 4 != 1) {
+            return null;
+        }
+
+        SortedIntegerList factorsOfDegree = MathUtil.getUniquePrimeFactors(degree);
+        IntegerNode node = factorsOfDegree.getSmallestNode();
+        while (node != null) {
+            if ((characteristic - 1) % node.getValue() != 0) {
+                return null;
+            }
+            node = node.getNext();
+        }
+
+        IPolynomial polynomial = new LinkedListPolynomial(characteristic);
+        polynomial.addTerm(1, degree);
+        polynomial.addTerm(characteristic - findPrimitiveRoot(characteristic), 0);
+        return polynomial;
+    }
+
+    /**
+     * Returns x^p - x - 1.
+     *
+     * @param characteristic
+     * @return The trinomial.
+     */
+    static IPolynomial constructArtinSchreierPolynomial(int characteristic) {
+        IPolynomial polynomial = new LinkedListPolynomial(characteristic);
+        polynomial.addTerm(1, characteristic);
+        polynomial.addTerm(characteristic - 1, 1);
+        polynomial.addTerm(characteristic - 1, 0);
+        return polynomial;
+    }
+
+    /**
+     * Returns the cyclotomic polynomial of q^(k+1) for the smallest prime q
+     * with (q-1)*q^k = n such that p is a primitive root modulo q^(k+1).
+     *
+     * @param characteristic
+     * @param degree At least 2.
+     * @return The polynomial or null.
+     */
+    static IPolynomial constructCyclotomicPolynomial(int characteristic, int degree) {
+        // The divisors q - 1 of the degree are tried from the smallest, and
+        // the ones above the square root are found as degree / i.
+        int bestPrime = 0;
+        for (int i = 1; (long) i * i <= degree; i++) {
+            if (degree % i != 0) {
+                continue;
+            }
+            int[] candidates = {i + 1, degree / i + 1};
+            for (int q : candidates) {
+                if ((bestPrime == 0 || q < bestPrime) && isCyclotomicIrreducible(characteristic, degree, q)) {
+                    bestPrime = q;
+                }
+            }
+            if (bestPrime != 0 && bestPrime <= i + 1) {
+                break;
+            }
+        }
+        if (bestPrime == 0) {
+            return null;
+        }
+
+        int step = degree / (bestPrime - 1);
+        IPolynomial polynomial = new LinkedListPolynomial(characteristic);
+        for (int i = 0; i < bestPrime; i++) {
+            polynomial.addTerm(1, i * step);
+        }
+        return polynomial;
+    }
+
+    /*
+     Checks that q is a prime other than p, that degree / (q - 1) is a power
+     q^k and that p generates the units modulo q^(k+1), whose number is the
+     degree.
+     */
+    private static boolean isCyclotomicIrreducible(int characteristic, int degree, int q) {
+        if (q < 2 || q == characteristic || degree % (q - 1) != 0 || !MathUtil.isPrime(q)) {
+            return false;
+        }
+        long modulo = q;
+        int power = degree / (q - 1);
+        while (power % q == 0) {
+            power /= q;
+            modulo *= q;
+        }
+        if (power != 1 || modulo > Integer.MAX_VALUE) {
+            return false;
+        }
+        return hasOrder(characteristic % (int) modulo, degree, (int) modulo,
+                MathUtil.getUniquePrimeFactors(degree));
+    }
+
+    /**
+     * Finds the smallest primitive root modulo a prime.
+     *
+     * @param prime
+     * @return The smallest generator of the multiplicative group of F_p.
+     */
+    static int findPrimitiveRoot(int prime) {
+        if (prime == 2) {
+            return 1;
+        }
+        SortedIntegerList factors = MathUtil.getUniquePrimeFactors(prime - 1);
+        for (int candidate = 2; candidate < prime; candidate++) {
+            if (hasOrder(candidate, prime - 1, prime, factors)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException(prime + " is not a prime.");
+    }
+
+    /*
+     Checks that a^(order/r) != 1 mod m for every prime factor r of the
+     order, where order is the number of units modulo m, so that a^order = 1.
+     */
+    private static boolean hasOrder(int a, int order, int modulo, SortedIntegerList factors) {
+        IntegerNode node = factors.getSmallestNode();
+        while (node != null) {
+            if (MathUtil.powModulo(a, order / node.getValue(), modulo) == 1) {
+                return false;
+            }
+            node = node.getNext();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package polynomial.factorization;
+
+/**
+ * A growing list of coefficient arrays, each with an integer attached to it,
+ * such as a multiplicity or a degree.
+ *
+ * @author Sebastian Björkqvist
+ */
+class FactorList {
+
+    private int[][] factors;
+    private int[] exponents;
+    private int size;
+
+    FactorList() {
+        this.factors = new int[4][];
+        this.exponents = new int[4];
+    }
+
+    void add(int[] factor, int exponent) {
+        if (size == factors.length) {
+            int[][] newFactors = new int[2 * size][];
+            int[] newExponents = new int[2 * size];
+            System.arraycopy(factors, 0, newFactors, 0, size);
+            System.arraycopy(exponents, 0, newExponents, 0, size);
+            factors = newFactors;
+            exponents = newExponents;
+        }
+        factors[size] = factor;
+        exponents[size] = exponent;
+        size++;
+    }
+
+    void addAll(FactorList other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.factors[i], other.exponents[i]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] getFactor(int index) {
+        return factors[index];
+    }
+
+    int getExponent(int index) {
+        return exponents[index];
+    }
+}
@@ -0,0 +1,78 @@
+package polynomial.factorization;
+
+import polynomial.IPolynomial;
+
+/**
+ * The factorization of a polynomial into a constant and powers of distinct
+ * monic irreducible polynomials.
+ *
+ * The factors are sorted by degree, and factors of the same degree by their
+ * coefficients starting from the highest degree.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class Factorization {
+
+    private final int leadingCoefficient;
+    private final IPolynomial[] factors;
+    private final int[] multiplicities;
+
+    Factorization(int leadingCoefficient, IPolynomial[] factors, int[] multiplicities) {
+        this.leadingCoefficient = leadingCoefficient;
+        this.factors = factors;
+        this.multiplicities = multiplicities;
+    }
+
+    /**
+     * Returns the constant factor, i.e. the leading coefficient of the
+     * factored polynomial.
+     *
+     * @return The leading coefficient.
+     */
+    public int getLeadingCoefficient() {
+        return leadingCoefficient;
+    }
+
+    /**
+     * Returns the number of distinct irreducible factors.
+     *
+     * @return The number of factors.
+     */
+    public int getNumberOfFactors() {
+        return factors.length;
+    }
+
+    /**
+     * Returns an irreducible factor.
+     *
+     * @param index From 0 to getNumberOfFactors() - 1.
+     * @return The monic irreducible factor.
+     */
+    public IPolynomial getFactor(int index) {
+        return factors[index];
+    }
+
+    /**
+     * Returns the multiplicity of an irreducible factor.
+     *
+     * @param index From 0 to getNumberOfFactors() - 1.
+     * @return The largest k such that the factor to the power k divides the
+     * polynomial.
+     */
+    public int getMultiplicity(int index) {
+        return multiplicities[index];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(leadingCoefficient);
+        for (int i = 0; i < factors.length; i++) {
+            builder.append(" * (").append(factors[i]).append(")");
+            if (multiplicities[i] > 1) {
+                builder.append("^").append(multiplicities[i]);
+            }
+        }
+        return builder.toString();
+    }
+}
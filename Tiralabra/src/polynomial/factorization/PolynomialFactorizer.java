@@ -0,0 +1,447 @@
+package polynomial.factorization;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import polynomial.DenseGcdUtil;
+import polynomial.DensePolynomialUtil;
+import polynomial.DenseRingKernel;
+import polynomial.IPolynomial;
+import polynomial.ModularReducer;
+
+/**
+ * Factors polynomials over finite fields into irreducible factors.
+ *
+ * The factorization is done in three steps:
+ *
+ * 1. The square-free decomposition writes f as a product of powers of
+ * square-free polynomials that are coprime to each other, using gcds with
+ * the derivative.
+ *
+ * 2. The distinct-degree factorization splits a square-free polynomial into
+ * products of irreducible factors of the same degree: the factors of degree d
+ * are the common factors with x^p^d - x. The powers are calculated with
+ * DenseRingKernel. In odd characteristic the degrees are handled in
+ * intervals of baby steps and giant steps, so that only about sqrt(2n)
+ * Frobenius steps and compositions are needed instead of n/2.
+ *
+ * 3. The equal-degree factorization of Cantor and Zassenhaus splits a
+ * product of irreducible factors of degree d with gcd(g, a^((p^d-1)/2) - 1)
+ * for a random a, or with the trace a + a^2 + ... + a^(2^(d-1)) in
+ * characteristic 2. A random a splits g with probability of at least about
+ * a half. Every split is a task of a ForkJoinPool, so the products and the
+ * two halves of every split are factored in parallel.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class PolynomialFactorizer {
+
+    private static ForkJoinPool sharedPool;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a factorizer that uses a pool shared by all such factorizers,
+     * with as many threads as there are processors.
+     */
+    public PolynomialFactorizer() {
+        this(getSharedPool());
+    }
+
+    /**
+     * Creates a factorizer that runs the equal-degree splits in the given
+     * pool.
+     *
+     * @param pool The pool. It isn't shut down by the factorizer.
+     * @throws IllegalArgumentException if the pool is null.
+     */
+    public PolynomialFactorizer(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("The given pool is null!");
+        }
+        this.pool = pool;
+    }
+
+    private static synchronized ForkJoinPool getSharedPool() {
+        if (sharedPool == null) {
+            // The worker threads are daemon threads, so the pool doesn't
+            // keep the program running.
+            sharedPool = new ForkJoinPool();
+        }
+        return sharedPool;
+    }
+
+    /**
+     * Factors a polynomial into irreducible factors.
+     *
+     * @param polynomial A non-zero polynomial of positive characteristic.
+     * @return The factorization. The factors are of the same implementation
+     * as the given polynomial.
+     * @throws IllegalArgumentException if the polynomial is null or zero, or
+     * its characteristic is 0.
+     */
+    public Factorization factor(IPolynomial polynomial) {
+        if (polynomial == null) {
+            throw new IllegalArgumentException("The given polynomial is null!");
+        }
+        int characteristic = polynomial.getCharacteristic();
+        if (characteristic == 0) {
+            throw new IllegalArgumentException("Factorization of polynomials "
+                    + "with characteristic 0 is not supported.");
+        }
+        int[] coefficients = DensePolynomialUtil.trim(polynomial.getCoefficients());
+        if (coefficients.length == 0) {
+            throw new IllegalArgumentException("The zero polynomial can't be factored.");
+        }
+
+        int leadingCoefficient = coefficients[coefficients.length - 1];
+        int[] monic = DenseGcdUtil.makeMonic(coefficients, characteristic);
+
+        FactorList squareFreeParts = squareFreeDecomposition(monic, characteristic);
+
+        int numberOfTasks = 0;
+        SplitTask[] tasks = new SplitTask[monic.length];
+        for (int i = 0; i < squareFreeParts.size(); i++) {
+            int[] part = squareFreeParts.getFactor(i);
+            FactorList products = distinctDegreeFactorization(
+                    polynomial.createPolynomialFromCoefficients(part));
+            for (int j = 0; j < products.size(); j++) {
+                tasks[numberOfTasks] = new SplitTask(products.getFactor(j), products.getExponent(j),
+                        squareFreeParts.getExponent(i), polynomial);
+                numberOfTasks++;
+            }
+        }
+
+        FactorList factors = pool.invoke(new AllSplitsTask(tasks, numberOfTasks));
+
+        return createFactorization(leadingCoefficient, factors, polynomial);
+    }
+
+    /**
+     * Calculates the square-free decomposition of a monic polynomial.
+     *
+     * @param f A monic polynomial.
+     * @param characteristic
+     * @return Square-free, monic, pairwise coprime polynomials g_i and their
+     * multiplicities m_i, so that f is the product of the powers g_i^m_i.
+     */
+    static FactorList squareFreeDecomposition(int[] f, int characteristic) {
+        FactorList result = new FactorList();
+        addSquareFreeParts(f, 1, characteristic, result);
+        return result;
+    }
+
+    private static void addSquareFreeParts(int[] f, int multiplier, int characteristic, FactorList result) {
+        if (f.length <= 1) {
+            return;
+        }
+
+        // c contains every factor of f with multiplicity one less, except
+        // those whose multiplicity is divisible by p, which are kept whole.
+        int[] c = DenseGcdUtil.gcd(f, DensePolynomialUtil.derivative(f, characteristic), characteristic);
+        int[] w = divide(f, c, characteristic);
+
+        int multiplicity = 1;
+        while (w.length > 1) {
+            int[] y = DenseGcdUtil.gcd(w, c, characteristic);
+            int[] factor = divide(w, y, characteristic);
+            if (factor.length > 1) {
+                result.add(factor, multiplicity * multiplier);
+            }
+            w = y;
+            c = divide(c, y, characteristic);
+            multiplicity++;
+        }
+
+        // What is left is a p-th power.
+        if (c.length > 1) {
+            addSquareFreeParts(pthRoot(c, characteristic), multiplier * characteristic, characteristic, result);
+        }
+    }
+
+    /*
+     Every coefficient a satisfies a^p = a, so the p-th root of
+     a_0 + a_p*x^p + a_2p*x^2p + ... is a_0 + a_p*x + a_2p*x^2 + ...
+     */
+    private static int[] pthRoot(int[] f, int characteristic) {
+        int[] root = new int[(f.length - 1) / characteristic + 1];
+        for (int i = 0; i < root.length; i++) {
+            root[i] = f[i * characteristic];
+        }
+        return root;
+    }
+
+    /**
+     * Calculates the distinct-degree factorization of a square-free monic
+     * polynomial.
+     *
+     * @param f A square-free monic polynomial.
+     * @return Polynomials g_d and degrees d, where g_d is the product of the
+     * irreducible factors of f of degree d.
+     */
+    static FactorList distinctDegreeFactorization(IPolynomial f) {
+        // In characteristic 2 a Frobenius step is one squaring, which is
+        // cheaper than the multiplications of the intervals.
+        return distinctDegreeFactorization(f, f.getCharacteristic() != 2);
+    }
+
+    /**
+     * Calculates the distinct-degree factorization of a square-free monic
+     * polynomial.
+     *
+     * @param f A square-free monic polynomial.
+     * @param useIntervals If true, the degrees are handled in intervals.
+     * @return Polynomials g_d and degrees d, where g_d is the product of the
+     * irreducible factors of f of degree d.
+     */
+    static FactorList distinctDegreeFactorization(IPolynomial f, boolean useIntervals) {
+        DenseRingKernel kernel = new DenseRingKernel(f);
+        if (useIntervals) {
+            return distinctDegreeFactorizationInIntervals(f, kernel);
+        }
+
+        int characteristic = f.getCharacteristic();
+        FactorList result = new FactorList();
+        int[] remaining = DensePolynomialUtil.trim(f.getCoefficients());
+        int[] power = kernel.powerOfX(1);
+
+        // A factor of degree d > deg/2 is the only factor left.
+        for (int degree = 1; 2 * degree <= remaining.length - 1; degree++) {
+            power = kernel.frobenius(power);
+            int[] product = DenseGcdUtil.gcd(remaining, kernel.subtractX(power), characteristic);
+            if (product.length > 1) {
+                result.add(product, degree);
+                remaining = divide(remaining, product, characteristic);
+            }
+        }
+        addRemaining(remaining, result);
+        return result;
+    }
+
+    /*
+     The distinct-degree factorization of von zur Gathen and Shoup. The baby
+     steps h_i = x^p^i for i < l are found with Frobenius steps and the giant
+     steps H_j = x^p^(lj) = H_(j-1)(h_l) with compositions, so about
+     2*sqrt(n/2) of them are needed instead of n/2. A factor whose degree d
+     is in the interval (l(j-1), lj] divides H_j - h_i for i = lj - d, so it
+     divides the product of all H_j - h_i, which costs only l
+     multiplications mod f.
+     */
+    private static FactorList distinctDegreeFactorizationInIntervals(IPolynomial f, DenseRingKernel kernel) {
+        int characteristic = f.getCharacteristic();
+        FactorList result = new FactorList();
+        int[] remaining = DensePolynomialUtil.trim(f.getCoefficients());
+
+        int intervalLength = 1;
+        while (2 * intervalLength * intervalLength < remaining.length - 1) {
+            intervalLength++;
+        }
+
+        int[][] babySteps = new int[intervalLength][];
+        babySteps[0] = kernel.powerOfX(1);
+        for (int i = 1; i < intervalLength; i++) {
+            babySteps[i] = kernel.frobenius(babySteps[i - 1]);
+        }
+        int[] step = kernel.frobenius(babySteps[intervalLength - 1]);
+
+        int[] giantStep = step;
+        for (int j = 1; 2 * (intervalLength * (j - 1) + 1) <= remaining.length - 1; j++) {
+            if (j > 1) {
+                giantStep = kernel.compose(giantStep, step);
+            }
+
+            int[] product = kernel.powerOfX(0);
+            for (int i = 0; i < intervalLength; i++) {
+                product = kernel.multiply(product,
+                        DensePolynomialUtil.subtract(giantStep, babySteps[i], characteristic));
+            }
+            int[] factors = DenseGcdUtil.gcd(remaining, product, characteristic);
+            if (factors.length == 1) {
+                continue;
+            }
+            remaining = divide(remaining, factors, characteristic);
+
+            // The factors of smaller degrees are removed first.
+            for (int i = intervalLength - 1; i >= 0 && factors.length > 1; i--) {
+                int[] factor = DenseGcdUtil.gcd(factors,
+                        DensePolynomialUtil.subtract(giantStep, babySteps[i], characteristic), characteristic);
+                if (factor.length > 1) {
+                    result.add(factor, intervalLength * j - i);
+                    factors = divide(factors, factor, characteristic);
+                }
+            }
+        }
+        addRemaining(remaining, result);
+        return result;
+    }
+
+    private static void addRemaining(int[] remaining, FactorList result) {
+        if (remaining.length > 1) {
+            result.add(remaining, remaining.length - 1);
+        }
+    }
+
+    /**
+     * Splits a product of distinct irreducible polynomials of the same
+     * degree into two factors.
+     *
+     * @param g A monic product of at least two irreducible polynomials of
+     * degree d.
+     * @param degree The degree d.
+     * @param prototype A polynomial of the characteristic of g.
+     * @param random
+     * @return Two monic non-constant polynomials whose product is g.
+     */
+    static int[][] split(int[] g, int degree, IPolynomial prototype, Random random) {
+        int characteristic = prototype.getCharacteristic();
+        ModularReducer reducer = ModularReducer.create(prototype.createPolynomialFromCoefficients(g));
+        BigInteger exponent = BigInteger.valueOf(characteristic).pow(degree)
+                .subtract(BigInteger.ONE).shiftRight(1);
+
+        while (true) {
+            int[] a = new int[g.length - 1];
+            for (int i = 0; i < a.length; i++) {
+                a[i] = random.nextInt(characteristic);
+            }
+            a = DensePolynomialUtil.trim(a);
+            if (a.length <= 1) {
+                continue;
+            }
+            IPolynomial element = prototype.createPolynomialFromCoefficients(a);
+
+            int[] candidate;
+            if (characteristic == 2) {
+                candidate = a;
+                IPolynomial power = element;
+                for (int i = 1; i < degree; i++) {
+                    power = reducer.square(power);
+                    candidate = DensePolynomialUtil.add(candidate,
+                            DensePolynomialUtil.trim(power.getCoefficients()), characteristic);
+                }
+            } else {
+                int[] power = DensePolynomialUtil.trim(reducer.power(element, exponent).getCoefficients());
+                candidate = DensePolynomialUtil.subtract(power, new int[]{1}, characteristic);
+            }
+
+            int[] factor = DenseGcdUtil.gcd(g, candidate, characteristic);
+            if (factor.length > 1 && factor.length < g.length) {
+                return new int[][]{factor, divide(g, factor, characteristic)};
+            }
+        }
+    }
+
+    private static int[] divide(int[] a, int[] b, int characteristic) {
+        return DensePolynomialUtil.divide(a, b, characteristic)[0];
+    }
+
+    private static Factorization createFactorization(int leadingCoefficient, FactorList list,
+            IPolynomial prototype) {
+        int[][] factors = new int[list.size()][];
+        int[] multiplicities = new int[list.size()];
+        for (int i = 0; i < factors.length; i++) {
+            factors[i] = list.getFactor(i);
+            multiplicities[i] = list.getExponent(i);
+        }
+
+        // Insertion sort, there are few factors.
+        for (int i = 1; i < factors.length; i++) {
+            int[] factor = factors[i];
+            int multiplicity = multiplicities[i];
+            int j = i - 1;
+            while (j >= 0 && compare(factors[j], factor) > 0) {
+                factors[j + 1] = factors[j];
+                multiplicities[j + 1] = multiplicities[j];
+                j--;
+            }
+            factors[j + 1] = factor;
+            multiplicities[j + 1] = multiplicity;
+        }
+
+        IPolynomial[] polynomials = new IPolynomial[factors.length];
+        for (int i = 0; i < factors.length; i++) {
+            polynomials[i] = prototype.createPolynomialFromCoefficients(factors[i]);
+        }
+        return new Factorization(leadingCoefficient, polynomials, multiplicities);
+    }
+
+    private static int compare(int[] a, int[] b) {
+        if (a.length != b.length) {
+            return a.length - b.length;
+        }
+        for (int i = a.length - 1; i >= 0; i--) {
+            if (a[i] != b[i]) {
+                return a[i] - b[i];
+            }
+        }
+        return 0;
+    }
+
+    /*
+     Factors a product of irreducible polynomials of the same degree. The
+     two halves of a split are factored in parallel.
+     */
+    private static class SplitTask extends RecursiveTask<FactorList> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] product;
+        private final int degree;
+        private final int multiplicity;
+        private final IPolynomial prototype;
+
+        SplitTask(int[] product, int degree, int multiplicity, IPolynomial prototype) {
+            this.product = product;
+            this.degree = degree;
+            this.multiplicity = multiplicity;
+            this.prototype = prototype;
+        }
+
+        @Override
+        protected FactorList compute() {
+            if (product.length - 1 == degree) {
+                FactorList result = new FactorList();
+                result.add(product, multiplicity);
+                return result;
+            }
+
+            int[][] halves = split(product, degree, prototype, ThreadLocalRandom.current());
+            SplitTask first = new SplitTask(halves[0], degree, multiplicity, prototype);
+            SplitTask second = new SplitTask(halves[1], degree, multiplicity, prototype);
+
+            first.fork();
+            FactorList result = second.compute();
+            result.addAll(first.join());
+            return result;
+        }
+    }
+
+    private static class AllSplitsTask extends RecursiveTask<FactorList> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SplitTask[] tasks;
+        private final int numberOfTasks;
+
+        AllSplitsTask(SplitTask[] tasks, int numberOfTasks) {
+            this.tasks = tasks;
+            this.numberOfTasks = numberOfTasks;
+        }
+
+        @Override
+        protected FactorList compute() {
+            for (int i = 1; i < numberOfTasks; i++) {
+                tasks[i].fork();
+            }
+            FactorList result = new FactorList();
+            if (numberOfTasks > 0) {
+                result.addAll(tasks[0].compute());
+            }
+            for (int i = 1; i < numberOfTasks; i++) {
+                result.addAll(tasks[i].join());
+            }
+            return result;
+        }
+    }
+}
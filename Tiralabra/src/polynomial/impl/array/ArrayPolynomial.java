@@ -3,6 +3,7 @@ package polynomial.impl.array;
 import math.MathUtil;
 import polynomial.DivisionResult;
 import polynomial.IPolynomial;
+import polynomial.PowerTable;
 
 /**
  * An implementation of IPolynomial using arrays.
@@ -85,19 +86,60 @@ public class ArrayPolynomial implements IPolynomial {
 
     @Override
     public int evaluate(int value) {
-        int result = 0;
+        if (characteristic == 0) {
+            // Horner's rule, overflowing like the sum of the terms would.
+            int result = 0;
+            for (int exponent = coefficients.length - 1; exponent >= 0; exponent--) {
+                result = result * value + coefficients[exponent];
+            }
+            return result;
+        }
 
-        for (int exponent = 0; exponent < coefficients.length; exponent++) {
-            if (coefficients[exponent] != 0) {
-                if (characteristic == 0) {
-                    result += getValueModuloCharacteristic(coefficients[exponent] * MathUtil.pow(value, exponent));
-                } else {
-                    result += getValueModuloCharacteristic(coefficients[exponent] * MathUtil.powModulo(value, exponent, characteristic));
-                }
+        long point = value % characteristic;
+        if (point < 0) {
+            point += characteristic;
+        }
+        long result = 0;
+        for (int exponent = coefficients.length - 1; exponent >= 0; exponent--) {
+            result = (result * point + coefficients[exponent]) % characteristic;
+        }
+        if (result < 0) {
+            result += characteristic;
+        }
+        return (int) result;
+    }
+
+    @Override
+    public void evaluateAll(int[] values) {
+        if (characteristic == 0) {
+            throw new IllegalArgumentException("Evaluating at every element is not supported "
+                    + "in characteristic 0.");
+        }
+        if (values == null || values.length < characteristic) {
+            throw new IllegalArgumentException("The array must have room for " + characteristic + " values.");
+        }
+
+        int degree = Math.max(coefficients.length - 1, 0);
+        if (!PowerTable.fits(characteristic, degree)) {
+            for (int a = 0; a < characteristic; a++) {
+                values[a] = evaluate(a);
             }
+            return;
         }
 
-        return getValueModuloCharacteristic(result);
+        PowerTable table = PowerTable.getTable(characteristic, degree);
+        for (int a = 0; a < characteristic; a++) {
+            values[a] = 0;
+        }
+        for (int exponent = 0; exponent < coefficients.length; exponent++) {
+            int coefficient = coefficients[exponent] % characteristic;
+            if (coefficient < 0) {
+                coefficient += characteristic;
+            }
+            if (coefficient != 0) {
+                table.addTerm(coefficient, exponent, values);
+            }
+        }
     }
 
     @Override
@@ -119,6 +161,35 @@ public class ArrayPolynomial implements IPolynomial {
         return coefficients[degree];
     }
 
+    @Override
+    public int[] getCoefficients() {
+        int[] copy = new int[coefficients.length];
+
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = getNonNegativeValueModuloCharacteristic(coefficients[i]);
+        }
+
+        return copy;
+    }
+
+    @Override
+    public IPolynomial createPolynomialFromCoefficients(int[] coefficients) {
+        if (coefficients == null) {
+            throw new IllegalArgumentException("The coefficient array is null!");
+        }
+        ArrayPolynomial result = new ArrayPolynomial(characteristic);
+
+        result.coefficients = new int[coefficients.length];
+
+        for (int i = 0; i < coefficients.length; i++) {
+            result.coefficients[i] = getValueModuloCharacteristic(coefficients[i]);
+        }
+
+        result.coefficients = shrinkArray(result.coefficients);
+
+        return result;
+    }
+
     @Override
     public String toString() {
         StringBuilder stringRepr = new StringBuilder();
@@ -267,8 +338,15 @@ public class ArrayPolynomial implements IPolynomial {
         ArrayPolynomial quotient = new ArrayPolynomial(characteristic);
         ArrayPolynomial remainder = (ArrayPolynomial) createCopyOfPolynomial();        
         
+        // The inverse of the leading coefficient of the divisor is the same at
+        // every step, so it is calculated only once.
+        int inverseOfDivisorCoefficient = 0;
+        if (characteristic != 0) {
+            inverseOfDivisorCoefficient = MathUtil.getInverseModP(divisor.getCoefficientOfLeadingTerm(), characteristic);
+        }
+
         while (remainder.getDegree() >= divisor.getDegree() && !isZeroPolynomial(remainder)) {
-            ArrayPolynomial leadingTermDivisionResult = divideLeadingTerms(remainder, divisor);
+            ArrayPolynomial leadingTermDivisionResult = divideLeadingTerms(remainder, divisor, inverseOfDivisorCoefficient);
             // Adding the leading term to the quotient. The leading term is always a monomial.
             quotient.addTerm(leadingTermDivisionResult.getCoefficientOfLeadingTerm(), leadingTermDivisionResult.getDegree());
             
@@ -287,6 +365,14 @@ public class ArrayPolynomial implements IPolynomial {
         return value % characteristic;
     }
 
+    private int getNonNegativeValueModuloCharacteristic(int value) {
+        int result = getValueModuloCharacteristic(value);
+        if (result < 0 && characteristic != 0) {
+            result += characteristic;
+        }
+        return result;
+    }
+
     private void checkNull(IPolynomial polynomial) {
         if (polynomial == null) {
             throw new IllegalArgumentException("The polynomial given is null!");
@@ -357,13 +443,16 @@ public class ArrayPolynomial implements IPolynomial {
      *
      * @param remainder
      * @param divisor
+     * @param inverseOfDivisorCoefficient The inverse of the leading coefficient
+     * of the divisor modulo the characteristic, 0 if it doesn't exist.
      * @throws IllegalArgumentException if the coefficient would be an
      * non-integer and it can't be represented as an integer modulo the
      * characteristic.
      * @return ArrayPolynomial that is the result of the division. It will
      * contain only one non-zero coefficient.
      */
-    private ArrayPolynomial divideLeadingTerms(ArrayPolynomial remainder, ArrayPolynomial divisor) {
+    private ArrayPolynomial divideLeadingTerms(ArrayPolynomial remainder, ArrayPolynomial divisor,
+            int inverseOfDivisorCoefficient) {
         int coefficientRemainder = remainder.getCoefficientOfLeadingTerm();
         int coefficientDivisor = divisor.getCoefficientOfLeadingTerm();
 
@@ -374,7 +463,6 @@ public class ArrayPolynomial implements IPolynomial {
         } else if (remainder.characteristic == 0) {
             throw new UnsupportedOperationException("Cannot represent non-integer coefficients in characteristic 0");
         } else {
-            int inverseOfDivisorCoefficient = MathUtil.getInverseModP(coefficientDivisor, remainder.characteristic);
             if (inverseOfDivisorCoefficient == 0) {
                 throw new UnsupportedOperationException("Cannot represent 1/" + coefficientDivisor + " as an integer modulo " + characteristic);
             }
@@ -3,6 +3,7 @@ package polynomial.impl.linkedlist;
 import math.MathUtil;
 import polynomial.DivisionResult;
 import polynomial.IPolynomial;
+import polynomial.PowerTable;
 
 /**
  * An implementation of IPolynomial using linked lists.
@@ -258,19 +259,81 @@ public class LinkedListPolynomial implements IPolynomial {
 
     @Override
     public int evaluate(int value) {
-        int result = 0;
+        if (highestDegreeTerm == null) {
+            return 0;
+        }
+        if (characteristic == 0) {
+            // Horner's rule, overflowing like the sum of the terms would.
+            int result = 0;
+            int previousExponent = highestDegreeTerm.exponent;
+            Monomial current = highestDegreeTerm;
+            while (current != null) {
+                result = result * MathUtil.pow(value, previousExponent - current.exponent)
+                        + current.coefficient;
+                previousExponent = current.exponent;
+                current = current.lowerMonomial;
+            }
+            return result * MathUtil.pow(value, previousExponent);
+        }
+
+        // Horner's rule, where a gap between the exponents of two terms is
+        // skipped with a single modular power.
+        long result = 0;
+        int previousExponent = highestDegreeTerm.exponent;
         Monomial current = highestDegreeTerm;
         while (current != null) {
-            int valueAtMonomial;
-            if (characteristic == 0) {
-                valueAtMonomial = current.coefficient * MathUtil.pow(value, current.exponent);
-            } else {
-                valueAtMonomial = current.coefficient * MathUtil.powModulo(value, current.exponent, characteristic);
+            int gap = previousExponent - current.exponent;
+            if (gap > 1) {
+                result = result * MathUtil.powModulo(value, gap, characteristic) % characteristic;
+            } else if (gap == 1) {
+                result = result * value % characteristic;
             }
-            result = getValueModuloCharacteristic(result + valueAtMonomial);
+            result = (result + current.coefficient) % characteristic;
+            previousExponent = current.exponent;
             current = current.lowerMonomial;
         }
-        return result;
+        if (previousExponent > 0) {
+            result = result * MathUtil.powModulo(value, previousExponent, characteristic) % characteristic;
+        }
+        if (result < 0) {
+            result += characteristic;
+        }
+        return (int) result;
+    }
+
+    @Override
+    public void evaluateAll(int[] values) {
+        if (characteristic == 0) {
+            throw new IllegalArgumentException("Evaluating at every element is not supported "
+                    + "in characteristic 0.");
+        }
+        if (values == null || values.length < characteristic) {
+            throw new IllegalArgumentException("The array must have room for " + characteristic + " values.");
+        }
+
+        int degree = Math.max(getDegree(), 0);
+        if (!PowerTable.fits(characteristic, degree)) {
+            for (int a = 0; a < characteristic; a++) {
+                values[a] = evaluate(a);
+            }
+            return;
+        }
+
+        PowerTable table = PowerTable.getTable(characteristic, degree);
+        for (int a = 0; a < characteristic; a++) {
+            values[a] = 0;
+        }
+        Monomial current = lowestDegreeTerm;
+        while (current != null) {
+            int coefficient = current.coefficient % characteristic;
+            if (coefficient < 0) {
+                coefficient += characteristic;
+            }
+            if (coefficient != 0) {
+                table.addTerm(coefficient, current.exponent, values);
+            }
+            current = current.higherMonomial;
+        }
     }
 
     @Override
@@ -301,6 +364,35 @@ public class LinkedListPolynomial implements IPolynomial {
         return current.coefficient;
     }
 
+    @Override
+    public int[] getCoefficients() {
+        int[] coefficients = new int[getDegree() + 1];
+
+        Monomial current = highestDegreeTerm;
+        while (current != null) {
+            coefficients[current.exponent] = getNonNegativeValueModuloCharacteristic(current.coefficient);
+            current = current.lowerMonomial;
+        }
+
+        return coefficients;
+    }
+
+    @Override
+    public IPolynomial createPolynomialFromCoefficients(int[] coefficients) {
+        if (coefficients == null) {
+            throw new IllegalArgumentException("The coefficient array is null!");
+        }
+        LinkedListPolynomial result = new LinkedListPolynomial(characteristic);
+
+        // Adding the terms from the highest to the lowest means that every
+        // new term becomes the lowest term, so each addition takes constant time.
+        for (int exponent = coefficients.length - 1; exponent >= 0; exponent--) {
+            result.addTerm(coefficients[exponent], exponent);
+        }
+
+        return result;
+    }
+
     @Override
     public IPolynomial add(IPolynomial polynomial) {
         checkNull(polynomial);
@@ -462,8 +554,15 @@ public class LinkedListPolynomial implements IPolynomial {
         LinkedListPolynomial quotient = new LinkedListPolynomial(characteristic);
         LinkedListPolynomial remainder = (LinkedListPolynomial) createCopyOfPolynomial();
 
+        // The inverse of the leading coefficient of the divisor is the same at
+        // every step, so it is calculated only once.
+        int inverseOfDivisorCoefficient = 0;
+        if (characteristic != 0) {
+            inverseOfDivisorCoefficient = MathUtil.getInverseModP(divisor.getCoefficientOfLeadingTerm(), characteristic);
+        }
+
         while (remainder.getDegree() >= divisor.getDegree() && !isZeroPolynomial(remainder)) {
-            LinkedListPolynomial leadingTermDivisionResult = divideLeadingTerms(remainder, divisor);
+            LinkedListPolynomial leadingTermDivisionResult = divideLeadingTerms(remainder, divisor, inverseOfDivisorCoefficient);
             quotient.addTerm(leadingTermDivisionResult.highestDegreeTerm.coefficient, leadingTermDivisionResult.highestDegreeTerm.exponent);
 
             LinkedListPolynomial removeFromRemainder = (LinkedListPolynomial) leadingTermDivisionResult.multiply(divisor);
@@ -518,6 +617,14 @@ public class LinkedListPolynomial implements IPolynomial {
         return value % characteristic;
     }
 
+    private int getNonNegativeValueModuloCharacteristic(int value) {
+        int result = getValueModuloCharacteristic(value);
+        if (result < 0 && characteristic != 0) {
+            result += characteristic;
+        }
+        return result;
+    }
+
     private void checkNull(IPolynomial polynomial) {
         if (polynomial == null) {
             throw new IllegalArgumentException("The polynomial given is null!");
@@ -562,13 +669,16 @@ public class LinkedListPolynomial implements IPolynomial {
      *
      * @param remainder
      * @param divisor
+     * @param inverseOfDivisorCoefficient The inverse of the leading coefficient
+     * of the divisor modulo the characteristic, 0 if it doesn't exist.
      * @throws IllegalArgumentException if the coefficient would be an
      * non-integer and it can't be represented as an integer modulo the
      * characteristic.
      * @return LinkedListPolynomial that is the result of the division. It will
      * contain only one monomial.
      */
-    private LinkedListPolynomial divideLeadingTerms(LinkedListPolynomial remainder, LinkedListPolynomial divisor) {
+    private LinkedListPolynomial divideLeadingTerms(LinkedListPolynomial remainder, LinkedListPolynomial divisor,
+            int inverseOfDivisorCoefficient) {
         Monomial leadingTermRemainder = remainder.highestDegreeTerm;
         Monomial leadingTermDivisor = divisor.highestDegreeTerm;
 
@@ -582,7 +692,6 @@ public class LinkedListPolynomial implements IPolynomial {
         } else if (remainder.characteristic == 0) {
             throw new UnsupportedOperationException("Cannot represent non-integer coefficients in characteristic 0");
         } else {
-            int inverseOfDivisorCoefficient = MathUtil.getInverseModP(coefficientDivisor, remainder.characteristic);
             if (inverseOfDivisorCoefficient == 0) {
                 throw new UnsupportedOperationException("Cannot represent 1/" + coefficientDivisor + " as an integer modulo " + characteristic);
             }
@@ -0,0 +1,88 @@
+package polynomial.irreducibility;
+
+import polynomial.IPolynomial;
+import polynomial.IRingKernel;
+
+/**
+ * Ben-Or's test of irreducibility.
+ *
+ * A polynomial f of degree n over F_p is irreducible if and only if
+ * gcd(f, x^p^k - x) = 1 for k = 1...n/2, since a reducible polynomial has a
+ * factor of degree at most n/2, and every irreducible factor of degree k
+ * divides x^p^k - x. The test stops at the first k for which the gcd isn't 1.
+ *
+ * For an irreducible polynomial this takes more gcds than Rabin's test, but
+ * a random reducible polynomial has a factor of small degree with high
+ * probability, so it is rejected after a few steps instead of after the whole
+ * calculation of x^p^n. This makes the test faster than Rabin's when most of
+ * the tested polynomials are reducible, as in a random search.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class BenOrEngine implements IIrreducibilityEngine {
+
+    private final boolean debugPrint;
+
+    /**
+     * Creates an engine that prints nothing.
+     */
+    public BenOrEngine() {
+        this(false);
+    }
+
+    /**
+     * Creates an engine.
+     *
+     * @param debugPrint If true, prints some info when the algorithm is
+     * running.
+     */
+    public BenOrEngine(boolean debugPrint) {
+        this.debugPrint = debugPrint;
+    }
+
+    @Override
+    public boolean isIrreducible(IPolynomial polynomial) {
+        EngineUtil.checkPolynomial(polynomial);
+
+        int degree = polynomial.getDegree();
+        if (degree <= 1) {
+            return degree == 1;
+        }
+
+        if (debugPrint) {
+            System.out.println("Checking if " + polynomial + " is irreducible.");
+        }
+
+        return isModulusIrreducible(EngineUtil.createKernel(polynomial));
+    }
+
+    /**
+     * Runs Ben-Or's test with the given kernel.
+     *
+     * @param <T> The representation of the kernel.
+     * @param kernel The kernel of the polynomial f to test, of degree at
+     * least 2.
+     * @return true if f is irreducible.
+     */
+    public <T> boolean isModulusIrreducible(IRingKernel<T> kernel) {
+        int characteristic = kernel.getCharacteristic();
+        int degree = kernel.getDegree();
+
+        T power = kernel.powerOfX(1);
+
+        for (int exponent = 1; 2 * exponent <= degree; exponent++) {
+            power = kernel.frobenius(power);
+
+            if (debugPrint) {
+                System.out.println("    Checking polynomial x^" + characteristic + "^" + exponent);
+            }
+
+            // If gcd is not a constant, the polynomial has a factor of degree
+            // dividing the exponent.
+            if (!kernel.isCoprimeWithModulus(kernel.subtractX(power))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,186 @@
+package polynomial.irreducibility;
+
+import polynomial.BinaryPolynomialUtil;
+import polynomial.BinaryRingKernel;
+import polynomial.DensePolynomialUtil;
+import polynomial.DenseRingKernel;
+import polynomial.IPolynomial;
+
+/**
+ * A test of irreducibility based on the Berlekamp matrix.
+ *
+ * Let f be of degree n over F_p, and let Q be the n*n matrix whose row i
+ * holds the coefficients of x^(ip) mod f. The null space of Q - I consists
+ * of the polynomials g with g^p = g mod f, and its dimension is the number
+ * of distinct irreducible factors of f. Thus f is irreducible if and only if
+ * it is square-free, i.e. gcd(f, f') = 1, and the rank of Q - I is n - 1.
+ *
+ * The rows of Q are found with one cheap multiplication by x^p each, so no
+ * exponentiations are needed, and the rank is calculated with Gaussian
+ * elimination in O(n^3) time. The elimination stops as soon as a second
+ * column without a pivot is found. In characteristic 2 the rows are packed
+ * into words, and a row operation is a XOR of n/64 words.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class BerlekampEngine implements IIrreducibilityEngine {
+
+    @Override
+    public boolean isIrreducible(IPolynomial polynomial) {
+        EngineUtil.checkPolynomial(polynomial);
+
+        int degree = polynomial.getDegree();
+        if (degree <= 1) {
+            return degree == 1;
+        }
+
+        int characteristic = polynomial.getCharacteristic();
+        int[] derivative = DensePolynomialUtil.derivative(
+                DensePolynomialUtil.trim(polynomial.getCoefficients()), characteristic);
+
+        if (characteristic == 2) {
+            BinaryRingKernel kernel = new BinaryRingKernel(polynomial);
+            return kernel.isCoprimeWithModulus(BinaryPolynomialUtil.pack(derivative))
+                    && hasNullityOne(createBinaryMatrix(kernel));
+        }
+
+        DenseRingKernel kernel = new DenseRingKernel(polynomial);
+        return kernel.isCoprimeWithModulus(derivative)
+                && hasNullityOne(createMatrix(kernel, polynomial), characteristic);
+    }
+
+    /*
+     Returns the rows of Q - I packed into words.
+     */
+    private static long[][] createBinaryMatrix(BinaryRingKernel kernel) {
+        int degree = kernel.getDegree();
+        long[] xSquared = kernel.powerOfX(2);
+
+        long[][] rows = new long[degree][];
+        rows[0] = kernel.powerOfX(0);
+        for (int i = 1; i < degree; i++) {
+            rows[i] = kernel.multiply(rows[i - 1], xSquared);
+        }
+
+        for (int i = 0; i < degree; i++) {
+            rows[i] = rows[i].clone();
+            rows[i][i >>> 6] ^= 1L << i;
+        }
+        return rows;
+    }
+
+    /*
+     Returns the rows of Q - I. If the characteristic is smaller than the
+     degree, multiplying by x^p is a shift followed by a long division that
+     takes O(p*n) time.
+     */
+    private static int[][] createMatrix(DenseRingKernel kernel, IPolynomial polynomial) {
+        int degree = kernel.getDegree();
+        int characteristic = kernel.getCharacteristic();
+        int[] modulus = DensePolynomialUtil.trim(polynomial.getCoefficients());
+        int[] xToP = kernel.powerOfX(characteristic);
+
+        int[][] rows = new int[degree][];
+        rows[0] = kernel.powerOfX(0);
+        for (int i = 1; i < degree; i++) {
+            if (characteristic < degree) {
+                int[] shifted = new int[rows[i - 1].length + characteristic];
+                System.arraycopy(rows[i - 1], 0, shifted, characteristic, rows[i - 1].length);
+                rows[i] = DensePolynomialUtil.remainder(shifted, modulus, characteristic);
+            } else {
+                rows[i] = kernel.multiply(rows[i - 1], xToP);
+            }
+        }
+
+        int[][] matrix = new int[degree][degree];
+        for (int i = 0; i < degree; i++) {
+            System.arraycopy(rows[i], 0, matrix[i], 0, rows[i].length);
+            matrix[i][i] = matrix[i][i] == 0 ? characteristic - 1 : matrix[i][i] - 1;
+        }
+        return matrix;
+    }
+
+    /*
+     Gaussian elimination of packed rows. The rows are changed.
+     */
+    private static boolean hasNullityOne(long[][] rows) {
+        int size = rows.length;
+        int rank = 0;
+        int nullity = 0;
+
+        for (int column = 0; column < size; column++) {
+            int word = column >>> 6;
+            long bit = 1L << column;
+
+            int pivot = rank;
+            while (pivot < size && (rows[pivot][word] & bit) == 0) {
+                pivot++;
+            }
+            if (pivot == size) {
+                nullity++;
+                if (nullity > 1) {
+                    return false;
+                }
+                continue;
+            }
+
+            long[] pivotRow = rows[pivot];
+            rows[pivot] = rows[rank];
+            rows[rank] = pivotRow;
+
+            for (int i = rank + 1; i < size; i++) {
+                long[] row = rows[i];
+                if ((row[word] & bit) != 0) {
+                    for (int j = word; j < row.length; j++) {
+                        row[j] ^= pivotRow[j];
+                    }
+                }
+            }
+            rank++;
+        }
+        return nullity == 1;
+    }
+
+    /*
+     Gaussian elimination over Z_p. The rows are changed.
+     */
+    private static boolean hasNullityOne(int[][] rows, int characteristic) {
+        int size = rows.length;
+        int rank = 0;
+        int nullity = 0;
+
+        for (int column = 0; column < size; column++) {
+            int pivot = rank;
+            while (pivot < size && rows[pivot][column] == 0) {
+                pivot++;
+            }
+            if (pivot == size) {
+                nullity++;
+                if (nullity > 1) {
+                    return false;
+                }
+                continue;
+            }
+
+            int[] pivotRow = rows[pivot];
+            rows[pivot] = rows[rank];
+            rows[rank] = pivotRow;
+
+            long inverse = DensePolynomialUtil.inverse(pivotRow[column], characteristic);
+            for (int i = rank + 1; i < size; i++) {
+                int[] row = rows[i];
+                if (row[column] == 0) {
+                    continue;
+                }
+                // row = row - factor * pivotRow, where factor makes the
+                // coefficient at the column zero.
+                long factor = characteristic - row[column] * inverse % characteristic;
+                for (int j = column; j < size; j++) {
+                    row[j] = (int) ((row[j] + factor * pivotRow[j]) % characteristic);
+                }
+            }
+            rank++;
+        }
+        return nullity == 1;
+    }
+}
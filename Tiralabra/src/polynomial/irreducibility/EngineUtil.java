@@ -0,0 +1,45 @@
+package polynomial.irreducibility;
+
+import polynomial.BinaryRingKernel;
+import polynomial.DenseRingKernel;
+import polynomial.IPolynomial;
+import polynomial.IRingKernel;
+
+/**
+ * Checks and kernels shared by the irreducibility engines.
+ *
+ * @author Sebastian Björkqvist
+ */
+class EngineUtil {
+
+    /**
+     * Checks that a polynomial can be tested for irreducibility.
+     *
+     * @param polynomial
+     * @throws IllegalArgumentException if the polynomial is null or its
+     * characteristic is 0.
+     */
+    static void checkPolynomial(IPolynomial polynomial) {
+        if (polynomial == null) {
+            throw new IllegalArgumentException("The given polynomial is null!");
+        }
+        if (polynomial.getCharacteristic() == 0) {
+            throw new IllegalArgumentException("Irreducibility testing of polynomials "
+                    + "with characteristic 0 is not supported.");
+        }
+    }
+
+    /**
+     * Creates the ring kernel used for the given modulus: BinaryRingKernel in
+     * characteristic 2 and DenseRingKernel otherwise.
+     *
+     * @param modulus A polynomial of positive characteristic and degree.
+     * @return The kernel.
+     */
+    static IRingKernel<?> createKernel(IPolynomial modulus) {
+        if (modulus.getCharacteristic() == 2) {
+            return new BinaryRingKernel(modulus);
+        }
+        return new DenseRingKernel(modulus);
+    }
+}
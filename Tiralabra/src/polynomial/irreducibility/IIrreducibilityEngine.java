@@ -0,0 +1,23 @@
+package polynomial.irreducibility;
+
+import polynomial.IPolynomial;
+
+/**
+ * A test of irreducibility for polynomials over finite fields.
+ *
+ * @author Sebastian Björkqvist
+ */
+public interface IIrreducibilityEngine {
+
+    /**
+     * Checks if a polynomial of positive characteristic is irreducible.
+     *
+     * Polynomials of degree 1 are irreducible, and constants are not.
+     *
+     * @param polynomial The polynomial to test.
+     * @return true if the polynomial is irreducible.
+     * @throws IllegalArgumentException if the polynomial is null or its
+     * characteristic is 0.
+     */
+    boolean isIrreducible(IPolynomial polynomial);
+}
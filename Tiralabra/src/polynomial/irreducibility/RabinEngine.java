@@ -0,0 +1,190 @@
+package polynomial.irreducibility;
+
+import datastructures.IntegerNode;
+import datastructures.SortedIntegerList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import math.MathUtil;
+import polynomial.IPolynomial;
+import polynomial.IRingKernel;
+
+/**
+ * Rabin's test of irreducibility.
+ *
+ * A polynomial f of degree n over F_p is irreducible if and only if f
+ * divides x^p^n - x, and gcd(f, x^p^(n/q) - x) = 1 for every prime factor q
+ * of n. The powers x^p^i mod f are calculated once for i = 1...n, and the
+ * gcds are checked when i reaches n/q.
+ *
+ * The test is written once against IRingKernel. Characteristic 2 uses the
+ * packed BinaryRingKernel, and the other characteristics DenseRingKernel.
+ *
+ * If an executor is given, the gcd checks are run as tasks of the executor
+ * while the powers are calculated further. As soon as a check proves the
+ * polynomial reducible, the calculation of the powers stops, and the checks
+ * that haven't finished are cancelled.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class RabinEngine implements IIrreducibilityEngine {
+
+    private final boolean debugPrint;
+    private final ExecutorService executor;
+
+    /**
+     * Creates an engine that prints nothing.
+     */
+    public RabinEngine() {
+        this(false);
+    }
+
+    /**
+     * Creates an engine that makes the checks one after another.
+     *
+     * @param debugPrint If true, prints some info when the algorithm is
+     * running.
+     */
+    public RabinEngine(boolean debugPrint) {
+        this(debugPrint, null);
+    }
+
+    /**
+     * Creates an engine.
+     *
+     * @param debugPrint If true, prints some info when the algorithm is
+     * running.
+     * @param executor The executor running the gcd checks in parallel, or
+     * null if they are made one after another. The executor isn't shut down
+     * by the engine.
+     */
+    public RabinEngine(boolean debugPrint, ExecutorService executor) {
+        this.debugPrint = debugPrint;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean isIrreducible(IPolynomial polynomial) {
+        EngineUtil.checkPolynomial(polynomial);
+
+        int degree = polynomial.getDegree();
+        if (degree <= 1) {
+            return degree == 1;
+        }
+
+        if (debugPrint) {
+            System.out.println("Checking if " + polynomial + " is irreducible.");
+        }
+
+        return isModulusIrreducible(EngineUtil.createKernel(polynomial));
+    }
+
+    /**
+     * Runs Rabin's test with the given kernel.
+     *
+     * @param <T> The representation of the kernel.
+     * @param kernel The kernel of the polynomial f to test, of degree at
+     * least 2.
+     * @return true if f is irreducible.
+     */
+    public <T> boolean isModulusIrreducible(IRingKernel<T> kernel) {
+        int characteristic = kernel.getCharacteristic();
+        int degree = kernel.getDegree();
+
+        SortedIntegerList primeFactorsOfDegree = MathUtil.getUniquePrimeFactors(degree);
+
+        // The largest factor has the smallest exponent, so the factors are
+        // gone through from the largest to the smallest.
+        IntegerNode factorNode = primeFactorsOfDegree.getLargestNode();
+
+        AtomicBoolean isReducible = new AtomicBoolean();
+        Future<?>[] checks = new Future<?>[primeFactorsOfDegree.getSize()];
+        int numberOfChecks = 0;
+
+        try {
+            T power = kernel.powerOfX(characteristic);
+
+            for (int exponent = 1; exponent < degree; exponent++) {
+                // Checking if the polynomial has a factor of degree dividing its own degree:
+                if (factorNode != null && degree / factorNode.getValue() == exponent) {
+                    if (debugPrint) {
+                        System.out.println("    Checking polynomial x^" + characteristic + "^" + exponent);
+                    }
+
+                    T difference = kernel.subtractX(power);
+                    if (executor == null) {
+                        // If gcd is not a constant, the polynomial is reducible.
+                        if (!kernel.isCoprimeWithModulus(difference)) {
+                            return false;
+                        }
+                    } else {
+                        checks[numberOfChecks] = executor.submit(
+                                new CoprimalityCheck<T>(kernel, difference, isReducible));
+                        numberOfChecks++;
+                    }
+                    factorNode = factorNode.getPrev();
+                }
+                if (isReducible.get()) {
+                    return false;
+                }
+                power = kernel.frobenius(power);
+            }
+
+            if (debugPrint) {
+                System.out.println("    Checking polynomial x^" + characteristic + "^" + degree);
+            }
+
+            if (!kernel.isZero(kernel.subtractX(power))) {
+                return false;
+            }
+
+            for (int i = 0; i < numberOfChecks; i++) {
+                checks[i].get();
+                if (isReducible.get()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the gcd checks.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("A gcd check failed.", e.getCause());
+        } finally {
+            for (int i = 0; i < numberOfChecks; i++) {
+                checks[i].cancel(true);
+            }
+        }
+    }
+
+    /*
+     Checks if x^p^k - x is coprime with the modulus, and marks the
+     polynomial reducible if it isn't. The check is skipped if another check
+     has already found the polynomial reducible.
+     */
+    private static class CoprimalityCheck<T> implements Callable<Void> {
+
+        private final IRingKernel<T> kernel;
+        private final T difference;
+        private final AtomicBoolean isReducible;
+
+        CoprimalityCheck(IRingKernel<T> kernel, T difference, AtomicBoolean isReducible) {
+            this.kernel = kernel;
+            this.difference = difference;
+            this.isReducible = isReducible;
+        }
+
+        @Override
+        public Void call() {
+            if (!isReducible.get() && !kernel.isCoprimeWithModulus(difference)) {
+                isReducible.set(true);
+            }
+            return null;
+        }
+    }
+}
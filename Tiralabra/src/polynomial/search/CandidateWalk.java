@@ -0,0 +1,271 @@
+package polynomial.search;
+
+import java.util.Random;
+import math.MathUtil;
+import polynomial.IPolynomial;
+import polynomial.impl.linkedlist.LinkedListPolynomial;
+
+/**
+ * Generates candidate polynomials by a random walk that changes one
+ * coefficient at a time, keeping the residues of the candidate modulo the
+ * irreducible polynomials of small degree up to date.
+ *
+ * A step adds 1 to a random coefficient of the candidate f. If it is the
+ * coefficient of x^j, then f mod g changes by x^j mod g for every g, and in
+ * particular the value f(a), which is f mod (x - a), changes by a^j. With
+ * the residues of x^j modulo every monic irreducible g of degree at most k
+ * in a table, a step takes one addition for each coefficient of the
+ * residues, which is deg(P_k) operations for the product P_k of the
+ * irreducibles, whatever the degree n of the candidates. Generating a
+ * candidate from scratch and checking its roots and small factors would
+ * take O(n * deg(P_k)) operations instead. In characteristic 2 the walk is
+ * a random walk on the bits of the coefficients.
+ *
+ * The method next returns the first candidate none of whose residues is
+ * zero, that is, the first one without roots and factors of degree at most
+ * k. The residues are checked from the lowest degree, so most candidates
+ * are rejected after a few of them.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class CandidateWalk implements ICandidateGenerator {
+
+    /**
+     * The largest number of entries (n * deg(P_k)) in the table of the
+     * residues of the powers of x.
+     */
+    public static final int MAXIMUM_TABLE_SIZE = 1 << 22;
+
+    private final int characteristic;
+    private final int degree;
+    private final int maximumFactorDegree;
+    private final Random random;
+
+    private final int[] coefficients;
+    private final int[] powerResidues;
+    private final int[] residues;
+    private final int[] offsets;
+
+    private long numberOfCandidates;
+    private long numberOfSurvivors;
+
+    /**
+     * Creates a walk with the k chosen by chooseMaximumFactorDegree.
+     *
+     * @param characteristic A prime p.
+     * @param degree The degree n of the candidates, at least 2.
+     * @param random The source of the steps.
+     * @throws IllegalArgumentException if the parameters aren't valid.
+     */
+    public CandidateWalk(int characteristic, int degree, Random random) {
+        this(characteristic, degree, chooseMaximumFactorDegree(characteristic, degree), random);
+    }
+
+    /**
+     * Creates a walk.
+     *
+     * @param characteristic A prime p.
+     * @param degree The degree n of the candidates, at least 2.
+     * @param maximumFactorDegree The largest degree k of the factors
+     * removed, with 0 <= k <= n / 2 and k <= SmallFactorFilter's
+     * MAXIMUM_FACTOR_DEGREE. With k = 0 every candidate is returned.
+     * @param random The source of the starting point and the steps.
+     * @throws IllegalArgumentException if the parameters aren't valid or the
+     * table would have more than MAXIMUM_TABLE_SIZE entries.
+     */
+    public CandidateWalk(int characteristic, int degree, int maximumFactorDegree, Random random) {
+        if (random == null) {
+            throw new IllegalArgumentException("The given random number generator is null!");
+        }
+        if (characteristic < 2 || !MathUtil.isPrime(characteristic)) {
+            throw new IllegalArgumentException("Characteristic " + characteristic + " is not a prime.");
+        }
+        if (degree < 2) {
+            throw new IllegalArgumentException("Degree " + degree + " is smaller than 2.");
+        }
+        if (maximumFactorDegree < 0 || 2 * maximumFactorDegree > degree
+                || maximumFactorDegree > SmallFactorFilter.MAXIMUM_FACTOR_DEGREE
+                || getTableSize(characteristic, degree, maximumFactorDegree) > MAXIMUM_TABLE_SIZE) {
+            throw new IllegalArgumentException("The factors of degree at most " + maximumFactorDegree
+                    + " can't be tracked.");
+        }
+
+        this.characteristic = characteristic;
+        this.degree = degree;
+        this.maximumFactorDegree = maximumFactorDegree;
+        this.random = random;
+
+        int[][] irreducibles = maximumFactorDegree == 0 ? new int[0][]
+                : PolynomialSieve.getIrreducibles(characteristic, maximumFactorDegree);
+        int size = (int) SmallFactorFilter.getProductDegree(characteristic, maximumFactorDegree);
+        this.offsets = new int[irreducibles.length + 1];
+        for (int i = 0; i < irreducibles.length; i++) {
+            offsets[i + 1] = offsets[i] + irreducibles[i].length - 1;
+        }
+
+        // The row j holds x^j mod g for every g, and the row n is needed
+        // only for the leading term.
+        this.powerResidues = new int[(degree + 1) * size];
+        for (int i = 0; i < irreducibles.length; i++) {
+            fillPowerResidues(irreducibles[i], offsets[i], size);
+        }
+
+        this.coefficients = new int[degree + 1];
+        this.residues = new int[size];
+        coefficients[degree] = 1;
+        addToResidues(degree, 1);
+        for (int j = 0; j < degree; j++) {
+            coefficients[j] = random.nextInt(characteristic);
+            addToResidues(j, coefficients[j]);
+        }
+    }
+
+    /**
+     * Chooses k for candidates of the given degree.
+     *
+     * A step costs deg(P_k) operations and about one step in k survives, so
+     * the filtering of a survivor costs about k * deg(P_k) operations. The
+     * irreducibility test of a survivor takes about n * log(p)
+     * multiplications modulo the candidate, so k * deg(P_k) is kept below a
+     * quarter of n^3 * log(p).
+     *
+     * @param characteristic A prime p.
+     * @param degree The degree n of the candidates.
+     * @return The largest such k with 2 * k <= n and a table of at most
+     * MAXIMUM_TABLE_SIZE entries, or 0 if there is none.
+     */
+    public static int chooseMaximumFactorDegree(int characteristic, int degree) {
+        long limit = (long) degree * degree * degree * MathUtil.log2(characteristic) / 4;
+        int maximumFactorDegree = 0;
+        while (maximumFactorDegree < SmallFactorFilter.MAXIMUM_FACTOR_DEGREE
+                && 2 * (maximumFactorDegree + 1) <= degree
+                && getTableSize(characteristic, degree, maximumFactorDegree + 1) <= MAXIMUM_TABLE_SIZE
+                && (maximumFactorDegree + 1)
+                * SmallFactorFilter.getProductDegree(characteristic, maximumFactorDegree + 1) <= limit) {
+            maximumFactorDegree++;
+        }
+        return maximumFactorDegree;
+    }
+
+    /**
+     * Steps the walk until the candidate has no roots and no factors of
+     * degree at most k, and returns it.
+     *
+     * @return A monic polynomial of degree n.
+     */
+    @Override
+    public IPolynomial next() {
+        while (true) {
+            int exponent = random.nextInt(degree);
+            coefficients[exponent]++;
+            if (coefficients[exponent] == characteristic) {
+                coefficients[exponent] = 0;
+            }
+            addPowerToResidues(exponent);
+
+            numberOfCandidates++;
+            if (!hasZeroResidue()) {
+                numberOfSurvivors++;
+                return new LinkedListPolynomial(characteristic).createPolynomialFromCoefficients(
+                        coefficients.clone());
+            }
+        }
+    }
+
+    /**
+     * Returns the number of candidates stepped through, including the ones
+     * with small factors.
+     *
+     * @return The number of candidates.
+     */
+    @Override
+    public long getNumberOfCandidates() {
+        return numberOfCandidates;
+    }
+
+    /**
+     * Returns the number of candidates returned by next.
+     *
+     * @return The number of survivors.
+     */
+    public long getNumberOfSurvivors() {
+        return numberOfSurvivors;
+    }
+
+    /**
+     * Returns the largest degree of the factors removed.
+     *
+     * @return The degree k.
+     */
+    public int getMaximumFactorDegree() {
+        return maximumFactorDegree;
+    }
+
+    /*
+     Adds x^exponent to the residues. Since both terms are in [0, p), the
+     sum needs no division.
+     */
+    private void addPowerToResidues(int exponent) {
+        int row = exponent * residues.length;
+        for (int s = 0; s < residues.length; s++) {
+            int value = residues[s] + powerResidues[row + s];
+            residues[s] = value >= characteristic ? value - characteristic : value;
+        }
+    }
+
+    /*
+     Adds change * x^exponent to the residues.
+     */
+    private void addToResidues(int exponent, int change) {
+        int row = exponent * residues.length;
+        for (int s = 0; s < residues.length; s++) {
+            residues[s] = (int) ((residues[s] + (long) change * powerResidues[row + s]) % characteristic);
+        }
+    }
+
+    /*
+     Checks the residues in the order of the degrees of the irreducibles,
+     so that a candidate with a root is usually rejected after a few of
+     them.
+     */
+    private boolean hasZeroResidue() {
+        for (int i = 0; i + 1 < offsets.length; i++) {
+            int bits = 0;
+            for (int s = offsets[i]; s < offsets[i + 1]; s++) {
+                bits |= residues[s];
+            }
+            if (bits == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     Stores x^j mod g for j = 0...n in the columns offset...offset + d - 1
+     of the table, where d is the degree of the monic g.
+     */
+    private void fillPowerResidues(int[] g, int offset, int size) {
+        int factorDegree = g.length - 1;
+        int[] power = new int[factorDegree];
+        power[0] = 1;
+        for (int j = 0; j <= degree; j++) {
+            System.arraycopy(power, 0, powerResidues, j * size + offset, factorDegree);
+
+            // x * power mod g, where x^d = -(g_0 + ... + g_(d-1) x^(d-1)).
+            int top = power[factorDegree - 1];
+            for (int t = factorDegree - 1; t > 0; t--) {
+                power[t] = (int) ((power[t - 1] + (long) (characteristic - g[t]) * top) % characteristic);
+            }
+            power[0] = (int) ((long) (characteristic - g[0]) * top % characteristic);
+        }
+    }
+
+    private static long getTableSize(int characteristic, int degree, int maximumFactorDegree) {
+        long productDegree = SmallFactorFilter.getProductDegree(characteristic, maximumFactorDegree);
+        if (productDegree == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return (degree + 1) * productDegree;
+    }
+}
@@ -0,0 +1,93 @@
+package polynomial.search;
+
+import polynomial.IPolynomial;
+
+/**
+ * A named filter of a SearchPipeline with counters of its work.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class FilterStage {
+
+    private final String name;
+    private final ICandidateFilter filter;
+    private long numberOfCandidates;
+    private long numberOfRejected;
+    private long time;
+
+    /**
+     * Creates a stage.
+     *
+     * @param name The name shown with the counters.
+     * @param filter The filter of the stage.
+     * @throws IllegalArgumentException if the name or the filter is null.
+     */
+    public FilterStage(String name, ICandidateFilter filter) {
+        if (name == null) {
+            throw new IllegalArgumentException("The given name is null!");
+        }
+        if (filter == null) {
+            throw new IllegalArgumentException("The given filter is null!");
+        }
+        this.name = name;
+        this.filter = filter;
+    }
+
+    /**
+     * Gives a candidate to the filter, updating the counters.
+     *
+     * @param candidate The candidate.
+     * @return true if the filter rejects the candidate.
+     */
+    public boolean rejects(IPolynomial candidate) {
+        long start = System.nanoTime();
+        boolean rejected = filter.rejects(candidate);
+        time += System.nanoTime() - start;
+        numberOfCandidates++;
+        if (rejected) {
+            numberOfRejected++;
+        }
+        return rejected;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ICandidateFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Returns the number of candidates given to the stage.
+     *
+     * @return The number of candidates.
+     */
+    public long getNumberOfCandidates() {
+        return numberOfCandidates;
+    }
+
+    /**
+     * Returns the number of candidates the stage rejected.
+     *
+     * @return The number of rejected candidates.
+     */
+    public long getNumberOfRejected() {
+        return numberOfRejected;
+    }
+
+    /**
+     * Returns the time spent in the filter.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": rejected " + numberOfRejected + " of " + numberOfCandidates + " in "
+                + (time / 1000000) + " ms";
+    }
+}
@@ -0,0 +1,24 @@
+package polynomial.search;
+
+import polynomial.IPolynomial;
+
+/**
+ * A cheap test that rejects candidate polynomials that are certainly
+ * reducible before they are given to an irreducibility test.
+ *
+ * @author Sebastian Björkqvist
+ */
+public interface ICandidateFilter {
+
+    /**
+     * Checks if a candidate is certainly reducible.
+     *
+     * A filter may accept reducible candidates, but it must never reject an
+     * irreducible one.
+     *
+     * @param candidate A monic polynomial of degree at least 2 and positive
+     * characteristic.
+     * @return true if the candidate is reducible.
+     */
+    boolean rejects(IPolynomial candidate);
+}
@@ -0,0 +1,27 @@
+package polynomial.search;
+
+import polynomial.IPolynomial;
+
+/**
+ * A source of candidate polynomials for the search of irreducible
+ * polynomials.
+ *
+ * @author Sebastian Björkqvist
+ */
+public interface ICandidateGenerator {
+
+    /**
+     * Returns the next candidate.
+     *
+     * @return A monic polynomial of the degree of the search.
+     */
+    IPolynomial next();
+
+    /**
+     * Returns the number of candidates generated so far, including the ones
+     * the generator has discarded itself without returning them.
+     *
+     * @return The number of candidates.
+     */
+    long getNumberOfCandidates();
+}
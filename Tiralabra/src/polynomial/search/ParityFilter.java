@@ -0,0 +1,35 @@
+package polynomial.search;
+
+import polynomial.IPolynomial;
+
+/**
+ * Rejects polynomials that have the root 1.
+ *
+ * The value at 1 is the sum of the coefficients, so the test takes a single
+ * pass over the terms. In characteristic 2 a polynomial has the root 1 if
+ * and only if it has an even number of terms, which is where the name comes
+ * from. In other characteristics RootFilter finds the same roots and more,
+ * but this filter is much cheaper.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class ParityFilter implements ICandidateFilter {
+
+    /**
+     * Rejects the candidates whose coefficients sum to 0.
+     *
+     * @param candidate A polynomial of positive characteristic and degree.
+     * @return true if the candidate has the root 1.
+     * @throws IllegalArgumentException if the candidate is null.
+     */
+    @Override
+    public boolean rejects(IPolynomial candidate) {
+        if (candidate == null) {
+            throw new IllegalArgumentException("The given polynomial is null!");
+        }
+        if (candidate.getCharacteristic() == 2) {
+            return candidate.getNumberOfNonZeroCoefficients() % 2 == 0;
+        }
+        return candidate.evaluate(1) == 0;
+    }
+}
@@ -0,0 +1,448 @@
+package polynomial.search;
+
+import java.util.Random;
+import math.MathUtil;
+import polynomial.DensePolynomialUtil;
+import polynomial.IPolynomial;
+import polynomial.impl.linkedlist.LinkedListPolynomial;
+
+/**
+ * Generates candidate polynomials that have no irreducible factors of small
+ * degree, by sieving like the sieve of Eratosthenes.
+ *
+ * The candidates of degree n are handled in blocks of the form
+ * f = H * x^m + L, where the monic high part H of degree n - m is chosen
+ * randomly and the low part L goes through all p^m polynomials of degree
+ * less than m. For an irreducible g of degree d <= m, g divides f if and
+ * only if L = -H * x^m mod g, so the low parts divisible by g are
+ * r + g * q for the residue r and all q of degree less than m - d. These are
+ * marked off for every monic irreducible g of degree at most k, and the
+ * unmarked low parts are the candidates returned.
+ *
+ * Marking one low part takes O(1) operations in characteristic 2, where the
+ * low parts are the bits of an index and adding g * x^j is an XOR, and
+ * O(d) operations otherwise. A block has about p^m * log(k) marks, so the
+ * cost per returned candidate is only O(k log k) such operations. Of the
+ * random polynomials only about 0.56/k have no factor of degree at most k.
+ *
+ * The irreducible polynomials used for the sieving are found with the same
+ * sieve: the monic polynomials of degree d without factors of degree at
+ * most d/2 are exactly the irreducible ones. They are cached for every
+ * characteristic.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class PolynomialSieve implements ICandidateGenerator {
+
+    /**
+     * The largest number of low parts p^m in a block.
+     */
+    public static final int MAXIMUM_BLOCK_SIZE = 1 << 16;
+
+    /**
+     * The largest degree k of the irreducible polynomials used for the
+     * sieving.
+     */
+    public static final int MAXIMUM_FACTOR_DEGREE = 16;
+
+    /**
+     * The number of low parts in a block is about this many times the
+     * degree of the candidates.
+     */
+    static final int BLOCK_SIZE_PER_DEGREE = 16;
+
+    private static int[] cachedCharacteristics = new int[4];
+    private static int[][][] cachedIrreducibles = new int[4][][];
+    private static int cacheSize;
+
+    private final int characteristic;
+    private final int degree;
+    private final int lowDegree;
+    private final int maximumFactorDegree;
+    private final int blockSize;
+    private final int[][] irreducibles;
+    private final Random random;
+
+    private int[] high;
+    private long[] marks;
+    private int start;
+    private int position;
+    private long numberOfCandidates;
+    private long numberOfSurvivors;
+
+    /**
+     * Creates a sieve with the block chosen by chooseLowDegree and the
+     * largest k allowed for it.
+     *
+     * @param characteristic A prime p with p <= MAXIMUM_BLOCK_SIZE.
+     * @param degree The degree n of the candidates, at least 2.
+     * @param random The source of the high parts.
+     * @throws IllegalArgumentException if the parameters aren't valid.
+     */
+    public PolynomialSieve(int characteristic, int degree, Random random) {
+        this(characteristic, degree, chooseLowDegree(characteristic, degree),
+                Math.min(MAXIMUM_FACTOR_DEGREE, Math.min(chooseLowDegree(characteristic, degree), degree / 2)),
+                random);
+    }
+
+    /**
+     * Creates a sieve.
+     *
+     * @param characteristic A prime p.
+     * @param degree The degree n of the candidates, at least 2.
+     * @param lowDegree The number m of the coefficients of the low parts,
+     * with 1 <= m < n and p^m <= MAXIMUM_BLOCK_SIZE.
+     * @param maximumFactorDegree The largest degree k of the factors
+     * removed, with 1 <= k <= m and k <= MAXIMUM_FACTOR_DEGREE.
+     * @param random The source of the high parts.
+     * @throws IllegalArgumentException if the parameters aren't valid.
+     */
+    public PolynomialSieve(int characteristic, int degree, int lowDegree, int maximumFactorDegree,
+            Random random) {
+        if (random == null) {
+            throw new IllegalArgumentException("The given random number generator is null!");
+        }
+        if (characteristic < 2 || !MathUtil.isPrime(characteristic)) {
+            throw new IllegalArgumentException("Characteristic " + characteristic + " is not a prime.");
+        }
+        if (degree < 2) {
+            throw new IllegalArgumentException("Degree " + degree + " is smaller than 2.");
+        }
+        if (lowDegree < 1 || lowDegree >= degree || power(characteristic, lowDegree) > MAXIMUM_BLOCK_SIZE) {
+            throw new IllegalArgumentException("The low parts of degree less than " + lowDegree
+                    + " can't be sieved.");
+        }
+        if (maximumFactorDegree < 1 || maximumFactorDegree > lowDegree
+                || maximumFactorDegree > MAXIMUM_FACTOR_DEGREE) {
+            throw new IllegalArgumentException("The factors of degree at most " + maximumFactorDegree
+                    + " can't be sieved.");
+        }
+
+        this.characteristic = characteristic;
+        this.degree = degree;
+        this.lowDegree = lowDegree;
+        this.maximumFactorDegree = maximumFactorDegree;
+        this.blockSize = (int) power(characteristic, lowDegree);
+        this.irreducibles = getIrreducibles(characteristic, maximumFactorDegree);
+        this.random = random;
+        this.position = blockSize;
+    }
+
+    /**
+     * Chooses the number m of the coefficients of the low parts.
+     *
+     * About one polynomial in n is irreducible, so a block of
+     * BLOCK_SIZE_PER_DEGREE * n low parts usually contains several of them.
+     * Larger blocks would only be sieved in vain.
+     *
+     * @param characteristic A prime p.
+     * @param degree The degree n of the candidates.
+     * @return The smallest m with p^m >= BLOCK_SIZE_PER_DEGREE * n, but at
+     * most n - 1 and with p^m <= MAXIMUM_BLOCK_SIZE. 0 if there is none.
+     */
+    public static int chooseLowDegree(int characteristic, int degree) {
+        long targetSize = (long) BLOCK_SIZE_PER_DEGREE * degree;
+        int lowDegree = 0;
+        while (lowDegree + 1 < degree && power(characteristic, lowDegree + 1) <= MAXIMUM_BLOCK_SIZE
+                && power(characteristic, lowDegree) < targetSize) {
+            lowDegree++;
+        }
+        return lowDegree;
+    }
+
+    /**
+     * Returns the next candidate that has no factors of degree at most k.
+     *
+     * @return A monic polynomial of degree n.
+     */
+    @Override
+    public IPolynomial next() {
+        while (true) {
+            while (position < blockSize) {
+                int index = start + position;
+                if (index >= blockSize) {
+                    index -= blockSize;
+                }
+                position++;
+                numberOfCandidates++;
+                if ((marks[index >>> 6] & (1L << index)) == 0) {
+                    numberOfSurvivors++;
+                    return createCandidate(index);
+                }
+            }
+
+            high = new int[degree - lowDegree + 1];
+            for (int i = 0; i < high.length - 1; i++) {
+                high[i] = random.nextInt(characteristic);
+            }
+            high[high.length - 1] = 1;
+            marks = sieve(characteristic, high, lowDegree, irreducibles, irreducibles.length);
+            start = random.nextInt(blockSize);
+            position = 0;
+        }
+    }
+
+    /**
+     * Returns the number of candidates gone through, including the ones that
+     * were marked off.
+     *
+     * @return The number of candidates.
+     */
+    @Override
+    public long getNumberOfCandidates() {
+        return numberOfCandidates;
+    }
+
+    /**
+     * Returns the number of candidates returned by next.
+     *
+     * @return The number of survivors.
+     */
+    public long getNumberOfSurvivors() {
+        return numberOfSurvivors;
+    }
+
+    /**
+     * Returns the largest degree of the factors removed.
+     *
+     * @return The degree k.
+     */
+    public int getMaximumFactorDegree() {
+        return maximumFactorDegree;
+    }
+
+    /**
+     * Returns the number of coefficients of the low parts.
+     *
+     * @return The number m.
+     */
+    public int getLowDegree() {
+        return lowDegree;
+    }
+
+    /**
+     * Sieves the low parts of one block.
+     *
+     * @param characteristic
+     * @param high The monic high part H.
+     * @param lowDegree The number m of the coefficients of the low parts.
+     * @param irreducibles The irreducible polynomials sorted by degree.
+     * @param count The number of the first irreducibles used, whose degrees
+     * must be at most m.
+     * @return The marks as bits: the bit of the index sum(L_i * p^i) is 1 if
+     * H * x^m + L is divisible by one of the irreducibles.
+     */
+    static long[] sieve(int characteristic, int[] high, int lowDegree, int[][] irreducibles, int count) {
+        int blockSize = (int) power(characteristic, lowDegree);
+        long[] marks = new long[(blockSize + 63) >>> 6];
+        int[] powers = new int[lowDegree + 1];
+        powers[0] = 1;
+        for (int i = 1; i <= lowDegree; i++) {
+            powers[i] = powers[i - 1] * characteristic;
+        }
+
+        int[] shifted = new int[lowDegree + high.length];
+        System.arraycopy(high, 0, shifted, lowDegree, high.length);
+        int[] digits = new int[lowDegree];
+        int[] quotientDigits = new int[lowDegree];
+
+        for (int i = 0; i < count; i++) {
+            int[] g = irreducibles[i];
+            int factorDegree = g.length - 1;
+
+            // The residue r = -H * x^m mod g is the first low part marked.
+            int[] residue = DensePolynomialUtil.remainder(shifted, g, characteristic);
+            int index = 0;
+            for (int j = 0; j < lowDegree; j++) {
+                digits[j] = j < residue.length ? (characteristic - residue[j]) % characteristic : 0;
+                index += digits[j] * powers[j];
+            }
+            marks[index >>> 6] |= 1L << index;
+
+            int quotientDegree = lowDegree - factorDegree;
+            if (characteristic == 2) {
+                // Going through q in the Gray code order changes one bit j
+                // at a time, which adds g * x^j.
+                int gIndex = 0;
+                for (int j = 0; j <= factorDegree; j++) {
+                    gIndex |= g[j] << j;
+                }
+                for (int step = 1; step < (1 << quotientDegree); step++) {
+                    index ^= gIndex << Integer.numberOfTrailingZeros(step);
+                    marks[index >>> 6] |= 1L << index;
+                }
+                continue;
+            }
+
+            // Counting q upwards in base p adds g * x^j whenever the digit j
+            // of q changes, also when it wraps from p - 1 to 0.
+            for (int j = 0; j < quotientDegree; j++) {
+                quotientDigits[j] = 0;
+            }
+            while (true) {
+                int j = 0;
+                while (j < quotientDegree && quotientDigits[j] == characteristic - 1) {
+                    quotientDigits[j] = 0;
+                    index = addShifted(digits, index, g, j, powers, characteristic);
+                    j++;
+                }
+                if (j == quotientDegree) {
+                    break;
+                }
+                quotientDigits[j]++;
+                index = addShifted(digits, index, g, j, powers, characteristic);
+                marks[index >>> 6] |= 1L << index;
+            }
+        }
+
+        return marks;
+    }
+
+    /*
+     Adds g * x^shift to the low part given as digits, and returns the new
+     index of the low part.
+     */
+    private static int addShifted(int[] digits, int index, int[] g, int shift, int[] powers, int characteristic) {
+        for (int t = 0; t < g.length; t++) {
+            if (g[t] == 0) {
+                continue;
+            }
+            int oldDigit = digits[shift + t];
+            int newDigit = oldDigit + g[t];
+            if (newDigit >= characteristic) {
+                newDigit -= characteristic;
+            }
+            digits[shift + t] = newDigit;
+            index += (newDigit - oldDigit) * powers[shift + t];
+        }
+        return index;
+    }
+
+    /**
+     * Returns the monic irreducible polynomials of degree 1...k sorted by
+     * degree.
+     *
+     * The polynomials are found degree by degree by sieving the monic
+     * polynomials x^d + L with the ones of degree at most d/2.
+     *
+     * @param characteristic
+     * @param maximumFactorDegree The degree k.
+     * @return The coefficient arrays.
+     */
+    static synchronized int[][] getIrreducibles(int characteristic, int maximumFactorDegree) {
+        int cacheIndex = 0;
+        while (cacheIndex < cacheSize && cachedCharacteristics[cacheIndex] != characteristic) {
+            cacheIndex++;
+        }
+        if (cacheIndex == cacheSize) {
+            if (cacheSize == cachedCharacteristics.length) {
+                int[] newCharacteristics = new int[2 * cacheSize];
+                int[][][] newIrreducibles = new int[2 * cacheSize][][];
+                System.arraycopy(cachedCharacteristics, 0, newCharacteristics, 0, cacheSize);
+                System.arraycopy(cachedIrreducibles, 0, newIrreducibles, 0, cacheSize);
+                cachedCharacteristics = newCharacteristics;
+                cachedIrreducibles = newIrreducibles;
+            }
+            cachedCharacteristics[cacheIndex] = characteristic;
+            cachedIrreducibles[cacheIndex] = new int[0][];
+            cacheSize++;
+        }
+
+        int[][] known = cachedIrreducibles[cacheIndex];
+        int knownDegree = known.length == 0 ? 0 : known[known.length - 1].length - 1;
+        if (knownDegree >= maximumFactorDegree) {
+            return prefixOfDegree(known, maximumFactorDegree);
+        }
+
+        int size = known.length;
+        for (int d = knownDegree + 1; d <= maximumFactorDegree; d++) {
+            int[][] found;
+            if (d == 1) {
+                found = new int[characteristic][];
+                for (int a = 0; a < characteristic; a++) {
+                    found[a] = new int[]{a, 1};
+                }
+            } else {
+                int count = prefixOfDegree(known, d / 2).length;
+                long[] marks = sieve(characteristic, new int[]{1}, d, known, count);
+                int blockSize = (int) power(characteristic, d);
+                found = new int[blockSize - countMarks(marks)][];
+                int next = 0;
+                for (int index = 0; index < blockSize; index++) {
+                    if ((marks[index >>> 6] & (1L << index)) == 0) {
+                        found[next++] = toMonic(index, d, characteristic);
+                    }
+                }
+            }
+
+            int[][] newKnown = new int[size + found.length][];
+            System.arraycopy(known, 0, newKnown, 0, size);
+            System.arraycopy(found, 0, newKnown, size, found.length);
+            known = newKnown;
+            size = known.length;
+        }
+
+        cachedIrreducibles[cacheIndex] = known;
+        return known;
+    }
+
+    private IPolynomial createCandidate(int index) {
+        int[] coefficients = new int[degree + 1];
+        for (int i = 0; i < lowDegree; i++) {
+            coefficients[i] = index % characteristic;
+            index /= characteristic;
+        }
+        System.arraycopy(high, 0, coefficients, lowDegree, high.length);
+        return new LinkedListPolynomial(characteristic).createPolynomialFromCoefficients(coefficients);
+    }
+
+    /*
+     Returns the monic polynomial of degree d whose lower coefficients are
+     the base p digits of the index.
+     */
+    private static int[] toMonic(int index, int degree, int characteristic) {
+        int[] coefficients = new int[degree + 1];
+        for (int i = 0; i < degree; i++) {
+            coefficients[i] = index % characteristic;
+            index /= characteristic;
+        }
+        coefficients[degree] = 1;
+        return coefficients;
+    }
+
+    /*
+     Returns the first polynomials of the list that have degree at most d.
+     */
+    private static int[][] prefixOfDegree(int[][] polynomials, int degree) {
+        int count = 0;
+        while (count < polynomials.length && polynomials[count].length - 1 <= degree) {
+            count++;
+        }
+        if (count == polynomials.length) {
+            return polynomials;
+        }
+        int[][] prefix = new int[count][];
+        System.arraycopy(polynomials, 0, prefix, 0, count);
+        return prefix;
+    }
+
+    private static int countMarks(long[] marks) {
+        int count = 0;
+        for (long word : marks) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /*
+     Returns p^e, or a number larger than MAXIMUM_BLOCK_SIZE if it is
+     larger than that.
+     */
+    private static long power(int characteristic, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent && result <= MAXIMUM_BLOCK_SIZE; i++) {
+            result *= characteristic;
+        }
+        return result;
+    }
+}
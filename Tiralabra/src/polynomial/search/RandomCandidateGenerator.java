@@ -0,0 +1,135 @@
+package polynomial.search;
+
+import java.util.Random;
+import polynomial.IPolynomial;
+import polynomial.impl.linkedlist.LinkedListPolynomial;
+
+/**
+ * Generates monic candidate polynomials with random coefficients.
+ *
+ * The constant term is never zero, since otherwise the candidate would have
+ * the root 0. The other coefficients are either evenly distributed or, for
+ * sparse candidates, zero with a given probability and evenly distributed
+ * among the non-zero values otherwise.
+ *
+ * In characteristic 2 the generator may also flip the coefficient of x of
+ * the candidates with an even number of terms. Those candidates have the
+ * root 1, so with the flip no candidate has a root, and every candidate can
+ * be given to the irreducibility test. This is the heuristic smartchar2.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class RandomCandidateGenerator implements ICandidateGenerator {
+
+    private final int characteristic;
+    private final int degree;
+    private final double ratioOfZeros;
+    private final boolean sparse;
+    private final boolean smartChar2Generation;
+    private final Random random;
+    private long numberOfCandidates;
+
+    /**
+     * Creates a generator of candidates with evenly distributed
+     * coefficients.
+     *
+     * @param characteristic A prime p.
+     * @param degree The degree n of the candidates.
+     * @param random The source of the coefficients.
+     * @throws IllegalArgumentException if the parameters aren't valid.
+     */
+    public RandomCandidateGenerator(int characteristic, int degree, Random random) {
+        this(characteristic, degree, 0, false, false, random);
+    }
+
+    /**
+     * Creates a generator of sparse candidates.
+     *
+     * @param characteristic A prime p.
+     * @param degree The degree n of the candidates.
+     * @param ratioOfZeros A double between 0 and 1 that decides the ratio of
+     * zero coefficients.
+     * @param random The source of the coefficients.
+     * @throws IllegalArgumentException if the parameters aren't valid.
+     */
+    public RandomCandidateGenerator(int characteristic, int degree, double ratioOfZeros, Random random) {
+        this(characteristic, degree, ratioOfZeros, true, false, random);
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param characteristic A prime p.
+     * @param degree The degree n of the candidates.
+     * @param ratioOfZeros A double between 0 and 1 that decides the ratio of
+     * zero coefficients of sparse candidates.
+     * @param sparse If true, generates sparse candidates.
+     * @param smartChar2Generation If true and the characteristic is 2, no
+     * candidate of degree at least 2 has the root 1.
+     * @param random The source of the coefficients.
+     * @throws IllegalArgumentException if the parameters aren't valid.
+     */
+    public RandomCandidateGenerator(int characteristic, int degree, double ratioOfZeros, boolean sparse,
+            boolean smartChar2Generation, Random random) {
+        if (random == null) {
+            throw new IllegalArgumentException("The given random number generator is null!");
+        }
+        if (characteristic < 2) {
+            throw new IllegalArgumentException("Characteristic " + characteristic + " is smaller than 2.");
+        }
+        if (degree < 0) {
+            throw new IllegalArgumentException("Degree " + degree + " is negative!");
+        }
+        if (ratioOfZeros < 0 || ratioOfZeros > 1) {
+            throw new IllegalArgumentException("The ratio of zeros " + ratioOfZeros + " is not between 0 and 1.");
+        }
+        this.characteristic = characteristic;
+        this.degree = degree;
+        this.ratioOfZeros = ratioOfZeros;
+        this.sparse = sparse;
+        this.smartChar2Generation = smartChar2Generation;
+        this.random = random;
+    }
+
+    @Override
+    public IPolynomial next() {
+        numberOfCandidates++;
+        IPolynomial candidate = new LinkedListPolynomial(characteristic);
+        candidate.addTerm(1, degree);
+        if (degree == 0) {
+            return candidate;
+        }
+
+        for (int exponent = degree - 1; exponent > 0; exponent--) {
+            int coefficient = getCoefficient(false);
+            if (coefficient != 0) {
+                candidate.addTerm(coefficient, exponent);
+            }
+        }
+        candidate.addTerm(getCoefficient(true), 0);
+
+        if (smartChar2Generation && characteristic == 2 && degree > 1
+                && candidate.getNumberOfNonZeroCoefficients() % 2 == 0) {
+            candidate.addTerm(1, 1);
+        }
+        return candidate;
+    }
+
+    @Override
+    public long getNumberOfCandidates() {
+        return numberOfCandidates;
+    }
+
+    private int getCoefficient(boolean mustBePositive) {
+        if (sparse) {
+            if (!mustBePositive && random.nextDouble() < ratioOfZeros) {
+                return 0;
+            }
+            return random.nextInt(characteristic - 1) + 1;
+        }
+        if (mustBePositive) {
+            return random.nextInt(characteristic - 1) + 1;
+        }
+        return random.nextInt(characteristic);
+    }
+}
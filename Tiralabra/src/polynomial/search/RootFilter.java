@@ -0,0 +1,143 @@
+package polynomial.search;
+
+import math.MathUtil;
+import polynomial.DenseRingKernel;
+import polynomial.IPolynomial;
+import polynomial.PowerTable;
+
+/**
+ * Checks if polynomials have roots in Z_p.
+ *
+ * A root can be looked for by evaluating the polynomial at every element of
+ * Z_p. With the shared PowerTable of the characteristic this takes p * t
+ * operations for a polynomial with t terms, and without it Horner's rule
+ * takes O(p * n) operations for a polynomial of degree n, so it is hopeless
+ * for large characteristics. Since x^p - x
+ * is the product of all x - a, the polynomial f has a root if and only if
+ * gcd(f, x^p - x) != 1. Calculating x^p mod f by repeated squaring takes
+ * only O(log p) multiplications modulo f, whatever the characteristic. The
+ * method hasRoot chooses between the two by estimating their costs.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class RootFilter implements ICandidateFilter {
+
+    /*
+     The estimated cost of building the ring kernel, in the units of
+     estimateCostOfGcd.
+     */
+    private static final int KERNEL_COST = 4000;
+
+    /*
+     The cost of one step of the evaluation compared to one operation on the
+     coefficients in estimateCostOfGcd.
+     */
+    private static final int EVALUATION_STEP_COST = 1;
+
+    /**
+     * Rejects the candidates that have a root, with hasRoot.
+     *
+     * @param candidate A polynomial of positive characteristic and degree.
+     * @return true if the candidate has a root in Z_p.
+     */
+    @Override
+    public boolean rejects(IPolynomial candidate) {
+        return hasRoot(candidate);
+    }
+
+    /**
+     * Checks if a polynomial has a root, with the method estimated to be
+     * faster.
+     *
+     * @param polynomial A polynomial of positive characteristic and degree.
+     * @return true if the polynomial has a root in Z_p.
+     * @throws IllegalArgumentException if the polynomial is null, or its
+     * characteristic or degree is 0.
+     */
+    public static boolean hasRoot(IPolynomial polynomial) {
+        checkPolynomial(polynomial);
+        if (isGcdFaster(polynomial.getCharacteristic(), polynomial.getDegree(),
+                polynomial.getNumberOfNonZeroCoefficients())) {
+            return hasRootByGcd(polynomial);
+        }
+        return hasRootByEvaluation(polynomial);
+    }
+
+    /**
+     * Checks if a polynomial has a root by evaluating it at every element of
+     * Z_p.
+     *
+     * @param polynomial A polynomial of positive characteristic and degree.
+     * @return true if the polynomial has a root in Z_p.
+     * @throws IllegalArgumentException if the polynomial is null, or its
+     * characteristic or degree is 0.
+     */
+    public static boolean hasRootByEvaluation(IPolynomial polynomial) {
+        checkPolynomial(polynomial);
+        int[] values = new int[polynomial.getCharacteristic()];
+        polynomial.evaluateAll(values);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a polynomial has a root by checking if it is coprime with
+     * x^p - x.
+     *
+     * @param polynomial A polynomial of positive characteristic and degree.
+     * @return true if the polynomial has a root in Z_p.
+     * @throws IllegalArgumentException if the polynomial is null, or its
+     * characteristic or degree is 0.
+     */
+    public static boolean hasRootByGcd(IPolynomial polynomial) {
+        checkPolynomial(polynomial);
+        DenseRingKernel kernel = new DenseRingKernel(polynomial);
+        int[] power = kernel.powerOfX(polynomial.getCharacteristic());
+        return !kernel.isCoprimeWithModulus(kernel.subtractX(power));
+    }
+
+    /**
+     * Compares the estimated costs of the two root tests.
+     *
+     * @param characteristic The characteristic p.
+     * @param degree The degree n of the polynomial.
+     * @param terms The number of non-zero terms of the polynomial.
+     * @return true if the test with the gcd is estimated to be faster.
+     */
+    static boolean isGcdFaster(int characteristic, int degree, int terms) {
+        // With the power table every value takes a step for every term, and
+        // without it Horner's rule takes a step for every coefficient.
+        long steps = PowerTable.fits(characteristic, degree) ? terms : degree + 1;
+        long evaluation = EVALUATION_STEP_COST * characteristic * steps;
+        return estimateCostOfGcd(characteristic, degree) < evaluation;
+    }
+
+    /*
+     While p < n, x^p needs no reduction and x^p - x is so short that the
+     gcd takes a single division of f. Otherwise the squarings after the
+     degree reaches n and the gcd each take about n^2 operations.
+     */
+    private static long estimateCostOfGcd(int characteristic, int degree) {
+        if (characteristic < degree) {
+            return (long) degree * (MathUtil.log2(characteristic) + 2) + KERNEL_COST;
+        }
+        int squarings = MathUtil.log2(characteristic) - MathUtil.log2(degree) + 1;
+        return (long) degree * degree * (2 * squarings + 2) + KERNEL_COST;
+    }
+
+    private static void checkPolynomial(IPolynomial polynomial) {
+        if (polynomial == null) {
+            throw new IllegalArgumentException("The given polynomial is null!");
+        }
+        if (polynomial.getCharacteristic() == 0) {
+            throw new IllegalArgumentException("Roots in characteristic 0 are not supported.");
+        }
+        if (polynomial.getDegree() < 1) {
+            throw new IllegalArgumentException("The polynomial has degree " + polynomial.getDegree() + ".");
+        }
+    }
+}
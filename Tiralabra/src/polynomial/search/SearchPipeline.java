@@ -0,0 +1,164 @@
+package polynomial.search;
+
+import polynomial.IPolynomial;
+import polynomial.irreducibility.IIrreducibilityEngine;
+
+/**
+ * Searches for an irreducible polynomial by passing candidates through a
+ * sequence of filters before the irreducibility test.
+ *
+ * The candidates come from an ICandidateGenerator, and each of them is given
+ * to the filters in the order they were added. The first filter that rejects
+ * the candidate stops it, and the candidates that no filter rejects are
+ * tested with the engine. Each stage counts the candidates it sees and
+ * rejects and the time it spends, so the stages that pay off for a given
+ * characteristic and degree can be measured. The cheapest filters, such as
+ * ParityFilter, should come first.
+ *
+ * Candidates of degree at most 1 are returned as such without filtering or
+ * testing.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class SearchPipeline {
+
+    private final ICandidateGenerator generator;
+    private final IIrreducibilityEngine engine;
+    private FilterStage[] stages;
+    private long numberOfTested;
+    private long engineTime;
+
+    /**
+     * Creates a pipeline without filters.
+     *
+     * @param generator The source of the candidates.
+     * @param engine The irreducibility test of the candidates that pass the
+     * filters.
+     * @throws IllegalArgumentException if the generator or the engine is
+     * null.
+     */
+    public SearchPipeline(ICandidateGenerator generator, IIrreducibilityEngine engine) {
+        if (generator == null) {
+            throw new IllegalArgumentException("The given generator is null!");
+        }
+        if (engine == null) {
+            throw new IllegalArgumentException("The given engine is null!");
+        }
+        this.generator = generator;
+        this.engine = engine;
+        this.stages = new FilterStage[0];
+    }
+
+    /**
+     * Adds a filter after the ones added earlier.
+     *
+     * @param name The name of the stage.
+     * @param filter The filter.
+     * @return This pipeline.
+     * @throws IllegalArgumentException if the name or the filter is null.
+     */
+    public SearchPipeline addFilter(String name, ICandidateFilter filter) {
+        FilterStage[] newStages = new FilterStage[stages.length + 1];
+        System.arraycopy(stages, 0, newStages, 0, stages.length);
+        newStages[stages.length] = new FilterStage(name, filter);
+        stages = newStages;
+        return this;
+    }
+
+    /**
+     * Takes candidates until one of them passes the filters and the
+     * irreducibility test.
+     *
+     * @return An irreducible polynomial, or a candidate of degree at most 1.
+     */
+    public IPolynomial findIrreducible() {
+        while (true) {
+            IPolynomial candidate = generator.next();
+            if (candidate.getDegree() <= 1) {
+                return candidate;
+            }
+            if (isRejected(candidate)) {
+                continue;
+            }
+
+            long start = System.nanoTime();
+            boolean irreducible = engine.isIrreducible(candidate);
+            engineTime += System.nanoTime() - start;
+            numberOfTested++;
+            if (irreducible) {
+                return candidate;
+            }
+        }
+    }
+
+    public ICandidateGenerator getGenerator() {
+        return generator;
+    }
+
+    public IIrreducibilityEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Returns the filter stages in their order.
+     *
+     * @return A copy of the array of the stages.
+     */
+    public FilterStage[] getStages() {
+        return stages.clone();
+    }
+
+    /**
+     * Returns the number of candidates generated, including the ones the
+     * generator discarded itself.
+     *
+     * @return The number of candidates.
+     */
+    public long getNumberOfCandidates() {
+        return generator.getNumberOfCandidates();
+    }
+
+    /**
+     * Returns the number of candidates given to the irreducibility test.
+     *
+     * @return The number of tested candidates.
+     */
+    public long getNumberOfTested() {
+        return numberOfTested;
+    }
+
+    /**
+     * Returns the time spent in the irreducibility test.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getEngineTime() {
+        return engineTime;
+    }
+
+    /**
+     * Returns the counters of the generator, the stages and the engine, one
+     * per line.
+     *
+     * @return The counters as text.
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append("generated: ").append(getNumberOfCandidates()).append('\n');
+        for (FilterStage stage : stages) {
+            summary.append(stage).append('\n');
+        }
+        summary.append("irreducibility test: tested ").append(numberOfTested).append(" in ")
+                .append(engineTime / 1000000).append(" ms");
+        return summary.toString();
+    }
+
+    private boolean isRejected(IPolynomial candidate) {
+        for (FilterStage stage : stages) {
+            if (stage.rejects(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
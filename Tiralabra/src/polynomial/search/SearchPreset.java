@@ -0,0 +1,257 @@
+package polynomial.search;
+
+import java.util.Random;
+import polynomial.irreducibility.BenOrEngine;
+import polynomial.irreducibility.IIrreducibilityEngine;
+
+/**
+ * A named way of searching for irreducible polynomials: the generator of the
+ * candidates, the filters given to the SearchPipeline, and whether
+ * IrreduciblePolynomialFinder may construct the polynomial or use the
+ * bit-sliced batches of characteristic 2 instead of the pipeline.
+ *
+ * The presets naive, sparse, smartchar2, checkroots and their combinations
+ * are the heuristics of the earlier versions. They only use their pipeline,
+ * so that the heuristics can be compared with each other. As before,
+ * smartchar2 flips a coefficient of the candidates of characteristic 2 with
+ * the root 1 instead of rejecting them, and changes nothing in the other
+ * characteristics. The preset
+ * default is the fastest known way, and filters runs every filter in turn,
+ * so that their counters show which of them pay off for a given
+ * characteristic and degree.
+ *
+ * @author Sebastian Björkqvist
+ */
+public final class SearchPreset {
+
+    /**
+     * The name of the stage of ParityFilter.
+     */
+    public static final String PARITY = "parity";
+
+    /**
+     * The name of the stage of RootFilter.
+     */
+    public static final String ROOTS = "roots";
+
+    /**
+     * The name of the stage of SquareFreeFilter.
+     */
+    public static final String SQUARE_FREE = "squarefree";
+
+    /**
+     * The name of the stage of SmallFactorFilter.
+     */
+    public static final String SMALL_FACTORS = "smallfactors";
+
+    /**
+     * The ratio of zero coefficients of the sparse candidates.
+     */
+    public static final double RATIO_OF_ZEROS = 0.7;
+
+    private static final int RANDOM = 0;
+    private static final int SPARSE = 1;
+    private static final int SIEVE = 2;
+    private static final int WALK = 3;
+
+    public static final SearchPreset NAIVE = new SearchPreset("naive",
+            "Generates evenly distributed polynomials and inserts them directly into the irreducibility test.",
+            RANDOM, false, new String[0], false, false);
+
+    public static final SearchPreset SPARSE_POLYNOMIALS = new SearchPreset("sparse",
+            "Generates shorter polynomials (more zero coefficients).",
+            SPARSE, false, new String[0], false, false);
+
+    public static final SearchPreset SMART_CHAR_2 = new SearchPreset("smartchar2",
+            "If the characteristic is 2, performs a simple and very quick test to ensure that "
+            + "the generated polynomial never has a root.",
+            RANDOM, true, new String[0], false, false);
+
+    public static final SearchPreset CHECK_ROOTS = new SearchPreset("checkroots",
+            "Checks if the generated polynomial has a root before using the irreducibility test.",
+            RANDOM, false, new String[]{ROOTS}, false, false);
+
+    public static final SearchPreset SPARSE_SMART_CHAR_2 = new SearchPreset("sparse_smartchar2",
+            "Combination of sparse and smartchar2.",
+            SPARSE, true, new String[0], false, false);
+
+    public static final SearchPreset SPARSE_CHECK_ROOTS = new SearchPreset("sparse_checkroots",
+            "Combination of sparse and checkroots.",
+            SPARSE, false, new String[]{ROOTS}, false, false);
+
+    public static final SearchPreset SPARSE_SMART_CHAR_2_CHECK_ROOTS = new SearchPreset(
+            "sparse_smartchar2_checkroots",
+            "Combination of sparse, smartchar2 and checkroots. This is sensible mainly if the input "
+            + "contains both characteristic 2 and other characteristics.",
+            SPARSE, true, new String[]{ROOTS}, false, false);
+
+    public static final SearchPreset DEFAULT = new SearchPreset("default",
+            "Constructs the polynomial when it has a known form, and otherwise sieves the candidates "
+            + "so that they have no factors of small degree.",
+            SIEVE, false, new String[]{ROOTS, SMALL_FACTORS}, true, true);
+
+    public static final SearchPreset CANDIDATE_WALK = new SearchPreset("walk",
+            "Changes one coefficient at a time, keeping the roots and the factors of small degree "
+            + "up to date.",
+            WALK, false, new String[]{ROOTS}, false, false);
+
+    public static final SearchPreset ALL_FILTERS = new SearchPreset("filters",
+            "Gives evenly distributed polynomials to every filter in turn. The counters of the "
+            + "filters are printed to the standard error.",
+            RANDOM, false, new String[]{PARITY, ROOTS, SQUARE_FREE, SMALL_FACTORS}, false, false);
+
+    private static final SearchPreset[] PRESETS = {NAIVE, SPARSE_POLYNOMIALS, CHECK_ROOTS, SPARSE_CHECK_ROOTS,
+        SMART_CHAR_2, SPARSE_SMART_CHAR_2, SPARSE_SMART_CHAR_2_CHECK_ROOTS, DEFAULT, CANDIDATE_WALK, ALL_FILTERS};
+
+    private final String name;
+    private final String description;
+    private final int generator;
+    private final boolean smartChar2Generation;
+    private final String[] filters;
+    private final boolean useConstructions;
+    private final boolean useBinaryBatches;
+
+    private SearchPreset(String name, String description, int generator, boolean smartChar2Generation,
+            String[] filters, boolean useConstructions, boolean useBinaryBatches) {
+        this.name = name;
+        this.description = description;
+        this.generator = generator;
+        this.smartChar2Generation = smartChar2Generation;
+        this.filters = filters;
+        this.useConstructions = useConstructions;
+        this.useBinaryBatches = useBinaryBatches;
+    }
+
+    /**
+     * Returns the preset with the given name.
+     *
+     * @param name The name of the preset, such as "checkroots".
+     * @return The preset, or null if there is no preset with the name.
+     */
+    public static SearchPreset forName(String name) {
+        for (SearchPreset preset : PRESETS) {
+            if (preset.name.equals(name)) {
+                return preset;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns all the presets.
+     *
+     * @return A new array of the presets.
+     */
+    public static SearchPreset[] getPresets() {
+        return PRESETS.clone();
+    }
+
+    /**
+     * Creates a pipeline for the candidates of the given characteristic and
+     * degree.
+     *
+     * The sieve and the walk remove the roots and the factors of small
+     * degree themselves, so their pipelines have no filters. If they can't
+     * be used for the degree, evenly distributed candidates are given to
+     * the filters instead. Except in the preset filters, the small factor
+     * filter is left out for a BenOrEngine, which itself stops at the first
+     * factor of a small degree. The root filter is left out of the
+     * smartchar2 presets in characteristic 2, since their candidates have no
+     * roots there.
+     *
+     * @param characteristic A prime p.
+     * @param degree The degree n of the candidates.
+     * @param engine The irreducibility test at the end of the pipeline.
+     * @param random The source of the candidates.
+     * @return The pipeline.
+     * @throws IllegalArgumentException if the engine or random is null, or
+     * the characteristic or the degree isn't valid.
+     */
+    public SearchPipeline createPipeline(int characteristic, int degree, IIrreducibilityEngine engine,
+            Random random) {
+        if (generator == SIEVE && degree > 1 && PolynomialSieve.chooseLowDegree(characteristic, degree) > 0) {
+            return new SearchPipeline(new PolynomialSieve(characteristic, degree, random), engine);
+        }
+        if (generator == WALK && degree > 1 && CandidateWalk.chooseMaximumFactorDegree(characteristic, degree) > 0) {
+            return new SearchPipeline(new CandidateWalk(characteristic, degree, random), engine);
+        }
+
+        ICandidateGenerator candidates = new RandomCandidateGenerator(characteristic, degree, RATIO_OF_ZEROS,
+                generator == SPARSE, smartChar2Generation, random);
+        SearchPipeline pipeline = new SearchPipeline(candidates, engine);
+
+        for (String filter : filters) {
+            switch (filter) {
+                case PARITY:
+                    pipeline.addFilter(PARITY, new ParityFilter());
+                    break;
+                case ROOTS:
+                    // The candidates of smartchar2 have no roots in
+                    // characteristic 2.
+                    if (!smartChar2Generation || characteristic != 2) {
+                        pipeline.addFilter(ROOTS, new RootFilter());
+                    }
+                    break;
+                case SQUARE_FREE:
+                    pipeline.addFilter(SQUARE_FREE, new SquareFreeFilter());
+                    break;
+                case SMALL_FACTORS:
+                    int maximumFactorDegree = SmallFactorFilter.chooseMaximumFactorDegree(characteristic, degree);
+                    if (maximumFactorDegree >= 2 && (this == ALL_FILTERS || !(engine instanceof BenOrEngine))) {
+                        pipeline.addFilter(SMALL_FACTORS,
+                                SmallFactorFilter.getFilter(characteristic, maximumFactorDegree));
+                    }
+                    break;
+            }
+        }
+        return pipeline;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Checks if the polynomials of known forms and the composed products
+     * may be used instead of a search.
+     *
+     * @return true if the constructions may be used.
+     */
+    public boolean usesConstructions() {
+        return useConstructions;
+    }
+
+    /**
+     * Checks if the candidates of characteristic 2 may be generated and
+     * tested 64 at a time instead of using the pipeline.
+     *
+     * @return true if the batches may be used.
+     */
+    public boolean usesBinaryBatches() {
+        return useBinaryBatches;
+    }
+
+    /**
+     * Checks if the preset has a filter.
+     *
+     * @param filter The name of the stage, such as ROOTS.
+     * @return true if the pipelines of the preset may have the filter.
+     */
+    public boolean hasFilter(String filter) {
+        for (String presetFilter : filters) {
+            if (presetFilter.equals(filter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,525 @@
+package polynomial.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import math.MathUtil;
+import polynomial.BinaryPolynomialUtil;
+import polynomial.DenseGcdUtil;
+import polynomial.DensePolynomialUtil;
+import polynomial.IPolynomial;
+
+/**
+ * Rejects polynomials that have an irreducible factor of a small degree.
+ *
+ * The filter keeps the product P_k of all monic irreducible polynomials of
+ * degree at most k over F_p. A polynomial f of degree larger than k has a
+ * factor of degree at most k if and only if gcd(f, P_k mod f) != 1, so a
+ * single remainder and a single gcd replace the first k steps of an
+ * irreducibility test. A random polynomial has no factor of degree at most
+ * k with a probability of only about 1/k.
+ *
+ * The product of the irreducible polynomials of degree d is
+ * x^(p^d) - x divided by those of the smaller degrees dividing d, which by
+ * the Möbius inversion is the product of the binomials x^(p^e - 1) - 1 to
+ * the powers mu(d/e) over the divisors e of d. It is found with sparse
+ * multiplications and exact divisions, and the products of the degrees
+ * 1...k are combined with a product tree.
+ *
+ * The degree of P_k is about p^k, and reducing it modulo f takes O(p^k * n)
+ * operations for f of degree n, so k should be chosen with the degree of the
+ * candidates in mind. See chooseMaximumFactorDegree.
+ *
+ * The filters are cached, so the products are calculated only once per
+ * characteristic and k. They may also be kept in a memory-mapped file, which
+ * can be shared by several processes.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class SmallFactorFilter implements ICandidateFilter {
+
+    /**
+     * The largest supported value of k.
+     */
+    public static final int MAXIMUM_FACTOR_DEGREE = 16;
+
+    /**
+     * The largest supported degree of the product P_k.
+     */
+    public static final int MAXIMUM_PRODUCT_DEGREE = 1 << 22;
+
+    /**
+     * The degree of P_k chosen by chooseMaximumFactorDegree is at most this
+     * many times the degree of the candidates.
+     */
+    static final int PRODUCT_DEGREE_PER_CANDIDATE_DEGREE = 2;
+
+    /*
+     The first int of a cache file.
+     */
+    private static final int MAGIC = 0x50726f64;
+    private static final int HEADER_LENGTH = 4;
+
+    private static SmallFactorFilter[] cache = new SmallFactorFilter[4];
+    private static int cacheSize;
+
+    private final int characteristic;
+    private final int maximumFactorDegree;
+    private final int productDegree;
+    /*
+     The coefficients of P_k, either in an array or in a mapped file.
+     */
+    private final IntBuffer product;
+    /*
+     P_k packed into words in characteristic 2.
+     */
+    private final long[] packedProduct;
+
+    private SmallFactorFilter(int characteristic, int maximumFactorDegree, IntBuffer product) {
+        this.characteristic = characteristic;
+        this.maximumFactorDegree = maximumFactorDegree;
+        this.productDegree = product.limit() - 1;
+        this.product = product;
+        if (characteristic == 2) {
+            int[] coefficients = new int[product.limit()];
+            product.duplicate().get(coefficients);
+            this.packedProduct = BinaryPolynomialUtil.pack(coefficients);
+        } else {
+            this.packedProduct = null;
+        }
+    }
+
+    /**
+     * Returns the filter for the factors of degree at most k.
+     *
+     * The product is calculated when the filter is first needed and the
+     * filter is cached.
+     *
+     * @param characteristic A prime p.
+     * @param maximumFactorDegree The degree k, at least 1.
+     * @return The filter.
+     * @throws IllegalArgumentException if the characteristic is not prime.
+     * @throws IllegalArgumentException if k is not positive or if the degree
+     * of P_k is larger than MAXIMUM_PRODUCT_DEGREE.
+     */
+    public static synchronized SmallFactorFilter getFilter(int characteristic, int maximumFactorDegree) {
+        checkParameters(characteristic, maximumFactorDegree);
+        SmallFactorFilter filter = findCachedFilter(characteristic, maximumFactorDegree);
+        if (filter == null) {
+            filter = new SmallFactorFilter(characteristic, maximumFactorDegree,
+                    IntBuffer.wrap(calculateProduct(characteristic, maximumFactorDegree)));
+            addToCache(filter);
+        }
+        return filter;
+    }
+
+    /**
+     * Returns the filter for the factors of degree at most k, keeping the
+     * product in the given file.
+     *
+     * If the file already contains the product, it is mapped into memory
+     * and used without calculating anything. Otherwise the product is
+     * calculated, written into a new file in the same directory and renamed
+     * over the given file. The file is never changed in place, so other
+     * processes that have mapped an earlier product from it may keep using
+     * it.
+     *
+     * @param characteristic A prime p.
+     * @param maximumFactorDegree The degree k, at least 1.
+     * @param file The file of the product.
+     * @return The filter.
+     * @throws IOException if the file can't be read or written, or the new
+     * file can't be renamed over it atomically.
+     * @throws IllegalArgumentException if the file is null.
+     * @throws IllegalArgumentException if the characteristic is not prime.
+     * @throws IllegalArgumentException if k is not positive or if the degree
+     * of P_k is larger than MAXIMUM_PRODUCT_DEGREE.
+     */
+    public static synchronized SmallFactorFilter getFilter(int characteristic, int maximumFactorDegree,
+            File file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("The given file is null!");
+        }
+        checkParameters(characteristic, maximumFactorDegree);
+        SmallFactorFilter filter = findCachedFilter(characteristic, maximumFactorDegree);
+        if (filter != null) {
+            return filter;
+        }
+
+        int length = (int) getProductDegree(characteristic, maximumFactorDegree) + 1;
+        long size = 4L * (HEADER_LENGTH + length);
+
+        MappedByteBuffer buffer = null;
+        if (file.exists()) {
+            buffer = mapReadOnly(file.toPath(), size);
+            if (buffer != null && !hasHeader(buffer, characteristic, maximumFactorDegree, length)) {
+                buffer = null;
+            }
+        }
+        if (buffer == null) {
+            buffer = writeProduct(file, characteristic, maximumFactorDegree, length, size);
+        }
+
+        buffer.position(4 * HEADER_LENGTH);
+        filter = new SmallFactorFilter(characteristic, maximumFactorDegree, buffer.asIntBuffer());
+        addToCache(filter);
+        return filter;
+    }
+
+    /**
+     * Chooses k for candidates of the given degree.
+     *
+     * Reducing P_k modulo a candidate of degree n costs about as much as
+     * deg(P_k) / n multiplications modulo the candidate, so the largest k is
+     * chosen for which the degree of P_k is at most a small multiple of n.
+     *
+     * @param characteristic A prime p.
+     * @param candidateDegree The degree n of the candidates.
+     * @return The degree k, or 0 if even the product x^p - x of the linear
+     * factors is too large.
+     */
+    public static int chooseMaximumFactorDegree(int characteristic, int candidateDegree) {
+        long limit = Math.min(MAXIMUM_PRODUCT_DEGREE,
+                (long) PRODUCT_DEGREE_PER_CANDIDATE_DEGREE * candidateDegree);
+        int degree = 0;
+        while (degree < MAXIMUM_FACTOR_DEGREE && 2 * (degree + 1) <= candidateDegree
+                && getProductDegree(characteristic, degree + 1) <= limit) {
+            degree++;
+        }
+        return degree;
+    }
+
+    /**
+     * Returns the degree of P_k, the sum of d * N_d over d = 1...k, where
+     * N_d is the number of monic irreducible polynomials of degree d.
+     *
+     * @param characteristic A prime p.
+     * @param maximumFactorDegree The degree k.
+     * @return The degree, or Long.MAX_VALUE if it is larger than
+     * MAXIMUM_PRODUCT_DEGREE.
+     */
+    public static long getProductDegree(int characteristic, int maximumFactorDegree) {
+        long sum = 0;
+        for (int d = 1; d <= maximumFactorDegree; d++) {
+            // d * N_d is the sum of mu(d/e) * p^e over the divisors e of d.
+            for (int e = 1; e <= d; e++) {
+                if (d % e != 0) {
+                    continue;
+                }
+                long power = power(characteristic, e);
+                if (power > MAXIMUM_PRODUCT_DEGREE) {
+                    return Long.MAX_VALUE;
+                }
+                sum += mobius(d / e) * power;
+            }
+            if (sum > MAXIMUM_PRODUCT_DEGREE) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Rejects the candidates with an irreducible factor of degree at most k,
+     * with hasSmallFactor.
+     *
+     * @param candidate A polynomial of the characteristic of the filter.
+     * @return true if the candidate has a small factor.
+     */
+    @Override
+    public boolean rejects(IPolynomial candidate) {
+        return hasSmallFactor(candidate);
+    }
+
+    /**
+     * Checks if a polynomial has an irreducible factor of degree at most k.
+     *
+     * Polynomials of degree at most k are never rejected, since they may be
+     * irreducible themselves.
+     *
+     * @param polynomial
+     * @return true if the degree of the polynomial is larger than k and it
+     * has a factor of degree at most k.
+     * @throws IllegalArgumentException if the polynomial is null or its
+     * characteristic differs from the one of the filter.
+     */
+    public boolean hasSmallFactor(IPolynomial polynomial) {
+        if (polynomial == null) {
+            throw new IllegalArgumentException("The given polynomial is null!");
+        }
+        if (polynomial.getCharacteristic() != characteristic) {
+            throw new IllegalArgumentException("The characteristic of the polynomial is "
+                    + polynomial.getCharacteristic() + " instead of " + characteristic + ".");
+        }
+        if (polynomial.getDegree() <= maximumFactorDegree) {
+            return false;
+        }
+
+        int[] coefficients = DensePolynomialUtil.trim(polynomial.getCoefficients());
+        if (characteristic == 2) {
+            long[] modulus = BinaryPolynomialUtil.pack(coefficients);
+            long[] remainder = packedProduct.clone();
+            BinaryPolynomialUtil.reduceModulo(remainder, modulus);
+            return !BinaryPolynomialUtil.isCoprime(modulus, remainder);
+        }
+
+        // The remainder doesn't change the product, so an array is used as
+        // it is and only a mapped product is copied.
+        int[] productCoefficients;
+        if (product.hasArray()) {
+            productCoefficients = product.array();
+        } else {
+            productCoefficients = new int[productDegree + 1];
+            product.duplicate().get(productCoefficients);
+        }
+        int[] remainder = DensePolynomialUtil.remainder(productCoefficients, coefficients, characteristic);
+        return !DenseGcdUtil.isCoprime(coefficients, remainder, characteristic);
+    }
+
+    /**
+     * Returns the characteristic of the filter.
+     *
+     * @return The characteristic p.
+     */
+    public int getCharacteristic() {
+        return characteristic;
+    }
+
+    /**
+     * Returns the largest degree of the factors found by the filter.
+     *
+     * @return The degree k.
+     */
+    public int getMaximumFactorDegree() {
+        return maximumFactorDegree;
+    }
+
+    /**
+     * Returns the coefficients of P_k.
+     *
+     * @return The product of all monic irreducible polynomials of degree at
+     * most k.
+     */
+    public int[] getProduct() {
+        int[] coefficients = new int[productDegree + 1];
+        product.duplicate().get(coefficients);
+        return coefficients;
+    }
+
+    /**
+     * Calculates the product of all monic irreducible polynomials of degree
+     * at most k.
+     *
+     * @param characteristic
+     * @param maximumFactorDegree
+     * @return P_k
+     */
+    static int[] calculateProduct(int characteristic, int maximumFactorDegree) {
+        int[][] products = new int[maximumFactorDegree][];
+        for (int d = 1; d <= maximumFactorDegree; d++) {
+            products[d - 1] = calculateProductOfDegree(characteristic, d);
+        }
+        return multiplyTree(products, 0, products.length, characteristic);
+    }
+
+    /**
+     * Calculates the product of all monic irreducible polynomials of degree
+     * d.
+     *
+     * @param characteristic
+     * @param degree The degree d, at least 1.
+     * @return The product.
+     */
+    static int[] calculateProductOfDegree(int characteristic, int degree) {
+        if (degree == 1) {
+            // x^p - x
+            int[] result = new int[characteristic + 1];
+            result[1] = characteristic - 1;
+            result[characteristic] = 1;
+            return result;
+        }
+
+        // The factors x of x^(p^e) - x cancel, since the sum of mu(d/e) over
+        // the divisors e of d is 0 for d > 1. The binomials with mu = 1 are
+        // multiplied first, so that all the divisions are exact.
+        int[] result = {1};
+        for (int e = 1; e < degree; e++) {
+            if (degree % e == 0 && mobius(degree / e) == 1) {
+                result = multiplyByBinomial(result, (int) power(characteristic, e) - 1, characteristic);
+            }
+        }
+        result = multiplyByBinomial(result, (int) power(characteristic, degree) - 1, characteristic);
+        for (int e = 1; e < degree; e++) {
+            if (degree % e == 0 && mobius(degree / e) == -1) {
+                result = divideByBinomial(result, (int) power(characteristic, e) - 1, characteristic);
+            }
+        }
+        return result;
+    }
+
+    /*
+     Multiplies the polynomials products[start...end-1] by splitting the
+     range into halves, so that the factors of every multiplication have
+     about the same degree.
+     */
+    private static int[] multiplyTree(int[][] products, int start, int end, int characteristic) {
+        if (end - start == 1) {
+            return products[start];
+        }
+        int middle = (start + end) >>> 1;
+        return DensePolynomialUtil.multiply(multiplyTree(products, start, middle, characteristic),
+                multiplyTree(products, middle, end, characteristic), characteristic);
+    }
+
+    /*
+     Returns a * (x^t - 1).
+     */
+    private static int[] multiplyByBinomial(int[] a, int t, int characteristic) {
+        int[] result = new int[a.length + t];
+        for (int i = 0; i < a.length; i++) {
+            result[i + t] = a[i];
+        }
+        for (int i = 0; i < a.length; i++) {
+            result[i] = (result[i] + characteristic - a[i]) % characteristic;
+        }
+        return result;
+    }
+
+    /*
+     Returns a / (x^t - 1), which must be exact. Writing a = c * x^t - c
+     gives c_i = a_(i+t) + c_(i+t) from the top down.
+     */
+    private static int[] divideByBinomial(int[] a, int t, int characteristic) {
+        int[] result = new int[a.length - t];
+        for (int i = result.length - 1; i >= 0; i--) {
+            int value = a[i + t];
+            if (i + t < result.length) {
+                value = (value + result[i + t]) % characteristic;
+            }
+            result[i] = value;
+        }
+        return result;
+    }
+
+    /*
+     Returns p^e, or a number larger than MAXIMUM_PRODUCT_DEGREE if it is
+     larger than that.
+     */
+    private static long power(int characteristic, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent && result <= MAXIMUM_PRODUCT_DEGREE; i++) {
+            result *= characteristic;
+        }
+        return result;
+    }
+
+    /*
+     The Möbius function: 0 if n has a square factor, otherwise -1 to the
+     power of the number of its prime factors.
+     */
+    private static int mobius(int n) {
+        int result = 1;
+        for (int prime = 2; prime * prime <= n; prime++) {
+            if (n % prime == 0) {
+                n /= prime;
+                if (n % prime == 0) {
+                    return 0;
+                }
+                result = -result;
+            }
+        }
+        if (n > 1) {
+            result = -result;
+        }
+        return result;
+    }
+
+    private static void checkParameters(int characteristic, int maximumFactorDegree) {
+        if (characteristic < 2 || !MathUtil.isPrime(characteristic)) {
+            throw new IllegalArgumentException("Characteristic " + characteristic + " is not a prime.");
+        }
+        if (maximumFactorDegree < 1 || maximumFactorDegree > MAXIMUM_FACTOR_DEGREE) {
+            throw new IllegalArgumentException("The degree " + maximumFactorDegree
+                    + " isn't in the range 1..." + MAXIMUM_FACTOR_DEGREE + ".");
+        }
+        if (getProductDegree(characteristic, maximumFactorDegree) > MAXIMUM_PRODUCT_DEGREE) {
+            throw new IllegalArgumentException("The product of the irreducible polynomials of degree at most "
+                    + maximumFactorDegree + " over Z_" + characteristic + " is too large.");
+        }
+    }
+
+    /*
+     Maps the file if it has the given size, and otherwise returns null.
+     */
+    private static MappedByteBuffer mapReadOnly(Path path, long size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() != size) {
+                return null;
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /*
+     Writes the header and P_k into a temporary file, maps it and renames it
+     over the file. The mapping stays valid after the rename.
+     */
+    private static MappedByteBuffer writeProduct(File file, int characteristic, int maximumFactorDegree,
+            int length, long size) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        File temporary = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            MappedByteBuffer buffer;
+            FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                IntBuffer contents = buffer.asIntBuffer();
+                contents.put(new int[]{MAGIC, characteristic, maximumFactorDegree, length});
+                contents.put(calculateProduct(characteristic, maximumFactorDegree));
+                buffer.force();
+            } finally {
+                channel.close();
+            }
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            return buffer;
+        } finally {
+            temporary.delete();
+        }
+    }
+
+    private static boolean hasHeader(MappedByteBuffer buffer, int characteristic, int maximumFactorDegree,
+            int length) {
+        IntBuffer header = buffer.asIntBuffer();
+        return header.get(0) == MAGIC && header.get(1) == characteristic
+                && header.get(2) == maximumFactorDegree && header.get(3) == length;
+    }
+
+    private static SmallFactorFilter findCachedFilter(int characteristic, int maximumFactorDegree) {
+        for (int i = 0; i < cacheSize; i++) {
+            if (cache[i].characteristic == characteristic && cache[i].maximumFactorDegree == maximumFactorDegree) {
+                return cache[i];
+            }
+        }
+        return null;
+    }
+
+    private static void addToCache(SmallFactorFilter filter) {
+        if (cacheSize == cache.length) {
+            SmallFactorFilter[] newCache = new SmallFactorFilter[2 * cache.length];
+            System.arraycopy(cache, 0, newCache, 0, cacheSize);
+            cache = newCache;
+        }
+        cache[cacheSize++] = filter;
+    }
+}
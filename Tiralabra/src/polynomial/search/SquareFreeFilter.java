@@ -0,0 +1,41 @@
+package polynomial.search;
+
+import polynomial.DenseGcdUtil;
+import polynomial.DensePolynomialUtil;
+import polynomial.IPolynomial;
+
+/**
+ * Rejects polynomials that aren't square-free.
+ *
+ * An irreducible polynomial f has no repeated factors, so gcd(f, f') = 1,
+ * and its derivative f' isn't zero. Only a small part of the random
+ * polynomials have a repeated factor, about 1/p of them, and the gcd takes
+ * O(n^2) operations, so the filter pays off mainly in small
+ * characteristics.
+ *
+ * @author Sebastian Björkqvist
+ */
+public class SquareFreeFilter implements ICandidateFilter {
+
+    /**
+     * Rejects the candidates with a repeated factor.
+     *
+     * @param candidate A polynomial of positive characteristic and degree.
+     * @return true if the derivative of the candidate is zero or has a
+     * common factor with the candidate.
+     * @throws IllegalArgumentException if the candidate is null.
+     */
+    @Override
+    public boolean rejects(IPolynomial candidate) {
+        if (candidate == null) {
+            throw new IllegalArgumentException("The given polynomial is null!");
+        }
+        int characteristic = candidate.getCharacteristic();
+        int[] coefficients = candidate.getCoefficients();
+        int[] derivative = DensePolynomialUtil.derivative(coefficients, characteristic);
+        if (derivative.length == 0) {
+            return true;
+        }
+        return DenseGcdUtil.gcd(coefficients, derivative, characteristic).length > 1;
+    }
+}
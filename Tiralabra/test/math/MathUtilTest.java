@@ -191,6 +191,13 @@ public class MathUtilTest {
         assertEquals(true, MathUtil.isPrime(11));
     }
 
+    @Test
+    public void testIsPrimeLargest() {
+        assertEquals(true, MathUtil.isPrime(Integer.MAX_VALUE));
+        assertEquals(false, MathUtil.isPrime(Integer.MAX_VALUE - 2));
+        assertEquals(false, MathUtil.isPrime(46337 * 46339));
+    }
+
     @Test
     public void testIsPrime15() {
         assertEquals(false, MathUtil.isPrime(15));
@@ -271,6 +278,44 @@ public class MathUtilTest {
         assertEquals(-2, MathUtil.getInverseModP(-4, 7));
     }
 
+    @Test
+    public void testGetInverseAgreesWithExtendedEuclideanAlgorithm() {
+        for (int n = -30; n <= 30; n++) {
+            for (int p = 1; p <= 30; p++) {
+                ExtendedEuclideanResult result = MathUtil.extendedEuclideanAlgorithm(n, p);
+                int expected = 0;
+                if (MathUtil.abs(result.gcd) == 1) {
+                    expected = result.gcd * result.x;
+                }
+                assertEquals(expected, MathUtil.getInverseModP(n, p));
+            }
+        }
+    }
+
+    @Test
+    public void testGetInversesModP() {
+        int p = 101;
+        int[] numbers = new int[]{1, 2, 50, 100, -3, 205, 77};
+
+        int[] inverses = MathUtil.getInversesModP(numbers, p);
+
+        assertEquals(numbers.length, inverses.length);
+        for (int i = 0; i < numbers.length; i++) {
+            assertTrue(inverses[i] > 0 && inverses[i] < p);
+            assertEquals(1, ((long) numbers[i] * inverses[i] % p + p) % p);
+        }
+    }
+
+    @Test
+    public void testGetInversesModPEmpty() {
+        assertEquals(0, MathUtil.getInversesModP(new int[0], 7).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetInversesModPWithZero() {
+        MathUtil.getInversesModP(new int[]{3, 14, 2}, 7);
+    }
+
     // Testing log2 method:
     @Test(expected = IllegalArgumentException.class)
     public void log2ExpectedExceptionTest() {
@@ -396,6 +441,19 @@ public class MathUtilTest {
     @Test
     public void testPowModulo8() {
         assertEquals(9855, MathUtil.powModulo(165, 4485, 32799));
+    }
+
+    @Test
+    public void testPowModuloLargeModulo() {
+        // 2^31 - 1 is prime, so 3^(2^31 - 2) = 1 by Fermat's little theorem.
+        assertEquals(1, MathUtil.powModulo(3, Integer.MAX_VALUE - 1, Integer.MAX_VALUE));
+        assertEquals(Integer.MAX_VALUE - 1, MathUtil.powModulo(-1, 12345, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testPowModuloExponentZero() {
+        assertEquals(1, MathUtil.powModulo(0, 0, 7));
+        assertEquals(0, MathUtil.powModulo(5, 3, 1));
     }    
     
     @Test
@@ -0,0 +1,131 @@
+package polynomial;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class BinaryPolynomialUtilTest {
+
+    public BinaryPolynomialUtilTest() {
+    }
+
+    @Test
+    public void testPackAndUnpack() {
+        int[] coefficients = new int[130];
+        coefficients[0] = 1;
+        coefficients[63] = 1;
+        coefficients[64] = 1;
+        coefficients[129] = 1;
+
+        long[] words = BinaryPolynomialUtil.pack(coefficients);
+
+        assertEquals(3, words.length);
+        assertEquals(129, BinaryPolynomialUtil.getDegree(words));
+        assertEquals(0, BinaryPolynomialUtil.getLowestDegree(words));
+        assertArrayEquals(coefficients, BinaryPolynomialUtil.unpack(words));
+    }
+
+    @Test
+    public void testSquare() {
+        Random random = new Random(2);
+        int[] a = createRandomArray(200, random);
+
+        long[] square = BinaryPolynomialUtil.square(BinaryPolynomialUtil.pack(a));
+
+        assertArrayEquals(DensePolynomialUtil.multiply(a, a, 2), BinaryPolynomialUtil.unpack(square));
+    }
+
+    @Test
+    public void testGcdWithZero() {
+        long[] a = BinaryPolynomialUtil.pack(new int[]{1, 1, 0, 1});
+
+        assertArrayEquals(a, BinaryPolynomialUtil.gcd(a, new long[0]));
+        assertArrayEquals(a, BinaryPolynomialUtil.gcd(new long[]{0, 0}, a));
+        assertArrayEquals(new long[0], BinaryPolynomialUtil.gcd(new long[0], new long[]{0}));
+    }
+
+    @Test
+    public void testGcdOfEqualPolynomials() {
+        long[] a = BinaryPolynomialUtil.pack(new int[]{1, 1, 0, 1});
+
+        assertArrayEquals(a, BinaryPolynomialUtil.gcd(a, a.clone()));
+    }
+
+    @Test
+    public void testGcdWithCommonFactorsOfX() {
+        // x^3 * (x + 1) and x^70 * (x + 1)^2 have the gcd x^3 * (x + 1).
+        int[] a = new int[]{0, 0, 0, 1, 1};
+        int[] b = new int[73];
+        b[70] = 1;
+        b[72] = 1;
+
+        long[] gcd = BinaryPolynomialUtil.gcd(BinaryPolynomialUtil.pack(a), BinaryPolynomialUtil.pack(b));
+
+        assertArrayEquals(a, BinaryPolynomialUtil.unpack(gcd));
+    }
+
+    @Test
+    public void testGcdAgainstEuclideanAlgorithm() {
+        Random random = new Random(3);
+        for (int i = 0; i < 50; i++) {
+            int[] factor = createRandomArray(random.nextInt(70), random);
+            int[] a = DensePolynomialUtil.multiply(createRandomArray(random.nextInt(300), random), factor, 2);
+            int[] b = DensePolynomialUtil.multiply(createRandomArray(random.nextInt(300), random), factor, 2);
+
+            int[] expected = DenseGcdUtil.euclideanGcd(a, b, 2);
+            long[] packedA = BinaryPolynomialUtil.pack(a);
+            long[] packedB = BinaryPolynomialUtil.pack(b);
+
+            assertArrayEquals(expected, BinaryPolynomialUtil.unpack(BinaryPolynomialUtil.gcd(packedA, packedB)));
+            assertEquals(expected.length == 1, BinaryPolynomialUtil.isCoprime(packedA, packedB));
+        }
+    }
+
+    @Test
+    public void testIsCoprime() {
+        // x^2 + x + 1 and x^3 + x + 1 are coprime, x^2 + x and x are not.
+        assertTrue(BinaryPolynomialUtil.isCoprime(BinaryPolynomialUtil.pack(new int[]{1, 1, 1}),
+                BinaryPolynomialUtil.pack(new int[]{1, 1, 0, 1})));
+        assertFalse(BinaryPolynomialUtil.isCoprime(BinaryPolynomialUtil.pack(new int[]{0, 1, 1}),
+                BinaryPolynomialUtil.pack(new int[]{0, 1})));
+        assertFalse(BinaryPolynomialUtil.isCoprime(BinaryPolynomialUtil.pack(new int[]{1, 1}),
+                new long[0]));
+    }
+
+    @Test
+    public void testMultiplyAndReduceModulo() {
+        Random random = new Random(31);
+
+        for (int i = 0; i < 10; i++) {
+            int[] a = createRandomArray(random.nextInt(200), random);
+            int[] b = createRandomArray(random.nextInt(200), random);
+            int[] f = createRandomArray(1 + random.nextInt(150), random);
+
+            long[] product = BinaryPolynomialUtil.multiply(BinaryPolynomialUtil.pack(a), BinaryPolynomialUtil.pack(b));
+            int[] expectedProduct = DensePolynomialUtil.multiply(a, b, 2);
+            assertArrayEquals(expectedProduct, BinaryPolynomialUtil.unpack(product));
+
+            BinaryPolynomialUtil.reduceModulo(product, BinaryPolynomialUtil.pack(f));
+            assertArrayEquals(DensePolynomialUtil.remainder(expectedProduct, f, 2),
+                    BinaryPolynomialUtil.unpack(product));
+        }
+    }
+
+    @Test
+    public void testMultiplyByZero() {
+        assertEquals(0, BinaryPolynomialUtil.multiply(new long[]{5}, new long[]{0, 0}).length);
+    }
+
+    private int[] createRandomArray(int degree, Random random) {
+        int[] array = new int[degree + 1];
+        for (int i = 0; i < degree; i++) {
+            array[i] = random.nextInt(2);
+        }
+        array[degree] = 1;
+        return array;
+    }
+}
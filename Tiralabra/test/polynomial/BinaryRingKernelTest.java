@@ -0,0 +1,84 @@
+package polynomial;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.impl.array.ArrayPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class BinaryRingKernelTest {
+
+    public BinaryRingKernelTest() {
+    }
+
+    @Test
+    public void testAgreesWithDenseKernel() {
+        Random random = new Random(23);
+        IPolynomial[] moduli = new IPolynomial[]{
+            createRandomPolynomial(70, random),
+            createRandomPolynomial(200, random),
+            createTrinomial(200, 3),
+            createTrinomial(63, 1)
+        };
+
+        for (IPolynomial modulus : moduli) {
+            BinaryRingKernel binary = new BinaryRingKernel(modulus);
+            DenseRingKernel dense = new DenseRingKernel(modulus);
+
+            for (int exponent = 0; exponent < 300; exponent += 37) {
+                assertArrayEquals(dense.powerOfX(exponent), unpack(binary.powerOfX(exponent)));
+            }
+
+            int[] a = dense.powerOfX(1000);
+            int[] b = dense.powerOfX(777);
+            long[] packedA = binary.powerOfX(1000);
+            long[] packedB = binary.powerOfX(777);
+
+            assertArrayEquals(dense.multiply(a, b), unpack(binary.multiply(packedA, packedB)));
+            assertArrayEquals(dense.square(a), unpack(binary.square(packedA)));
+            assertArrayEquals(dense.frobenius(a), unpack(binary.frobenius(packedA)));
+            assertArrayEquals(dense.subtractX(a), unpack(binary.subtractX(packedA)));
+            assertEquals(dense.isCoprimeWithModulus(a), binary.isCoprimeWithModulus(packedA));
+        }
+    }
+
+    @Test
+    public void testIsZero() {
+        BinaryRingKernel kernel = new BinaryRingKernel(createTrinomial(5, 2));
+
+        assertTrue(kernel.isZero(kernel.subtractX(kernel.powerOfX(1))));
+        assertFalse(kernel.isZero(kernel.powerOfX(1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongCharacteristic() {
+        IPolynomial modulus = new ArrayPolynomial(3);
+        modulus.addTerm(1, 2);
+
+        new BinaryRingKernel(modulus);
+    }
+
+    private int[] unpack(long[] words) {
+        return BinaryPolynomialUtil.unpack(words);
+    }
+
+    private IPolynomial createTrinomial(int degree, int middle) {
+        IPolynomial polynomial = new ArrayPolynomial(2);
+        polynomial.addTerm(1, degree);
+        polynomial.addTerm(1, middle);
+        polynomial.addTerm(1, 0);
+        return polynomial;
+    }
+
+    private IPolynomial createRandomPolynomial(int degree, Random random) {
+        IPolynomial polynomial = new ArrayPolynomial(2);
+        polynomial.addTerm(1, degree);
+        for (int i = 0; i < degree; i++) {
+            polynomial.addTerm(random.nextInt(2), i);
+        }
+        return polynomial;
+    }
+}
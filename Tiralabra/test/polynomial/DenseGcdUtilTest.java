@@ -0,0 +1,188 @@
+package polynomial;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class DenseGcdUtilTest {
+
+    public DenseGcdUtilTest() {
+    }
+
+    @Test
+    public void testGcdWithZero() {
+        assertArrayEquals(new int[]{4, 1}, DenseGcdUtil.gcd(new int[]{1, 3}, new int[0], 11));
+        assertArrayEquals(new int[]{4, 1}, DenseGcdUtil.gcd(new int[0], new int[]{1, 3}, 11));
+        assertArrayEquals(new int[0], DenseGcdUtil.gcd(new int[0], new int[0], 11));
+    }
+
+    @Test
+    public void testGcdOfCoprimePolynomials() {
+        // x^2 + 1 and x + 1 are coprime over Z_3.
+        assertArrayEquals(new int[]{1}, DenseGcdUtil.gcd(new int[]{1, 0, 1}, new int[]{1, 1}, 3));
+    }
+
+    @Test
+    public void testGcdWithCommonFactor() {
+        checkGcdWithCommonFactor(7, 40, 300);
+    }
+
+    @Test
+    public void testGcdWithCommonFactorAboveThreshold() {
+        checkGcdWithCommonFactor(3, 100, DenseGcdUtil.HALF_GCD_THRESHOLD);
+    }
+
+    @Test
+    public void testHalfGcd() {
+        int[] characteristics = new int[]{2, 5, 46337};
+        for (int characteristic : characteristics) {
+            Random random = new Random(characteristic);
+            for (int degree = 300; degree < 1300; degree += 333) {
+                int[] a = createRandomArray(characteristic, degree, random);
+                int[] b = createRandomArray(characteristic, degree - 1 - random.nextInt(5), random);
+
+                int[][] reduced = DenseGcdUtil.apply(DenseGcdUtil.halfGcd(a, b, characteristic),
+                        a, b, characteristic);
+                int m = (degree + 1) / 2;
+
+                assertTrue(reduced[0].length - 1 >= m);
+                assertTrue(reduced[1].length - 1 < m);
+                assertArrayEquals(euclid(a, b, characteristic),
+                        euclid(reduced[0], reduced[1], characteristic));
+            }
+        }
+    }
+
+    @Test
+    public void testIsCoprime() {
+        int characteristic = 5;
+        Random random = new Random(5);
+        for (int i = 0; i < 30; i++) {
+            int[] a = createRandomArray(characteristic, random.nextInt(30), random);
+            int[] b = createRandomArray(characteristic, random.nextInt(30), random);
+
+            boolean expected = euclid(a, b, characteristic).length == 1;
+
+            assertEquals(expected, DenseGcdUtil.isCoprime(a, b, characteristic));
+            assertEquals(expected, DenseGcdUtil.isCoprime(b, a, characteristic));
+        }
+    }
+
+    @Test
+    public void testIsCoprimeWithZeroAndConstants() {
+        assertTrue(DenseGcdUtil.isCoprime(new int[]{3}, new int[0], 5));
+        assertTrue(DenseGcdUtil.isCoprime(new int[]{1, 1}, new int[]{2}, 5));
+        assertFalse(DenseGcdUtil.isCoprime(new int[]{1, 1}, new int[0], 5));
+        assertFalse(DenseGcdUtil.isCoprime(new int[0], new int[0], 5));
+    }
+
+    @Test
+    public void testIsCoprimeWithCommonFactor() {
+        // (x + 1)(x + 2) and (x + 1)(x^2 + 1) over Z_3.
+        int[] a = new int[]{2, 0, 1};
+        int[] b = new int[]{1, 1, 1, 1};
+        assertFalse(DenseGcdUtil.isCoprime(a, b, 3));
+    }
+
+    @Test
+    public void testExtendedGcd() {
+        int[] characteristics = new int[]{2, 7, 46337};
+        for (int characteristic : characteristics) {
+            Random random = new Random(characteristic);
+            for (int i = 0; i < 10; i++) {
+                int[] factor = createRandomArray(characteristic, random.nextInt(5), random);
+                int[] a = DensePolynomialUtil.multiply(
+                        createRandomArray(characteristic, random.nextInt(40), random), factor, characteristic);
+                int[] b = DensePolynomialUtil.multiply(
+                        createRandomArray(characteristic, random.nextInt(40), random), factor, characteristic);
+
+                int[][] result = DenseGcdUtil.extendedGcd(a, b, characteristic);
+
+                assertArrayEquals(euclid(a, b, characteristic), result[0]);
+                int[] combination = DensePolynomialUtil.add(
+                        DensePolynomialUtil.multiply(a, result[1], characteristic),
+                        DensePolynomialUtil.multiply(b, result[2], characteristic), characteristic);
+                assertArrayEquals(result[0], combination);
+            }
+        }
+    }
+
+    @Test
+    public void testExtendedGcdWithZero() {
+        int[][] result = DenseGcdUtil.extendedGcd(new int[0], new int[]{2, 3}, 5);
+
+        assertArrayEquals(new int[]{4, 1}, result[0]);
+        assertArrayEquals(new int[0], result[1]);
+        assertArrayEquals(new int[]{2}, result[2]);
+    }
+
+    @Test
+    public void testInverseModulo() {
+        int characteristic = 5;
+        // x^3 + x + 1 is irreducible over Z_5.
+        int[] f = new int[]{1, 1, 0, 1};
+        Random random = new Random(5);
+        for (int i = 0; i < 10; i++) {
+            int[] a = createRandomArray(characteristic, random.nextInt(10), random);
+
+            int[] inverse = DenseGcdUtil.inverseModulo(a, f, characteristic);
+
+            assertTrue(inverse.length < f.length);
+            assertArrayEquals(new int[]{1}, DensePolynomialUtil.remainder(
+                    DensePolynomialUtil.multiply(a, inverse, characteristic), f, characteristic));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testInverseModuloNotCoprime() {
+        // x + 1 divides x^2 - 1.
+        DenseGcdUtil.inverseModulo(new int[]{1, 1}, new int[]{4, 0, 1}, 5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInverseModuloConstantModulus() {
+        DenseGcdUtil.inverseModulo(new int[]{1, 1}, new int[]{3}, 5);
+    }
+
+    @Test
+    public void testMakeMonic() {
+        assertArrayEquals(new int[]{3, 1}, DenseGcdUtil.makeMonic(new int[]{1, 5}, 7));
+        assertArrayEquals(new int[0], DenseGcdUtil.makeMonic(new int[0], 7));
+    }
+
+    private void checkGcdWithCommonFactor(int characteristic, int degreeOfFactor, int degree) {
+        Random random = new Random(degree);
+        int[] factor = DenseGcdUtil.makeMonic(createRandomArray(characteristic, degreeOfFactor, random),
+                characteristic);
+        int[] a = createRandomArray(characteristic, degree - degreeOfFactor, random);
+        int[] b = createRandomArray(characteristic, degree - degreeOfFactor - 1, random);
+
+        int[] expected = DensePolynomialUtil.multiply(factor, euclid(a, b, characteristic), characteristic);
+        int[] gcd = DenseGcdUtil.gcd(DensePolynomialUtil.multiply(a, factor, characteristic),
+                DensePolynomialUtil.multiply(b, factor, characteristic), characteristic);
+
+        assertArrayEquals(expected, gcd);
+    }
+
+    private int[] euclid(int[] a, int[] b, int characteristic) {
+        while (b.length > 0) {
+            int[] remainder = DensePolynomialUtil.remainder(a, b, characteristic);
+            a = b;
+            b = remainder;
+        }
+        return DenseGcdUtil.makeMonic(a, characteristic);
+    }
+
+    private int[] createRandomArray(int characteristic, int degree, Random random) {
+        int[] array = new int[degree + 1];
+        for (int i = 0; i < degree; i++) {
+            array[i] = random.nextInt(characteristic);
+        }
+        array[degree] = random.nextInt(characteristic - 1) + 1;
+        return array;
+    }
+}
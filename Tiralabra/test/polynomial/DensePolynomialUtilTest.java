@@ -0,0 +1,239 @@
+package polynomial;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.impl.array.ArrayPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class DensePolynomialUtilTest {
+
+    public DensePolynomialUtilTest() {
+    }
+
+    @Test
+    public void testTrim() {
+        assertArrayEquals(new int[]{1, 0, 2}, DensePolynomialUtil.trim(new int[]{1, 0, 2, 0, 0}));
+        assertArrayEquals(new int[0], DensePolynomialUtil.trim(new int[]{0, 0}));
+    }
+
+    @Test
+    public void testAddAndSubtract() {
+        int[] a = new int[]{1, 2, 3};
+        int[] b = new int[]{4, 3, 3};
+
+        assertArrayEquals(new int[]{0, 0, 1}, DensePolynomialUtil.add(a, b, 5));
+        assertArrayEquals(new int[]{2, 4}, DensePolynomialUtil.subtract(a, b, 5));
+        assertArrayEquals(new int[0], DensePolynomialUtil.subtract(a, a, 5));
+    }
+
+    @Test
+    public void testDerivative() {
+        // 2 + 3x + x^3 + 4x^5 over Z_5: the derivative is 3 + 3x^2, since
+        // 5 * 4x^4 vanishes.
+        assertArrayEquals(new int[]{3, 0, 3}, DensePolynomialUtil.derivative(new int[]{2, 3, 0, 1, 0, 4}, 5));
+        assertArrayEquals(new int[0], DensePolynomialUtil.derivative(new int[]{1, 0, 0, 0, 0, 1}, 5));
+        assertArrayEquals(new int[0], DensePolynomialUtil.derivative(new int[]{4}, 5));
+    }
+
+    @Test
+    public void testMultiplyWithZero() {
+        assertArrayEquals(new int[0], DensePolynomialUtil.multiply(new int[]{1, 1}, new int[0], 3));
+    }
+
+    @Test
+    public void testMultiplySmall() {
+        // (x + 1)(x + 2) = x^2 + 3x + 2 = x^2 + 2 in Z_3
+        assertArrayEquals(new int[]{2, 0, 1}, DensePolynomialUtil.multiply(new int[]{1, 1}, new int[]{2, 1}, 3));
+    }
+
+    @Test
+    public void testMultiplyKaratsubaCharacteristic2() {
+        checkMultiplication(2, 300, 300);
+    }
+
+    @Test
+    public void testMultiplyKaratsubaOddLengths() {
+        checkMultiplication(7, 201, 157);
+    }
+
+    @Test
+    public void testMultiplyKaratsubaUnbalanced() {
+        checkMultiplication(3, 500, 60);
+    }
+
+    @Test
+    public void testMultiplyLargeCharacteristic() {
+        checkMultiplication(46337, 130, 120);
+    }
+
+    @Test
+    public void testMultiplyCharacteristicCloseToIntegerLimit() {
+        int characteristic = Integer.MAX_VALUE;
+        int[] a = new int[]{characteristic - 1, characteristic - 1};
+
+        // (-x - 1)^2 = x^2 + 2x + 1
+        assertArrayEquals(new int[]{1, 2, 1}, DensePolynomialUtil.multiply(a, a, characteristic));
+    }
+
+    @Test
+    public void testTruncate() {
+        assertArrayEquals(new int[]{1}, DensePolynomialUtil.truncate(new int[]{1, 0, 2}, 2));
+        assertArrayEquals(new int[]{1, 0, 2}, DensePolynomialUtil.truncate(new int[]{1, 0, 2}, 5));
+    }
+
+    @Test
+    public void testReverse() {
+        assertArrayEquals(new int[]{0, 2, 0, 1}, DensePolynomialUtil.reverse(new int[]{1, 0, 2}, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReverseTooSmallDegree() {
+        DensePolynomialUtil.reverse(new int[]{1, 0, 2}, 1);
+    }
+
+    @Test
+    public void testRemainder() {
+        int characteristic = 3;
+        Random random = new Random(3);
+        for (int i = 0; i < 20; i++) {
+            int[] a = createRandomArray(characteristic, random.nextInt(40), random);
+            int[] f = createRandomArray(characteristic, random.nextInt(15), random);
+
+            IPolynomial dividend = new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(a);
+            IPolynomial divisor = new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(f);
+
+            assertArrayEquals(dividend.divide(divisor).remainder.getCoefficients(),
+                    DensePolynomialUtil.remainder(a, f, characteristic));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemainderZeroDivisor() {
+        DensePolynomialUtil.remainder(new int[]{1, 1}, new int[0], 3);
+    }
+
+    @Test
+    public void testDivide() {
+        int characteristic = 5;
+        Random random = new Random(5);
+        for (int i = 0; i < 20; i++) {
+            int[] a = createRandomArray(characteristic, random.nextInt(40), random);
+            int[] f = createRandomArray(characteristic, random.nextInt(15), random);
+
+            IPolynomial dividend = new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(a);
+            IPolynomial divisor = new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(f);
+            DivisionResult expected = dividend.divide(divisor);
+
+            int[][] result = DensePolynomialUtil.divide(a, f, characteristic);
+
+            assertArrayEquals(expected.quotient.getCoefficients(), result[0]);
+            assertArrayEquals(expected.remainder.getCoefficients(), result[1]);
+        }
+    }
+
+    @Test
+    public void testSquare() {
+        int[] characteristics = new int[]{2, 3, 46337};
+        int[] lengths = new int[]{1, 5, 47, 48, 131};
+        for (int characteristic : characteristics) {
+            Random random = new Random(characteristic);
+            for (int length : lengths) {
+                int[] a = createRandomArray(characteristic, length - 1, random);
+
+                assertArrayEquals(DensePolynomialUtil.multiply(a, a, characteristic),
+                        DensePolynomialUtil.square(a, characteristic));
+            }
+        }
+        assertArrayEquals(new int[0], DensePolynomialUtil.square(new int[0], 5));
+    }
+
+    @Test
+    public void testMultiplyModulo() {
+        int characteristic = 7;
+        Random random = new Random(7);
+        for (int i = 0; i < 20; i++) {
+            int[] a = createRandomArray(characteristic, random.nextInt(70), random);
+            int[] b = createRandomArray(characteristic, random.nextInt(70), random);
+            int[] f = createRandomArray(characteristic, random.nextInt(40), random);
+
+            int[] expected = DensePolynomialUtil.remainder(
+                    DensePolynomialUtil.multiply(a, b, characteristic), f, characteristic);
+
+            assertArrayEquals(expected, DensePolynomialUtil.multiplyModulo(a, b, f, characteristic));
+        }
+    }
+
+    @Test
+    public void testSquareModulo() {
+        int[] characteristics = new int[]{2, 46337};
+        for (int characteristic : characteristics) {
+            Random random = new Random(characteristic);
+            for (int i = 0; i < 20; i++) {
+                int[] a = createRandomArray(characteristic, random.nextInt(70), random);
+                int[] f = createRandomArray(characteristic, random.nextInt(40), random);
+
+                int[] expected = DensePolynomialUtil.remainder(
+                        DensePolynomialUtil.multiply(a, a, characteristic), f, characteristic);
+
+                assertArrayEquals(expected, DensePolynomialUtil.squareModulo(a, f, characteristic));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultiplyModuloZeroDivisor() {
+        DensePolynomialUtil.multiplyModulo(new int[]{1, 1}, new int[]{1}, new int[0], 3);
+    }
+
+    @Test
+    public void testInverseOfPowerSeries() {
+        int characteristic = 5;
+        Random random = new Random(5);
+        int[] a = createRandomArray(characteristic, 150, random);
+        a[0] = 3;
+
+        int precision = 137;
+        int[] inverse = DensePolynomialUtil.inverseOfPowerSeries(a, precision, characteristic);
+        int[] product = DensePolynomialUtil.truncate(DensePolynomialUtil.multiply(a, inverse, characteristic), precision);
+
+        assertArrayEquals(new int[]{1}, product);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInverseOfPowerSeriesZeroConstant() {
+        DensePolynomialUtil.inverseOfPowerSeries(new int[]{0, 1}, 3, 5);
+    }
+
+    @Test
+    public void testInverse() {
+        assertEquals(4, DensePolynomialUtil.inverse(2, 7));
+        assertEquals(1, DensePolynomialUtil.inverse(1, 2));
+    }
+
+    private void checkMultiplication(int characteristic, int lengthOfA, int lengthOfB) {
+        Random random = new Random(lengthOfA * 31 + lengthOfB);
+        int[] a = createRandomArray(characteristic, lengthOfA - 1, random);
+        int[] b = createRandomArray(characteristic, lengthOfB - 1, random);
+
+        IPolynomial polynomialA = new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(a);
+        IPolynomial polynomialB = new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(b);
+
+        int[] expected = polynomialA.multiply(polynomialB).getCoefficients();
+
+        assertArrayEquals(expected, DensePolynomialUtil.multiply(a, b, characteristic));
+        assertArrayEquals(expected, DensePolynomialUtil.multiply(b, a, characteristic));
+    }
+
+    private int[] createRandomArray(int characteristic, int degree, Random random) {
+        int[] array = new int[degree + 1];
+        for (int i = 0; i < degree; i++) {
+            array[i] = random.nextInt(characteristic);
+        }
+        array[degree] = random.nextInt(characteristic - 1) + 1;
+        return array;
+    }
+}
@@ -0,0 +1,95 @@
+package polynomial;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.impl.array.ArrayPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class DenseRingKernelTest {
+
+    public DenseRingKernelTest() {
+    }
+
+    @Test
+    public void testCompositionAgreesWithPowering() {
+        int[] characteristics = new int[]{3, 251, 65521, Integer.MAX_VALUE};
+        Random random = new Random(17);
+
+        for (int characteristic : characteristics) {
+            IPolynomial modulus = new ArrayPolynomial(characteristic);
+            modulus.addTerm(1, 30);
+            for (int i = 0; i < 30; i++) {
+                modulus.addTerm(random.nextInt(characteristic), i);
+            }
+            ModularReducer reducer = ModularReducer.create(modulus);
+
+            DenseRingKernel powering = new DenseRingKernel(reducer, false);
+            DenseRingKernel composition = new DenseRingKernel(reducer, true);
+
+            int[] power = reducer.powerOfX(characteristic);
+            for (int i = 0; i < 8; i++) {
+                int[] next = powering.frobenius(power);
+                assertArrayEquals(next, composition.frobenius(power));
+                power = next;
+            }
+        }
+    }
+
+    @Test
+    public void testFrobeniusOfX() {
+        // x^5 mod x^3 - 2 = 2x^2 and x^25 = 2^8 * x = x mod 5.
+        IPolynomial modulus = new ArrayPolynomial(5);
+        modulus.addTerm(1, 3);
+        modulus.addTerm(3, 0);
+        DenseRingKernel kernel = new DenseRingKernel(ModularReducer.create(modulus), true);
+
+        int[] x = kernel.powerOfX(1);
+        assertArrayEquals(new int[]{0, 0, 2}, kernel.frobenius(x));
+        assertArrayEquals(new int[]{0, 1}, kernel.frobenius(kernel.frobenius(x)));
+        assertTrue(kernel.isZero(kernel.subtractX(kernel.frobenius(kernel.frobenius(x)))));
+    }
+
+    @Test
+    public void testCompose() {
+        // x^5 mod x^3 - 2 = 2x^2 over Z_5, so (x + 1)(2x^2) = 2x^3 + 2x^2 = 2x^2 + 4
+        // and (x^2)(2x^2) = 4x^4 = 4 * 2x = 3x.
+        IPolynomial modulus = new ArrayPolynomial(5);
+        modulus.addTerm(1, 3);
+        modulus.addTerm(3, 0);
+        DenseRingKernel kernel = new DenseRingKernel(modulus);
+
+        int[] point = kernel.powerOfX(5);
+        assertArrayEquals(new int[]{1, 0, 2}, kernel.compose(new int[]{1, 1}, point));
+        assertArrayEquals(new int[]{0, 3}, kernel.compose(new int[]{0, 0, 1}, point));
+        assertArrayEquals(kernel.frobenius(kernel.frobenius(kernel.powerOfX(1))),
+                kernel.compose(point, point));
+    }
+
+    @Test
+    public void testGcdWithModulus() {
+        // (x + 1)(x^2 + 2) over Z_3
+        IPolynomial modulus = new ArrayPolynomial(3);
+        modulus.addTerm(1, 3);
+        modulus.addTerm(1, 2);
+        modulus.addTerm(2, 1);
+        modulus.addTerm(2, 0);
+        DenseRingKernel kernel = new DenseRingKernel(modulus);
+
+        // 2x + 2 = 2(x + 1)
+        IPolynomial gcd = kernel.gcdWithModulus(new int[]{2, 2});
+
+        assertEquals(ArrayPolynomial.class, gcd.getClass());
+        assertArrayEquals(new int[]{1, 1}, gcd.getCoefficients());
+        assertFalse(kernel.isCoprimeWithModulus(new int[]{2, 2}));
+        assertTrue(kernel.isCoprimeWithModulus(new int[]{0, 1}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullModulus() {
+        new DenseRingKernel((IPolynomial) null);
+    }
+}
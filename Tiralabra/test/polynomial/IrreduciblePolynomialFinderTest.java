@@ -0,0 +1,73 @@
+package polynomial;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.irreducibility.BinaryBatchEngine;
+import polynomial.irreducibility.RabinEngine;
+import polynomial.search.SearchPreset;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class IrreduciblePolynomialFinderTest {
+
+    public IrreduciblePolynomialFinderTest() {
+    }
+
+    @Test
+    public void testLargestCharacteristic() {
+        RabinEngine engine = new RabinEngine();
+        int characteristic = Integer.MAX_VALUE;
+
+        IPolynomial polynomial = IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic, 6);
+        assertEquals(characteristic, polynomial.getCharacteristic());
+        assertEquals(6, polynomial.getDegree());
+        assertTrue(engine.isIrreducible(polynomial));
+
+        polynomial = IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic, 5,
+                SearchPreset.NAIVE, engine);
+        assertEquals(5, polynomial.getDegree());
+        assertTrue(engine.isIrreducible(polynomial));
+    }
+
+    @Test
+    public void testSmallDegrees() {
+        for (int characteristic : new int[]{2, 3, 65521}) {
+            IPolynomial constant = IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic, 0);
+            assertEquals(0, constant.getDegree());
+            assertEquals(1, constant.getCoefficientOfLeadingTerm());
+
+            IPolynomial linear = IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic, 1,
+                    SearchPreset.DEFAULT);
+            assertEquals(1, linear.getDegree());
+        }
+    }
+
+    @Test
+    public void testBatchCountersAreNotRoundedToBatches() {
+        // A polynomial of degree 10 is irreducible with probability about
+        // 1 / 10, so nearly every search ends in its first batch.
+        boolean partialBatch = false;
+        for (int i = 0; i < 20; i++) {
+            IPolynomial polynomial = IrreduciblePolynomialFinder.findBinaryIrreduciblePolynomialInBatches(10, true);
+            int generated = IrreduciblePolynomialFinder.getNumberOfPolynomialsGeneratedLastTime();
+            int tested = IrreduciblePolynomialFinder.getNumberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime();
+
+            assertTrue(new RabinEngine().isIrreducible(polynomial));
+            assertTrue(tested >= 1);
+            assertTrue(tested <= generated);
+            partialBatch |= generated % BinaryBatchEngine.BATCH_SIZE != 0;
+
+            IrreduciblePolynomialFinder.findBinaryIrreduciblePolynomialInBatches(10, false);
+            assertEquals(IrreduciblePolynomialFinder.getNumberOfPolynomialsGeneratedLastTime(),
+                    IrreduciblePolynomialFinder.getNumberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime());
+        }
+        assertTrue(partialBatch);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompositeCharacteristic() {
+        IrreduciblePolynomialFinder.findIrreduciblePolynomial(Integer.MAX_VALUE - 2, 5);
+    }
+}
@@ -0,0 +1,81 @@
+package polynomial;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.impl.array.ArrayPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class ModularComposerTest {
+
+    public ModularComposerTest() {
+    }
+
+    @Test
+    public void testGetBlockLength() {
+        assertEquals(1, ModularComposer.getBlockLength(0));
+        assertEquals(1, ModularComposer.getBlockLength(1));
+        assertEquals(2, ModularComposer.getBlockLength(2));
+        assertEquals(3, ModularComposer.getBlockLength(9));
+        assertEquals(4, ModularComposer.getBlockLength(10));
+    }
+
+    @Test
+    public void testComposeAgreesWithHorner() {
+        checkCompose(7, 20);
+        checkCompose(65521, 37);
+        checkCompose(Integer.MAX_VALUE, 50);
+        checkCompose(2, 64);
+    }
+
+    @Test
+    public void testComposeZero() {
+        IPolynomial modulus = createRandomPolynomial(5, 10, new Random(3));
+        ModularReducer reducer = ModularReducer.create(modulus);
+
+        ModularComposer composer = new ModularComposer(reducer, new int[]{1, 2});
+
+        assertEquals(0, composer.compose(new int[0]).length);
+    }
+
+    @Test
+    public void testIsFasterThanPowering() {
+        assertFalse(ModularComposer.isFasterThanPowering(10, 2));
+        assertFalse(ModularComposer.isFasterThanPowering(1000, 251));
+        assertTrue(ModularComposer.isFasterThanPowering(50, 251));
+        assertTrue(ModularComposer.isFasterThanPowering(800, Integer.MAX_VALUE));
+    }
+
+    private void checkCompose(int characteristic, int degree) {
+        Random random = new Random(characteristic + degree);
+        IPolynomial modulus = createRandomPolynomial(characteristic, degree, random);
+        ModularReducer reducer = ModularReducer.create(modulus);
+        int[] point = reducer.reduce(createRandomPolynomial(characteristic, degree + 5, random).getCoefficients());
+
+        ModularComposer composer = new ModularComposer(reducer, point);
+
+        for (int i = 0; i < 3; i++) {
+            int[] g = createRandomPolynomial(characteristic, random.nextInt(degree), random).getCoefficients();
+
+            int[] expected = new int[0];
+            for (int j = g.length - 1; j >= 0; j--) {
+                expected = reducer.multiply(expected, point);
+                expected = DensePolynomialUtil.add(expected, new int[]{g[j]}, characteristic);
+            }
+
+            assertArrayEquals(expected, composer.compose(g));
+        }
+    }
+
+    private IPolynomial createRandomPolynomial(int characteristic, int degree, Random random) {
+        IPolynomial polynomial = new ArrayPolynomial(characteristic);
+        polynomial.addTerm(random.nextInt(characteristic - 1) + 1, degree);
+        for (int i = 0; i < degree; i++) {
+            polynomial.addTerm(random.nextInt(characteristic), i);
+        }
+        return polynomial;
+    }
+}
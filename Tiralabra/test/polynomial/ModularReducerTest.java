@@ -0,0 +1,319 @@
+package polynomial;
+
+import java.math.BigInteger;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.impl.array.ArrayPolynomial;
+import polynomial.impl.linkedlist.LinkedListPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class ModularReducerTest {
+
+    public ModularReducerTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullModulus() {
+        ModularReducer.create(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroModulus() {
+        ModularReducer.create(new ArrayPolynomial(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCharacteristic0() {
+        IPolynomial modulus = new ArrayPolynomial(0);
+        modulus.addTerm(1, 2);
+
+        ModularReducer.create(modulus);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReduceDifferentCharacteristic() {
+        IPolynomial modulus = new ArrayPolynomial(3);
+        modulus.addTerm(1, 2);
+
+        IPolynomial polynomial = new ArrayPolynomial(5);
+        polynomial.addTerm(1, 3);
+
+        ModularReducer.create(modulus).reduce(polynomial);
+    }
+
+    @Test
+    public void testReduceKeepsImplementation() {
+        IPolynomial modulus = new ArrayPolynomial(2);
+        modulus.addTerm(1, 2);
+        modulus.addTerm(1, 0);
+
+        IPolynomial polynomial = new LinkedListPolynomial(2);
+        polynomial.addTerm(1, 3);
+
+        IPolynomial remainder = ModularReducer.create(modulus).reduce(polynomial);
+
+        assertEquals(LinkedListPolynomial.class, remainder.getClass());
+        assertEquals(1, remainder.getDegree());
+        assertEquals(1, remainder.getCoefficientAtDegree(1));
+        assertEquals(0, remainder.getCoefficientAtDegree(0));
+    }
+
+    @Test
+    public void testReduceSmallDegree() {
+        int characteristic = 7;
+        Random random = new Random(7);
+        IPolynomial modulus = createRandomPolynomial(characteristic, 10, random);
+        ModularReducer reducer = ModularReducer.create(modulus);
+
+        for (int i = 0; i < 25; i++) {
+            IPolynomial polynomial = createRandomPolynomial(characteristic, random.nextInt(30), random);
+
+            IPolynomial expected = polynomial.divide(modulus).remainder;
+
+            assertArrayEquals(expected.getCoefficients(), reducer.reduce(polynomial).getCoefficients());
+        }
+    }
+
+    @Test
+    public void testReduceCharacteristic2BarrettDegree() {
+        checkReductionWithRandomPolynomials(2, BarrettModularReducer.getBarrettThreshold(2) + 13, 2);
+    }
+
+    @Test
+    public void testReduceCharacteristic5BarrettDegree() {
+        checkReductionWithRandomPolynomials(5, BarrettModularReducer.getBarrettThreshold(5) + 40, 3);
+    }
+
+    @Test
+    public void testReduceLargeCharacteristic() {
+        checkReductionWithRandomPolynomials(46337, BarrettModularReducer.getBarrettThreshold(46337), 3);
+    }
+
+    @Test
+    public void testReducePolynomialOfVeryHighDegree() {
+        int characteristic = 5;
+        Random random = new Random(42);
+        int degree = BarrettModularReducer.getBarrettThreshold(characteristic);
+        IPolynomial modulus = createRandomPolynomial(characteristic, degree, random);
+        IPolynomial polynomial = createRandomPolynomial(characteristic, 3 * degree, random);
+
+        int[] expected = DensePolynomialUtil.remainder(polynomial.getCoefficients(),
+                modulus.getCoefficients(), characteristic);
+        IPolynomial result = ModularReducer.create(modulus).reduce(polynomial);
+
+        assertArrayEquals(expected, result.getCoefficients());
+    }
+
+    @Test
+    public void testCreateChoosesSparseReducerForTrinomial() {
+        IPolynomial modulus = createSparsePolynomial(2, 1, 200, 3, 0);
+
+        assertEquals(SparseModularReducer.class, ModularReducer.create(modulus).getClass());
+    }
+
+    @Test
+    public void testCreateChoosesBarrettReducerForDenseModulus() {
+        IPolynomial modulus = createRandomPolynomial(7, 10, new Random(1));
+        modulus.addTerm(1, 0);
+        modulus.addTerm(1, 1);
+        modulus.addTerm(1, 2);
+
+        assertEquals(BarrettModularReducer.class, ModularReducer.create(modulus).getClass());
+    }
+
+    @Test
+    public void testReduceCharacteristic2TrinomialWithLargeGap() {
+        checkSparseReduction(createSparsePolynomial(2, 1, 200, 3, 0), 2);
+    }
+
+    @Test
+    public void testReduceCharacteristic2PentanomialWithSmallGap() {
+        checkSparseReduction(createSparsePolynomial(2, 1, 200, 190, 5, 1, 0), 2);
+    }
+
+    @Test
+    public void testReduceCharacteristic2SparseModulusOfDegreeBelowWordSize() {
+        checkSparseReduction(createSparsePolynomial(2, 1, 20, 1, 0), 2);
+    }
+
+    @Test
+    public void testReduceSparseModulusWithNonUnitLeadingCoefficient() {
+        checkSparseReduction(createSparsePolynomial(5, 3, 150, 77, 2, 0), 5);
+    }
+
+    @Test
+    public void testMultiplyAndSquare() {
+        Random random = new Random(11);
+        IPolynomial[] moduli = new IPolynomial[]{
+            createRandomPolynomial(5, 30, random),
+            createRandomPolynomial(2, BarrettModularReducer.getBarrettThreshold(2) + 1, random),
+            createSparsePolynomial(2, 1, 200, 3, 0),
+            createSparsePolynomial(5, 3, 150, 77, 2, 0)
+        };
+
+        for (IPolynomial modulus : moduli) {
+            int characteristic = modulus.getCharacteristic();
+            int degree = modulus.getDegree();
+            ModularReducer reducer = ModularReducer.create(modulus);
+
+            for (int i = 0; i < 3; i++) {
+                IPolynomial a = createRandomPolynomial(characteristic, random.nextInt(degree), random);
+                IPolynomial b = createRandomPolynomial(characteristic, random.nextInt(degree), random);
+
+                int[] expectedProduct = DensePolynomialUtil.remainder(DensePolynomialUtil.multiply(
+                        a.getCoefficients(), b.getCoefficients(), characteristic),
+                        modulus.getCoefficients(), characteristic);
+                int[] expectedSquare = DensePolynomialUtil.remainder(DensePolynomialUtil.multiply(
+                        a.getCoefficients(), a.getCoefficients(), characteristic),
+                        modulus.getCoefficients(), characteristic);
+
+                assertArrayEquals(expectedProduct, reducer.multiply(a, b).getCoefficients());
+                assertArrayEquals(expectedSquare, reducer.square(a).getCoefficients());
+            }
+        }
+    }
+
+    @Test
+    public void testPowerAndPowerOfX() {
+        Random random = new Random(13);
+        IPolynomial[] moduli = new IPolynomial[]{
+            createRandomPolynomial(7, 12, random),
+            createSparsePolynomial(2, 1, 100, 15, 0)
+        };
+
+        for (IPolynomial modulus : moduli) {
+            int characteristic = modulus.getCharacteristic();
+            ModularReducer reducer = ModularReducer.create(modulus);
+            int[] a = createRandomPolynomial(characteristic, 20, random).getCoefficients();
+            int[] x = new int[]{0, 1};
+
+            int[] expected = reducer.reduce(new int[]{1});
+            int[] expectedOfX = expected;
+            for (int exponent = 0; exponent < 40; exponent++) {
+                assertArrayEquals(expected, reducer.power(a, exponent));
+                assertArrayEquals(expectedOfX, reducer.powerOfX(exponent));
+                expected = reducer.multiply(expected, reducer.reduce(a));
+                expectedOfX = reducer.multiply(expectedOfX, reducer.reduce(x));
+            }
+        }
+    }
+
+    @Test
+    public void testPowerOfXWithLargeExponent() {
+        // x^2 + 1 is irreducible modulo p = 2^31 - 1, since p = 3 mod 4.
+        // Thus x^p = -x, and x^(p-1) = -1.
+        int characteristic = Integer.MAX_VALUE;
+        IPolynomial modulus = createSparsePolynomial(characteristic, 1, 2, 0);
+        ModularReducer reducer = ModularReducer.create(modulus);
+
+        assertArrayEquals(new int[]{0, characteristic - 1}, reducer.powerOfX(characteristic));
+        assertArrayEquals(new int[]{characteristic - 1}, reducer.powerOfX(characteristic - 1));
+    }
+
+    @Test
+    public void testPowerWithBigIntegerAgreesWithBinaryPower() {
+        Random random = new Random(19);
+        IPolynomial modulus = createRandomPolynomial(11, 25, random);
+        ModularReducer reducer = ModularReducer.create(modulus);
+        int[] a = createRandomPolynomial(11, 30, random).getCoefficients();
+
+        int[] exponents = new int[]{0, 1, 2, 255, 256, 1000003, Integer.MAX_VALUE};
+        for (int exponent : exponents) {
+            assertArrayEquals(reducer.power(a, exponent),
+                    reducer.power(a, BigInteger.valueOf(exponent)));
+        }
+    }
+
+    @Test
+    public void testPowerWithLargeExponent() {
+        // x^2 + 1 is irreducible modulo p = 2^31 - 1, so the remainders mod
+        // it form a field of p^2 elements, where a^(p^2) = a and
+        // a^(p^2 - 1) = 1 for every non-zero a.
+        int characteristic = Integer.MAX_VALUE;
+        IPolynomial modulus = createSparsePolynomial(characteristic, 1, 2, 0);
+        ModularReducer reducer = ModularReducer.create(modulus);
+
+        IPolynomial a = new ArrayPolynomial(characteristic);
+        a.addTerm(12345, 1);
+        a.addTerm(678, 0);
+
+        BigInteger order = BigInteger.valueOf(characteristic).pow(2);
+
+        assertArrayEquals(a.getCoefficients(), reducer.power(a, order).getCoefficients());
+        assertArrayEquals(new int[]{1}, reducer.power(a, order.subtract(BigInteger.ONE)).getCoefficients());
+        assertArrayEquals(a.getCoefficients(), reducer.power(a, order.pow(3)).getCoefficients());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPowerNegativeExponent() {
+        IPolynomial modulus = createSparsePolynomial(3, 1, 5, 2, 0);
+
+        ModularReducer.create(modulus).power(modulus, BigInteger.valueOf(-1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultiplyNull() {
+        IPolynomial modulus = createSparsePolynomial(2, 1, 5, 2, 0);
+
+        ModularReducer.create(modulus).multiply(modulus, null);
+    }
+
+    private void checkSparseReduction(IPolynomial modulus, int characteristic) {
+        Random random = new Random(modulus.getDegree());
+        ModularReducer reducer = ModularReducer.create(modulus);
+        assertEquals(SparseModularReducer.class, reducer.getClass());
+
+        for (int i = 0; i < 10; i++) {
+            int degreeOfPolynomial = random.nextInt(3 * modulus.getDegree());
+            IPolynomial polynomial = createRandomPolynomial(characteristic, degreeOfPolynomial, random);
+
+            int[] expected = DensePolynomialUtil.remainder(polynomial.getCoefficients(),
+                    modulus.getCoefficients(), characteristic);
+            IPolynomial result = reducer.reduce(polynomial);
+
+            assertArrayEquals(expected, result.getCoefficients());
+        }
+    }
+
+    private IPolynomial createSparsePolynomial(int characteristic, int leadingCoefficient, int... exponents) {
+        IPolynomial polynomial = new ArrayPolynomial(characteristic);
+        polynomial.addTerm(leadingCoefficient, exponents[0]);
+        for (int i = 1; i < exponents.length; i++) {
+            polynomial.addTerm(1, exponents[i]);
+        }
+        return polynomial;
+    }
+
+    private void checkReductionWithRandomPolynomials(int characteristic, int degree, int repetitions) {
+        Random random = new Random(characteristic * 1000 + degree);
+        IPolynomial modulus = createRandomPolynomial(characteristic, degree, random);
+        ModularReducer reducer = ModularReducer.create(modulus);
+
+        for (int i = 0; i < repetitions; i++) {
+            // A product of two remainders has degree at most 2*degree - 2.
+            int degreeOfPolynomial = degree - 1 + random.nextInt(degree);
+            IPolynomial polynomial = createRandomPolynomial(characteristic, degreeOfPolynomial, random);
+
+            // The long division has been checked against IPolynomial.divide
+            // in DensePolynomialUtilTest, and it is much faster at these degrees.
+            int[] expected = DensePolynomialUtil.remainder(polynomial.getCoefficients(),
+                    modulus.getCoefficients(), characteristic);
+            IPolynomial result = reducer.reduce(polynomial);
+
+            assertArrayEquals(expected, result.getCoefficients());
+        }
+    }
+
+    private IPolynomial createRandomPolynomial(int characteristic, int degree, Random random) {
+        IPolynomial polynomial = new ArrayPolynomial(characteristic);
+        polynomial.addTerm(random.nextInt(characteristic - 1) + 1, degree);
+        for (int i = 0; i < degree; i++) {
+            polynomial.addTerm(random.nextInt(characteristic), i);
+        }
+        return polynomial;
+    }
+}
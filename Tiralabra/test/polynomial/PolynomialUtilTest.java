@@ -1,5 +1,8 @@
 package polynomial;
 
+import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import math.MathUtil;
 import static org.junit.Assert.*;
 import org.junit.Test;
@@ -215,6 +218,81 @@ public class PolynomialUtilTest {
         fail("Polynomial " + gcd + " isn't the same as the expected polynomial " + expected + " up to an invertible constant");
     }
     
+    @Test
+    public void testIsCoprime() {
+        IPolynomial a = new LinkedListPolynomial(7);
+        a.addTerm(1, 3);
+        a.addTerm(1, 1);
+        a.addTerm(1, 0);
+
+        IPolynomial b = new LinkedListPolynomial(7);
+        b.addTerm(1, 3);
+        b.addTerm(2, 2);
+        b.addTerm(1, 0);
+
+        IPolynomial c = a.multiply(b);
+
+        assertTrue(PolynomialUtil.isCoprime(a, b));
+        assertFalse(PolynomialUtil.isCoprime(c, a));
+        assertFalse(PolynomialUtil.isCoprime(b, c));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIsCoprimeNull() {
+        PolynomialUtil.isCoprime(new ArrayPolynomial(3), null);
+    }
+
+    @Test
+    public void testExtendedGcd() {
+        int characteristic = 7;
+
+        IPolynomial a = new LinkedListPolynomial(characteristic);
+        a.addTerm(1, 4);
+        a.addTerm(3, 1);
+        a.addTerm(1, 0);
+
+        IPolynomial b = new LinkedListPolynomial(characteristic);
+        b.addTerm(2, 3);
+        b.addTerm(1, 0);
+
+        ExtendedGcdResult result = PolynomialUtil.extendedGcd(a, b);
+        IPolynomial combination = a.multiply(result.x).add(b.multiply(result.y));
+
+        assertEquals(LinkedListPolynomial.class, result.gcd.getClass());
+        assertTrue(checkPolynomialEquality(PolynomialUtil.gcd(a, b), result.gcd));
+        assertTrue(checkPolynomialEquality(result.gcd, combination));
+    }
+
+    @Test
+    public void testInverseModulo() {
+        int characteristic = 2;
+
+        // x^4 + x + 1 is irreducible over Z_2.
+        IPolynomial f = new ArrayPolynomial(characteristic);
+        f.addTerm(1, 4);
+        f.addTerm(1, 1);
+        f.addTerm(1, 0);
+
+        IPolynomial a = new ArrayPolynomial(characteristic);
+        a.addTerm(1, 3);
+        a.addTerm(1, 2);
+
+        IPolynomial inverse = PolynomialUtil.inverseModulo(a, f);
+
+        IPolynomial one = new ArrayPolynomial(characteristic);
+        one.addTerm(1, 0);
+
+        assertTrue(checkPolynomialEquality(one, a.multiply(inverse).divide(f).remainder));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInverseModuloCharacteristic0() {
+        IPolynomial f = new ArrayPolynomial(0);
+        f.addTerm(1, 2);
+
+        PolynomialUtil.inverseModulo(f, f);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testIsReducibleNull() {
         PolynomialUtil.isReducible(null, false);
@@ -321,6 +399,54 @@ public class PolynomialUtilTest {
         assertTrue(PolynomialUtil.isReducible(polynomial, false));
     }
     
+    @Test
+    public void testIsReducibleWithoutRootsAndPrimeDegree() {
+        // (x^2 + x + 1)(x^3 + x + 1) = x^5 + x^4 + 1 has no roots, so it is
+        // only found reducible by the last check.
+        IPolynomial polynomial = new ArrayPolynomial(2);
+        polynomial.addTerm(1, 0);
+        polynomial.addTerm(1, 4);
+        polynomial.addTerm(1, 5);
+
+        assertTrue(PolynomialUtil.isReducible(polynomial, false));
+    }
+
+    @Test
+    public void testIsReducibleSeveralPrimeFactorsInDegree() {
+        // (x^2 + x + 1)(x^4 + x + 1) = x^6 + x^5 + x^4 + x^3 + x^2 + x + 1
+        IPolynomial reducible = new ArrayPolynomial(2);
+        for (int i = 0; i <= 6; i++) {
+            reducible.addTerm(1, i);
+        }
+        IPolynomial irreducible = new LinkedListPolynomial(2);
+        irreducible.addTerm(1, 0);
+        irreducible.addTerm(1, 1);
+        irreducible.addTerm(1, 6);
+
+        assertTrue(PolynomialUtil.isReducible(reducible, false));
+        assertFalse(PolynomialUtil.isReducible(irreducible, false));
+    }
+
+    @Test
+    public void testIsReducibleWithExecutor() {
+        IPolynomial reducible = new ArrayPolynomial(2);
+        for (int i = 0; i <= 6; i++) {
+            reducible.addTerm(1, i);
+        }
+        IPolynomial irreducible = new LinkedListPolynomial(2);
+        irreducible.addTerm(1, 0);
+        irreducible.addTerm(1, 1);
+        irreducible.addTerm(1, 6);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            assertTrue(PolynomialUtil.isReducible(reducible, false, executor));
+            assertFalse(PolynomialUtil.isReducible(irreducible, false, executor));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testCalculateXExponentiatedModuloFZeroBase() {
         int base = 0;
@@ -459,6 +585,141 @@ public class PolynomialUtilTest {
         assertTrue(checkPolynomialEquality(expected, result));
     }
 
+    @Test
+    public void testCalculateXExponentiatedModuloFLargeCharacteristic() {
+        // x^2 + 1 is irreducible since p = 3 mod 4, so x^p = -x and x^(p^2) = x.
+        int characteristic = Integer.MAX_VALUE;
+
+        IPolynomial polynomial = new ArrayPolynomial(characteristic);
+        polynomial.addTerm(1, 0);
+        polynomial.addTerm(1, 2);
+
+        IPolynomial result = PolynomialUtil.calculateXExponentiatedModuloF(characteristic, 1, polynomial);
+        assertEquals(1, result.getDegree());
+        assertEquals(characteristic - 1, result.getCoefficientAtDegree(1));
+        assertEquals(0, result.getCoefficientAtDegree(0));
+
+        result = PolynomialUtil.calculateXExponentiatedModuloF(characteristic, 2, polynomial);
+        assertEquals(1, result.getDegree());
+        assertEquals(1, result.getCoefficientAtDegree(1));
+        assertEquals(0, result.getCoefficientAtDegree(0));
+    }
+
+    @Test
+    public void testIsReducibleLargeCharacteristic() {
+        int characteristic = 65521;
+
+        IPolynomial irreducible = new ArrayPolynomial(characteristic);
+        irreducible.addTerm(1, 2);
+        irreducible.addTerm(17, 0);
+
+        IPolynomial reducible = new ArrayPolynomial(characteristic);
+        reducible.addTerm(1, 2);
+        reducible.addTerm(characteristic - 16, 0);
+
+        // 65521 = 1 mod 4 and 65521 = 3 mod 17, which is not a square mod 17,
+        // so by reciprocity -17 is not a square modulo 65521.
+        assertFalse(PolynomialUtil.isReducible(irreducible, false));
+        assertTrue(PolynomialUtil.isReducible(reducible, false));
+    }
+
+    @Test
+    public void testPowMod() {
+        int characteristic = 5;
+
+        IPolynomial f = new LinkedListPolynomial(characteristic);
+        f.addTerm(1, 0);
+        f.addTerm(2, 3);
+        f.addTerm(1, 5);
+
+        IPolynomial a = new LinkedListPolynomial(characteristic);
+        a.addTerm(3, 4);
+        a.addTerm(1, 1);
+        a.addTerm(4, 0);
+
+        IPolynomial expected = new LinkedListPolynomial(characteristic);
+        expected.addTerm(1, 0);
+        for (int i = 0; i < 100; i++) {
+            expected = expected.multiply(a).divide(f).remainder;
+        }
+
+        IPolynomial result = PolynomialUtil.powMod(a, BigInteger.valueOf(100), f);
+
+        assertEquals(LinkedListPolynomial.class, result.getClass());
+        assertTrue(checkPolynomialEquality(expected, result));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPowModNullExponent() {
+        IPolynomial f = new ArrayPolynomial(3);
+        f.addTerm(1, 2);
+
+        PolynomialUtil.powMod(f, null, f);
+    }
+
+    @Test
+    public void testDerivative() {
+        IPolynomial polynomial = new LinkedListPolynomial(3);
+        polynomial.addTerm(2, 4);
+        polynomial.addTerm(1, 3);
+        polynomial.addTerm(1, 1);
+
+        // 8x^3 + 3x^2 + 1 = 2x^3 + 1 mod 3
+        IPolynomial derivative = PolynomialUtil.derivative(polynomial);
+
+        assertEquals(LinkedListPolynomial.class, derivative.getClass());
+        assertEquals(3, derivative.getDegree());
+        assertEquals(2, derivative.getCoefficientAtDegree(3));
+        assertEquals(0, derivative.getCoefficientAtDegree(2));
+        assertEquals(1, derivative.getCoefficientAtDegree(0));
+    }
+
+    @Test
+    public void testDerivativeCharacteristic0() {
+        IPolynomial polynomial = new ArrayPolynomial(0);
+        polynomial.addTerm(-2, 3);
+        polynomial.addTerm(5, 0);
+
+        IPolynomial derivative = PolynomialUtil.derivative(polynomial);
+
+        assertEquals(2, derivative.getDegree());
+        assertEquals(-6, derivative.getCoefficientAtDegree(2));
+        assertEquals(0, derivative.getCoefficientAtDegree(0));
+    }
+
+    @Test
+    public void testMulModAndSqrMod() {
+        int characteristic = 5;
+
+        IPolynomial f = new LinkedListPolynomial(characteristic);
+        f.addTerm(1, 0);
+        f.addTerm(2, 3);
+        f.addTerm(1, 5);
+
+        IPolynomial a = new LinkedListPolynomial(characteristic);
+        a.addTerm(3, 4);
+        a.addTerm(1, 1);
+        a.addTerm(4, 0);
+
+        IPolynomial b = new LinkedListPolynomial(characteristic);
+        b.addTerm(2, 4);
+        b.addTerm(1, 2);
+
+        assertTrue(checkPolynomialEquality(a.multiply(b).divide(f).remainder, PolynomialUtil.mulMod(a, b, f)));
+        assertTrue(checkPolynomialEquality(a.multiply(a).divide(f).remainder, PolynomialUtil.sqrMod(a, f)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMulModDifferentCharacteristic() {
+        IPolynomial f = new LinkedListPolynomial(5);
+        f.addTerm(1, 3);
+
+        IPolynomial a = new LinkedListPolynomial(3);
+        a.addTerm(1, 4);
+
+        PolynomialUtil.mulMod(a, a, f);
+    }
+
     /**
      * Checks if two polynomials are equal.
      * 
@@ -0,0 +1,51 @@
+package polynomial;
+
+import static org.junit.Assert.*;
+import math.MathUtil;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class PowerTableTest {
+
+    public PowerTableTest() {
+    }
+
+    @Test
+    public void testFits() {
+        assertTrue(PowerTable.fits(2, 0));
+        assertTrue(PowerTable.fits(1024, 1023));
+        assertFalse(PowerTable.fits(1024, 1024));
+        assertFalse(PowerTable.fits(65521, 65521));
+        assertFalse(PowerTable.fits(0, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLarge() {
+        PowerTable.getTable(65521, 100);
+    }
+
+    @Test
+    public void testTableIsShared() {
+        PowerTable table = PowerTable.getTable(13, 20);
+
+        assertSame(table, PowerTable.getTable(13, 5));
+        assertTrue(PowerTable.getTable(13, 30).getMaximumExponent() >= 30);
+    }
+
+    @Test
+    public void testAddTerm() {
+        int characteristic = 17;
+        PowerTable table = PowerTable.getTable(characteristic, 10);
+        int[] values = new int[characteristic];
+
+        table.addTerm(16, 0, values);
+        table.addTerm(5, 7, values);
+
+        for (int a = 0; a < characteristic; a++) {
+            assertEquals((16 + 5 * MathUtil.powModulo(a, 7, characteristic)) % characteristic, values[a]);
+        }
+    }
+}
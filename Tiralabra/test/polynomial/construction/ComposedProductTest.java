@@ -0,0 +1,112 @@
+package polynomial.construction;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.IPolynomial;
+import polynomial.IrreduciblePolynomialFinder;
+import polynomial.impl.array.ArrayPolynomial;
+import polynomial.irreducibility.RabinEngine;
+import polynomial.search.SearchPreset;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class ComposedProductTest {
+
+    public ComposedProductTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNull() {
+        ComposedProduct.multiply(null, create(5, 2, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentCharacteristics() {
+        ComposedProduct.multiply(create(5, 2, 0, 1), create(7, 3, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDegreesNotCoprime() {
+        ComposedProduct.multiply(create(5, 2, 0, 1), create(5, 3, 0, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRootZero() {
+        ComposedProduct.multiply(create(5, 0, 1), create(5, 2, 0, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRepeatedRoot() {
+        // x^2 + 1 = (x + 1)^2 over Z_2, so all power sums of the product are 0.
+        ComposedProduct.multiply(create(2, 1, 0, 1), create(2, 1, 1, 0, 1));
+    }
+
+    @Test
+    public void testLinearFactors() {
+        // The roots 2 and 3 of x - 2 and x - 3 give the root 6 = 1 over Z_5.
+        IPolynomial product = ComposedProduct.multiply(create(5, 3, 1), create(5, 2, 1));
+
+        assertArrayEquals(new int[]{4, 1}, product.getCoefficients());
+    }
+
+    @Test
+    public void testScaling() {
+        // The roots of x^2 + 2 multiplied by 3 are the roots of x^2 + 3 over Z_5.
+        IPolynomial product = ComposedProduct.multiply(create(5, 2, 0, 1), create(5, 2, 1));
+
+        assertArrayEquals(new int[]{3, 0, 1}, product.getCoefficients());
+        assertTrue(product instanceof ArrayPolynomial);
+    }
+
+    @Test
+    public void testIrreducibleProducts() {
+        RabinEngine engine = new RabinEngine();
+        int[][] cases = {{2, 2, 3}, {2, 5, 3}, {2, 7, 8}, {3, 4, 5}, {5, 3, 4}, {7, 2, 9}, {65521, 3, 5}};
+
+        for (int[] productCase : cases) {
+            int characteristic = productCase[0];
+            IPolynomial g = IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic,
+                    productCase[1], SearchPreset.NAIVE, engine);
+            IPolynomial h = IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic,
+                    productCase[2], SearchPreset.NAIVE, engine);
+            if (g.getCoefficientAtDegree(0) == 0 || h.getCoefficientAtDegree(0) == 0) {
+                continue;
+            }
+
+            IPolynomial product = ComposedProduct.multiply(g, h);
+
+            assertEquals(productCase[1] * productCase[2], product.getDegree());
+            assertEquals(1, product.getCoefficientOfLeadingTerm());
+            assertTrue(engine.isIrreducible(product));
+        }
+    }
+
+    @Test
+    public void testFinderUsesComposedProducts() {
+        IPolynomial polynomial = IrreduciblePolynomialFinder.findIrreduciblePolynomial(3, 150,
+                SearchPreset.DEFAULT);
+
+        assertEquals(150, polynomial.getDegree());
+        assertTrue(new RabinEngine().isIrreducible(polynomial));
+    }
+
+    @Test
+    public void testShortestRecurrence() {
+        // The Fibonacci numbers modulo 7 satisfy s_k - s_(k-1) - s_(k-2) = 0.
+        int[] sequence = {0, 1, 1, 2, 3, 5, 1, 6};
+
+        assertArrayEquals(new int[]{1, 6, 6}, ComposedProduct.findShortestRecurrence(sequence, 7));
+    }
+
+    @Test
+    public void testPowerSums() {
+        // The roots of x^2 + 2 over Z_5 are a and -a with a^2 = 3.
+        assertArrayEquals(new int[]{2, 0, 1, 0, 3}, ComposedProduct.powerSums(create(5, 2, 0, 1), 5));
+    }
+
+    private static IPolynomial create(int characteristic, int... coefficients) {
+        return new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(coefficients);
+    }
+}
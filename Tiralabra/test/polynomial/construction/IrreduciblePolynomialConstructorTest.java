@@ -0,0 +1,122 @@
+package polynomial.construction;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.IPolynomial;
+import polynomial.irreducibility.RabinEngine;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class IrreduciblePolynomialConstructorTest {
+
+    public IrreduciblePolynomialConstructorTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPrimeCharacteristic() {
+        IrreduciblePolynomialConstructor.construct(6, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeDegree() {
+        IrreduciblePolynomialConstructor.construct(5, -1);
+    }
+
+    @Test
+    public void testSmallDegrees() {
+        assertNull(IrreduciblePolynomialConstructor.construct(5, 0));
+        assertEquals("x", IrreduciblePolynomialConstructor.construct(5, 1).toString());
+    }
+
+    @Test
+    public void testQuadraticNonResidue() {
+        // 2 is the smallest primitive root modulo 11, and x^2 - 2 = x^2 + 9.
+        IPolynomial polynomial = IrreduciblePolynomialConstructor.construct(11, 2);
+
+        assertEquals(2, polynomial.getNumberOfNonZeroCoefficients());
+        assertEquals(9, polynomial.getCoefficientAtDegree(0));
+        assertTrue(new RabinEngine().isIrreducible(polynomial));
+    }
+
+    @Test
+    public void testBinomials() {
+        // 12 divides 13 - 1 and 13 = 1 mod 4. 15 = 3 * 5 divides 31 - 1.
+        int[][] cases = {{13, 12}, {13, 36}, {31, 15}, {31, 75}, {7, 9}, {65537, 1024}};
+        for (int[] c : cases) {
+            IPolynomial polynomial = IrreduciblePolynomialConstructor.constructBinomial(c[0], c[1]);
+            assertNotNull(polynomial);
+            assertEquals(c[1], polynomial.getDegree());
+            assertEquals(2, polynomial.getNumberOfNonZeroCoefficients());
+            assertTrue(new RabinEngine().isIrreducible(polynomial));
+        }
+    }
+
+    @Test
+    public void testSerretConditions() {
+        // 5 doesn't divide 7 - 1, and 7 = 3 mod 4.
+        assertNull(IrreduciblePolynomialConstructor.constructBinomial(7, 5));
+        assertNull(IrreduciblePolynomialConstructor.constructBinomial(7, 4));
+        assertNull(IrreduciblePolynomialConstructor.constructBinomial(2, 3));
+    }
+
+    @Test
+    public void testArtinSchreier() {
+        for (int p : new int[]{2, 3, 7, 31}) {
+            IPolynomial polynomial = IrreduciblePolynomialConstructor.construct(p, p);
+            assertEquals(p, polynomial.getDegree());
+            assertTrue(new RabinEngine().isIrreducible(polynomial));
+        }
+    }
+
+    @Test
+    public void testTrinomialsOverZ2() {
+        // x^(2*3^k) + x^(3^k) + 1
+        int power = 1;
+        for (int k = 0; k < 6; k++) {
+            IPolynomial polynomial = IrreduciblePolynomialConstructor.construct(2, 2 * power);
+            assertEquals(3, polynomial.getNumberOfNonZeroCoefficients());
+            assertEquals(1, polynomial.getCoefficientAtDegree(power));
+            assertTrue(new RabinEngine().isIrreducible(polynomial));
+            power *= 3;
+        }
+    }
+
+    @Test
+    public void testCyclotomicPolynomials() {
+        // 2 is a primitive root modulo 5, 11 and 25, so the polynomials
+        // 1 + x + ... + x^4, 1 + x + ... + x^10 and 1 + x^5 + ... + x^20
+        // are irreducible over Z_2.
+        assertEquals(5, IrreduciblePolynomialConstructor.construct(2, 4).getNumberOfNonZeroCoefficients());
+        assertEquals(11, IrreduciblePolynomialConstructor.construct(2, 10).getNumberOfNonZeroCoefficients());
+        assertEquals(5, IrreduciblePolynomialConstructor.construct(2, 20).getNumberOfNonZeroCoefficients());
+        // 2 has the order 3 modulo 7.
+        assertNull(IrreduciblePolynomialConstructor.constructCyclotomicPolynomial(2, 6 * 7));
+    }
+
+    @Test
+    public void testAllConstructionsAreIrreducible() {
+        RabinEngine engine = new RabinEngine();
+        int found = 0;
+        for (int p : new int[]{2, 3, 5, 7, 13}) {
+            for (int degree = 1; degree <= 60; degree++) {
+                IPolynomial polynomial = IrreduciblePolynomialConstructor.construct(p, degree);
+                if (polynomial != null) {
+                    found++;
+                    assertEquals(degree, polynomial.getDegree());
+                    assertTrue(polynomial.toString(), engine.isIrreducible(polynomial));
+                }
+            }
+        }
+        assertTrue(found > 60);
+    }
+
+    @Test
+    public void testPrimitiveRoots() {
+        assertEquals(1, IrreduciblePolynomialConstructor.findPrimitiveRoot(2));
+        assertEquals(2, IrreduciblePolynomialConstructor.findPrimitiveRoot(3));
+        assertEquals(3, IrreduciblePolynomialConstructor.findPrimitiveRoot(7));
+        assertEquals(3, IrreduciblePolynomialConstructor.findPrimitiveRoot(65537));
+    }
+}
@@ -0,0 +1,229 @@
+package polynomial.factorization;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.DensePolynomialUtil;
+import polynomial.IPolynomial;
+import polynomial.impl.array.ArrayPolynomial;
+import polynomial.impl.linkedlist.LinkedListPolynomial;
+import polynomial.irreducibility.RabinEngine;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class PolynomialFactorizerTest {
+
+    public PolynomialFactorizerTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNull() {
+        new PolynomialFactorizer().factor(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPool() {
+        new PolynomialFactorizer(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCharacteristic0() {
+        IPolynomial polynomial = new ArrayPolynomial(0);
+        polynomial.addTerm(1, 2);
+        new PolynomialFactorizer().factor(polynomial);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroPolynomial() {
+        new PolynomialFactorizer().factor(new ArrayPolynomial(5));
+    }
+
+    @Test
+    public void testConstant() {
+        IPolynomial polynomial = new ArrayPolynomial(7);
+        polynomial.addTerm(3, 0);
+
+        Factorization factorization = new PolynomialFactorizer().factor(polynomial);
+
+        assertEquals(3, factorization.getLeadingCoefficient());
+        assertEquals(0, factorization.getNumberOfFactors());
+    }
+
+    @Test
+    public void testSmallPolynomial() {
+        // 2x^3 + 2x = 2 * x * (x + 2) * (x + 3) over Z_5
+        IPolynomial polynomial = new ArrayPolynomial(5);
+        polynomial.addTerm(2, 3);
+        polynomial.addTerm(2, 1);
+
+        Factorization factorization = new PolynomialFactorizer().factor(polynomial);
+
+        assertEquals(2, factorization.getLeadingCoefficient());
+        assertEquals(3, factorization.getNumberOfFactors());
+        assertArrayEquals(new int[]{0, 1}, factorization.getFactor(0).getCoefficients());
+        assertArrayEquals(new int[]{2, 1}, factorization.getFactor(1).getCoefficients());
+        assertArrayEquals(new int[]{3, 1}, factorization.getFactor(2).getCoefficients());
+        assertEquals("2 * (x) * (x + 2) * (x + 3)", factorization.toString());
+    }
+
+    @Test
+    public void testMultiplicities() {
+        // (x + 1)^3 * (x^2 + x + 1)^2 * x over Z_2
+        int[] expected = power(new int[]{1, 1}, 3, 2);
+        expected = DensePolynomialUtil.multiply(expected, power(new int[]{1, 1, 1}, 2, 2), 2);
+        expected = DensePolynomialUtil.multiply(expected, new int[]{0, 1}, 2);
+
+        Factorization factorization = new PolynomialFactorizer().factor(
+                new ArrayPolynomial(2).createPolynomialFromCoefficients(expected));
+
+        assertEquals(3, factorization.getNumberOfFactors());
+        assertArrayEquals(new int[]{0, 1}, factorization.getFactor(0).getCoefficients());
+        assertEquals(1, factorization.getMultiplicity(0));
+        assertArrayEquals(new int[]{1, 1}, factorization.getFactor(1).getCoefficients());
+        assertEquals(3, factorization.getMultiplicity(1));
+        assertArrayEquals(new int[]{1, 1, 1}, factorization.getFactor(2).getCoefficients());
+        assertEquals(2, factorization.getMultiplicity(2));
+    }
+
+    @Test
+    public void testPthPowers() {
+        // (x^2 + 1)^9 * (x + 1)^4 over Z_3. The multiplicity 9 is only found
+        // by taking p-th roots.
+        int[] expected = power(new int[]{1, 0, 1}, 9, 3);
+        expected = DensePolynomialUtil.multiply(expected, power(new int[]{1, 1}, 4, 3), 3);
+
+        Factorization factorization = new PolynomialFactorizer().factor(
+                new ArrayPolynomial(3).createPolynomialFromCoefficients(expected));
+
+        assertEquals(2, factorization.getNumberOfFactors());
+        assertArrayEquals(new int[]{1, 1}, factorization.getFactor(0).getCoefficients());
+        assertEquals(4, factorization.getMultiplicity(0));
+        assertArrayEquals(new int[]{1, 0, 1}, factorization.getFactor(1).getCoefficients());
+        assertEquals(9, factorization.getMultiplicity(1));
+    }
+
+    @Test
+    public void testLinkedListPolynomial() {
+        IPolynomial polynomial = new LinkedListPolynomial(7);
+        polynomial.addTerm(1, 7);
+        polynomial.addTerm(6, 1);
+
+        Factorization factorization = new PolynomialFactorizer().factor(polynomial);
+
+        // x^7 - x is the product of all x - a.
+        assertEquals(7, factorization.getNumberOfFactors());
+        for (int i = 0; i < 7; i++) {
+            assertTrue(factorization.getFactor(i) instanceof LinkedListPolynomial);
+            assertEquals(1, factorization.getFactor(i).getDegree());
+        }
+    }
+
+    @Test
+    public void testRandomPolynomials() {
+        Random random = new Random(41);
+        PolynomialFactorizer factorizer = new PolynomialFactorizer(new ForkJoinPool(4));
+        int[] characteristics = {2, 3, 5, 101, 65521};
+
+        for (int characteristic : characteristics) {
+            for (int i = 0; i < 10; i++) {
+                int[] coefficients = new int[2 + random.nextInt(40)];
+                for (int j = 0; j < coefficients.length; j++) {
+                    coefficients[j] = random.nextInt(characteristic);
+                }
+                coefficients[coefficients.length - 1] = 1 + random.nextInt(characteristic - 1);
+                // Square one of the factors to get repeated factors.
+                coefficients = DensePolynomialUtil.multiply(coefficients,
+                        power(new int[]{random.nextInt(characteristic), 1, 1}, 2, characteristic), characteristic);
+
+                checkFactorization(factorizer, new ArrayPolynomial(characteristic)
+                        .createPolynomialFromCoefficients(coefficients));
+            }
+        }
+    }
+
+    @Test
+    public void testLargeDegree() {
+        Random random = new Random(300);
+        int[] coefficients = new int[301];
+        for (int j = 0; j < coefficients.length; j++) {
+            coefficients[j] = random.nextInt(65521);
+        }
+        coefficients[300] = 1;
+
+        checkFactorization(new PolynomialFactorizer(),
+                new ArrayPolynomial(65521).createPolynomialFromCoefficients(coefficients));
+    }
+
+    @Test
+    public void testDistinctDegreeFactorizationInIntervals() {
+        Random random = new Random(7);
+        for (int characteristic : new int[]{3, 7, 65521}) {
+            for (int i = 0; i < 10; i++) {
+                int[] coefficients = new int[2 + random.nextInt(60)];
+                for (int j = 0; j < coefficients.length; j++) {
+                    coefficients[j] = random.nextInt(characteristic);
+                }
+                coefficients[coefficients.length - 1] = 1;
+                FactorList parts = PolynomialFactorizer.squareFreeDecomposition(
+                        DensePolynomialUtil.trim(coefficients), characteristic);
+
+                for (int j = 0; j < parts.size(); j++) {
+                    IPolynomial part = new ArrayPolynomial(characteristic)
+                            .createPolynomialFromCoefficients(parts.getFactor(j));
+                    FactorList plain = PolynomialFactorizer.distinctDegreeFactorization(part, false);
+                    FactorList intervals = PolynomialFactorizer.distinctDegreeFactorization(part, true);
+
+                    assertEquals(plain.size(), intervals.size());
+                    for (int k = 0; k < plain.size(); k++) {
+                        assertEquals(plain.getExponent(k), intervals.getExponent(k));
+                        assertArrayEquals(plain.getFactor(k), intervals.getFactor(k));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSplit() {
+        // x^4 + 1 = (x^2 + 3x + 1) * (x^2 + 4x + 1) over Z_7
+        int[][] halves = PolynomialFactorizer.split(new int[]{1, 0, 0, 0, 1}, 2,
+                new ArrayPolynomial(7), new Random(3));
+
+        assertEquals(3, halves[0].length);
+        assertEquals(3, halves[1].length);
+        assertArrayEquals(new int[]{1, 0, 0, 0, 1}, DensePolynomialUtil.multiply(halves[0], halves[1], 7));
+    }
+
+    private void checkFactorization(PolynomialFactorizer factorizer, IPolynomial polynomial) {
+        int characteristic = polynomial.getCharacteristic();
+        Factorization factorization = factorizer.factor(polynomial);
+        RabinEngine engine = new RabinEngine();
+
+        int[] product = {factorization.getLeadingCoefficient()};
+        for (int i = 0; i < factorization.getNumberOfFactors(); i++) {
+            IPolynomial factor = factorization.getFactor(i);
+            assertEquals(1, factor.getCoefficientOfLeadingTerm());
+            assertTrue(engine.isIrreducible(factor));
+            if (i > 0) {
+                assertFalse(Arrays.equals(factor.getCoefficients(),
+                        factorization.getFactor(i - 1).getCoefficients()));
+            }
+            product = DensePolynomialUtil.multiply(product, power(factor.getCoefficients(),
+                    factorization.getMultiplicity(i), characteristic), characteristic);
+        }
+
+        assertArrayEquals(DensePolynomialUtil.trim(polynomial.getCoefficients()), product);
+    }
+
+    private static int[] power(int[] a, int exponent, int characteristic) {
+        int[] result = {1};
+        for (int i = 0; i < exponent; i++) {
+            result = DensePolynomialUtil.multiply(result, a, characteristic);
+        }
+        return result;
+    }
+}
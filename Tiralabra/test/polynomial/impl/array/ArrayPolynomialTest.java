@@ -1,5 +1,6 @@
 package polynomial.impl.array;
 
+import math.MathUtil;
 import org.junit.Test;
 import static org.junit.Assert.*;
 import polynomial.DivisionResult;
@@ -341,6 +342,74 @@ public class ArrayPolynomialTest {
         assertTrue((-1 - polynomial.evaluate(-3)) % characteristic == 0);
     }
 
+    @Test
+    public void testEvaluateLargeCharacteristic() {
+        int characteristic = 65521;
+        ArrayPolynomial polynomial = new ArrayPolynomial(characteristic);
+
+        polynomial.addTerm(65520, 0);
+        polynomial.addTerm(65000, 1);
+        polynomial.addTerm(1, 1000);
+
+        // 65000 * 65000 overflows an int.
+        assertEquals(65520, polynomial.evaluate(0));
+        assertEquals((65520 + 65000 + 1) % characteristic, polynomial.evaluate(1));
+        assertEquals((int) ((65520 + 65000L * 65000 + MathUtil.powModulo(65000, 1000, characteristic))
+                % characteristic), polynomial.evaluate(65000));
+        assertEquals(polynomial.evaluate(65520), polynomial.evaluate(-1));
+    }
+
+    @Test
+    public void testEvaluateAll() {
+        int characteristic = 31;
+        ArrayPolynomial polynomial = new ArrayPolynomial(characteristic);
+        polynomial.addTerm(3, 0);
+        polynomial.addTerm(30, 2);
+        polynomial.addTerm(7, 9);
+        polynomial.addTerm(1, 40);
+
+        int[] values = new int[characteristic];
+        polynomial.evaluateAll(values);
+
+        for (int a = 0; a < characteristic; a++) {
+            assertEquals(polynomial.evaluate(a), values[a]);
+        }
+    }
+
+    @Test
+    public void testEvaluateAllZeroPolynomial() {
+        int[] values = new int[]{1, 2, 3, 4, 5};
+        new ArrayPolynomial(5).evaluateAll(values);
+
+        assertArrayEquals(new int[5], values);
+    }
+
+    @Test
+    public void testEvaluateAllWithoutTable() {
+        int characteristic = 1009;
+        ArrayPolynomial polynomial = new ArrayPolynomial(characteristic);
+        polynomial.addTerm(5, 0);
+        polynomial.addTerm(1, 2000);
+
+        int[] values = new int[characteristic];
+        polynomial.evaluateAll(values);
+
+        assertEquals(5, values[0]);
+        for (int a = 1; a < characteristic; a++) {
+            assertEquals((5 + MathUtil.powModulo(a, 2000, characteristic)) % characteristic, values[a]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEvaluateAllCharacteristic0() {
+        new ArrayPolynomial(0).evaluateAll(new int[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEvaluateAllShortArray() {
+        new ArrayPolynomial(7).evaluateAll(new int[6]);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testAddWithDifferentCharacteristic() {
         int characteristic = 2;
@@ -901,4 +970,44 @@ public class ArrayPolynomialTest {
         assertEquals("-2x^3 + 2x + 1", polynomial.toString());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testGetCoefficients() {
+        IPolynomial polynomial = new ArrayPolynomial(5);
+        polynomial.addTerm(1, 4);
+        polynomial.addTerm(-2, 2);
+        polynomial.addTerm(3, 0);
+
+        int[] coefficients = polynomial.getCoefficients();
+
+        assertArrayEquals(new int[]{3, 0, 3, 0, 1}, coefficients);
+    }
+
+    @Test
+    public void testGetCoefficientsZeroPolynomial() {
+        IPolynomial polynomial = new ArrayPolynomial(5);
+
+        assertEquals(0, polynomial.getCoefficients().length);
+    }
+
+    @Test
+    public void testCreatePolynomialFromCoefficients() {
+        IPolynomial polynomial = new ArrayPolynomial(7);
+        polynomial.addTerm(1, 1);
+
+        IPolynomial created = polynomial.createPolynomialFromCoefficients(new int[]{-1, 0, 9, 0, 0});
+
+        assertEquals(ArrayPolynomial.class, created.getClass());
+        assertEquals(7, created.getCharacteristic());
+        assertEquals(2, created.getDegree());
+        assertArrayEquals(new int[]{6, 0, 2}, created.getCoefficients());
+        assertEquals(1, polynomial.getDegree());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreatePolynomialFromCoefficientsNull() {
+        IPolynomial polynomial = new ArrayPolynomial(7);
+
+        polynomial.createPolynomialFromCoefficients(null);
+    }
+
+}
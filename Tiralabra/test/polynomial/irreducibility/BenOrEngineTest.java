@@ -0,0 +1,65 @@
+package polynomial.irreducibility;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.IPolynomial;
+import polynomial.impl.array.ArrayPolynomial;
+import polynomial.impl.linkedlist.LinkedListPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class BenOrEngineTest {
+
+    public BenOrEngineTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNull() {
+        new BenOrEngine().isIrreducible(null);
+    }
+
+    @Test
+    public void testConstantsAndLinearPolynomials() {
+        IPolynomial polynomial = new LinkedListPolynomial(5);
+        polynomial.addTerm(4, 0);
+        assertFalse(new BenOrEngine().isIrreducible(polynomial));
+
+        polynomial.addTerm(2, 1);
+        assertTrue(new BenOrEngine().isIrreducible(polynomial));
+    }
+
+    @Test
+    public void testReducibleWithoutRoots() {
+        // (x^2 + x + 1)(x^3 + x + 1) = x^5 + x^4 + 1
+        IPolynomial polynomial = new ArrayPolynomial(2);
+        polynomial.addTerm(1, 5);
+        polynomial.addTerm(1, 4);
+        polynomial.addTerm(1, 0);
+
+        assertFalse(new BenOrEngine().isIrreducible(polynomial));
+    }
+
+    @Test
+    public void testAgreesWithRabin() {
+        int[] characteristics = new int[]{2, 3, 7, 65521};
+        Random random = new Random(29);
+        BenOrEngine benOr = new BenOrEngine();
+        RabinEngine rabin = new RabinEngine();
+
+        for (int characteristic : characteristics) {
+            for (int i = 0; i < 50; i++) {
+                int degree = 2 + random.nextInt(12);
+                IPolynomial polynomial = new ArrayPolynomial(characteristic);
+                polynomial.addTerm(1, degree);
+                for (int j = 0; j < degree; j++) {
+                    polynomial.addTerm(random.nextInt(characteristic), j);
+                }
+
+                assertEquals(rabin.isIrreducible(polynomial), benOr.isIrreducible(polynomial));
+            }
+        }
+    }
+}
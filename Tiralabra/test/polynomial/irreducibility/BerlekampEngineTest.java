@@ -0,0 +1,113 @@
+package polynomial.irreducibility;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.DensePolynomialUtil;
+import polynomial.IPolynomial;
+import polynomial.impl.array.ArrayPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class BerlekampEngineTest {
+
+    public BerlekampEngineTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNull() {
+        new BerlekampEngine().isIrreducible(null);
+    }
+
+    @Test
+    public void testSquareOfIrreducible() {
+        // (x^2 + x + 1)^2 = x^4 + x^2 + 1 has a one-dimensional null space,
+        // so only the square-free check rejects it.
+        IPolynomial polynomial = new ArrayPolynomial(2);
+        polynomial.addTerm(1, 4);
+        polynomial.addTerm(1, 2);
+        polynomial.addTerm(1, 0);
+
+        assertFalse(new BerlekampEngine().isIrreducible(polynomial));
+    }
+
+    @Test
+    public void testPthPower() {
+        // x^3 + 2 = (x + 2)^3 over Z_3 has the derivative 0.
+        IPolynomial polynomial = new ArrayPolynomial(3);
+        polynomial.addTerm(1, 3);
+        polynomial.addTerm(2, 0);
+
+        assertFalse(new BerlekampEngine().isIrreducible(polynomial));
+    }
+
+    @Test
+    public void testLargeDegreeCharacteristic2() {
+        // x^127 + x + 1 is irreducible, x^127 + x^2 + 1 isn't.
+        IPolynomial irreducible = new ArrayPolynomial(2);
+        irreducible.addTerm(1, 127);
+        irreducible.addTerm(1, 1);
+        irreducible.addTerm(1, 0);
+
+        IPolynomial reducible = new ArrayPolynomial(2);
+        reducible.addTerm(1, 127);
+        reducible.addTerm(1, 2);
+        reducible.addTerm(1, 0);
+
+        assertTrue(new BerlekampEngine().isIrreducible(irreducible));
+        assertEquals(new RabinEngine().isIrreducible(reducible), new BerlekampEngine().isIrreducible(reducible));
+    }
+
+    @Test
+    public void testAgreesWithRabin() {
+        int[] characteristics = new int[]{2, 3, 5, 13, 65521};
+        Random random = new Random(37);
+        BerlekampEngine berlekamp = new BerlekampEngine();
+        RabinEngine rabin = new RabinEngine();
+
+        for (int characteristic : characteristics) {
+            for (int i = 0; i < 60; i++) {
+                int degree = 2 + random.nextInt(70);
+                IPolynomial polynomial = new ArrayPolynomial(characteristic);
+                polynomial.addTerm(1 + random.nextInt(characteristic - 1), degree);
+                for (int j = 0; j < degree; j++) {
+                    polynomial.addTerm(random.nextInt(characteristic), j);
+                }
+
+                assertEquals(rabin.isIrreducible(polynomial), berlekamp.isIrreducible(polynomial));
+            }
+        }
+    }
+
+    @Test
+    public void testLargestCharacteristic() {
+        // The diagonal of Q - I must not overflow when p is close to 2^31.
+        int characteristic = Integer.MAX_VALUE;
+        Random random = new Random(41);
+        BerlekampEngine berlekamp = new BerlekampEngine();
+        RabinEngine rabin = new RabinEngine();
+
+        for (int i = 0; i < 20; i++) {
+            IPolynomial first = createRandom(characteristic, 1 + random.nextInt(6), random);
+            IPolynomial second = createRandom(characteristic, 1 + random.nextInt(6), random);
+            IPolynomial product = new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(
+                    DensePolynomialUtil.multiply(first.getCoefficients(), second.getCoefficients(),
+                            characteristic));
+
+            assertFalse(rabin.isIrreducible(product));
+            assertFalse(berlekamp.isIrreducible(product));
+            assertEquals(rabin.isIrreducible(first), berlekamp.isIrreducible(first));
+        }
+    }
+
+    private static IPolynomial createRandom(int characteristic, int degree, Random random) {
+        IPolynomial polynomial = new ArrayPolynomial(characteristic);
+        polynomial.addTerm(1, degree);
+        for (int j = 0; j < degree; j++) {
+            polynomial.addTerm(random.nextInt(characteristic), j);
+        }
+        return polynomial;
+    }
+}
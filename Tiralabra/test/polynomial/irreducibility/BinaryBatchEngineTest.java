@@ -0,0 +1,152 @@
+package polynomial.irreducibility;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.IPolynomial;
+import polynomial.impl.array.ArrayPolynomial;
+import polynomial.impl.linkedlist.LinkedListPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class BinaryBatchEngineTest {
+
+    public BinaryBatchEngineTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNull() {
+        new BinaryBatchEngine().isIrreducible(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullArray() {
+        new BinaryBatchEngine().areIrreducible((IPolynomial[]) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyPolynomials() {
+        IPolynomial[] polynomials = new IPolynomial[65];
+        for (int i = 0; i < polynomials.length; i++) {
+            polynomials[i] = new ArrayPolynomial(2);
+            polynomials[i].addTerm(1, 3);
+        }
+        new BinaryBatchEngine().areIrreducible(polynomials);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCharacteristic3() {
+        IPolynomial polynomial = new ArrayPolynomial(3);
+        polynomial.addTerm(1, 2);
+        polynomial.addTerm(1, 0);
+        new BinaryBatchEngine().isIrreducible(polynomial);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentDegrees() {
+        IPolynomial first = new ArrayPolynomial(2);
+        first.addTerm(1, 2);
+        IPolynomial second = new ArrayPolynomial(2);
+        second.addTerm(1, 3);
+        new BinaryBatchEngine().areIrreducible(new IPolynomial[]{first, second});
+    }
+
+    @Test
+    public void testSmallDegrees() {
+        IPolynomial constant = new ArrayPolynomial(2);
+        constant.addTerm(1, 0);
+        IPolynomial linear = new LinkedListPolynomial(2);
+        linear.addTerm(1, 1);
+        linear.addTerm(1, 0);
+
+        assertFalse(new BinaryBatchEngine().isIrreducible(constant));
+        assertTrue(new BinaryBatchEngine().isIrreducible(linear));
+        assertEquals(0, new BinaryBatchEngine().areIrreducible(new IPolynomial[0]));
+    }
+
+    @Test
+    public void testAllPolynomialsOfDegree6() {
+        // There are 9 irreducible polynomials of degree 6 over Z_2. The 32
+        // polynomials with the constant term 1 fill one batch and the other
+        // 32 another.
+        BinaryBatchEngine engine = new BinaryBatchEngine();
+        int count = 0;
+        for (int batch = 0; batch < 2; batch++) {
+            IPolynomial[] polynomials = new IPolynomial[32];
+            for (int i = 0; i < 32; i++) {
+                polynomials[i] = new ArrayPolynomial(2);
+                polynomials[i].addTerm(1, 6);
+                for (int j = 0; j < 5; j++) {
+                    if ((i & (1 << j)) != 0) {
+                        polynomials[i].addTerm(1, j + 1);
+                    }
+                }
+                polynomials[i].addTerm(batch, 0);
+            }
+            count += Long.bitCount(engine.areIrreducible(polynomials));
+        }
+        assertEquals(9, count);
+    }
+
+    @Test
+    public void testAgreesWithBenOr() {
+        Random random = new Random(42);
+        BenOrEngine benOr = new BenOrEngine();
+        BinaryBatchEngine engine = new BinaryBatchEngine();
+        int[] degrees = {2, 3, 16, 63, 64, 65, 130};
+
+        for (int degree : degrees) {
+            for (int batch = 0; batch < 4; batch++) {
+                IPolynomial[] polynomials = new IPolynomial[64];
+                long expected = 0;
+                for (int i = 0; i < polynomials.length; i++) {
+                    polynomials[i] = new ArrayPolynomial(2);
+                    polynomials[i].addTerm(1, degree);
+                    for (int j = 0; j < degree; j++) {
+                        polynomials[i].addTerm(random.nextInt(2), j);
+                    }
+                    if (benOr.isIrreducible(polynomials[i])) {
+                        expected |= 1L << i;
+                    }
+                }
+                assertEquals(expected, engine.areIrreducible(polynomials));
+            }
+        }
+    }
+
+    @Test
+    public void testHandoffThresholds() {
+        // The result mustn't depend on when the polynomials are handed off
+        // to be tested one at a time.
+        Random random = new Random(7);
+        int degree = 40;
+        long[] moduli = new long[degree];
+        for (int j = 0; j < degree; j++) {
+            moduli[j] = random.nextLong();
+        }
+        moduli[0] = -1L;
+
+        long expected = BinaryBatchEngine.test(moduli, -1L, 0, false);
+        for (int threshold : new int[]{1, 8, 64}) {
+            assertEquals(expected, BinaryBatchEngine.test(moduli, -1L, threshold, false));
+            long first = BinaryBatchEngine.test(moduli, -1L, threshold, true);
+            assertEquals(1, Long.bitCount(first));
+            assertTrue((first & expected) != 0);
+        }
+        assertEquals(expected & 0xFFFFL, new BinaryBatchEngine().areIrreducible(moduli, 0xFFFFL));
+    }
+
+    @Test
+    public void testIndexOfIrreducible() {
+        // Lane 0 holds x^4 + x + 1, lane 1 x^4 + 1 and lane 2 x^4 + x^3 + 1.
+        long[] moduli = {7L, 1L, 0L, 4L};
+        BinaryBatchEngine engine = new BinaryBatchEngine();
+
+        assertEquals(5L, engine.areIrreducible(moduli, 7L));
+        assertEquals(2, engine.indexOfIrreducible(moduli, 6L));
+        assertEquals(-1, engine.indexOfIrreducible(moduli, 2L));
+        assertEquals(-1, engine.indexOfIrreducible(moduli, 0L));
+    }
+}
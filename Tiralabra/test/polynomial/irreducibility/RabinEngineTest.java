@@ -0,0 +1,106 @@
+package polynomial.irreducibility;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.IPolynomial;
+import polynomial.impl.array.ArrayPolynomial;
+import polynomial.impl.linkedlist.LinkedListPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class RabinEngineTest {
+
+    public RabinEngineTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNull() {
+        new RabinEngine().isIrreducible(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCharacteristic0() {
+        IPolynomial polynomial = new ArrayPolynomial(0);
+        polynomial.addTerm(1, 2);
+
+        new RabinEngine().isIrreducible(polynomial);
+    }
+
+    @Test
+    public void testConstantsAndLinearPolynomials() {
+        IPolynomial polynomial = new ArrayPolynomial(3);
+        polynomial.addTerm(2, 0);
+        assertFalse(new RabinEngine().isIrreducible(polynomial));
+
+        polynomial.addTerm(1, 1);
+        assertTrue(new RabinEngine().isIrreducible(polynomial));
+    }
+
+    @Test
+    public void testCharacteristic2() {
+        // x^6 + x + 1 is irreducible, and x^6 + x^5 + ... + 1 is
+        // (x^2 + x + 1)(x^4 + x + 1).
+        IPolynomial irreducible = new LinkedListPolynomial(2);
+        irreducible.addTerm(1, 6);
+        irreducible.addTerm(1, 1);
+        irreducible.addTerm(1, 0);
+
+        IPolynomial reducible = new ArrayPolynomial(2);
+        for (int i = 0; i <= 6; i++) {
+            reducible.addTerm(1, i);
+        }
+
+        assertTrue(new RabinEngine().isIrreducible(irreducible));
+        assertFalse(new RabinEngine().isIrreducible(reducible));
+    }
+
+    @Test
+    public void testAgreesWithCountOfIrreduciblePolynomials() {
+        // There are (3^4 - 3^2)/4 = 18 monic irreducible polynomials of
+        // degree 4 over Z_3, and (2^8 - 2^4)/8 = 30 of degree 8 over Z_2.
+        assertEquals(18, countMonicIrreducible(new RabinEngine(), 3, 4));
+        assertEquals(30, countMonicIrreducible(new RabinEngine(), 2, 8));
+    }
+
+    @Test
+    public void testParallelChecks() {
+        // There are (3^6 - 3^3 - 3^2 + 3)/6 = 116 monic irreducible
+        // polynomials of degree 6 over Z_3, and (2^12 - 2^6 - 2^4 + 2^2)/12
+        // = 335 of degree 12 over Z_2.
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            RabinEngine engine = new RabinEngine(false, executor);
+
+            assertEquals(116, countMonicIrreducible(engine, 3, 6));
+            assertEquals(335, countMonicIrreducible(engine, 2, 12));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int countMonicIrreducible(RabinEngine engine, int characteristic, int degree) {
+        int count = 0;
+        int numberOfPolynomials = 1;
+        for (int i = 0; i < degree; i++) {
+            numberOfPolynomials *= characteristic;
+        }
+
+        for (int index = 0; index < numberOfPolynomials; index++) {
+            IPolynomial polynomial = new ArrayPolynomial(characteristic);
+            polynomial.addTerm(1, degree);
+            int rest = index;
+            for (int i = 0; i < degree; i++) {
+                polynomial.addTerm(rest % characteristic, i);
+                rest /= characteristic;
+            }
+            if (engine.isIrreducible(polynomial)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
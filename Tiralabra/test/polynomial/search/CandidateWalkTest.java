@@ -0,0 +1,82 @@
+package polynomial.search;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.IPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class CandidateWalkTest {
+
+    public CandidateWalkTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullRandom() {
+        new CandidateWalk(2, 10, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPrimeCharacteristic() {
+        new CandidateWalk(9, 10, new Random(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDegreeOne() {
+        new CandidateWalk(3, 1, new Random(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLargeFactorDegree() {
+        new CandidateWalk(3, 10, 6, new Random(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLargeTable() {
+        new CandidateWalk(65521, 100, 1, new Random(1));
+    }
+
+    @Test
+    public void testChooseMaximumFactorDegree() {
+        // 11 * deg(P_11) = 11 * 4062 <= 64^3 / 4 < 12 * deg(P_12)
+        assertEquals(11, CandidateWalk.chooseMaximumFactorDegree(2, 64));
+        assertEquals(7, CandidateWalk.chooseMaximumFactorDegree(3, 64));
+        assertEquals(0, CandidateWalk.chooseMaximumFactorDegree(65521, 100));
+    }
+
+    @Test
+    public void testNext() {
+        int[][] cases = {{2, 20}, {3, 20}, {7, 15}, {101, 60}};
+
+        for (int[] walkCase : cases) {
+            int characteristic = walkCase[0];
+            int degree = walkCase[1];
+            CandidateWalk walk = new CandidateWalk(characteristic, degree, new Random(characteristic));
+            assertTrue(walk.getMaximumFactorDegree() > 0);
+            SmallFactorFilter filter = SmallFactorFilter.getFilter(characteristic, walk.getMaximumFactorDegree());
+
+            for (int i = 0; i < 200; i++) {
+                IPolynomial candidate = walk.next();
+                assertEquals(degree, candidate.getDegree());
+                assertEquals(1, candidate.getCoefficientOfLeadingTerm());
+                assertFalse(filter.hasSmallFactor(candidate));
+                assertFalse(RootFilter.hasRoot(candidate));
+            }
+            assertEquals(200, walk.getNumberOfSurvivors());
+            assertTrue(walk.getNumberOfCandidates() > 200);
+        }
+    }
+
+    @Test
+    public void testWithoutFactors() {
+        CandidateWalk walk = new CandidateWalk(3, 10, 0, new Random(1));
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(10, walk.next().getDegree());
+        }
+        assertEquals(20, walk.getNumberOfCandidates());
+    }
+}
@@ -0,0 +1,48 @@
+package polynomial.search;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.IPolynomial;
+import polynomial.impl.array.ArrayPolynomial;
+import polynomial.impl.linkedlist.LinkedListPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class ParityFilterTest {
+
+    public ParityFilterTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNull() {
+        new ParityFilter().rejects(null);
+    }
+
+    @Test
+    public void testCharacteristic2() {
+        ParityFilter filter = new ParityFilter();
+
+        assertTrue(filter.rejects(create(2, 1, 1, 0, 1, 1)));
+        assertFalse(filter.rejects(create(2, 1, 1, 0, 0, 1)));
+    }
+
+    @Test
+    public void testOtherCharacteristics() {
+        ParityFilter filter = new ParityFilter();
+
+        // 2 + 2x + x^2 has the value 5 at 1.
+        assertTrue(filter.rejects(create(5, 2, 2, 1)));
+        assertFalse(filter.rejects(create(7, 2, 2, 1)));
+
+        IPolynomial sparse = new LinkedListPolynomial(3);
+        sparse.addTerm(1, 100);
+        sparse.addTerm(2, 0);
+        assertTrue(filter.rejects(sparse));
+    }
+
+    private static IPolynomial create(int characteristic, int... coefficients) {
+        return new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(coefficients);
+    }
+}
@@ -0,0 +1,147 @@
+package polynomial.search;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.IPolynomial;
+import polynomial.IrreduciblePolynomialFinder;
+import polynomial.impl.array.ArrayPolynomial;
+import polynomial.irreducibility.RabinEngine;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class PolynomialSieveTest {
+
+    public PolynomialSieveTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullRandom() {
+        new PolynomialSieve(2, 10, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPrimeCharacteristic() {
+        new PolynomialSieve(9, 10, new Random(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDegreeOne() {
+        new PolynomialSieve(3, 1, new Random(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLargeLowDegree() {
+        new PolynomialSieve(3, 5, 5, 2, new Random(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLargeFactorDegree() {
+        new PolynomialSieve(3, 10, 4, 5, new Random(1));
+    }
+
+    @Test
+    public void testChooseLowDegree() {
+        // 2^10 = 16 * 64
+        assertEquals(10, PolynomialSieve.chooseLowDegree(2, 64));
+        assertEquals(2, PolynomialSieve.chooseLowDegree(2, 3));
+        assertEquals(1, PolynomialSieve.chooseLowDegree(65521, 100));
+        assertEquals(0, PolynomialSieve.chooseLowDegree(65537, 100));
+    }
+
+    @Test
+    public void testIrreducibles() {
+        RabinEngine engine = new RabinEngine();
+        // There are 2, 1, 2, 3 and 6 monic irreducible polynomials of degrees
+        // 1...5 over Z_2 and 3, 3 and 8 of degrees 1...3 over Z_3.
+        int[][] cases = {{2, 5, 14}, {3, 3, 14}, {5, 2, 15}};
+
+        for (int[] irreducibleCase : cases) {
+            int characteristic = irreducibleCase[0];
+            int[][] irreducibles = PolynomialSieve.getIrreducibles(characteristic, irreducibleCase[1]);
+
+            assertEquals(irreducibleCase[2], irreducibles.length);
+            for (int i = 0; i < irreducibles.length; i++) {
+                assertEquals(1, irreducibles[i][irreducibles[i].length - 1]);
+                if (i > 0) {
+                    assertTrue(irreducibles[i - 1].length <= irreducibles[i].length);
+                }
+                if (irreducibles[i].length > 2) {
+                    assertTrue(engine.isIrreducible(create(characteristic, irreducibles[i])));
+                }
+            }
+        }
+        assertEquals(5, PolynomialSieve.getIrreducibles(2, 3).length);
+    }
+
+    @Test
+    public void testSieveMarksExactlyTheMultiples() {
+        Random random = new Random(46);
+        int[][] cases = {{2, 8, 3}, {3, 5, 2}, {5, 3, 2}, {7, 3, 1}};
+
+        for (int[] sieveCase : cases) {
+            int characteristic = sieveCase[0];
+            int lowDegree = sieveCase[1];
+            int maximumFactorDegree = sieveCase[2];
+            int[] high = new int[4];
+            for (int i = 0; i < 3; i++) {
+                high[i] = random.nextInt(characteristic);
+            }
+            high[3] = 1;
+            int[][] irreducibles = PolynomialSieve.getIrreducibles(characteristic, maximumFactorDegree);
+            SmallFactorFilter filter = SmallFactorFilter.getFilter(characteristic, maximumFactorDegree);
+
+            long[] marks = PolynomialSieve.sieve(characteristic, high, lowDegree, irreducibles, irreducibles.length);
+
+            int blockSize = (int) Math.pow(characteristic, lowDegree);
+            for (int index = 0; index < blockSize; index++) {
+                int[] coefficients = new int[lowDegree + high.length];
+                int digits = index;
+                for (int i = 0; i < lowDegree; i++) {
+                    coefficients[i] = digits % characteristic;
+                    digits /= characteristic;
+                }
+                System.arraycopy(high, 0, coefficients, lowDegree, high.length);
+
+                boolean marked = (marks[index >>> 6] & (1L << index)) != 0;
+                assertEquals(filter.hasSmallFactor(create(characteristic, coefficients)), marked);
+            }
+        }
+    }
+
+    @Test
+    public void testNext() {
+        int[] characteristics = {2, 3, 101};
+
+        for (int characteristic : characteristics) {
+            PolynomialSieve sieve = new PolynomialSieve(characteristic, 20, new Random(characteristic));
+            SmallFactorFilter filter = SmallFactorFilter.getFilter(characteristic, sieve.getMaximumFactorDegree());
+
+            for (int i = 0; i < 200; i++) {
+                IPolynomial candidate = sieve.next();
+                assertEquals(20, candidate.getDegree());
+                assertEquals(1, candidate.getCoefficientOfLeadingTerm());
+                assertFalse(filter.hasSmallFactor(candidate));
+            }
+            assertEquals(200, sieve.getNumberOfSurvivors());
+            assertTrue(sieve.getNumberOfCandidates() > 200);
+        }
+    }
+
+    @Test
+    public void testFinderWithSieve() {
+        IPolynomial polynomial = IrreduciblePolynomialFinder.findIrreduciblePolynomial(5, 30,
+                SearchPreset.DEFAULT, new RabinEngine());
+
+        assertEquals(30, polynomial.getDegree());
+        assertTrue(new RabinEngine().isIrreducible(polynomial));
+        assertTrue(IrreduciblePolynomialFinder.getNumberOfPolynomialsGeneratedLastTime()
+                >= IrreduciblePolynomialFinder.getNumberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime());
+    }
+
+    private static IPolynomial create(int characteristic, int[] coefficients) {
+        return new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(coefficients);
+    }
+}
@@ -0,0 +1,77 @@
+package polynomial.search;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.IPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class RandomCandidateGeneratorTest {
+
+    public RandomCandidateGeneratorTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullRandom() {
+        new RandomCandidateGenerator(3, 5, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRatio() {
+        new RandomCandidateGenerator(3, 5, 1.5, new Random(1));
+    }
+
+    @Test
+    public void testDense() {
+        RandomCandidateGenerator generator = new RandomCandidateGenerator(5, 30, new Random(50));
+
+        for (int i = 0; i < 100; i++) {
+            IPolynomial candidate = generator.next();
+            assertEquals(30, candidate.getDegree());
+            assertEquals(1, candidate.getCoefficientOfLeadingTerm());
+            assertTrue(candidate.getCoefficientAtDegree(0) != 0);
+        }
+        assertEquals(100, generator.getNumberOfCandidates());
+    }
+
+    @Test
+    public void testSparse() {
+        RandomCandidateGenerator generator = new RandomCandidateGenerator(5, 100, 0.9, new Random(50));
+        long terms = 0;
+
+        for (int i = 0; i < 100; i++) {
+            IPolynomial candidate = generator.next();
+            assertEquals(100, candidate.getDegree());
+            assertTrue(candidate.getCoefficientAtDegree(0) != 0);
+            terms += candidate.getNumberOfNonZeroCoefficients();
+        }
+        // About 2 + 99 * 0.1 terms on average.
+        assertTrue(terms < 100 * 20);
+    }
+
+    @Test
+    public void testSmartChar2() {
+        RandomCandidateGenerator generator = new RandomCandidateGenerator(2, 20, 0, false, true, new Random(50));
+        RandomCandidateGenerator sparse = new RandomCandidateGenerator(2, 20, 0.7, true, true, new Random(50));
+
+        for (int i = 0; i < 100; i++) {
+            IPolynomial candidate = generator.next();
+            assertEquals(20, candidate.getDegree());
+            assertTrue(candidate.getNumberOfNonZeroCoefficients() % 2 == 1);
+            assertTrue(sparse.next().getNumberOfNonZeroCoefficients() % 2 == 1);
+        }
+    }
+
+    @Test
+    public void testSmartChar2OtherCharacteristics() {
+        RandomCandidateGenerator generator = new RandomCandidateGenerator(3, 20, 0, false, true, new Random(50));
+        RandomCandidateGenerator naive = new RandomCandidateGenerator(3, 20, new Random(50));
+
+        for (int i = 0; i < 100; i++) {
+            assertArrayEquals(naive.next().getCoefficients(), generator.next().getCoefficients());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package polynomial.search;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.IPolynomial;
+import polynomial.impl.array.ArrayPolynomial;
+import polynomial.impl.linkedlist.LinkedListPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class RootFilterTest {
+
+    public RootFilterTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNull() {
+        RootFilter.hasRoot(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCharacteristic0() {
+        RootFilter.hasRootByGcd(new ArrayPolynomial(0).createPolynomialFromCoefficients(new int[]{1, 1}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstant() {
+        RootFilter.hasRootByEvaluation(new ArrayPolynomial(5).createPolynomialFromCoefficients(new int[]{3}));
+    }
+
+    @Test
+    public void testSmallPolynomials() {
+        // x^2 + 1 = (x - 2) * (x - 3) over Z_5, but it is irreducible over Z_3.
+        IPolynomial overZ5 = new ArrayPolynomial(5).createPolynomialFromCoefficients(new int[]{1, 0, 1});
+        IPolynomial overZ3 = new ArrayPolynomial(3).createPolynomialFromCoefficients(new int[]{1, 0, 1});
+
+        assertTrue(RootFilter.hasRootByEvaluation(overZ5));
+        assertTrue(RootFilter.hasRootByGcd(overZ5));
+        assertFalse(RootFilter.hasRootByEvaluation(overZ3));
+        assertFalse(RootFilter.hasRootByGcd(overZ3));
+    }
+
+    @Test
+    public void testRootZero() {
+        IPolynomial polynomial = new LinkedListPolynomial(7).createPolynomialFromCoefficients(new int[]{0, 3, 0, 1});
+
+        assertTrue(RootFilter.hasRootByEvaluation(polynomial));
+        assertTrue(RootFilter.hasRootByGcd(polynomial));
+    }
+
+    @Test
+    public void testMethodsAgree() {
+        Random random = new Random(47);
+        int[] characteristics = {2, 3, 7, 101, 1009};
+
+        for (int characteristic : characteristics) {
+            for (int i = 0; i < 50; i++) {
+                int[] coefficients = new int[2 + random.nextInt(30)];
+                for (int j = 0; j < coefficients.length; j++) {
+                    coefficients[j] = random.nextInt(characteristic);
+                }
+                coefficients[coefficients.length - 1] = 1;
+                IPolynomial polynomial = new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(coefficients);
+
+                boolean expected = RootFilter.hasRootByEvaluation(polynomial);
+                assertEquals(expected, RootFilter.hasRootByGcd(polynomial));
+                assertEquals(expected, RootFilter.hasRoot(polynomial));
+            }
+        }
+    }
+
+    @Test
+    public void testLargeCharacteristic() {
+        // 17 is a quadratic non-residue modulo 65521, so x^2 - 17 has no
+        // roots, and (x - 12345) * (x^2 - 17) has the root 12345.
+        IPolynomial irreducible = new ArrayPolynomial(65521).createPolynomialFromCoefficients(
+                new int[]{65521 - 17, 0, 1});
+        IPolynomial product = new ArrayPolynomial(65521).createPolynomialFromCoefficients(
+                new int[]{13302, 65504, 53176, 1});
+
+        assertFalse(RootFilter.hasRoot(irreducible));
+        assertTrue(RootFilter.hasRoot(product));
+    }
+
+    @Test
+    public void testCostEstimate() {
+        assertTrue(RootFilter.isGcdFaster(65521, 64, 65));
+        assertTrue(RootFilter.isGcdFaster(1009, 64, 65));
+        assertFalse(RootFilter.isGcdFaster(31, 64, 65));
+        assertFalse(RootFilter.isGcdFaster(2, 4, 3));
+    }
+}
@@ -0,0 +1,103 @@
+package polynomial.search;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.IPolynomial;
+import polynomial.impl.array.ArrayPolynomial;
+import polynomial.irreducibility.RabinEngine;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class SearchPipelineTest {
+
+    public SearchPipelineTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullGenerator() {
+        new SearchPipeline(null, new RabinEngine());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullEngine() {
+        new SearchPipeline(new RandomCandidateGenerator(3, 5, new Random(1)), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullFilter() {
+        new SearchPipeline(new RandomCandidateGenerator(3, 5, new Random(1)), new RabinEngine())
+                .addFilter("roots", null);
+    }
+
+    @Test
+    public void testCounters() {
+        SearchPipeline pipeline = new SearchPipeline(new RandomCandidateGenerator(3, 12, new Random(50)),
+                new RabinEngine())
+                .addFilter("parity", new ParityFilter())
+                .addFilter("roots", new RootFilter());
+
+        IPolynomial polynomial = pipeline.findIrreducible();
+
+        assertEquals(12, polynomial.getDegree());
+        assertTrue(new RabinEngine().isIrreducible(polynomial));
+
+        FilterStage[] stages = pipeline.getStages();
+        assertEquals(2, stages.length);
+        assertEquals("parity", stages[0].getName());
+        assertEquals(pipeline.getNumberOfCandidates(), stages[0].getNumberOfCandidates());
+        assertEquals(stages[0].getNumberOfCandidates() - stages[0].getNumberOfRejected(),
+                stages[1].getNumberOfCandidates());
+        assertEquals(stages[1].getNumberOfCandidates() - stages[1].getNumberOfRejected(),
+                pipeline.getNumberOfTested());
+        assertTrue(pipeline.getNumberOfTested() >= 1);
+        assertTrue(pipeline.getSummary().contains("roots: rejected " + stages[1].getNumberOfRejected()));
+    }
+
+    @Test
+    public void testFilterOrder() {
+        // The parity filter sees every candidate, and since it rejects all
+        // candidates with the root 1, the root filter never sees them.
+        final int[] seenByRoots = new int[1];
+        SearchPipeline pipeline = new SearchPipeline(new RandomCandidateGenerator(2, 10, new Random(3)),
+                new RabinEngine())
+                .addFilter("parity", new ParityFilter())
+                .addFilter("roots", new ICandidateFilter() {
+                    @Override
+                    public boolean rejects(IPolynomial candidate) {
+                        assertTrue(candidate.getNumberOfNonZeroCoefficients() % 2 == 1);
+                        seenByRoots[0]++;
+                        return RootFilter.hasRoot(candidate);
+                    }
+                });
+
+        pipeline.findIrreducible();
+
+        assertEquals(pipeline.getStages()[1].getNumberOfCandidates(), seenByRoots[0]);
+    }
+
+    @Test
+    public void testLinearCandidate() {
+        SearchPipeline pipeline = new SearchPipeline(new RandomCandidateGenerator(5, 1, new Random(1)),
+                new RabinEngine())
+                .addFilter("roots", new RootFilter());
+
+        assertEquals(1, pipeline.findIrreducible().getDegree());
+        assertEquals(0, pipeline.getNumberOfTested());
+    }
+
+    @Test
+    public void testStageCounters() {
+        FilterStage stage = new FilterStage("parity", new ParityFilter());
+        ArrayPolynomial polynomial = new ArrayPolynomial(2);
+
+        assertTrue(stage.rejects(polynomial.createPolynomialFromCoefficients(new int[]{1, 0, 1})));
+        assertFalse(stage.rejects(polynomial.createPolynomialFromCoefficients(new int[]{1, 1, 1})));
+
+        assertEquals(2, stage.getNumberOfCandidates());
+        assertEquals(1, stage.getNumberOfRejected());
+        assertTrue(stage.getTime() >= 0);
+    }
+}
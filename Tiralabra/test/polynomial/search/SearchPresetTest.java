@@ -0,0 +1,132 @@
+package polynomial.search;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.IPolynomial;
+import polynomial.IrreduciblePolynomialFinder;
+import polynomial.irreducibility.BenOrEngine;
+import polynomial.irreducibility.RabinEngine;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class SearchPresetTest {
+
+    public SearchPresetTest() {
+    }
+
+    @Test
+    public void testForName() {
+        assertSame(SearchPreset.NAIVE, SearchPreset.forName("naive"));
+        assertSame(SearchPreset.SPARSE_SMART_CHAR_2_CHECK_ROOTS, SearchPreset.forName("sparse_smartchar2_checkroots"));
+        assertSame(SearchPreset.DEFAULT, SearchPreset.forName("default"));
+        assertNull(SearchPreset.forName("clever"));
+    }
+
+    @Test
+    public void testNamesAreUnique() {
+        SearchPreset[] presets = SearchPreset.getPresets();
+        for (SearchPreset preset : presets) {
+            assertSame(preset, SearchPreset.forName(preset.getName()));
+        }
+    }
+
+    @Test
+    public void testPipelines() {
+        Random random = new Random(50);
+        RabinEngine engine = new RabinEngine();
+
+        assertEquals(0, SearchPreset.NAIVE.createPipeline(3, 20, engine, random).getStages().length);
+        assertTrue(SearchPreset.DEFAULT.createPipeline(3, 20, engine, random).getGenerator()
+                instanceof PolynomialSieve);
+        assertTrue(SearchPreset.CANDIDATE_WALK.createPipeline(3, 20, engine, random).getGenerator()
+                instanceof CandidateWalk);
+
+        FilterStage[] stages = SearchPreset.SPARSE_SMART_CHAR_2_CHECK_ROOTS.createPipeline(3, 20, engine, random)
+                .getStages();
+        assertEquals(1, stages.length);
+        assertEquals(SearchPreset.ROOTS, stages[0].getName());
+        assertEquals(0, SearchPreset.SPARSE_SMART_CHAR_2_CHECK_ROOTS.createPipeline(2, 20, engine, random)
+                .getStages().length);
+        assertEquals(0, SearchPreset.SMART_CHAR_2.createPipeline(3, 20, engine, random).getStages().length);
+
+        assertEquals(4, SearchPreset.ALL_FILTERS.createPipeline(3, 20, engine, random).getStages().length);
+        assertEquals(4, SearchPreset.ALL_FILTERS.createPipeline(3, 20, new BenOrEngine(), random)
+                .getStages().length);
+    }
+
+    @Test
+    public void testDefaultWithoutSieve() {
+        // The sieve can't be used for p > MAXIMUM_BLOCK_SIZE.
+        SearchPipeline pipeline = SearchPreset.DEFAULT.createPipeline(65537, 6, new RabinEngine(), new Random(1));
+
+        assertTrue(pipeline.getGenerator() instanceof RandomCandidateGenerator);
+        assertEquals(SearchPreset.ROOTS, pipeline.getStages()[0].getName());
+    }
+
+    @Test
+    public void testEveryPresetFinds() {
+        RabinEngine engine = new RabinEngine();
+        int[][] cases = {{2, 17}, {3, 12}, {7, 9}};
+
+        for (SearchPreset preset : SearchPreset.getPresets()) {
+            for (int[] presetCase : cases) {
+                IPolynomial polynomial = IrreduciblePolynomialFinder.findIrreduciblePolynomial(presetCase[0],
+                        presetCase[1], preset);
+
+                assertEquals(presetCase[1], polynomial.getDegree());
+                assertTrue(engine.isIrreducible(polynomial));
+            }
+        }
+    }
+
+    @Test
+    public void testLegacyPresetsOnlyUsePipeline() {
+        SearchPreset[] legacy = {SearchPreset.NAIVE, SearchPreset.SPARSE_POLYNOMIALS, SearchPreset.SMART_CHAR_2,
+            SearchPreset.CHECK_ROOTS, SearchPreset.SPARSE_SMART_CHAR_2, SearchPreset.SPARSE_CHECK_ROOTS,
+            SearchPreset.SPARSE_SMART_CHAR_2_CHECK_ROOTS};
+        // x^4 - 2 is irreducible over Z_5 and 12 = 3 * 4 has coprime
+        // factors, so constructions and composed products are available.
+        int[][] cases = {{2, 10}, {5, 4}, {5, 12}};
+
+        for (SearchPreset preset : legacy) {
+            assertFalse(preset.usesConstructions());
+            assertFalse(preset.usesBinaryBatches());
+            for (int[] presetCase : cases) {
+                IrreduciblePolynomialFinder.findIrreduciblePolynomial(presetCase[0], presetCase[1], preset);
+
+                assertNotNull(IrreduciblePolynomialFinder.getPipelineLastTime());
+                assertTrue(IrreduciblePolynomialFinder.getNumberOfPolynomialsGeneratedLastTime() > 0);
+            }
+        }
+    }
+
+    @Test
+    public void testSmartChar2TestsEveryCandidate() {
+        for (int i = 0; i < 10; i++) {
+            IrreduciblePolynomialFinder.findIrreduciblePolynomial(2, 12, SearchPreset.SMART_CHAR_2);
+
+            assertEquals(IrreduciblePolynomialFinder.getNumberOfPolynomialsGeneratedLastTime(),
+                    IrreduciblePolynomialFinder.getNumberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime());
+        }
+    }
+
+    @Test
+    public void testPipelineLastTime() {
+        IrreduciblePolynomialFinder.findIrreduciblePolynomial(5, 13, SearchPreset.ALL_FILTERS);
+        SearchPipeline pipeline = IrreduciblePolynomialFinder.getPipelineLastTime();
+
+        assertNotNull(pipeline);
+        assertEquals(pipeline.getNumberOfCandidates(),
+                IrreduciblePolynomialFinder.getNumberOfPolynomialsGeneratedLastTime());
+        assertEquals(pipeline.getNumberOfTested(),
+                IrreduciblePolynomialFinder.getNumberOfPolynomialsCheckedUsingRabinsAlgorithmLastTime());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPreset() {
+        IrreduciblePolynomialFinder.findIrreduciblePolynomial(3, 5, null);
+    }
+}
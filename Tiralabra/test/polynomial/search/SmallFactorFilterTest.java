@@ -0,0 +1,230 @@
+package polynomial.search;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.DensePolynomialUtil;
+import polynomial.IPolynomial;
+import polynomial.IrreduciblePolynomialFinder;
+import polynomial.impl.array.ArrayPolynomial;
+import polynomial.impl.linkedlist.LinkedListPolynomial;
+import polynomial.irreducibility.RabinEngine;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class SmallFactorFilterTest {
+
+    public SmallFactorFilterTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPrimeCharacteristic() {
+        SmallFactorFilter.getFilter(4, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroDegree() {
+        SmallFactorFilter.getFilter(3, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLargeProduct() {
+        SmallFactorFilter.getFilter(65521, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPolynomial() {
+        SmallFactorFilter.getFilter(3, 2).hasSmallFactor(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentCharacteristic() {
+        SmallFactorFilter.getFilter(3, 2).hasSmallFactor(create(5, 1, 1, 1, 1, 1, 1));
+    }
+
+    @Test
+    public void testProductsOfDegree() {
+        assertArrayEquals(new int[]{1, 1, 1}, SmallFactorFilter.calculateProductOfDegree(2, 2));
+        // (x^3 + x + 1) * (x^3 + x^2 + 1)
+        assertArrayEquals(new int[]{1, 1, 1, 1, 1, 1, 1}, SmallFactorFilter.calculateProductOfDegree(2, 3));
+        // (x^2 + 1) * (x^2 + x + 2) * (x^2 + 2x + 2) = (x^9 - x) / (x^3 - x)
+        assertArrayEquals(new int[]{1, 0, 1, 0, 1, 0, 1}, SmallFactorFilter.calculateProductOfDegree(3, 2));
+    }
+
+    @Test
+    public void testProductsAgainstEnumeration() {
+        int[][] cases = {{2, 6}, {3, 3}, {5, 2}};
+
+        for (int[] productCase : cases) {
+            int characteristic = productCase[0];
+            int maximumFactorDegree = productCase[1];
+            int[] expected = multiplyIrreducibles(characteristic, maximumFactorDegree);
+
+            assertArrayEquals(expected, SmallFactorFilter.calculateProduct(characteristic, maximumFactorDegree));
+            assertEquals(expected.length - 1, SmallFactorFilter.getProductDegree(characteristic, maximumFactorDegree));
+            assertArrayEquals(expected, SmallFactorFilter.getFilter(characteristic, maximumFactorDegree).getProduct());
+        }
+    }
+
+    @Test
+    public void testFiltersAreCached() {
+        assertSame(SmallFactorFilter.getFilter(7, 2), SmallFactorFilter.getFilter(7, 2));
+    }
+
+    @Test
+    public void testChooseMaximumFactorDegree() {
+        // The degrees of P_1...P_5 over Z_3 are 3, 9, 33, 105 and 345.
+        assertEquals(4, SmallFactorFilter.chooseMaximumFactorDegree(3, 100));
+        assertEquals(1, SmallFactorFilter.chooseMaximumFactorDegree(101, 60));
+        assertEquals(0, SmallFactorFilter.chooseMaximumFactorDegree(65521, 100));
+        assertEquals(0, SmallFactorFilter.chooseMaximumFactorDegree(2, 1));
+    }
+
+    @Test
+    public void testHasSmallFactor() {
+        RabinEngine engine = new RabinEngine();
+        int[] characteristics = {2, 3, 5};
+
+        for (int characteristic : characteristics) {
+            SmallFactorFilter filter = SmallFactorFilter.getFilter(characteristic, 3);
+            IPolynomial large = IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic, 20,
+                    SearchPreset.NAIVE, engine);
+            IPolynomial cubic = IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic, 3,
+                    SearchPreset.NAIVE, engine);
+            IPolynomial quartic = IrreduciblePolynomialFinder.findIrreduciblePolynomial(characteristic, 4,
+                    SearchPreset.NAIVE, engine);
+
+            assertFalse(filter.hasSmallFactor(large));
+            assertFalse(filter.hasSmallFactor(cubic));
+            assertTrue(filter.hasSmallFactor(multiply(large, cubic)));
+            assertFalse(filter.hasSmallFactor(multiply(quartic, quartic)));
+            assertTrue(filter.hasSmallFactor(multiply(cubic, multiply(cubic, quartic))));
+        }
+    }
+
+    @Test
+    public void testFinderWithFilter() {
+        IPolynomial polynomial = IrreduciblePolynomialFinder.findIrreduciblePolynomial(3, 40,
+                SearchPreset.ALL_FILTERS, new RabinEngine());
+
+        assertEquals(40, polynomial.getDegree());
+        assertTrue(new RabinEngine().isIrreducible(polynomial));
+    }
+
+    @Test
+    public void testFileIsWritten() throws IOException {
+        File file = File.createTempFile("products", ".bin");
+        file.deleteOnExit();
+
+        SmallFactorFilter filter = SmallFactorFilter.getFilter(11, 2, file);
+
+        int[] expected = SmallFactorFilter.calculateProduct(11, 2);
+        assertArrayEquals(expected, filter.getProduct());
+        IntBuffer contents = readFile(file);
+        assertEquals(4 + expected.length, contents.limit());
+        assertEquals(11, contents.get(1));
+        assertEquals(2, contents.get(2));
+        assertEquals(expected.length, contents.get(3));
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], contents.get(4 + i));
+        }
+    }
+
+    @Test
+    public void testFileIsRead() throws IOException {
+        File file = File.createTempFile("products", ".bin");
+        file.deleteOnExit();
+        int[] expected = SmallFactorFilter.calculateProduct(13, 2);
+
+        // A file written by another process, with a marker in the constant
+        // term to see that the product isn't calculated again.
+        ByteBuffer buffer = ByteBuffer.allocate(4 * (4 + expected.length));
+        buffer.asIntBuffer().put(new int[]{0x50726f64, 13, 2, expected.length}).put(expected);
+        buffer.putInt(16, 7);
+        RandomAccessFile output = new RandomAccessFile(file, "rw");
+        output.write(buffer.array());
+        output.close();
+
+        SmallFactorFilter filter = SmallFactorFilter.getFilter(13, 2, file);
+
+        expected[0] = 7;
+        assertArrayEquals(expected, filter.getProduct());
+    }
+
+    @Test
+    public void testFileIsReplacedNotOverwritten() throws IOException {
+        final File file = File.createTempFile("products", ".bin");
+        file.deleteOnExit();
+
+        SmallFactorFilter first = SmallFactorFilter.getFilter(17, 2, file);
+        SmallFactorFilter second = SmallFactorFilter.getFilter(19, 2, file);
+
+        // The product of the first filter is still mapped from the replaced
+        // file.
+        assertArrayEquals(SmallFactorFilter.calculateProduct(17, 2), first.getProduct());
+        assertArrayEquals(SmallFactorFilter.calculateProduct(19, 2), second.getProduct());
+        assertEquals(19, readFile(file).get(1));
+        assertEquals(1, file.getAbsoluteFile().getParentFile().listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File directory, String name) {
+                return name.startsWith(file.getName());
+            }
+        }).length);
+    }
+
+    private static IntBuffer readFile(File file) throws IOException {
+        RandomAccessFile input = new RandomAccessFile(file, "r");
+        byte[] bytes = new byte[(int) input.length()];
+        input.readFully(bytes);
+        input.close();
+        return ByteBuffer.wrap(bytes).asIntBuffer();
+    }
+
+    /*
+     Multiplies all monic polynomials of degree 1...k that are irreducible.
+     */
+    private static int[] multiplyIrreducibles(int characteristic, int maximumFactorDegree) {
+        RabinEngine engine = new RabinEngine();
+        int[] product = {1};
+        for (int degree = 1; degree <= maximumFactorDegree; degree++) {
+            int[] coefficients = new int[degree + 1];
+            coefficients[degree] = 1;
+            while (true) {
+                IPolynomial polynomial = create(characteristic, coefficients);
+                if (degree == 1 || engine.isIrreducible(polynomial)) {
+                    product = DensePolynomialUtil.multiply(product, coefficients, characteristic);
+                }
+                int i = 0;
+                while (i < degree && coefficients[i] == characteristic - 1) {
+                    coefficients[i++] = 0;
+                }
+                if (i == degree) {
+                    break;
+                }
+                coefficients[i]++;
+            }
+        }
+        return product;
+    }
+
+    private static IPolynomial multiply(IPolynomial a, IPolynomial b) {
+        int characteristic = a.getCharacteristic();
+        return create(characteristic, DensePolynomialUtil.multiply(
+                DensePolynomialUtil.trim(a.getCoefficients()), DensePolynomialUtil.trim(b.getCoefficients()),
+                characteristic));
+    }
+
+    private static IPolynomial create(int characteristic, int... coefficients) {
+        if (characteristic == 2) {
+            return new LinkedListPolynomial(2).createPolynomialFromCoefficients(coefficients);
+        }
+        return new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(coefficients);
+    }
+}
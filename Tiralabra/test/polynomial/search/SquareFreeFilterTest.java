@@ -0,0 +1,50 @@
+package polynomial.search;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import polynomial.IPolynomial;
+import polynomial.impl.array.ArrayPolynomial;
+
+/**
+ *
+ * @author Sebastian Björkqvist
+ */
+public class SquareFreeFilterTest {
+
+    public SquareFreeFilterTest() {
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNull() {
+        new SquareFreeFilter().rejects(null);
+    }
+
+    @Test
+    public void testRepeatedFactor() {
+        SquareFreeFilter filter = new SquareFreeFilter();
+
+        // (x + 1)^2 (x + 2) = x^3 + 4x^2 + 5x + 2 over Z_7.
+        assertTrue(filter.rejects(create(7, 2, 5, 4, 1)));
+        // (x^2 + x + 1)^2 = x^4 + x^2 + 1 over Z_2.
+        assertTrue(filter.rejects(create(2, 1, 0, 1, 0, 1)));
+    }
+
+    @Test
+    public void testZeroDerivative() {
+        // x^3 + 2 = (x + 2)^3 over Z_3.
+        assertTrue(new SquareFreeFilter().rejects(create(3, 2, 0, 0, 1)));
+    }
+
+    @Test
+    public void testSquareFree() {
+        SquareFreeFilter filter = new SquareFreeFilter();
+
+        // (x + 1)(x + 2) and the irreducible x^2 + x + 1 over Z_2.
+        assertFalse(filter.rejects(create(7, 2, 3, 1)));
+        assertFalse(filter.rejects(create(2, 1, 1, 1)));
+    }
+
+    private static IPolynomial create(int characteristic, int... coefficients) {
+        return new ArrayPolynomial(characteristic).createPolynomialFromCoefficients(coefficients);
+    }
+}